@@ -0,0 +1,51 @@
+// 자동완성(/api/v1/suggest) 부하 테스트 (k6)
+// 입력할 때마다 호출되는 API 이므로 글자를 하나씩 늘려 가며 요청하는 사용자를 흉내 냅니다.
+// 실행) k6 run -e BASE_URL=http://localhost:8080 loadtest/suggest.js
+// 목표: p99 50ms 이하(네트워크 포함), 서버 처리 자체는 메모리 트라이 조회로 1ms 이하, 오류율 1% 미만.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+// 사용자가 입력하는 중간 상태들 (초성, 조합 중인 글자, 완성된 이름, 영문)
+const TYPING = [
+  ['ㄱ', 'ㄱㅎ', 'ㄱㅎㅅ'],
+  ['기', '김', '김ㅎ', '김혀', '김현'],
+  ['커', '컴', '컴퓨', '컴퓨터', '컴퓨터공', '컴퓨터공학과'],
+  ['유', '융', '융하', '융합', '융합과학관'],
+  ['a', 'at', 'atm'],
+  ['혀', '현', '현금', '현금인출기'],
+];
+
+export const options = {
+  scenarios: {
+    typing: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: 50 },
+        { duration: '1m', target: 200 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<20', 'p(99)<50'],
+  },
+};
+
+export default function () {
+  const sequence = TYPING[Math.floor(Math.random() * TYPING.length)];
+  for (const q of sequence) {
+    const res = http.get(`${BASE_URL}/api/v1/suggest?q=${encodeURIComponent(q)}&size=10`, {
+      tags: { name: 'suggest' },
+    });
+    check(res, {
+      'status is 200': (r) => r.status === 200,
+    });
+    // 글자 하나를 치는 간격
+    sleep(0.1 + Math.random() * 0.2);
+  }
+  sleep(1);
+}
@@ -0,0 +1,54 @@
+package springbook.chatbotserver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.DateExpressionParser;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.DateResolver;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.ResolvedDate;
+
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * 기존 {@link DateResolver} 와 {@link DateExpressionParser} 의 날짜 해석 비용을 비교합니다.
+ * memoized 는 같은 날 같은 표현을 다시 해석하는 경우(식단 질문 대부분), uncached 는 메모 없이 매번 해석하는 경우입니다.
+ * 예) ./gradlew jmh -Pjmh.includes=DateExpressionBenchmark (-prof gc 로 할당량도 함께 확인)
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation")
+public class DateExpressionBenchmark {
+
+    @Param({"오늘", "내일", "월요일", "5월 15일", "2025-05-15", "언젠가"})
+    private String expression;
+
+    private DateExpressionParser memoized;
+    private DateExpressionParser uncached;
+
+    @Setup
+    public void setUp() {
+        memoized = new DateExpressionParser(Clock.systemDefaultZone(), 256);
+        uncached = new DateExpressionParser(Clock.systemDefaultZone(), 0);
+    }
+
+    @Benchmark
+    public String dateResolver() {
+        try {
+            return DateResolver.resolve(expression);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Optional<ResolvedDate> parserMemoized() {
+        return memoized.parse(expression);
+    }
+
+    @Benchmark
+    public Optional<ResolvedDate> parserUncached() {
+        return uncached.parse(expression);
+    }
+}
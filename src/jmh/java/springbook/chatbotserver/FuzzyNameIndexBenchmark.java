@@ -0,0 +1,70 @@
+package springbook.chatbotserver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import springbook.chatbotserver.chat.service.directory.FuzzyNameIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 디렉터리 전체 크기의 이름 목록에서 {@link FuzzyNameIndex} 의 조회 비용을 측정합니다.
+ * 교수(성+이름 두 글자) 이름을 size 개 만들고, 오타가 있는 이름/정확한 이름/없는 이름을 조회합니다.
+ * 목표(latency budget): 5,000 개 이름에서 조회 한 번 평균 50 마이크로초 이하.
+ * 예) ./gradlew jmh -Pjmh.includes=FuzzyNameIndexBenchmark (-prof gc 로 할당량도 함께 확인)
+ */
+@State(Scope.Benchmark)
+public class FuzzyNameIndexBenchmark {
+
+    private static final String SURNAMES = "김이박최정강조윤장임한오서신권황안송류홍";
+    private static final String GIVEN = "민서준예도하지우현수영진성호연은재희동철";
+
+    @Param({"500", "5000"})
+    private int size;
+
+    private FuzzyNameIndex index;
+    private String exact;
+    private String typo;
+    private String unknown;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Set<String> generated = new LinkedHashSet<>();
+        while (generated.size() < size) {
+            generated.add("" + SURNAMES.charAt(random.nextInt(SURNAMES.length()))
+                + GIVEN.charAt(random.nextInt(GIVEN.length()))
+                + GIVEN.charAt(random.nextInt(GIVEN.length()))
+                + (random.nextInt(3) == 0 ? "공학과" : ""));
+        }
+        List<String> names = new ArrayList<>(generated);
+        index = FuzzyNameIndex.of(names);
+        exact = names.get(size / 2);
+        // 마지막 음절의 중성을 하나 바꿔 자모 하나가 틀린 이름을 만듭니다.
+        char last = exact.charAt(exact.length() - 1);
+        typo = exact.substring(0, exact.length() - 1) + (char) (last + ((last - 0xAC00) % 588 < 560 ? 28 : -28));
+        unknown = "존재하지않는이름";
+    }
+
+    @Benchmark
+    public Optional<String> exactName() {
+        return index.find(exact);
+    }
+
+    @Benchmark
+    public Optional<String> typoName() {
+        return index.find(typo);
+    }
+
+    @Benchmark
+    public Optional<String> unknownName() {
+        return index.find(unknown);
+    }
+}
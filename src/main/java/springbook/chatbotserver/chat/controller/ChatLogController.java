@@ -2,18 +2,28 @@ package springbook.chatbotserver.chat.controller;
 
 import static springbook.chatbotserver.http.ResponseCode.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.chat.model.dto.ChatLogPageDto;
+import springbook.chatbotserver.chat.model.dto.ChatLogSyncDto;
 import springbook.chatbotserver.chat.model.dto.ChatMessageDto;
 import springbook.chatbotserver.chat.service.ChatLogService;
+import springbook.chatbotserver.config.AdminTokenVerifier;
 import springbook.chatbotserver.http.HttpResponseBody;
 
 /**
@@ -26,6 +36,7 @@ import springbook.chatbotserver.http.HttpResponseBody;
 @RequestMapping("api/v1/chat/logs")
 public class ChatLogController {
   private final ChatLogService chatLogService;
+  private final AdminTokenVerifier adminTokenVerifier;
 
   /**
    * 채팅 로그 조회
@@ -43,4 +54,91 @@ public class ChatLogController {
         .build();
 
   }
+
+  /**
+   * 채팅 로그 페이지 조회
+   * 최신 메시지부터 size 개씩 반환하며, 응답의 nextCursor 를 다시 보내면 그보다 오래된 메시지를 이어서 조회합니다.
+   * @param deviceId 디바이스 ID
+   * @param cursor 이전 페이지의 nextCursor (첫 페이지이면 생략)
+   * @param size 페이지 크기
+   * @return 채팅 로그 페이지
+   */
+  @GetMapping("/{deviceId}/page")
+  public ResponseEntity<Object> getChatLogPage(@PathVariable String deviceId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    ChatLogPageDto page = chatLogService.getChatLogPage(deviceId, cursor, size);
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(page)
+        .build();
+  }
+
+  /**
+   * 채팅 로그 동기화
+   * 앱이 마지막으로 받은 메시지 이후의 메시지만 오래된 순으로 반환합니다.
+   * 응답의 latestCursor 를 다음 동기화 때 since 로 보내고, hasMore 가 true 이면 이어서 다시 요청합니다.
+   * 응답에는 ETag 가 붙으며, 같은 요청의 If-None-Match 가 일치하면 본문 없이 304 를 반환합니다.
+   * @param deviceId 디바이스 ID
+   * @param since 이전 동기화 응답의 latestCursor
+   * @param after 마지막으로 받은 메시지의 시각 (since 가 없을 때 사용)
+   * @param size 최대 메시지 수
+   * @param request ETag 비교에 사용하는 요청
+   * @return 새 메시지와 다음 동기화 커서
+   */
+  @GetMapping("/{deviceId}/sync")
+  public ResponseEntity<Object> syncChatLogs(@PathVariable String deviceId,
+      @RequestParam(required = false) String since,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+      @RequestParam(required = false) Integer size,
+      WebRequest request) {
+    ChatLogSyncDto sync = chatLogService.syncChatLogs(deviceId, since, after, size);
+    if (request.checkNotModified(etag(deviceId, since, after, size, sync))) {
+      return null;
+    }
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(sync)
+        .build();
+  }
+
+  /**
+   * 아카이브된 채팅 로그 조회
+   * 보관 기간이 지나 MongoDB 에서 아카이브 파일로 옮겨진 기록을 기간 단위로 불러옵니다.
+   * 날짜별 파일 전체를 풀어 읽으므로 X-Admin-Token 헤더가 있어야 하고, 동시에 읽는 요청이 많으면 429 를 반환합니다.
+   * @param token 관리자 토큰
+   * @param deviceId 디바이스 ID
+   * @param from 시작 날짜 (포함)
+   * @param to 종료 날짜 (포함)
+   * @return 채팅 로그 목록
+   */
+  @GetMapping("/{deviceId}/archive")
+  public ResponseEntity<Object> getArchivedChatLogs(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @PathVariable String deviceId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    adminTokenVerifier.verify(token);
+    List<ChatMessageDto> chatLogs = chatLogService.getArchivedChatLogs(deviceId, from, to);
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(chatLogs)
+        .build();
+  }
+
+  /**
+   * 동기화 응답은 요청(deviceId, since, after, size)과 마지막 메시지 위치, 메시지 수, hasMore 로 정해지므로 이 값들로 ETag 를 만듭니다.
+   * 요청 값은 해시로 넣어, 다른 since 로 받은 응답의 ETag 가 우연히 같아 304 가 나가는 일이 없도록 합니다.
+   */
+  private static String etag(String deviceId, String since, LocalDateTime after, Integer size, ChatLogSyncDto sync) {
+    return "\"" + Integer.toHexString(Objects.hash(deviceId, since, after, size))
+        + "-" + (sync.getLatestCursor() == null ? "0" : sync.getLatestCursor())
+        + "." + sync.getMessages().size() + (sync.isHasMore() ? "+" : "") + "\"";
+  }
 }
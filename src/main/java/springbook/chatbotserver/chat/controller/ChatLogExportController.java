@@ -0,0 +1,142 @@
+package springbook.chatbotserver.chat.controller;
+
+import static springbook.chatbotserver.http.ResponseCode.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import jakarta.servlet.http.HttpServletResponse;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+import springbook.chatbotserver.chat.service.ChatLogBucketMigration;
+import springbook.chatbotserver.chat.service.ChatLogExportService;
+import springbook.chatbotserver.config.AdminTokenVerifier;
+import springbook.chatbotserver.http.HttpResponseBody;
+
+/**
+ * 채팅 로그 관리 컨트롤러
+ * 감사나 학습 데이터 구축을 위해 chat_logs 를 NDJSON 으로 스트리밍하고, 버킷 저장 방식으로의 마이그레이션을 실행합니다.
+ * X-Admin-Token 헤더가 chat-log.export.admin-token 과 일치해야 하며, 토큰이 설정되지 않으면 사용할 수 없습니다.
+ */
+@RestController
+@RequestMapping("api/v1/admin/chat-logs")
+public class ChatLogExportController {
+
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+  private final ChatLogExportService chatLogExportService;
+  private final ChatLogBucketMigration chatLogBucketMigration;
+  private final AdminTokenVerifier adminTokenVerifier;
+  private final Duration exportTimeout;
+
+  public ChatLogExportController(ChatLogExportService chatLogExportService,
+      ChatLogBucketMigration chatLogBucketMigration,
+      AdminTokenVerifier adminTokenVerifier,
+      @Value("${chat-log.export.timeout-minutes:30}") long exportTimeoutMinutes) {
+    this.chatLogExportService = chatLogExportService;
+    this.chatLogBucketMigration = chatLogBucketMigration;
+    this.adminTokenVerifier = adminTokenVerifier;
+    this.exportTimeout = Duration.ofMinutes(exportTimeoutMinutes);
+  }
+
+  /**
+   * 채팅 로그 내보내기
+   * 오래 걸리는 스트리밍 응답이므로 전역 비동기 타임아웃 대신 chat-log.export.timeout-minutes 를 이 요청에만 적용합니다.
+   * @param token 관리자 토큰
+   * @param from 시작 날짜 (포함)
+   * @param to 종료 날짜 (포함)
+   * @param deviceId 디바이스 ID
+   * @param messageType 메시지 유형 (user, bot)
+   * @param gzip true 이면 gzip 으로 압축한 파일로 내려줍니다
+   * @param response NDJSON 을 쓸 응답
+   * @return 응답 스트림에 NDJSON 을 쓰는 비동기 작업
+   */
+  @GetMapping("/export")
+  public WebAsyncTask<Void> export(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) String deviceId,
+      @RequestParam(required = false) String messageType,
+      @RequestParam(defaultValue = "false") boolean gzip,
+      HttpServletResponse response) {
+    adminTokenVerifier.verify(token);
+    ChatLogExportFilter filter = new ChatLogExportFilter(
+        from == null ? null : from.atStartOfDay(),
+        to == null ? null : to.plusDays(1).atStartOfDay(),
+        deviceId,
+        messageType);
+
+    String filename = gzip ? "chat_logs.ndjson.gz" : "chat_logs.ndjson";
+    response.setContentType((gzip ? GZIP : NDJSON).toString());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename(filename).build().toString());
+
+    return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+      if (gzip) {
+        chatLogExportService.exportCompressed(filter, response.getOutputStream());
+      } else {
+        chatLogExportService.export(filter, response.getOutputStream());
+      }
+      return null;
+    });
+  }
+
+  /**
+   * chat_logs 를 버킷 저장 방식(chat_log_buckets)으로 옮깁니다.
+   * 디바이스별 버킷을 지우고 다시 만들므로 document 모드에서만 실행할 수 있고, bucket 모드에서는 409 를 반환합니다.
+   * @param token 관리자 토큰
+   * @return 옮긴 로그 수
+   */
+  @PostMapping("/migrate-to-buckets")
+  public ResponseEntity<Object> migrateToBuckets(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+    adminTokenVerifier.verify(token);
+    long migrated = chatLogBucketMigration.migrate();
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(Map.of("migrated", migrated))
+        .build();
+  }
+
+  /**
+   * 마지막 마이그레이션 이후 chat_logs 에 쌓인 로그 중 버킷에 없는 것만 옮깁니다.
+   * 저장 방식을 bucket 으로 바꾼 뒤, 마지막 마이그레이션 시작 시각으로 실행합니다.
+   * @param token 관리자 토큰
+   * @param since 이 시각 이후(포함)의 로그만 옮깁니다
+   * @return 새로 옮긴 로그 수
+   */
+  @PostMapping("/migrate-to-buckets/catch-up")
+  public ResponseEntity<Object> catchUpBuckets(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+    adminTokenVerifier.verify(token);
+    long migrated = chatLogBucketMigration.catchUp(since);
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(Map.of("migrated", migrated))
+        .build();
+  }
+
+}
@@ -0,0 +1,48 @@
+package springbook.chatbotserver.chat.controller;
+
+import static springbook.chatbotserver.http.ResponseCode.*;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.config.AdminTokenVerifier;
+import springbook.chatbotserver.http.HttpResponseBody;
+
+/**
+ * 캠퍼스 디렉터리 관리 컨트롤러
+ * 건물/학과/교수/시설 테이블을 수정한 뒤 다음 주기를 기다리지 않고 바로 반영할 때 사용합니다.
+ * X-Admin-Token 헤더가 chat-log.export.admin-token 과 일치해야 합니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/directory")
+public class DirectoryController {
+  private final CampusDirectory campusDirectory;
+  private final AdminTokenVerifier adminTokenVerifier;
+
+  /**
+   * 디렉터리 스냅샷을 다시 읽습니다.
+   * @param token 관리자 토큰
+   * @return 교체 여부와 현재 스냅샷 버전
+   */
+  @PostMapping("/refresh")
+  public ResponseEntity<Object> refresh(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+    adminTokenVerifier.verify(token);
+    boolean changed = campusDirectory.refresh();
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(Map.of("changed", changed, "version", campusDirectory.version()))
+        .build();
+  }
+}
@@ -0,0 +1,49 @@
+package springbook.chatbotserver.chat.controller;
+
+import static springbook.chatbotserver.http.ResponseCode.*;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.chat.model.dto.SuggestionDto;
+import springbook.chatbotserver.chat.service.directory.SuggestionIndex;
+import springbook.chatbotserver.http.HttpResponseBody;
+
+/**
+ * 자동완성 컨트롤러
+ * 앱에서 입력하는 동안 교수/학과/건물/시설 이름 후보를 제안합니다.
+ * 입력할 때마다 호출되므로 DB 에 접근하지 않고 메모리의 자동완성 색인만 조회합니다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/suggest")
+public class SuggestController {
+  private final SuggestionIndex suggestionIndex;
+
+  /**
+   * 자동완성 후보 조회
+   * 초성만 입력하면(ㄱㅎ) 초성으로, 그 외에는 입력 중인 글자까지 포함한 접두사로 찾습니다.
+   * @param q 입력 중인 문자열
+   * @param size 최대 후보 수 (생략하면 설정한 최대값)
+   * @return 순위 순 자동완성 후보
+   */
+  @GetMapping
+  public ResponseEntity<Object> suggest(@RequestParam(defaultValue = "") String q,
+      @RequestParam(required = false) Integer size) {
+    List<SuggestionDto> suggestions = suggestionIndex.suggest(q,
+        size == null ? suggestionIndex.maxResults() : size);
+    return HttpResponseBody.builder()
+        .code(HttpStatus.OK.value())
+        .subCode(NOT_ISSUE.getSubCode())
+        .message(NOT_ISSUE.getMessage())
+        .response(suggestions)
+        .build();
+  }
+}
@@ -3,6 +3,8 @@ package springbook.chatbotserver.chat.model.domain;
 import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -16,6 +18,12 @@ import lombok.NoArgsConstructor;
  *
  */
 @Document(collection = "chat_logs")
+@CompoundIndexes({
+    // 디바이스별 기록 조회와 (timestamp, id) 커서 페이지 조회
+    @CompoundIndex(name = "deviceId_timestamp_id", def = "{'deviceId': 1, 'timestamp': -1, '_id': -1}"),
+    // 기간 조건으로 전체 로그를 내보낼 때
+    @CompoundIndex(name = "timestamp_id", def = "{'timestamp': 1, '_id': 1}")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -0,0 +1,79 @@
+package springbook.chatbotserver.chat.model.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 한 디바이스의 하루치 채팅 메시지를 모아 저장하는 버킷 문서입니다.
+ * 메시지마다 문서를 만드는 대신 버킷의 messages 배열에 $push 로 이어 붙이므로,
+ * deviceId 와 인덱스 항목이 메시지마다 반복되지 않아 문서 수와 인덱스 크기가 크게 줄어듭니다.
+ * 버킷 하나에는 최대 chat-log.storage.bucket.max-size 개의 메시지가 들어가며, 넘치면 같은 날짜의 새 버킷이 만들어집니다.
+ */
+@Document(collection = "chat_log_buckets")
+@CompoundIndexes({
+    // 버킷 upsert 와 디바이스별 기록/페이지 조회
+    @CompoundIndex(name = "deviceId_day_start", def = "{'deviceId': 1, 'day': -1, 'start': -1}"),
+    // 기간 조건으로 전체 로그를 내보낼 때
+    @CompoundIndex(name = "day_start", def = "{'day': 1, 'start': 1}")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class ChatLogBucket {
+
+  @Id
+  private String id;
+  private String deviceId;
+  /** 메시지 날짜 (yyyy-MM-dd) */
+  private String day;
+  private int count;
+  /** 버킷에 든 가장 이른 메시지 시각 */
+  private LocalDateTime start;
+  /** 버킷에 든 가장 늦은 메시지 시각 */
+  private LocalDateTime end;
+  private List<Message> messages;
+
+  /**
+   * 버킷에 들어가는 메시지입니다. 메시지 수만큼 반복되는 필드 이름은 짧게 저장합니다.
+   */
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Getter
+  public static class Message {
+    @Field(name = "i", targetType = FieldType.OBJECT_ID)
+    private String id;
+    @Field("t")
+    private LocalDateTime timestamp;
+    @Field("m")
+    private String messageType;
+    @Field("x")
+    private String text;
+
+    public static Message from(ChatLog log) {
+      return new Message(log.getId(), log.getTimestamp(), log.getMessageType(), log.getText());
+    }
+
+    public ChatLog toChatLog(String deviceId) {
+      return ChatLog.builder()
+          .id(id)
+          .deviceId(deviceId)
+          .timestamp(timestamp)
+          .messageType(messageType)
+          .text(text)
+          .build();
+    }
+  }
+}
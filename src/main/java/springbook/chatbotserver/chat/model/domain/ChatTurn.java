@@ -0,0 +1,150 @@
+package springbook.chatbotserver.chat.model.domain;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자 메시지와 챗봇 응답을 한 번에 담는 대화 턴입니다.
+ * turn 저장 방식에서는 chat_turns 컬렉션에 턴 하나가 문서 하나로 저장되고,
+ * 다른 저장 방식에서는 사용자/챗봇 메시지 두 개의 {@link ChatLog} 로 펼쳐 저장됩니다.
+ * 사용자 메시지만 있는 턴은 응답 전에 먼저 저장하는 경우이고, 챗봇 메시지만 있는 턴은 그 턴을 완성하는 경우입니다.
+ */
+@Document(collection = "chat_turns")
+@CompoundIndexes({
+    // 디바이스별 기록 조회와 (timestamp, id) 커서 페이지 조회
+    @CompoundIndex(name = "deviceId_timestamp_id", def = "{'deviceId': 1, 'timestamp': -1, '_id': -1}"),
+    // 기간 조건으로 전체 로그를 내보내거나 아카이브할 때
+    @CompoundIndex(name = "timestamp_id", def = "{'timestamp': 1, '_id': 1}")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@Getter
+public class ChatTurn {
+
+  @Id
+  private String id;
+  private String deviceId;
+  /** 턴이 시작된 시각 (사용자 메시지 시각) */
+  private LocalDateTime timestamp;
+  private Message user;
+  private Message bot;
+  private String intent;
+  private Double confidence;
+  private List<Entity> entities;
+  /** 사용자 메시지부터 챗봇 응답까지 걸린 시간 */
+  private Long latencyMs;
+
+  /**
+   * 사용자 메시지로 새 턴을 시작합니다.
+   *
+   * @param turnId 턴 ID
+   * @param deviceId 디바이스 ID
+   * @param user 사용자 메시지
+   * @return 사용자 메시지만 있는 턴
+   */
+  public static ChatTurn start(String turnId, String deviceId, Message user) {
+    return ChatTurn.builder()
+        .id(turnId)
+        .deviceId(deviceId)
+        .timestamp(user.getTimestamp())
+        .user(user)
+        .build();
+  }
+
+  /**
+   * 챗봇 응답으로 턴을 완성합니다.
+   *
+   * @param bot 챗봇 메시지
+   * @param intent 인식된 인텐트 (Rasa 호출에 실패했으면 null)
+   * @param confidence 인텐트 신뢰도
+   * @param entities 인식된 엔티티
+   * @return 사용자/챗봇 메시지가 모두 있는 턴
+   */
+  public ChatTurn complete(Message bot, String intent, Double confidence, List<Entity> entities) {
+    return toBuilder()
+        .bot(bot)
+        .intent(intent)
+        .confidence(confidence)
+        .entities(entities)
+        .latencyMs(Duration.between(user.getTimestamp(), bot.getTimestamp()).toMillis())
+        .build();
+  }
+
+  /**
+   * @return 이미 저장된 사용자 메시지 턴에 챗봇 응답만 덧붙이는 턴
+   */
+  public ChatTurn withoutUser() {
+    return toBuilder().user(null).build();
+  }
+
+  /**
+   * 턴을 시간순 {@link ChatLog} 목록으로 펼칩니다.
+   *
+   * @return 사용자 메시지, 챗봇 메시지 순의 로그 목록 (없는 쪽은 제외)
+   */
+  public List<ChatLog> toChatLogs() {
+    List<ChatLog> logs = new ArrayList<>(2);
+    if (user != null) {
+      logs.add(user.toChatLog(deviceId, "user"));
+    }
+    if (bot != null) {
+      logs.add(bot.toChatLog(deviceId, "bot"));
+    }
+    return logs;
+  }
+
+  /**
+   * 턴에 담기는 메시지입니다.
+   */
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Getter
+  public static class Message {
+    @Field(name = "i", targetType = FieldType.OBJECT_ID)
+    private String id;
+    @Field("t")
+    private LocalDateTime timestamp;
+    @Field("x")
+    private String text;
+
+    public static Message from(ChatLog log) {
+      return new Message(log.getId(), log.getTimestamp(), log.getText());
+    }
+
+    public ChatLog toChatLog(String deviceId, String messageType) {
+      return ChatLog.builder()
+          .id(id)
+          .deviceId(deviceId)
+          .timestamp(timestamp)
+          .messageType(messageType)
+          .text(text)
+          .build();
+    }
+  }
+
+  /**
+   * 인식된 엔티티입니다.
+   */
+  @AllArgsConstructor
+  @NoArgsConstructor
+  @Getter
+  public static class Entity {
+    private String entity;
+    private String value;
+  }
+}
@@ -1,9 +1,12 @@
 package springbook.chatbotserver.chat.model.domain;
 
+import lombok.Getter;
+
 /**
  * 학과 정보를 나타내는 클래스입니다.
  * 건물 번호, 학과명, 학과 사무실 위치 등의 정보를 포함합니다.
  */
+@Getter
 public class Department {
 
   private Integer buildingNumber;
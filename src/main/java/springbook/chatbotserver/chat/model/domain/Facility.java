@@ -9,6 +9,7 @@ import lombok.Getter;
 @Getter
 public class Facility {
 
+  private String facilityType;
   private String name;
   private String locationDetail;
   private String mapUrl;
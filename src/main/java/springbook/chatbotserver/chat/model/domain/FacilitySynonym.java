@@ -0,0 +1,14 @@
+package springbook.chatbotserver.chat.model.domain;
+
+import lombok.Getter;
+
+/**
+ * 사용자가 시설을 부르는 이름과 시설 유형의 대응입니다.
+ * 예) "현금인출기" -> atm, "프린터기" -> copier
+ */
+@Getter
+public class FacilitySynonym {
+
+  private String synonym;
+  private String facilityType;
+}
@@ -9,6 +9,7 @@ import lombok.Getter;
 @Getter
 public class Professor {
 
+  private String name;
   private String buildingName;
   private String office;
   private String mapUrl;
@@ -0,0 +1,66 @@
+package springbook.chatbotserver.chat.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * 채팅 기록 페이지 조회에 사용하는 커서입니다.
+ * 마지막으로 받은 로그의 (timestamp, id) 를 담고 있으며, 다음 페이지는 이보다 오래된 로그부터 시작합니다.
+ * 동기화 조회에서는 반대로 이보다 새로운 로그만 반환합니다. id 가 비어 있으면 시각만으로 비교합니다.
+ * 클라이언트에는 "epochMillis:id" 를 URL-safe Base64 로 인코딩한 문자열로 전달합니다.
+ *
+ * @param timestamp 마지막 로그의 시각
+ * @param id 마지막 로그의 ID (같은 시각의 로그를 구분하는 데 사용)
+ */
+public record ChatLogCursor(LocalDateTime timestamp, String id) {
+
+  public static ChatLogCursor of(ChatLog chatLog) {
+    return new ChatLogCursor(chatLog.getTimestamp(), chatLog.getId() == null ? "" : chatLog.getId());
+  }
+
+  /**
+   * 클라이언트가 보낸 커서 문자열을 해석합니다.
+   *
+   * @param token 커서 문자열 (없으면 첫 페이지)
+   * @return 커서, 첫 페이지이면 null
+   */
+  public static ChatLogCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(':');
+      long epochMillis = Long.parseLong(raw.substring(0, separator));
+      LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+      return new ChatLogCursor(timestamp, raw.substring(separator + 1));
+    } catch (RuntimeException e) {
+      throw new CustomException(ErrorCode.INVALID_CURSOR);
+    }
+  }
+
+  /**
+   * @param chatLog 비교할 로그
+   * @return 로그가 커서 위치보다 새로우면 true (id 가 비어 있으면 커서 시각보다 늦은 로그만 true)
+   */
+  public boolean precedes(ChatLog chatLog) {
+    int compared = chatLog.getTimestamp().compareTo(timestamp);
+    if (compared != 0 || id.isEmpty()) {
+      return compared > 0;
+    }
+    return chatLog.getId() != null && chatLog.getId().compareTo(id) > 0;
+  }
+
+  public String encode() {
+    long epochMillis = timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    String raw = epochMillis + ":" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,14 @@
+package springbook.chatbotserver.chat.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 로그 내보내기 조건입니다. null 인 조건은 적용하지 않습니다.
+ *
+ * @param from 이 시각 이후(포함)의 로그
+ * @param to 이 시각 이전(제외)의 로그
+ * @param deviceId 디바이스 ID
+ * @param messageType 메시지 유형 (user, bot)
+ */
+public record ChatLogExportFilter(LocalDateTime from, LocalDateTime to, String deviceId, String messageType) {
+}
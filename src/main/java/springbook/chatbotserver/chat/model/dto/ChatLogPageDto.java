@@ -0,0 +1,18 @@
+package springbook.chatbotserver.chat.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 채팅 기록 페이지 DTO 클래스 입니다.
+ * 최신 메시지부터 정렬된 메시지 목록과, 다음(더 오래된) 페이지를 요청할 때 사용할 커서를 포함합니다.
+ * 더 이상 가져올 메시지가 없으면 nextCursor 는 null 입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ChatLogPageDto {
+  private List<ChatMessageDto> messages;
+  private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package springbook.chatbotserver.chat.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 채팅 기록 동기화 DTO 클래스 입니다.
+ * 클라이언트가 마지막으로 받은 메시지 이후의 메시지를 오래된 순으로 담고,
+ * 다음 동기화 때 보낼 커서(latestCursor)와 아직 받지 못한 메시지가 더 있는지(hasMore)를 포함합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ChatLogSyncDto {
+  private List<ChatMessageDto> messages;
+  private String latestCursor;
+  private boolean hasMore;
+}
@@ -19,6 +19,18 @@ public class RasaResponse {
   private List<Entity> entities;
   private String text;
 
+  /**
+   * Rasa 를 거치지 않고 서버에서 직접 인식한 결과로 RasaResponse 를 생성하는 정적 팩토리 메서드입니다.
+   *
+   * @param text 원본 텍스트
+   * @param intent 인텐트 정보
+   * @param entities 엔티티 목록
+   * @return RasaResponse 객체
+   */
+  public static RasaResponse of(String text, Intent intent, List<Entity> entities) {
+    return new RasaResponse(intent, entities, text);
+  }
+
   /**
    * Rasa가 인식한 인텐트 정보를 담는 내부 클래스입니다.
    */
@@ -26,6 +38,13 @@ public class RasaResponse {
   public static class Intent {
     private String name;
     private double confidence;
+
+    public static Intent of(String name, double confidence) {
+      Intent intent = new Intent();
+      intent.name = name;
+      intent.confidence = confidence;
+      return intent;
+    }
   }
 
   /**
@@ -39,5 +58,14 @@ public class RasaResponse {
     private Integer start;
     private Integer end;
     private Double confidence_entity;
+
+    public static Entity of(String entity, String value, String extractor) {
+      Entity result = new Entity();
+      result.entity = entity;
+      result.value = value;
+      result.extractor = extractor;
+      result.confidence_entity = 1.0;
+      return result;
+    }
   }
 }
@@ -1,9 +1,11 @@
 package springbook.chatbotserver.chat.model.dto;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 @Getter
+@EqualsAndHashCode
 @RequiredArgsConstructor
 public class RoomInfo {
   private final int buildingNumber;
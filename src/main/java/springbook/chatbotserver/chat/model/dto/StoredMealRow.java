@@ -0,0 +1,24 @@
+package springbook.chatbotserver.chat.model.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 식단 수집 시 저장된 식단과 비교하기 위해 읽는 meal / meal_menu 행입니다.
+ * 메뉴가 없는 끼니는 menuItem 이 null 인 행 하나로 읽힙니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredMealRow {
+  private int mealId;
+  private int dormitoryId;
+  private LocalDate mealDate;
+  private String mealType;
+  private String menuItem;
+}
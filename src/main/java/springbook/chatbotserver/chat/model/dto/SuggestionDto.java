@@ -0,0 +1,15 @@
+package springbook.chatbotserver.chat.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 자동완성 후보 DTO 클래스 입니다.
+ * 후보 이름과 종류(professor, department, building, facility)를 포함합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class SuggestionDto {
+  private String name;
+  private String type;
+}
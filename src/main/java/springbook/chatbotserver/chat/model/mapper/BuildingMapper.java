@@ -1,5 +1,7 @@
 package springbook.chatbotserver.chat.model.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -34,4 +36,11 @@ public interface BuildingMapper {
    * @return 건물의 고유 번호
    */
   Integer findBuildingNumberOfBuildingName(@Param("buildingName") String buildingName);
+
+  /**
+   * 모든 건물 정보를 조회합니다.
+   *
+   * @return 건물 목록
+   */
+  List<Building> findAll();
 }
@@ -1,5 +1,7 @@
 package springbook.chatbotserver.chat.model.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -18,4 +20,11 @@ public interface DepartmentMapper {
    * @return 해당 건물에 위치한 학과 객체
    */
   Department findDepartmentsInBuilding(@Param("buildingNumber") Integer buildingNumber);
+
+  /**
+   * 모든 학과 이름과 소속 건물 번호를 조회합니다.
+   *
+   * @return Department 목록
+   */
+  List<Department> findAll();
 }
\ No newline at end of file
@@ -3,9 +3,9 @@ package springbook.chatbotserver.chat.model.mapper;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
-import org.springframework.data.repository.query.Param;
 
 import springbook.chatbotserver.chat.model.domain.Facility;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
 
 /**
  * 시설 정보와 관련된 DB 조회 기능을 제공하는 MyBatis 매퍼 인터페이스입니다.
@@ -14,10 +14,16 @@ import springbook.chatbotserver.chat.model.domain.Facility;
 public interface FacilityMapper {
 
   /**
-   * 시설 유형을 기반으로 해당 유형의 시설 목록을 조회합니다.
+   * 모든 시설 정보를 시설 유형과 함께 조회합니다.
    *
-   * @param facilityType 시설 유형 (예: ATM, 복사기, 편의점 등)
-   * @return 주어진 유형에 해당하는 시설 리스트
+   * @return 시설 리스트
    */
-  List<Facility> findByFacilityType(@Param("facilityType") String facilityType);
+  List<Facility> findAll();
+
+  /**
+   * 시설 이름 동의어 사전 전체를 조회합니다.
+   *
+   * @return 동의어와 시설 유형 리스트
+   */
+  List<FacilitySynonym> findAllSynonyms();
 }
@@ -1,6 +1,9 @@
 package springbook.chatbotserver.chat.model.mapper;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.springframework.data.repository.query.Param;
@@ -8,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import springbook.chatbotserver.chat.model.domain.Meal;
 import springbook.chatbotserver.chat.model.domain.MealMenu;
 import springbook.chatbotserver.chat.model.dto.MealResponse;
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
 
 /**
  * 식사 정보와 관련된 DB 조회 기능을 제공하는 MyBatis 매퍼 인터페이스입니다.
@@ -47,4 +51,154 @@ public interface MealMapper {
    * 모든 식사 정보를 삭제합니다.
    */
   void deleteAllMeals();
+
+  /**
+   * 한 기숙사의 기간 안 식단을 한 번에 조회합니다. 주간 식단처럼 여러 날짜를 함께 보여줄 때 사용합니다.
+   *
+   * @param buildingNumber 건물 고유 번호
+   * @param from 시작 날짜 (포함)
+   * @param to 마지막 날짜 (포함)
+   * @return 날짜, 끼니, 메뉴 순으로 정렬된 식사 정보 리스트
+   */
+  List<MealResponse> findMealsInRange(@Param("buildingNumber") int buildingNumber,
+      @Param("from") LocalDate from,
+      @Param("to") LocalDate to);
+
+  /**
+   * @return 조회에 사용하는 현재 식단 버전
+   */
+  int findCurrentVersion();
+
+  /**
+   * 현재 식단 버전을 바꿉니다. 조회는 항상 현재 버전만 읽으므로, 이 한 행의 갱신으로 새 식단이 한 번에 보이게 됩니다.
+   *
+   * @param expected 바꾸기 전 버전 (다른 작업이 먼저 바꿨으면 갱신하지 않음)
+   * @param version 새 버전
+   * @return 갱신한 행 수 (0 이면 다른 작업이 먼저 바꾼 것)
+   */
+  int switchVersion(@Param("expected") int expected, @Param("version") int version);
+
+  /**
+   * 기간 안의 식단을 메뉴 행 단위로 조회합니다. 식단 수집 시 저장된 식단과 비교하는 데 사용합니다.
+   *
+   * @param version 식단 버전
+   * @param from 시작 날짜 (포함)
+   * @param to 마지막 날짜 (포함)
+   * @return meal ID, meal_menu ID 순으로 정렬된 행 (메뉴가 없는 끼니는 menuItem 이 null)
+   */
+  List<StoredMealRow> findStoredMeals(@Param("version") int version,
+      @Param("from") LocalDate from,
+      @Param("to") LocalDate to);
+
+  /**
+   * 식단을 다중 행 INSERT 한 번으로 삽입합니다. 생성된 ID 는 {@link #findMealIds(int, List)} 로 다시 읽습니다.
+   *
+   * @param version 식단 버전
+   * @param meals 삽입할 식단
+   */
+  void insertMeals(@Param("version") int version, @Param("meals") List<Meal> meals);
+
+  /**
+   * (기숙사, 날짜, 식사 유형) 이 같은 식단의 ID 를 조회합니다.
+   *
+   * @param version 식단 버전
+   * @param meals 조회할 식단
+   * @return 식단 ID 와 키 (menuItem 은 null)
+   */
+  List<StoredMealRow> findMealIds(@Param("version") int version, @Param("meals") List<Meal> meals);
+
+  /**
+   * 식사 메뉴를 다중 행 INSERT 한 번으로 삽입합니다.
+   *
+   * @param mealMenus 삽입할 식사 메뉴
+   */
+  void insertMealMenus(@Param("mealMenus") List<MealMenu> mealMenus);
+
+  /**
+   * 주어진 식단의 메뉴를 모두 삭제합니다.
+   *
+   * @param mealIds 식단 ID
+   */
+  void deleteMealMenusByMealIds(@Param("mealIds") List<Integer> mealIds);
+
+  /**
+   * 주어진 식단을 삭제합니다. 메뉴는 먼저 {@link #deleteMealMenusByMealIds(List)} 로 지워야 합니다.
+   *
+   * @param mealIds 식단 ID
+   */
+  void deleteMealsByIds(@Param("mealIds") List<Integer> mealIds);
+
+  /**
+   * 새로 수집한 (기숙사, 날짜) 밖의 식단을 이전 버전에서 새 버전으로 복사합니다.
+   * 복사한 행의 copied_from 에 원본 식단 ID 를 남깁니다.
+   *
+   * @param from 이전 버전
+   * @param to 새 버전
+   * @param replaced 새로 수집하여 복사하지 않을 기숙사별 날짜
+   */
+  void copyMeals(@Param("from") int from, @Param("to") int to,
+      @Param("replaced") Map<Integer, Set<LocalDate>> replaced);
+
+  /**
+   * {@link #copyMeals(int, int, Map)} 로 복사한 식단의 메뉴를 새 버전의 식단 ID 로 복사합니다.
+   * 원본은 (기숙사, 날짜, 식사 유형) 이 아니라 copied_from 으로 찾으므로, 같은 키의 식단이 여럿이어도 메뉴가 늘어나지 않습니다.
+   *
+   * @param to 새 버전
+   */
+  void copyMealMenus(@Param("to") int to);
+
+  /**
+   * 주어진 버전보다 오래된 식단의 메뉴를 limit 행까지 삭제합니다.
+   *
+   * @param version 남길 가장 오래된 버전
+   * @param limit 한 번에 삭제할 최대 행 수
+   * @return 삭제한 행 수
+   */
+  int deleteStaleMealMenus(@Param("version") int version, @Param("limit") int limit);
+
+  /**
+   * 주어진 버전보다 오래된 식단을 limit 행까지 삭제합니다. 메뉴는 먼저 {@link #deleteStaleMealMenus(int, int)} 로 지워야 합니다.
+   *
+   * @param version 남길 가장 오래된 버전
+   * @param limit 한 번에 삭제할 최대 행 수
+   * @return 삭제한 행 수
+   */
+  int deleteStaleMeals(@Param("version") int version, @Param("limit") int limit);
+
+  /**
+   * 주어진 버전 식단의 메뉴를 limit 행까지 삭제합니다. 중단된 다시 읽기가 남긴, 아직 공개되지 않은 버전을 지울 때 사용합니다.
+   *
+   * @param version 지울 버전
+   * @param limit 한 번에 삭제할 최대 행 수
+   * @return 삭제한 행 수
+   */
+  int deleteMealMenusOfVersion(@Param("version") int version, @Param("limit") int limit);
+
+  /**
+   * 주어진 버전의 식단을 limit 행까지 삭제합니다. 메뉴는 먼저 {@link #deleteMealMenusOfVersion(int, int)} 로 지워야 합니다.
+   *
+   * @param version 지울 버전
+   * @param limit 한 번에 삭제할 최대 행 수
+   * @return 삭제한 행 수
+   */
+  int deleteMealsOfVersion(@Param("version") int version, @Param("limit") int limit);
+
+  /**
+   * locked_until 이 지난 잠금 행을 이 인스턴스 이름으로 leaseSeconds 동안 잡습니다.
+   *
+   * @param name 잠금 이름
+   * @param owner 잠금을 잡는 인스턴스
+   * @param leaseSeconds 잠금을 유지할 시간(초)
+   * @return 잡았으면 1, 다른 인스턴스가 잡고 있으면 0
+   */
+  int acquireLock(@Param("name") String name, @Param("owner") String owner,
+      @Param("leaseSeconds") long leaseSeconds);
+
+  /**
+   * owner 가 잡은 잠금을 풉니다.
+   *
+   * @param name 잠금 이름
+   * @param owner 잠금을 잡은 인스턴스
+   */
+  void releaseLock(@Param("name") String name, @Param("owner") String owner);
 }
@@ -1,5 +1,7 @@
 package springbook.chatbotserver.chat.model.mapper;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 import org.springframework.data.repository.query.Param;
 
@@ -18,4 +20,11 @@ public interface ProfessorMapper {
    * @return 교수의 연구실 정보가 담긴 Professor 객체
    */
   Professor findOfficeByProfessorName(@Param("professorName") String professorName);
+
+  /**
+   * 모든 교수의 이름과 교수실 정보를 조회합니다.
+   *
+   * @return Professor 목록
+   */
+  List<Professor> findAll();
 }
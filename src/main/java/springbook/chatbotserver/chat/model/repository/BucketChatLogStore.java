@@ -0,0 +1,278 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatLogBucket;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+
+/**
+ * 채팅 로그를 디바이스/날짜별 {@link ChatLogBucket} 에 모아 저장하는 저장소입니다.
+ * 저장은 (deviceId, day, count 여유) 조건의 upsert 에 $push 로 메시지를 이어 붙이는 방식이라
+ * 버킷이 가득 차면 조건에 맞는 버킷이 없어 같은 날짜의 새 버킷이 자동으로 만들어집니다.
+ * 조회 시에는 날짜 단위로 버킷을 읽어 메시지를 시간순으로 다시 펼칩니다.
+ * $push 는 같은 메시지를 다시 보내면 중복으로 쌓이므로, 다시 저장할 때는 {@link #insertMissing(List)} 로 버킷에 없는 메시지만 저장합니다.
+ */
+public class BucketChatLogStore implements ChatLogStore {
+
+  private static final Comparator<ChatLog> OLDEST_FIRST = Comparator.comparing(ChatLog::getTimestamp)
+      .thenComparing(ChatLog::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+  private static final Comparator<ChatLog> NEWEST_FIRST = OLDEST_FIRST.reversed();
+
+  private final MongoTemplate mongoTemplate;
+  private final int maxBucketSize;
+
+  public BucketChatLogStore(MongoTemplate mongoTemplate, int maxBucketSize) {
+    this.mongoTemplate = mongoTemplate;
+    this.maxBucketSize = maxBucketSize;
+  }
+
+  @Override
+  public void insertAll(List<ChatLog> logs) {
+    if (logs.isEmpty()) {
+      return;
+    }
+    Map<BucketKey, List<ChatLogBucket.Message>> groups = new LinkedHashMap<>();
+    for (ChatLog log : logs) {
+      ChatLogBucket.Message message = new ChatLogBucket.Message(
+          log.getId() != null ? log.getId() : ObjectId.get().toHexString(),
+          log.getTimestamp(), log.getMessageType(), log.getText());
+      groups.computeIfAbsent(new BucketKey(log.getDeviceId(), day(log.getTimestamp())), key -> new ArrayList<>())
+          .add(message);
+    }
+
+    // 같은 디바이스의 메시지 순서가 바뀌지 않도록 순서대로 적용합니다.
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, ChatLogBucket.class);
+    for (Map.Entry<BucketKey, List<ChatLogBucket.Message>> group : groups.entrySet()) {
+      List<ChatLogBucket.Message> messages = group.getValue();
+      for (int from = 0; from < messages.size(); from += maxBucketSize) {
+        List<ChatLogBucket.Message> chunk = messages.subList(from, Math.min(from + maxBucketSize, messages.size()));
+        bulk.upsert(bucketQuery(group.getKey(), chunk.size()), appendUpdate(chunk));
+      }
+    }
+    bulk.execute();
+  }
+
+  /**
+   * 앞선 시도에서 일부 버킷에만 반영되었을 수 있으므로 버킷에 아직 없는 메시지만 저장합니다.
+   */
+  @Override
+  public void retryTurns(List<ChatTurn> turns) {
+    insertMissing(turns.stream()
+        .flatMap(turn -> turn.toChatLogs().stream())
+        .toList());
+  }
+
+  /**
+   * 같은 ID 의 메시지가 이미 버킷에 있는 로그는 빼고 저장합니다.
+   *
+   * @param logs 저장할 채팅 로그 목록
+   * @return 실제로 저장한 로그 수
+   */
+  public int insertMissing(List<ChatLog> logs) {
+    if (logs.isEmpty()) {
+      return 0;
+    }
+    Set<String> devices = new HashSet<>();
+    Set<String> days = new HashSet<>();
+    List<Object> ids = new ArrayList<>();
+    for (ChatLog log : logs) {
+      devices.add(log.getDeviceId());
+      days.add(day(log.getTimestamp()));
+      if (log.getId() != null) {
+        ids.add(ObjectId.isValid(log.getId()) ? new ObjectId(log.getId()) : log.getId());
+      }
+    }
+    Query query = new Query(Criteria.where("deviceId").in(devices)
+        .and("day").in(days)
+        .and("messages.i").in(ids));
+    query.fields().include("messages.i");
+
+    Set<String> existing = new HashSet<>();
+    mongoTemplate.find(query, ChatLogBucket.class)
+        .forEach(bucket -> bucket.getMessages().forEach(message -> existing.add(message.getId())));
+    List<ChatLog> missing = logs.stream()
+        .filter(log -> log.getId() == null || !existing.contains(log.getId()))
+        .toList();
+    insertAll(missing);
+    return missing.size();
+  }
+
+  @Override
+  public List<ChatLog> findHistory(String deviceId) {
+    Query query = new Query(Criteria.where("deviceId").is(deviceId))
+        .with(Sort.by(Sort.Direction.ASC, "day", "start"));
+    query.fields().include("messages");
+
+    List<ChatLog> logs = new ArrayList<>();
+    for (ChatLogBucket bucket : mongoTemplate.find(query, ChatLogBucket.class)) {
+      bucket.getMessages().forEach(message -> logs.add(message.toChatLog(deviceId)));
+    }
+    logs.sort(OLDEST_FIRST);
+    return logs;
+  }
+
+  /**
+   * 최신 날짜의 버킷부터 읽으면서 하루치씩 메시지를 정렬해 붙이고, limit 개가 모이면 멈춥니다.
+   * 같은 날짜의 버킷끼리는 시간이 겹칠 수 있으므로 날짜 하나는 항상 통째로 읽습니다.
+   */
+  @Override
+  public List<ChatLog> findPage(String deviceId, ChatLogCursor cursor, int limit) {
+    Criteria criteria = Criteria.where("deviceId").is(deviceId);
+    if (cursor != null) {
+      criteria.and("day").lte(day(cursor.timestamp()));
+    }
+    Query query = new Query(criteria)
+        .with(Sort.by(Sort.Direction.DESC, "day", "start"));
+    query.fields().include("day", "messages");
+
+    List<ChatLog> page = new ArrayList<>();
+    List<ChatLog> sameDay = new ArrayList<>();
+    String currentDay = null;
+    try (Stream<ChatLogBucket> buckets = mongoTemplate.stream(query, ChatLogBucket.class)) {
+      Iterator<ChatLogBucket> iterator = buckets.iterator();
+      while (iterator.hasNext()) {
+        ChatLogBucket bucket = iterator.next();
+        if (!bucket.getDay().equals(currentDay)) {
+          if (drainDay(sameDay, cursor, page) >= limit) {
+            break;
+          }
+          currentDay = bucket.getDay();
+        }
+        bucket.getMessages().forEach(message -> sameDay.add(message.toChatLog(deviceId)));
+      }
+    }
+    drainDay(sameDay, cursor, page);
+    return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+  }
+
+  /**
+   * 버킷을 날짜순으로 읽으면서 조건에 맞는 메시지를 펼칩니다.
+   * 시간순 정렬은 버킷 안에서만 보장되므로, 여러 디바이스를 함께 내보낼 때는 날짜 단위로만 시간순입니다.
+   */
+  @Override
+  public Stream<ChatLog> stream(ChatLogExportFilter filter, int batchSize) {
+    Criteria criteria = new Criteria();
+    if (filter.deviceId() != null) {
+      criteria.and("deviceId").is(filter.deviceId());
+    }
+    if (filter.from() != null || filter.to() != null) {
+      Criteria dayRange = criteria.and("day");
+      if (filter.from() != null) {
+        dayRange.gte(day(filter.from()));
+      }
+      if (filter.to() != null) {
+        dayRange.lte(day(filter.to()));
+      }
+    }
+    Query query = new Query(criteria)
+        .with(Sort.by(Sort.Direction.ASC, "day", "start"))
+        .cursorBatchSize(Math.max(1, batchSize / maxBucketSize));
+
+    return mongoTemplate.stream(query, ChatLogBucket.class)
+        .flatMap(bucket -> bucket.getMessages().stream()
+            .map(message -> message.toChatLog(bucket.getDeviceId()))
+            .filter(log -> matches(filter, log))
+            .sorted(OLDEST_FIRST));
+  }
+
+  @Override
+  public LocalDate oldestDay() {
+    Query query = new Query()
+        .with(Sort.by(Sort.Direction.ASC, "day"))
+        .limit(1);
+    query.fields().include("day");
+    ChatLogBucket oldest = mongoTemplate.findOne(query, ChatLogBucket.class);
+    return oldest == null ? null : LocalDate.parse(oldest.getDay());
+  }
+
+  @Override
+  public long deleteDay(LocalDate day) {
+    return mongoTemplate.remove(new Query(Criteria.where("day").is(day.toString())), ChatLogBucket.class)
+        .getDeletedCount();
+  }
+
+  /**
+   * 디바이스의 버킷을 모두 지웁니다. 마이그레이션을 다시 실행할 때 사용합니다.
+   *
+   * @param deviceId 디바이스 ID
+   */
+  public void deleteByDeviceId(String deviceId) {
+    mongoTemplate.remove(new Query(Criteria.where("deviceId").is(deviceId)), ChatLogBucket.class);
+  }
+
+  private Query bucketQuery(BucketKey key, int incoming) {
+    return new Query(Criteria.where("deviceId").is(key.deviceId())
+        .and("day").is(key.day())
+        .and("count").lte(maxBucketSize - incoming));
+  }
+
+  private UpdateDefinition appendUpdate(List<ChatLogBucket.Message> messages) {
+    LocalDateTime start = messages.get(0).getTimestamp();
+    LocalDateTime end = start;
+    for (ChatLogBucket.Message message : messages) {
+      start = message.getTimestamp().isBefore(start) ? message.getTimestamp() : start;
+      end = message.getTimestamp().isAfter(end) ? message.getTimestamp() : end;
+    }
+    Update update = new Update();
+    update.push("messages").each(messages.toArray());
+    return update.inc("count", messages.size())
+        .min("start", start)
+        .max("end", end);
+  }
+
+  /**
+   * 하루치 메시지를 최신순으로 정렬해 커서보다 오래된 것만 page 에 붙입니다.
+   *
+   * @return 붙인 뒤의 page 크기
+   */
+  private static int drainDay(List<ChatLog> sameDay, ChatLogCursor cursor, List<ChatLog> page) {
+    sameDay.sort(NEWEST_FIRST);
+    for (ChatLog log : sameDay) {
+      if (cursor == null || isBefore(log, cursor)) {
+        page.add(log);
+      }
+    }
+    sameDay.clear();
+    return page.size();
+  }
+
+  private static boolean isBefore(ChatLog log, ChatLogCursor cursor) {
+    int compared = log.getTimestamp().compareTo(cursor.timestamp());
+    return compared < 0 || (compared == 0 && log.getId().compareTo(cursor.id()) < 0);
+  }
+
+  private static boolean matches(ChatLogExportFilter filter, ChatLog log) {
+    return (filter.messageType() == null || filter.messageType().equals(log.getMessageType()))
+        && (filter.from() == null || !log.getTimestamp().isBefore(filter.from()))
+        && (filter.to() == null || log.getTimestamp().isBefore(filter.to()));
+  }
+
+  private static String day(LocalDateTime timestamp) {
+    return timestamp.toLocalDate().toString();
+  }
+
+  private record BucketKey(String deviceId, String day) {
+  }
+}
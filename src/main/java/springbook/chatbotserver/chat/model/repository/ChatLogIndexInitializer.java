@@ -0,0 +1,214 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatLogBucket;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+
+/**
+ * chat_logs, chat_log_buckets, chat_turns 컬렉션의 인덱스를 관리하고 chat_logs 조회 쿼리의 실행 계획을 점검하는 컴포넌트입니다.
+ * 애플리케이션이 준비되면 {@link ChatLog}, {@link ChatLogBucket}, {@link ChatTurn} 에 선언된 인덱스를 생성하고(이미 있으면 그대로 둠),
+ * 레포지토리가 사용하는 쿼리마다 explain 결과를 확인하여 COLLSCAN 이나 메모리 정렬(SORT)이 있으면 경고합니다.
+ * COLLSCAN 여부는 chatlog.query.collscan{query=...} 지표(1 이면 COLLSCAN)로도 노출됩니다.
+ * 보관 정책(chat-log.retention)이 켜져 있으면 보관 기간에 유예 기간을 더한 TTL 인덱스를 두고, 꺼져 있으면 TTL 인덱스를 지웁니다.
+ */
+@Slf4j
+@Component
+public class ChatLogIndexInitializer {
+
+  private static final String SAMPLE_DEVICE_ID = "__explain__";
+
+  private final MongoTemplate mongoTemplate;
+  private final MongoMappingContext mappingContext;
+  private final MeterRegistry meterRegistry;
+  private final boolean ensureIndexes;
+  private final boolean verifyPlans;
+  private final boolean retentionEnabled;
+  private final Duration expireAfter;
+  private final Map<String, AtomicInteger> collscan = new ConcurrentHashMap<>();
+
+  public ChatLogIndexInitializer(MongoTemplate mongoTemplate,
+      MongoMappingContext mappingContext,
+      MeterRegistry meterRegistry,
+      @Value("${chat-log.index.ensure-on-startup:true}") boolean ensureIndexes,
+      @Value("${chat-log.index.verify-plans:true}") boolean verifyPlans,
+      @Value("${chat-log.retention.enabled:false}") boolean retentionEnabled,
+      @Value("${chat-log.retention.days:180}") int retentionDays,
+      @Value("${chat-log.retention.ttl-grace-days:7}") int ttlGraceDays) {
+    this.mongoTemplate = mongoTemplate;
+    this.mappingContext = mappingContext;
+    this.meterRegistry = meterRegistry;
+    this.ensureIndexes = ensureIndexes;
+    this.verifyPlans = verifyPlans;
+    this.retentionEnabled = retentionEnabled;
+    this.expireAfter = Duration.ofDays(retentionDays + ttlGraceDays);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      if (ensureIndexes) {
+        ensureIndexes();
+      }
+      if (verifyPlans) {
+        verifyQueryPlans();
+      }
+    } catch (Exception e) {
+      log.warn("Chat log index check failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * {@link ChatLog}, {@link ChatLogBucket}, {@link ChatTurn} 의 인덱스 선언을 읽어 컬렉션에 생성합니다.
+   */
+  public void ensureIndexes() {
+    IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+    for (Class<?> type : List.of(ChatLog.class, ChatLogBucket.class, ChatTurn.class)) {
+      IndexOperations indexOps = mongoTemplate.indexOps(type);
+      resolver.resolveIndexFor(type).forEach(index -> {
+        String name = indexOps.ensureIndex(index);
+        log.info("Ensured {} index {}", mongoTemplate.getCollectionName(type), name);
+      });
+    }
+    ensureTtlIndex(ChatLog.class, "timestamp");
+    ensureTtlIndex(ChatLogBucket.class, "end");
+    ensureTtlIndex(ChatTurn.class, "timestamp");
+  }
+
+  /**
+   * field 에 TTL 인덱스를 두거나 지웁니다.
+   * 이미 있는 TTL 인덱스의 만료 시간이 설정과 다르면 인덱스를 다시 만들지 않고 collMod 로 바꿉니다.
+   */
+  private void ensureTtlIndex(Class<?> type, String field) {
+    IndexOperations indexOps = mongoTemplate.indexOps(type);
+    String collection = mongoTemplate.getCollectionName(type);
+    String name = field + "_ttl";
+    IndexInfo existing = indexOps.getIndexInfo().stream()
+        .filter(index -> name.equals(index.getName()))
+        .findFirst()
+        .orElse(null);
+
+    if (!retentionEnabled) {
+      if (existing != null) {
+        indexOps.dropIndex(name);
+        log.info("Dropped {} TTL index {} because retention is disabled", collection, name);
+      }
+      return;
+    }
+    if (existing == null) {
+      indexOps.ensureIndex(new Index().on(field, Sort.Direction.ASC).named(name).expire(expireAfter));
+      log.info("Created {} TTL index {} (expire after {})", collection, name, expireAfter);
+    } else if (!existing.getExpireAfter().map(expireAfter::equals).orElse(false)) {
+      mongoTemplate.executeCommand(new Document("collMod", collection)
+          .append("index", new Document("name", name).append("expireAfterSeconds", expireAfter.toSeconds())));
+      log.info("Changed {} TTL index {} to expire after {}", collection, name, expireAfter);
+    }
+  }
+
+  /**
+   * 레포지토리가 사용하는 쿼리 형태별로 실행 계획을 확인합니다.
+   */
+  public void verifyQueryPlans() {
+    for (Map.Entry<String, QueryShape> entry : queryShapes().entrySet()) {
+      QueryShape shape = entry.getValue();
+      Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(ChatLog.class))
+          .find(shape.filter())
+          .sort(shape.sort())
+          .limit(shape.limit())
+          .explain();
+      Set<String> stages = planStages(explain);
+      boolean isCollscan = stages.contains("COLLSCAN");
+      collscanGauge(entry.getKey()).set(isCollscan ? 1 : 0);
+      if (isCollscan || stages.contains("SORT")) {
+        log.warn("chat_logs query '{}' is not fully index-backed: stages={}", entry.getKey(), stages);
+      } else {
+        log.info("chat_logs query '{}' plan: {}", entry.getKey(), stages);
+      }
+    }
+  }
+
+  /**
+   * explain 결과의 winningPlan 에 나타나는 모든 stage 이름을 반환합니다.
+   * 샤딩 환경이나 엔진 버전에 따라 계획이 중첩되는 형태가 달라지므로 하위 문서를 모두 따라갑니다.
+   *
+   * @param explain explain 명령의 결과
+   * @return stage 이름 목록 (예: IXSCAN, FETCH, COLLSCAN, SORT)
+   */
+  public static Set<String> planStages(Document explain) {
+    Set<String> stages = new LinkedHashSet<>();
+    Object queryPlanner = explain.get("queryPlanner");
+    if (queryPlanner instanceof Document planner) {
+      collectStages(planner.get("winningPlan"), stages);
+    }
+    return stages;
+  }
+
+  private static void collectStages(Object node, Set<String> stages) {
+    if (node instanceof Document document) {
+      Object stage = document.get("stage");
+      if (stage instanceof String name) {
+        stages.add(name);
+      }
+      document.values().forEach(value -> collectStages(value, stages));
+    } else if (node instanceof List<?> list) {
+      list.forEach(value -> collectStages(value, stages));
+    }
+  }
+
+  private AtomicInteger collscanGauge(String query) {
+    return collscan.computeIfAbsent(query, name -> {
+      AtomicInteger value = new AtomicInteger();
+      Gauge.builder("chatlog.query.collscan", value, AtomicInteger::get)
+          .description("조회 쿼리의 실행 계획에 COLLSCAN 이 있으면 1")
+          .tag("query", name)
+          .register(meterRegistry);
+      return value;
+    });
+  }
+
+  private static Map<String, QueryShape> queryShapes() {
+    Map<String, QueryShape> shapes = new LinkedHashMap<>();
+    shapes.put("history", new QueryShape(
+        new Document("deviceId", SAMPLE_DEVICE_ID),
+        new Document("timestamp", 1), 0));
+    shapes.put("page", new QueryShape(
+        new Document("deviceId", SAMPLE_DEVICE_ID),
+        new Document("timestamp", -1).append("_id", -1), 31));
+    shapes.put("exportByDevice", new QueryShape(
+        new Document("deviceId", SAMPLE_DEVICE_ID),
+        new Document("timestamp", 1).append("_id", 1), 0));
+    shapes.put("exportByDate", new QueryShape(
+        new Document("timestamp", new Document("$gte", new Date(0))),
+        new Document("timestamp", 1).append("_id", 1), 0));
+    return shapes;
+  }
+
+  private record QueryShape(Document filter, Document sort, int limit) {
+  }
+}
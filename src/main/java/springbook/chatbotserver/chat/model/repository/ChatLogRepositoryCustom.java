@@ -0,0 +1,23 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.util.List;
+
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+
+/**
+ * MongoTemplate 으로 직접 구현하는 챗 로그 조회 기능입니다.
+ */
+public interface ChatLogRepositoryCustom {
+
+  /**
+   * 디바이스의 채팅 로그를 최신순으로, 커서보다 오래된 것부터 limit 개 조회합니다.
+   * 응답 변환에 필요한 id, timestamp, messageType, text 필드만 가져옵니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param cursor 이전 페이지의 마지막 로그 위치 (첫 페이지이면 null)
+   * @param limit 최대 조회 개수
+   * @return 최신순으로 정렬된 채팅 로그 목록
+   */
+  List<ChatLog> findPageByDeviceId(String deviceId, ChatLogCursor cursor, int limit);
+}
@@ -0,0 +1,38 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+
+/**
+ * {@link ChatLogRepositoryCustom} 의 MongoTemplate 구현입니다.
+ * skip 없이 (timestamp, id) 기준의 keyset 조건으로 페이지를 나누므로,
+ * 기록이 아무리 많아도 페이지마다 읽는 문서 수는 limit 개로 일정합니다.
+ */
+@RequiredArgsConstructor
+public class ChatLogRepositoryImpl implements ChatLogRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public List<ChatLog> findPageByDeviceId(String deviceId, ChatLogCursor cursor, int limit) {
+    Criteria criteria = Criteria.where("deviceId").is(deviceId);
+    if (cursor != null) {
+      criteria = criteria.orOperator(
+          Criteria.where("timestamp").lt(cursor.timestamp()),
+          Criteria.where("timestamp").is(cursor.timestamp()).and("id").lt(cursor.id()));
+    }
+    Query query = new Query(criteria)
+        .with(Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+        .limit(limit);
+    query.fields().include("id", "timestamp", "messageType", "text");
+    return mongoTemplate.find(query, ChatLog.class);
+  }
+}
@@ -0,0 +1,106 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+
+/**
+ * 채팅 로그 저장소입니다.
+ * 메시지마다 문서를 하나씩 두는 방식({@link DocumentChatLogStore}),
+ * 디바이스/날짜별 버킷 문서에 모아 두는 방식({@link BucketChatLogStore}),
+ * 대화 턴 하나를 문서 하나로 두는 방식({@link TurnChatLogStore}) 중 chat-log.storage.mode 로 선택합니다.
+ * 어느 방식이든 조회 결과는 같은 {@link ChatLog} 목록이므로 서비스와 API 응답은 달라지지 않습니다.
+ */
+public interface ChatLogStore {
+
+  /**
+   * 로그를 주어진 순서대로 저장합니다.
+   *
+   * @param logs 저장할 채팅 로그 목록
+   */
+  void insertAll(List<ChatLog> logs);
+
+  /**
+   * 대화 턴을 주어진 순서대로 저장합니다.
+   * 기본 구현은 턴을 메시지로 펼쳐 {@link #insertAll(List)} 로 저장합니다.
+   *
+   * @param turns 저장할 대화 턴 목록
+   */
+  default void writeTurns(List<ChatTurn> turns) {
+    insertAll(turns.stream()
+        .flatMap(turn -> turn.toChatLogs().stream())
+        .toList());
+  }
+
+  /**
+   * 앞선 저장 시도가 일부만 반영되었을 수 있는 턴을 다시 저장합니다.
+   * 메시지 ID 는 저장 전에 정해지므로, 이미 저장된 메시지는 다시 저장하지 않아야 합니다.
+   * 기본 구현은 같은 ID 를 다시 써도 중복되지 않는 저장소를 위한 것으로 {@link #writeTurns(List)} 를 그대로 호출합니다.
+   *
+   * @param turns 다시 저장할 대화 턴 목록
+   */
+  default void retryTurns(List<ChatTurn> turns) {
+    writeTurns(turns);
+  }
+
+  /**
+   * @param deviceId 디바이스 ID
+   * @return 해당 디바이스의 전체 채팅 로그 (오래된 순)
+   */
+  List<ChatLog> findHistory(String deviceId);
+
+  /**
+   * 디바이스의 채팅 로그를 최신순으로, 커서보다 오래된 것부터 limit 개 조회합니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param cursor 이전 페이지의 마지막 로그 위치 (첫 페이지이면 null)
+   * @param limit 최대 조회 개수
+   * @return 최신순으로 정렬된 채팅 로그 목록
+   */
+  List<ChatLog> findPage(String deviceId, ChatLogCursor cursor, int limit);
+
+  /**
+   * 디바이스의 채팅 로그 중 커서보다 새로운 것을 오래된 순으로 limit 개 조회합니다.
+   * 기본 구현은 커서 시각부터 {@link #stream(ChatLogExportFilter, int)} 으로 읽고 같은 시각의 로그는 id 로 거릅니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param cursor 클라이언트가 마지막으로 받은 로그 위치 (처음부터 받으면 null)
+   * @param limit 최대 조회 개수
+   * @return 오래된 순으로 정렬된 채팅 로그 목록
+   */
+  default List<ChatLog> findNewer(String deviceId, ChatLogCursor cursor, int limit) {
+    ChatLogExportFilter filter = new ChatLogExportFilter(cursor == null ? null : cursor.timestamp(), null, deviceId, null);
+    try (Stream<ChatLog> logs = stream(filter, limit + 1)) {
+      return logs.filter(log -> cursor == null || cursor.precedes(log))
+          .limit(limit)
+          .toList();
+    }
+  }
+
+  /**
+   * 내보내기 조건에 맞는 로그를 커서로 읽어 오는 스트림을 엽니다. 사용 후 반드시 닫아야 합니다.
+   *
+   * @param filter 내보내기 조건
+   * @param batchSize 커서 배치 크기
+   * @return 시간순 채팅 로그 스트림
+   */
+  Stream<ChatLog> stream(ChatLogExportFilter filter, int batchSize);
+
+  /**
+   * @return 가장 오래된 로그의 날짜, 로그가 없으면 null
+   */
+  LocalDate oldestDay();
+
+  /**
+   * 하루치 로그를 모두 지웁니다. 보관 기간이 지나 아카이브한 날짜를 정리할 때 사용합니다.
+   *
+   * @param day 지울 날짜
+   * @return 지운 문서 수
+   */
+  long deleteDay(LocalDate day);
+}
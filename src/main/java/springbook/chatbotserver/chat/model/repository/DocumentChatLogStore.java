@@ -0,0 +1,110 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+
+/**
+ * 메시지 하나를 chat_logs 문서 하나로 저장하는 기본 저장소입니다.
+ * 메시지 ID 가 저장 전에 정해지므로, 같은 로그를 다시 저장하면 이미 있는 문서는 건너뛰고 나머지만 저장됩니다.
+ */
+@RequiredArgsConstructor
+public class DocumentChatLogStore implements ChatLogStore {
+
+  private static final int DUPLICATE_KEY = 11000;
+
+  private final ChatLogRepository chatLogRepository;
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * 일부만 저장된 배치를 다시 저장해도 나머지가 빠지지 않도록 순서 없는(unordered) bulk insert 로 저장하고,
+   * 이미 저장된 문서의 중복 키 오류는 무시합니다. 로그 하나는 ID 로 덮어쓰는 save 로 저장합니다.
+   */
+  @Override
+  public void insertAll(List<ChatLog> logs) {
+    if (logs.isEmpty()) {
+      return;
+    }
+    if (logs.size() == 1) {
+      chatLogRepository.save(logs.get(0));
+      return;
+    }
+    try {
+      mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatLog.class)
+          .insert(logs)
+          .execute();
+    } catch (BulkOperationException e) {
+      if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+        throw e;
+      }
+    }
+  }
+
+  @Override
+  public List<ChatLog> findHistory(String deviceId) {
+    return chatLogRepository.findByDeviceIdOrderByTimestampAsc(deviceId);
+  }
+
+  @Override
+  public List<ChatLog> findPage(String deviceId, ChatLogCursor cursor, int limit) {
+    return chatLogRepository.findPageByDeviceId(deviceId, cursor, limit);
+  }
+
+  @Override
+  public Stream<ChatLog> stream(ChatLogExportFilter filter, int batchSize) {
+    Query query = new Query(criteria(filter))
+        .with(Sort.by(Sort.Direction.ASC, "timestamp", "id"))
+        .cursorBatchSize(batchSize);
+    return mongoTemplate.stream(query, ChatLog.class);
+  }
+
+  @Override
+  public LocalDate oldestDay() {
+    Query query = new Query()
+        .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+        .limit(1);
+    query.fields().include("timestamp");
+    ChatLog oldest = mongoTemplate.findOne(query, ChatLog.class);
+    return oldest == null ? null : oldest.getTimestamp().toLocalDate();
+  }
+
+  @Override
+  public long deleteDay(LocalDate day) {
+    Query query = new Query(Criteria.where("timestamp")
+        .gte(day.atStartOfDay())
+        .lt(day.plusDays(1).atStartOfDay()));
+    return mongoTemplate.remove(query, ChatLog.class).getDeletedCount();
+  }
+
+  private Criteria criteria(ChatLogExportFilter filter) {
+    Criteria criteria = new Criteria();
+    if (filter.deviceId() != null) {
+      criteria.and("deviceId").is(filter.deviceId());
+    }
+    if (filter.messageType() != null) {
+      criteria.and("messageType").is(filter.messageType());
+    }
+    if (filter.from() != null || filter.to() != null) {
+      Criteria timestamp = criteria.and("timestamp");
+      if (filter.from() != null) {
+        timestamp.gte(filter.from());
+      }
+      if (filter.to() != null) {
+        timestamp.lt(filter.to());
+      }
+    }
+    return criteria;
+  }
+}
@@ -0,0 +1,230 @@
+package springbook.chatbotserver.chat.model.repository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+
+/**
+ * 대화 턴 하나를 chat_turns 문서 하나로 저장하는 저장소입니다.
+ * 사용자 메시지와 챗봇 응답을 한 번의 쓰기로 저장하므로 턴마다 쓰기와 인덱스 갱신이 절반으로 줄어듭니다.
+ * 사용자 메시지를 먼저 저장한 턴은 응답이 정해진 뒤 같은 문서에 챗봇 메시지를 $set 으로 덧붙입니다.
+ * 모든 쓰기는 턴 ID 로 upsert 하므로 어느 쪽이 먼저 저장되든, 같은 턴을 다시 저장하든 중복 키 오류가 나지 않습니다.
+ * 조회 시에는 턴을 사용자/챗봇 메시지로 펼치므로 API 응답은 다른 저장 방식과 같습니다.
+ */
+public class TurnChatLogStore implements ChatLogStore {
+
+  private static final Comparator<ChatLog> OLDEST_FIRST = Comparator.comparing(ChatLog::getTimestamp)
+      .thenComparing(ChatLog::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+  private static final Comparator<ChatLog> NEWEST_FIRST = OLDEST_FIRST.reversed();
+
+  private final MongoTemplate mongoTemplate;
+  private final Duration maxTurnDuration;
+
+  /**
+   * @param mongoTemplate MongoTemplate
+   * @param maxTurnDuration 사용자 메시지부터 챗봇 응답까지 걸릴 수 있는 최대 시간 (페이지 조회에서 겹치는 턴을 찾는 범위)
+   */
+  public TurnChatLogStore(MongoTemplate mongoTemplate, Duration maxTurnDuration) {
+    this.mongoTemplate = mongoTemplate;
+    this.maxTurnDuration = maxTurnDuration;
+  }
+
+  /**
+   * 메시지 하나를 한쪽만 있는 턴으로 저장합니다. 턴 단위로 저장하려면 {@link #writeTurns(List)} 를 사용합니다.
+   */
+  @Override
+  public void insertAll(List<ChatLog> logs) {
+    writeTurns(logs.stream()
+        .map(log -> ChatTurn.builder()
+            .id(ObjectId.get().toHexString())
+            .deviceId(log.getDeviceId())
+            .timestamp(log.getTimestamp())
+            .user("user".equals(log.getMessageType()) ? ChatTurn.Message.from(log) : null)
+            .bot("user".equals(log.getMessageType()) ? null : ChatTurn.Message.from(log))
+            .build())
+        .toList());
+  }
+
+  /**
+   * 턴 ID 로 upsert 하여, 턴에 있는 쪽(사용자 메시지, 챗봇 메시지와 인식 결과)만 문서에 씁니다.
+   * 먼저 저장한 사용자 메시지가 유실되었거나 챗봇 응답이 먼저 저장된 경우에도 나중에 쓰는 쪽이 같은 문서를 완성합니다.
+   */
+  @Override
+  public void writeTurns(List<ChatTurn> turns) {
+    if (turns.isEmpty()) {
+      return;
+    }
+    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, ChatTurn.class);
+    for (ChatTurn turn : turns) {
+      Update update = new Update()
+          .setOnInsert("deviceId", turn.getDeviceId())
+          .setOnInsert("timestamp", turn.getTimestamp());
+      if (turn.getUser() != null) {
+        update.set("user", turn.getUser());
+      }
+      if (turn.getBot() != null) {
+        update.set("bot", turn.getBot())
+            .set("intent", turn.getIntent())
+            .set("confidence", turn.getConfidence())
+            .set("entities", turn.getEntities())
+            .set("latencyMs", turn.getLatencyMs());
+      }
+      bulk.upsert(new Query(Criteria.where("id").is(turn.getId())), update);
+    }
+    bulk.execute();
+  }
+
+  @Override
+  public List<ChatLog> findHistory(String deviceId) {
+    Query query = new Query(Criteria.where("deviceId").is(deviceId))
+        .with(Sort.by(Sort.Direction.ASC, "timestamp", "id"));
+    query.fields().include("deviceId", "user", "bot");
+
+    List<ChatLog> logs = new ArrayList<>();
+    mongoTemplate.find(query, ChatTurn.class).forEach(turn -> logs.addAll(turn.toChatLogs()));
+    logs.sort(OLDEST_FIRST);
+    return logs;
+  }
+
+  /**
+   * 턴의 timestamp 는 그 턴의 어떤 메시지보다도 이르므로, 커서 시각 이전에 시작한 턴만 읽으면 됩니다.
+   * 턴마다 메시지가 하나 이상 있고 커서 위치의 턴만 통째로 걸러질 수 있으므로, 턴이 시간상 겹치지 않으면 limit + 1 개의 턴으로 한 페이지를 채울 수 있습니다.
+   * 같은 디바이스에서 응답을 받기 전에 다음 메시지를 보내면 턴이 겹쳐, 더 일찍 시작한 턴의 챗봇 메시지가 읽은 턴들의 메시지보다 늦을 수 있습니다.
+   * 그래서 읽은 턴 중 가장 늦게 시작한 턴부터 최대 턴 시간만큼 앞서 시작한 턴도 함께 읽어, 그 밖의 턴의 메시지는 모두 이 페이지보다 오래되게 합니다.
+   */
+  @Override
+  public List<ChatLog> findPage(String deviceId, ChatLogCursor cursor, int limit) {
+    Criteria criteria = Criteria.where("deviceId").is(deviceId);
+    if (cursor != null) {
+      criteria.and("timestamp").lte(cursor.timestamp());
+    }
+    Query query = new Query(criteria)
+        .with(Sort.by(Sort.Direction.DESC, "timestamp", "id"))
+        .limit(limit + 1);
+    query.fields().include("deviceId", "user", "bot");
+
+    List<ChatTurn> turns = new ArrayList<>(mongoTemplate.find(query, ChatTurn.class));
+    if (turns.size() > limit) {
+      LocalDateTime oldestStart = turns.get(turns.size() - 1).getTimestamp();
+      Query overlapping = new Query(Criteria.where("deviceId").is(deviceId)
+          .and("timestamp").gte(oldestStart.minus(maxTurnDuration)).lte(oldestStart)
+          .and("id").nin(turns.stream().map(ChatTurn::getId).toList()));
+      overlapping.fields().include("deviceId", "user", "bot");
+      turns.addAll(mongoTemplate.find(overlapping, ChatTurn.class));
+    }
+
+    List<ChatLog> logs = new ArrayList<>();
+    for (ChatTurn turn : turns) {
+      for (ChatLog log : turn.toChatLogs()) {
+        if (cursor == null || isBefore(log, cursor)) {
+          logs.add(log);
+        }
+      }
+    }
+    logs.sort(NEWEST_FIRST);
+    return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+  }
+
+  /**
+   * 커서 시각 이전에 시작한 턴도 챗봇 응답이 커서보다 늦게 끝났을 수 있으므로, 커서 시각부터 최대 턴 시간만큼 앞서 시작한 턴도 읽어 메시지별로 거릅니다.
+   * 커서 이후에 시작한 턴은 limit + 1 개만 읽습니다. 다 읽지 못했으면 읽지 않은 턴의 메시지가 읽은 턴의 늦은 응답보다 이를 수 있으므로,
+   * 마지막으로 읽은 턴의 시작 위치까지의 메시지만 반환합니다. 처음 limit 개 턴의 사용자 메시지만으로도 limit 개가 채워집니다.
+   */
+  @Override
+  public List<ChatLog> findNewer(String deviceId, ChatLogCursor cursor, int limit) {
+    List<ChatTurn> turns = new ArrayList<>();
+    Criteria criteria = Criteria.where("deviceId").is(deviceId);
+    if (cursor != null) {
+      Query overlapping = new Query(Criteria.where("deviceId").is(deviceId)
+          .and("timestamp").gte(cursor.timestamp().minus(maxTurnDuration)).lte(cursor.timestamp()));
+      overlapping.fields().include("deviceId", "user", "bot");
+      turns.addAll(mongoTemplate.find(overlapping, ChatTurn.class));
+      criteria.and("timestamp").gt(cursor.timestamp());
+    }
+    Query query = new Query(criteria)
+        .with(Sort.by(Sort.Direction.ASC, "timestamp", "id"))
+        .limit(limit + 1);
+    query.fields().include("deviceId", "user", "bot");
+    List<ChatTurn> newer = mongoTemplate.find(query, ChatTurn.class);
+    turns.addAll(newer);
+    ChatLogCursor boundary = null;
+    if (newer.size() > limit) {
+      ChatTurn last = newer.get(newer.size() - 1);
+      boundary = new ChatLogCursor(last.getTimestamp(), last.getId());
+    }
+
+    List<ChatLog> logs = new ArrayList<>();
+    for (ChatTurn turn : turns) {
+      for (ChatLog log : turn.toChatLogs()) {
+        if ((cursor == null || cursor.precedes(log)) && (boundary == null || !boundary.precedes(log))) {
+          logs.add(log);
+        }
+      }
+    }
+    logs.sort(OLDEST_FIRST);
+    return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+  }
+
+  @Override
+  public Stream<ChatLog> stream(ChatLogExportFilter filter, int batchSize) {
+    Criteria criteria = new Criteria();
+    if (filter.deviceId() != null) {
+      criteria.and("deviceId").is(filter.deviceId());
+    }
+    if (filter.from() != null || filter.to() != null) {
+      Criteria timestamp = criteria.and("timestamp");
+      if (filter.from() != null) {
+        timestamp.gte(filter.from());
+      }
+      if (filter.to() != null) {
+        timestamp.lt(filter.to());
+      }
+    }
+    Query query = new Query(criteria)
+        .with(Sort.by(Sort.Direction.ASC, "timestamp", "id"))
+        .cursorBatchSize(batchSize);
+    return mongoTemplate.stream(query, ChatTurn.class)
+        .flatMap(turn -> turn.toChatLogs().stream())
+        .filter(log -> filter.messageType() == null || filter.messageType().equals(log.getMessageType()));
+  }
+
+  @Override
+  public LocalDate oldestDay() {
+    Query query = new Query()
+        .with(Sort.by(Sort.Direction.ASC, "timestamp"))
+        .limit(1);
+    query.fields().include("timestamp");
+    ChatTurn oldest = mongoTemplate.findOne(query, ChatTurn.class);
+    return oldest == null ? null : oldest.getTimestamp().toLocalDate();
+  }
+
+  @Override
+  public long deleteDay(LocalDate day) {
+    Query query = new Query(Criteria.where("timestamp")
+        .gte(day.atStartOfDay())
+        .lt(day.plusDays(1).atStartOfDay()));
+    return mongoTemplate.remove(query, ChatTurn.class).getDeletedCount();
+  }
+
+  private static boolean isBefore(ChatLog log, ChatLogCursor cursor) {
+    int compared = log.getTimestamp().compareTo(cursor.timestamp());
+    return compared < 0 || (compared == 0 && log.getId().compareTo(cursor.id()) < 0);
+  }
+}
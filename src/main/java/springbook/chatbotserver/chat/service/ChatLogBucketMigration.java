@@ -0,0 +1,145 @@
+package springbook.chatbotserver.chat.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.repository.BucketChatLogStore;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * 기존 chat_logs 문서를 디바이스/날짜별 버킷(chat_log_buckets)으로 옮기는 작업입니다.
+ * chat_logs 를 디바이스 단위로 커서로 읽어 배치마다 버킷에 이어 붙이며, chat_logs 는 지우지 않습니다.
+ * 디바이스마다 기존 버킷을 먼저 지우고 다시 만들기 때문에 여러 번 실행해도 결과가 같습니다.
+ * 버킷을 지우므로 bucket 모드로 운영하는 중에는 버킷에만 있는 로그가 사라지게 되어 {@link #migrate()} 는 거부합니다.
+ * <p>
+ * 전환 순서: document 모드에서 {@link #migrate()} 를 실행하고, 저장 방식을 bucket 으로 바꾼 뒤
+ * 마지막 마이그레이션 시작 시각으로 {@link #catchUp(LocalDateTime)} 을 실행하면 그 사이 chat_logs 에만 쌓인 로그가
+ * 버킷을 지우지 않고 채워집니다. 이미 버킷에 있는 메시지는 ID 로 걸러 다시 넣지 않습니다.
+ */
+@Slf4j
+@Service
+public class ChatLogBucketMigration {
+
+  private final MongoTemplate mongoTemplate;
+  private final BucketChatLogStore bucketChatLogStore;
+  private final int batchSize;
+  private final String storageMode;
+  private final Counter migratedCounter;
+
+  public ChatLogBucketMigration(MongoTemplate mongoTemplate,
+      BucketChatLogStore bucketChatLogStore,
+      MeterRegistry meterRegistry,
+      @Value("${chat-log.storage.migration.batch-size:1000}") int batchSize,
+      @Value("${chat-log.storage.mode:document}") String storageMode) {
+    this.mongoTemplate = mongoTemplate;
+    this.bucketChatLogStore = bucketChatLogStore;
+    this.batchSize = batchSize;
+    this.storageMode = storageMode;
+    this.migratedCounter = Counter.builder("chatlog.bucket.migrated")
+        .description("버킷으로 옮긴 채팅 로그 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * chat_logs 의 모든 로그를 버킷으로 옮깁니다.
+   * (deviceId 내림차순, timestamp/id 오름차순) 정렬은 deviceId_timestamp_id 인덱스를 거꾸로 읽는 순서라 메모리 정렬이 없습니다.
+   *
+   * @return 옮긴 로그 수
+   * @throws CustomException bucket 모드로 운영 중인 경우
+   */
+  public synchronized long migrate() {
+    if ("bucket".equalsIgnoreCase(storageMode)) {
+      throw new CustomException(ErrorCode.MIGRATION_NOT_ALLOWED);
+    }
+    Query query = new Query()
+        .with(Sort.by(Sort.Direction.DESC, "deviceId").and(Sort.by(Sort.Direction.ASC, "timestamp", "id")))
+        .cursorBatchSize(batchSize);
+
+    long migrated = 0;
+    int devices = 0;
+    String currentDevice = null;
+    List<ChatLog> batch = new ArrayList<>(batchSize);
+    try (Stream<ChatLog> logs = mongoTemplate.stream(query, ChatLog.class)) {
+      Iterator<ChatLog> iterator = logs.iterator();
+      while (iterator.hasNext()) {
+        ChatLog chatLog = iterator.next();
+        if (!chatLog.getDeviceId().equals(currentDevice)) {
+          migrated += flush(batch);
+          currentDevice = chatLog.getDeviceId();
+          bucketChatLogStore.deleteByDeviceId(currentDevice);
+          devices++;
+        }
+        batch.add(chatLog);
+        if (batch.size() >= batchSize) {
+          migrated += flush(batch);
+        }
+      }
+    }
+    migrated += flush(batch);
+    log.info("Migrated {} chat logs of {} devices into buckets", migrated, devices);
+    return migrated;
+  }
+
+  /**
+   * 지정한 시각 이후 chat_logs 에 쌓인 로그 중 버킷에 없는 것만 옮깁니다. 버킷을 지우지 않으므로 어느 모드에서든 실행할 수 있습니다.
+   *
+   * @param since 이 시각 이후(포함)의 로그만 옮깁니다 (보통 마지막 마이그레이션 시작 시각)
+   * @return 새로 옮긴 로그 수
+   */
+  public synchronized long catchUp(LocalDateTime since) {
+    Query query = new Query(Criteria.where("timestamp").gte(since))
+        .with(Sort.by(Sort.Direction.DESC, "deviceId").and(Sort.by(Sort.Direction.ASC, "timestamp", "id")))
+        .cursorBatchSize(batchSize);
+
+    long migrated = 0;
+    List<ChatLog> batch = new ArrayList<>(batchSize);
+    try (Stream<ChatLog> logs = mongoTemplate.stream(query, ChatLog.class)) {
+      Iterator<ChatLog> iterator = logs.iterator();
+      while (iterator.hasNext()) {
+        batch.add(iterator.next());
+        if (batch.size() >= batchSize) {
+          migrated += flushMissing(batch);
+        }
+      }
+    }
+    migrated += flushMissing(batch);
+    log.info("Caught up {} chat logs since {} into buckets", migrated, since);
+    return migrated;
+  }
+
+  private int flushMissing(List<ChatLog> batch) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    int inserted = bucketChatLogStore.insertMissing(batch);
+    migratedCounter.increment(inserted);
+    batch.clear();
+    return inserted;
+  }
+
+  private int flush(List<ChatLog> batch) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    int size = batch.size();
+    bucketChatLogStore.insertAll(batch);
+    migratedCounter.increment(size);
+    batch.clear();
+    return size;
+  }
+}
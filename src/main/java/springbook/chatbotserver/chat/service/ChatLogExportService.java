@@ -0,0 +1,101 @@
+package springbook.chatbotserver.chat.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+
+/**
+ * 채팅 로그를 NDJSON(한 줄에 JSON 하나) 형식으로 내보내는 서비스입니다.
+ * {@link ChatLogStore} 의 MongoDB 커서에서 읽은 로그를 바로 출력 스트림에 쓰므로, 결과 크기와 관계없이 메모리 사용량이 일정합니다.
+ */
+@Slf4j
+@Service
+public class ChatLogExportService {
+
+  private static final byte NEWLINE = '\n';
+
+  private final ChatLogStore chatLogStore;
+  private final ObjectWriter writer;
+  private final int batchSize;
+  private final Counter exportedCounter;
+  private final Counter abortedCounter;
+
+  public ChatLogExportService(ChatLogStore chatLogStore,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${chat-log.export.batch-size:1000}") int batchSize) {
+    this.chatLogStore = chatLogStore;
+    // 한 줄을 쓸 때마다 응답 스트림이 닫히지 않도록 합니다.
+    this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.batchSize = batchSize;
+    this.exportedCounter = Counter.builder("chatlog.export.documents")
+        .description("내보낸 채팅 로그 수")
+        .register(meterRegistry);
+    this.abortedCounter = Counter.builder("chatlog.export.aborted")
+        .description("클라이언트 연결이 끊겨 중단된 내보내기 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 조건에 맞는 채팅 로그를 시간순으로 out 에 씁니다.
+   * 클라이언트 연결이 끊기면 쓰기를 멈추고 커서를 닫습니다.
+   *
+   * @param filter 내보내기 조건
+   * @param out 응답 출력 스트림
+   * @return 쓴 로그 수
+   */
+  public long export(ChatLogExportFilter filter, OutputStream out) {
+    long written = 0;
+    try (Stream<ChatLog> logs = chatLogStore.stream(filter, batchSize)) {
+      Iterator<ChatLog> iterator = logs.iterator();
+      while (iterator.hasNext()) {
+        writer.writeValue(out, iterator.next());
+        out.write(NEWLINE);
+        written++;
+      }
+      out.flush();
+    } catch (IOException e) {
+      abortedCounter.increment();
+      log.info("Chat log export aborted by client after {} documents: {}", written, e.getMessage());
+    } finally {
+      exportedCounter.increment(written);
+    }
+    return written;
+  }
+
+  /**
+   * {@link #export} 와 같지만 gzip 으로 압축해 씁니다.
+   * 압축 스트림은 닫아서 Deflater 의 네이티브 메모리를 바로 돌려주고, 응답 스트림은 닫지 않습니다.
+   *
+   * @param filter 내보내기 조건
+   * @param out 응답 출력 스트림
+   * @return 쓴 로그 수
+   */
+  public long exportCompressed(ChatLogExportFilter filter, OutputStream out) {
+    long written = 0;
+    try (GZIPOutputStream compressed = new GZIPOutputStream(StreamUtils.nonClosing(out), 64 * 1024)) {
+      written = export(filter, compressed);
+    } catch (IOException e) {
+      // 클라이언트가 이미 연결을 끊은 경우이며, export 에서 기록합니다.
+      log.debug("Failed to finish compressed chat log export: {}", e.getMessage());
+    }
+    return written;
+  }
+}
@@ -1,67 +1,292 @@
 package springbook.chatbotserver.chat.service;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import lombok.RequiredArgsConstructor;
 import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogPageDto;
+import springbook.chatbotserver.chat.model.dto.ChatLogSyncDto;
 import springbook.chatbotserver.chat.model.dto.ChatMessageDto;
 import springbook.chatbotserver.chat.model.dto.RasaRequest;
-import springbook.chatbotserver.chat.model.repository.ChatLogRepository;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchive;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
 
 /**
  * 채팅 기록을 조회하는 서비스입니다.
  * 이 서비스는 특정 디바이스 ID에 대한 채팅 로그를 가져오는 기능을 제공합니다.
+ * 저장은 기본적으로 {@link ChatLogWriteBuffer} 를 거쳐 비동기로 일괄 처리되며, 저장 방식은 {@link ChatLogStore} 가 결정합니다.
+ * 최근 로그는 {@link ChatLogTailCache} 에도 보관하여 첫 페이지 조회는 MongoDB 를 거치지 않고 응답합니다.
  */
 @Service
-@RequiredArgsConstructor
 public class ChatLogService {
-  private final ChatLogRepository chatLogRepository;
+  private static final Comparator<ChatLog> OLDEST_FIRST = Comparator.comparing(ChatLog::getTimestamp)
+      .thenComparing(ChatLog::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+  /** 같은 시각의 로그도 페이지 커서(timestamp, id)와 같은 순서가 되도록 OLDEST_FIRST 를 뒤집어 씁니다. */
+  private static final Comparator<ChatLog> NEWEST_FIRST = OLDEST_FIRST.reversed();
+
+  private final ChatLogStore chatLogStore;
+  private final ChatLogWriteBuffer chatLogWriteBuffer;
+  private final ChatLogArchive chatLogArchive;
+  private final ChatLogTailCache chatLogTailCache;
+  private final Clock clock;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final int maxArchiveDays;
+  private final boolean persistUserFirst;
+
+  public ChatLogService(ChatLogStore chatLogStore,
+      ChatLogWriteBuffer chatLogWriteBuffer,
+      ChatLogArchive chatLogArchive,
+      ChatLogTailCache chatLogTailCache,
+      Clock clock,
+      @Value("${chat-log.page.default-size:30}") int defaultPageSize,
+      @Value("${chat-log.page.max-size:100}") int maxPageSize,
+      @Value("${chat-log.archive.max-read-days:31}") int maxArchiveDays,
+      @Value("${chat-log.turn.persist-user-first:false}") boolean persistUserFirst) {
+    this.chatLogStore = chatLogStore;
+    this.chatLogWriteBuffer = chatLogWriteBuffer;
+    this.chatLogArchive = chatLogArchive;
+    this.chatLogTailCache = chatLogTailCache;
+    this.clock = clock;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.maxArchiveDays = maxArchiveDays;
+    this.persistUserFirst = persistUserFirst;
+  }
 
   /**
    * 주어진 디바이스 ID에 대한 채팅 로그를 조회합니다.
+   * write-behind 버퍼에서 아직 저장되지 않은 로그도 뒤에 이어 붙여 반환합니다.
+   * 최근 로그 캐시가 디바이스의 로그 전체를 들고 있으면 캐시로 응답합니다.
    *
    * @param deviceId 조회할 디바이스의 ID
    * @return 해당 디바이스의 채팅 로그 목록
    */
   @Transactional(readOnly = true)
   public List<ChatMessageDto> getChatLogs(String deviceId) {
-    return chatLogRepository.findByDeviceIdOrderByTimestampAsc(deviceId)
-        .stream()
+    Optional<List<ChatLog>> cached = chatLogTailCache.history(deviceId);
+    if (cached.isPresent()) {
+      List<ChatLog> newestFirst = cached.get();
+      List<ChatMessageDto> messages = new ArrayList<>(newestFirst.size());
+      for (int i = newestFirst.size() - 1; i >= 0; i--) {
+        messages.add(ChatMessageDto.from(newestFirst.get(i)));
+      }
+      return messages;
+    }
+
+    // 그사이 flush 가 끝나도 빠지는 로그가 없도록 대기 중인 로그를 저장소보다 먼저 읽습니다.
+    List<ChatLog> pending = chatLogWriteBuffer.pendingOf(deviceId);
+    List<ChatLog> stored = chatLogStore.findHistory(deviceId);
+    List<ChatLog> logs = pending.isEmpty() ? stored : mergePending(stored, pending);
+    int tail = Math.min(logs.size(), chatLogTailCache.capacity());
+    chatLogTailCache.seed(deviceId, logs.subList(logs.size() - tail, logs.size()), tail == logs.size());
+    return logs.stream()
+        .map(ChatMessageDto::from)
+        .toList();
+  }
+
+  /**
+   * 주어진 디바이스의 채팅 로그를 최신순으로 한 페이지 조회합니다.
+   * 첫 페이지에는 write-behind 버퍼에서 아직 저장되지 않은 로그도 함께 포함합니다.
+   * 첫 페이지는 최근 로그 캐시로 응답할 수 있으면 캐시로 응답하고, 아니면 저장소에서 캐시 크기만큼 읽어 캐시를 채웁니다.
+   *
+   * @param deviceId 조회할 디바이스의 ID
+   * @param cursor 이전 페이지 응답의 nextCursor (첫 페이지이면 null)
+   * @param size 페이지 크기 (null 이면 기본값, 최대값을 넘으면 최대값)
+   * @return 채팅 로그 페이지
+   */
+  @Transactional(readOnly = true)
+  public ChatLogPageDto getChatLogPage(String deviceId, String cursor, Integer size) {
+    int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+    ChatLogCursor after = ChatLogCursor.decode(cursor);
+
+    // 다음 페이지가 있는지 알기 위해 하나 더 조회
+    List<ChatLog> logs = after == null
+        ? firstPage(deviceId, pageSize + 1)
+        : chatLogStore.findPage(deviceId, after, pageSize + 1);
+    boolean hasNext = logs.size() > pageSize;
+    List<ChatLog> page = hasNext ? logs.subList(0, pageSize) : logs;
+    String nextCursor = hasNext ? ChatLogCursor.of(page.get(page.size() - 1)).encode() : null;
+
+    return new ChatLogPageDto(page.stream().map(ChatMessageDto::from).toList(), nextCursor);
+  }
+
+  /**
+   * 클라이언트가 마지막으로 받은 메시지 이후의 채팅 로그만 오래된 순으로 조회합니다.
+   * 앱을 다시 켤 때 전체 기록 대신 새 메시지만 받도록 하기 위한 것으로,
+   * 최근 로그 캐시에 그 구간이 있으면 캐시로 응답하고 아니면 저장소에서 커서 이후만 읽습니다.
+   *
+   * @param deviceId 조회할 디바이스의 ID
+   * @param since 이전 동기화 응답의 latestCursor (없으면 after 또는 처음부터)
+   * @param after 마지막으로 받은 메시지의 시각 (since 가 없을 때만 사용, 이 시각보다 늦은 메시지만 반환)
+   * @param size 최대 메시지 수 (null 이면 기본값, 최대값을 넘으면 최대값)
+   * @return 새 메시지와 다음 동기화 커서
+   */
+  @Transactional(readOnly = true)
+  public ChatLogSyncDto syncChatLogs(String deviceId, String since, LocalDateTime after, Integer size) {
+    int limit = size == null || size <= 0 ? maxPageSize : Math.min(size, maxPageSize);
+    ChatLogCursor cursor = ChatLogCursor.decode(since);
+    if (cursor == null && after != null) {
+      cursor = new ChatLogCursor(after, "");
+    }
+
+    List<ChatLog> logs = chatLogTailCache.newerThan(deviceId, cursor).orElse(null);
+    if (logs == null) {
+      List<ChatLog> pending = chatLogWriteBuffer.pendingOf(deviceId);
+      // 더 받을 메시지가 있는지 알기 위해 하나 더 조회
+      logs = chatLogStore.findNewer(deviceId, cursor, limit + 1);
+      if (!pending.isEmpty()) {
+        ChatLogCursor from = cursor;
+        logs = mergePending(logs, pending.stream().filter(log -> from == null || from.precedes(log)).toList());
+        logs.sort(OLDEST_FIRST);
+      }
+    }
+    boolean hasMore = logs.size() > limit;
+    List<ChatLog> synced = hasMore ? logs.subList(0, limit) : logs;
+    ChatLogCursor latest = synced.isEmpty() ? cursor : ChatLogCursor.of(synced.get(synced.size() - 1));
+
+    return new ChatLogSyncDto(synced.stream().map(ChatMessageDto::from).toList(),
+        latest == null ? null : latest.encode(), hasMore);
+  }
+
+  /**
+   * 보관 기간이 지나 아카이브 파일로 옮겨진 채팅 로그를 조회합니다.
+   * 날짜별 파일 전체를 읽어야 하므로 한 번에 조회할 수 있는 기간을 제한합니다.
+   *
+   * @param deviceId 조회할 디바이스의 ID
+   * @param from 시작 날짜 (포함)
+   * @param to 종료 날짜 (포함)
+   * @return 해당 기간의 채팅 로그 목록 (오래된 순)
+   */
+  public List<ChatMessageDto> getArchivedChatLogs(String deviceId, LocalDate from, LocalDate to) {
+    if (to.isBefore(from) || from.plusDays(maxArchiveDays).isBefore(to.plusDays(1))) {
+      throw new CustomException(ErrorCode.INVALID_DATE_RANGE);
+    }
+    return chatLogArchive.read(deviceId, from, to).stream()
         .map(ChatMessageDto::from)
         .toList();
   }
 
   /**
-   * 사용자의 메시지를 채팅 로그에 저장합니다.
+   * 사용자 메시지로 대화 턴을 시작합니다.
+   * chat-log.turn.persist-user-first 가 켜져 있으면 응답을 기다리지 않고 사용자 메시지를 먼저 저장하여,
+   * 응답 전에 서버가 멈춰도 사용자 메시지는 남도록 합니다.
    *
    * @param req RasaRequest 객체로, 사용자의 디바이스 ID와 메시지 텍스트를 포함합니다.
+   * @return 시작된 대화 턴
    */
   @Transactional
-  public void saveUserMessage(RasaRequest req) {
-    chatLogRepository.save(ChatLog.builder()
-        .deviceId(req.getDeviceId())
-        .timestamp(LocalDateTime.now())
-        .messageType("user")
-        .text(req.getText())
-        .build());
+  public ChatTurn startTurn(RasaRequest req) {
+    String id = ObjectId.get().toHexString();
+    ChatTurn turn = ChatTurn.start(id, req.getDeviceId(),
+        new ChatTurn.Message(id, now(), req.getText()));
+    if (persistUserFirst) {
+      save(turn);
+    }
+    return turn;
   }
+
   /**
-   * 챗봇의 메시지를 채팅 로그에 저장합니다.
+   * 챗봇 응답으로 대화 턴을 완성하여 저장합니다.
+   * 사용자 메시지를 먼저 저장했으면 응답만 같은 턴에 덧붙이고, 아니면 턴 전체를 한 번에 저장합니다.
    *
-   * @param req RasaRequest 객체로, 사용자의 디바이스 ID를 포함합니다.
+   * @param turn {@link #startTurn(RasaRequest)} 로 시작한 대화 턴
    * @param botText 챗봇의 응답 메시지 텍스트
+   * @param rasa 인텐트 인식 결과 (인식 전에 실패했으면 null)
    */
   @Transactional
-  public void saveBotMessage(RasaRequest req, String botText) {
-    chatLogRepository.save(ChatLog.builder()
-        .deviceId(req.getDeviceId())
-        .timestamp(LocalDateTime.now())
-        .messageType("bot")
-        .text(botText)
-        .build());
+  public void completeTurn(ChatTurn turn, String botText, RasaResponse rasa) {
+    ChatTurn.Message bot = new ChatTurn.Message(ObjectId.get().toHexString(), now(), botText);
+    ChatTurn completed = rasa == null || rasa.getIntent() == null
+        ? turn.complete(bot, null, null, null)
+        : turn.complete(bot, rasa.getIntent().getName(), rasa.getIntent().getConfidence(), entities(rasa));
+    save(persistUserFirst ? completed.withoutUser() : completed);
+  }
+
+  /**
+   * 메시지 ID 는 저장 전에 미리 발급합니다.
+   * 저장 방식과 관계없이 메시지마다 ID 가 있어야 커서 페이지 조회와 flush 중 중복 제거가 같은 방식으로 동작합니다.
+   */
+  private void save(ChatTurn turn) {
+    chatLogTailCache.append(turn.getDeviceId(), turn.toChatLogs());
+    if (chatLogWriteBuffer.isEnabled()) {
+      chatLogWriteBuffer.enqueue(turn);
+      return;
+    }
+    chatLogStore.writeTurns(List.of(turn));
+  }
+
+  /**
+   * 메시지 시각은 밀리초까지만 남깁니다.
+   * 커서와 MongoDB 는 밀리초까지만 담으므로, 더 정밀한 시각이 캐시나 저장 대기 로그에 남으면 방금 받은 메시지가 커서보다 새로워 보입니다.
+   */
+  private LocalDateTime now() {
+    return LocalDateTime.now(clock).truncatedTo(ChronoUnit.MILLIS);
+  }
+
+  private List<ChatTurn.Entity> entities(RasaResponse rasa) {
+    if (rasa.getEntities() == null) {
+      return List.of();
+    }
+    return rasa.getEntities().stream()
+        .map(entity -> new ChatTurn.Entity(entity.getEntity(), entity.getValue()))
+        .toList();
+  }
+
+  /**
+   * 첫 페이지를 최신순으로 limit 개까지 조회합니다.
+   * 캐시로 응답할 수 없으면 저장소에서 limit 과 캐시 크기 중 큰 만큼 읽고, 덜 읽혔으면 디바이스의 로그 전체로 보고 캐시를 채웁니다.
+   */
+  private List<ChatLog> firstPage(String deviceId, int limit) {
+    Optional<List<ChatLog>> cached = chatLogTailCache.newest(deviceId, limit);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    int fetch = Math.max(limit, chatLogTailCache.capacity());
+    List<ChatLog> pending = chatLogWriteBuffer.pendingOf(deviceId);
+    List<ChatLog> stored = chatLogStore.findPage(deviceId, null, fetch);
+    List<ChatLog> logs = new ArrayList<>(stored);
+    if (!pending.isEmpty()) {
+      logs = mergePending(logs, pending);
+      logs.sort(NEWEST_FIRST);
+    }
+    chatLogTailCache.seed(deviceId, logs, stored.size() < fetch);
+    return logs.size() > limit ? logs.subList(0, limit) : logs;
+  }
+
+  /**
+   * 저장된 로그 뒤에 flush 대기 중인 로그를 붙입니다.
+   * 대기 중인 로그를 먼저 읽으므로 그사이 저장된 로그는 양쪽에 모두 있을 수 있어 ID 로 걸러냅니다.
+   */
+  private List<ChatLog> mergePending(List<ChatLog> stored, List<ChatLog> pending) {
+    Set<String> storedIds = new HashSet<>();
+    stored.forEach(log -> storedIds.add(log.getId()));
+
+    List<ChatLog> merged = new ArrayList<>(stored);
+    for (ChatLog log : pending) {
+      if (log.getId() == null || !storedIds.contains(log.getId())) {
+        merged.add(log);
+      }
+    }
+    return merged;
   }
 }
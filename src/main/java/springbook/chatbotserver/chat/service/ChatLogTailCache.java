@@ -0,0 +1,214 @@
+package springbook.chatbotserver.chat.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+
+/**
+ * 디바이스별 최근 채팅 로그를 메모리에 보관하는 캐시입니다.
+ * 앱은 메시지를 보낸 직후 마지막 화면(첫 페이지)을 다시 읽는 경우가 대부분이므로,
+ * 디바이스마다 최근 N 개의 로그를 들고 있다가 MongoDB 를 거치지 않고 첫 페이지를 응답합니다.
+ * 마지막으로 받은 메시지 이후만 요청하는 동기화 조회도 그 구간이 캐시에 있으면 캐시로 응답합니다.
+ *
+ * <p>로그는 저장할 때마다 덧붙여지고, 첫 조회 때 저장소에서 읽은 최근 로그로 채워집니다.
+ * 저장소에서 채운 적이 없는 디바이스는 요청한 개수만큼 로그가 쌓였을 때만 캐시로 응답합니다.
+ * 디바이스 단위로 Caffeine 의 크기 기반 제거(LRU 에 가까운 W-TinyLFU)를 적용하고, 전체 크기는 추정 바이트로 제한합니다.
+ * 다른 서버 인스턴스에서 저장된 로그는 반영되지 않으므로, 자주 읽히는 항목도 채우거나 덧붙인 뒤 ttl 이 지나면 버리고
+ * 저장소에서 다시 채웁니다. 여러 인스턴스로 운영하면 ttl 동안은 다른 인스턴스의 로그가 빠진 응답이 나갈 수 있습니다.
+ */
+@Component
+public class ChatLogTailCache {
+
+  private static final Comparator<ChatLog> NEWEST_FIRST = Comparator.comparing(ChatLog::getTimestamp)
+      .thenComparing(ChatLog::getId, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .reversed();
+  /** 로그 하나의 객체/필드 크기 추정치 (텍스트 제외) */
+  private static final int LOG_OVERHEAD_BYTES = 160;
+
+  private final boolean enabled;
+  private final int capacity;
+  private final Cache<String, Tail> cache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  public ChatLogTailCache(MeterRegistry meterRegistry,
+      @Value("${chat-log.tail-cache.enabled:true}") boolean enabled,
+      @Value("${chat-log.tail-cache.size:50}") int capacity,
+      @Value("${chat-log.tail-cache.max-bytes:33554432}") long maxBytes,
+      @Value("${chat-log.tail-cache.ttl-minutes:10}") long ttlMinutes) {
+    this.enabled = enabled && capacity > 0;
+    this.capacity = capacity;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxBytes)
+        .weigher((String deviceId, Tail tail) -> tail.weight())
+        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "chatLogTail");
+    this.hitCounter = Counter.builder("chatlog.tail.reads")
+        .description("Chat log reads served from the per-device tail cache")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.missCounter = Counter.builder("chatlog.tail.reads")
+        .description("Chat log reads served from the per-device tail cache")
+        .tag("result", "miss")
+        .register(meterRegistry);
+  }
+
+  /**
+   * @return 디바이스마다 보관하는 최대 로그 개수 (캐시를 사용하지 않으면 0)
+   */
+  public int capacity() {
+    return enabled ? capacity : 0;
+  }
+
+  /**
+   * 최신순으로 limit 개의 로그를 캐시에서 꺼냅니다.
+   * 캐시에 limit 개 이상 있거나, 디바이스의 로그 전체를 들고 있을 때만 응답합니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param limit 필요한 로그 개수
+   * @return 최신순 로그 목록 (캐시로 응답할 수 없으면 empty)
+   */
+  public Optional<List<ChatLog>> newest(String deviceId, int limit) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Tail tail = cache.getIfPresent(deviceId);
+    if (tail == null || (tail.logs().size() < limit && !tail.complete())) {
+      missCounter.increment();
+      return Optional.empty();
+    }
+    hitCounter.increment();
+    List<ChatLog> logs = tail.logs();
+    return Optional.of(logs.size() > limit ? logs.subList(0, limit) : logs);
+  }
+
+  /**
+   * 디바이스의 로그 전체를 들고 있으면 최신순으로 반환합니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @return 최신순 로그 전체 (캐시로 응답할 수 없으면 empty)
+   */
+  public Optional<List<ChatLog>> history(String deviceId) {
+    return newest(deviceId, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 커서보다 새로운 로그를 오래된 순으로 반환합니다.
+   * 항목은 이 인스턴스가 저장하거나 저장소에서 읽은 로그 중에서는 최근 로그가 빠짐없이 이어진 구간이므로,
+   * 가장 오래된 로그가 커서 위치 이전이면 그 뒤의 로그는 모두 캐시에 있습니다.
+   * 다른 인스턴스가 저장한 로그는 항목이 만료되어 다시 채워지기 전까지 빠져 있을 수 있습니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param cursor 클라이언트가 마지막으로 받은 로그 위치 (처음부터 받으면 null)
+   * @return 오래된 순 로그 목록 (캐시로 응답할 수 없으면 empty)
+   */
+  public Optional<List<ChatLog>> newerThan(String deviceId, ChatLogCursor cursor) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Tail tail = cache.getIfPresent(deviceId);
+    boolean covered = tail != null && (tail.complete() || (cursor != null && !tail.logs().isEmpty()
+        && !cursor.precedes(tail.logs().get(tail.logs().size() - 1))));
+    if (!covered) {
+      missCounter.increment();
+      return Optional.empty();
+    }
+    hitCounter.increment();
+    List<ChatLog> newer = new ArrayList<>();
+    for (int i = tail.logs().size() - 1; i >= 0; i--) {
+      ChatLog log = tail.logs().get(i);
+      if (cursor == null || cursor.precedes(log)) {
+        newer.add(log);
+      }
+    }
+    return Optional.of(newer);
+  }
+
+  /**
+   * 새로 저장하는 로그를 덧붙입니다. 항목이 없으면 저장소에서 채우지 않은 항목으로 새로 만듭니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param logs 저장하는 로그
+   */
+  public void append(String deviceId, List<ChatLog> logs) {
+    if (!enabled || logs.isEmpty()) {
+      return;
+    }
+    cache.asMap().compute(deviceId, (key, tail) -> merge(tail, logs, false));
+  }
+
+  /**
+   * 저장소에서 읽은 최근 로그로 항목을 채웁니다.
+   * 읽는 동안 덧붙여진 로그가 사라지지 않도록 기존 항목과 합칩니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param logs 저장소(와 write-behind 버퍼)에서 읽은 최근 로그
+   * @param complete logs 가 디바이스의 로그 전체이면 true
+   */
+  public void seed(String deviceId, List<ChatLog> logs, boolean complete) {
+    if (!enabled) {
+      return;
+    }
+    cache.asMap().compute(deviceId, (key, tail) -> merge(tail, logs, complete));
+  }
+
+  /**
+   * 기존 항목과 새 로그를 ID 기준으로 합쳐 최신 capacity 개만 남긴 새 항목을 만듭니다.
+   * 항목은 바꾸지 않고 통째로 교체하므로, 조회하는 쪽은 잠금 없이 읽을 수 있습니다.
+   */
+  private Tail merge(Tail tail, List<ChatLog> logs, boolean complete) {
+    List<ChatLog> merged = new ArrayList<>(logs.size() + (tail == null ? 0 : tail.logs().size()));
+    Set<String> ids = new HashSet<>();
+    if (tail != null) {
+      for (ChatLog log : tail.logs()) {
+        ids.add(log.getId());
+        merged.add(log);
+      }
+    }
+    for (ChatLog log : logs) {
+      if (log.getId() == null || ids.add(log.getId())) {
+        merged.add(log);
+      }
+    }
+    merged.sort(NEWEST_FIRST);
+
+    boolean whole = complete || (tail != null && tail.complete());
+    if (merged.size() > capacity) {
+      return new Tail(List.copyOf(merged.subList(0, capacity)), false);
+    }
+    return new Tail(List.copyOf(merged), whole);
+  }
+
+  /**
+   * @param logs 최신순 로그
+   * @param complete 디바이스의 로그 전체를 들고 있으면 true
+   */
+  private record Tail(List<ChatLog> logs, boolean complete) {
+
+    int weight() {
+      int weight = 0;
+      for (ChatLog log : logs) {
+        weight += LOG_OVERHEAD_BYTES + (log.getText() == null ? 0 : log.getText().length() * 2);
+      }
+      return weight;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package springbook.chatbotserver.chat.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+
+/**
+ * 채팅 로그를 MongoDB에 비동기로 기록하는 write-behind 버퍼입니다.
+ * 요청 스레드는 제한된 크기의 메모리 큐에 대화 턴(또는 그 일부)을 넣기만 하고,
+ * 백그라운드 flusher 스레드가 배치 크기 또는 최대 대기 시간 기준으로 {@link ChatLogStore} 에 일괄 저장합니다.
+ * 큐가 가득 차면 요청 스레드가 직접 저장하여 자연스럽게 속도를 늦춥니다(backpressure).
+ *
+ * <p>큐에 넣은 턴은 저장이 끝날 때까지 순번 순 {@code unflushed} 맵에도 남겨 두므로,
+ * flusher 가 큐에서 꺼내 배치를 채우거나 저장하는 중에도 {@link #pendingOf(String)} 에서 빠지지 않습니다.
+ * 저장(flusher 의 배치 저장과 요청 스레드의 직접 저장)은 하나의 잠금 아래에서만 하고, 직접 저장할 때는
+ * 그보다 먼저 들어와 아직 저장되지 않은 턴을 함께 먼저 저장하므로 큐가 가득 찬 경우에도 저장 순서가 바뀌지 않습니다.
+ */
+@Slf4j
+@Component
+public class ChatLogWriteBuffer {
+
+  private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+  private final ChatLogStore chatLogStore;
+  private final boolean enabled;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final long offerTimeoutMs;
+  private final long shutdownTimeoutMs;
+  private final long flushBackoffMs;
+  private final BlockingQueue<Pending> queue;
+  /** 큐에 넣은 뒤 아직 저장(또는 포기)되지 않은 턴 (순번 순) */
+  private final ConcurrentSkipListMap<Long, ChatTurn> unflushed = new ConcurrentSkipListMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  private final Timer flushTimer;
+  private final DistributionSummary batchSizeSummary;
+  private final Counter rejectedCounter;
+  private final Counter droppedCounter;
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  public ChatLogWriteBuffer(ChatLogStore chatLogStore,
+      MeterRegistry meterRegistry,
+      @Value("${chat-log.write-behind.enabled:true}") boolean enabled,
+      @Value("${chat-log.write-behind.capacity:10000}") int capacity,
+      @Value("${chat-log.write-behind.batch-size:500}") int batchSize,
+      @Value("${chat-log.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+      @Value("${chat-log.write-behind.offer-timeout-ms:50}") long offerTimeoutMs,
+      @Value("${chat-log.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+      @Value("${chat-log.write-behind.flush-backoff-ms:100}") long flushBackoffMs) {
+    this.chatLogStore = chatLogStore;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.flushIntervalMs = flushIntervalMs;
+    this.offerTimeoutMs = offerTimeoutMs;
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+    this.flushBackoffMs = flushBackoffMs;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+
+    Gauge.builder("chatlog.write_behind.queue.size", queue, BlockingQueue::size)
+        .description("flush 대기 중인 대화 턴 수")
+        .register(meterRegistry);
+    Gauge.builder("chatlog.write_behind.queue.remaining", queue, BlockingQueue::remainingCapacity)
+        .register(meterRegistry);
+    this.flushTimer = Timer.builder("chatlog.write_behind.flush")
+        .description("배치 하나를 저장하는 데 걸린 시간")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+    this.batchSizeSummary = DistributionSummary.builder("chatlog.write_behind.batch.size")
+        .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("chatlog.write_behind.rejected")
+        .description("큐가 가득 차 동기 저장으로 전환된 대화 턴 수")
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("chatlog.write_behind.dropped")
+        .description("재시도 후에도 저장하지 못한 대화 턴 수")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      return;
+    }
+    running = true;
+    flusher = new Thread(this::runFlusher, "chatlog-flusher");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /**
+   * 종료 시 큐에 남은 로그를 모두 저장한 뒤 flusher 스레드를 멈춥니다.
+   */
+  @PreDestroy
+  void stop() throws InterruptedException {
+    if (flusher == null) {
+      return;
+    }
+    running = false;
+    flusher.join(shutdownTimeoutMs);
+    if (flusher.isAlive()) {
+      log.warn("Chat log flusher did not finish within {}ms, {} logs left in queue",
+          shutdownTimeoutMs, queue.size());
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 대화 턴을 저장 큐에 넣습니다.
+   * 큐가 가득 찬 상태가 offerTimeout 동안 지속되면 호출한 스레드에서 직접 저장합니다.
+   *
+   * @param turn 저장할 대화 턴
+   */
+  public void enqueue(ChatTurn turn) {
+    if (!running) {
+      chatLogStore.writeTurns(List.of(turn));
+      return;
+    }
+    Pending pending = new Pending(sequence.incrementAndGet(), turn);
+    unflushed.put(pending.seq(), turn);
+    try {
+      if (queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    rejectedCounter.increment();
+    writeThrough(pending);
+  }
+
+  /**
+   * 아직 MongoDB에 반영되지 않은 특정 디바이스의 로그를 저장 순서대로 반환합니다.
+   * 방금 보낸 메시지가 조회 결과에서 빠지지 않도록 조회 시 함께 합쳐 사용합니다.
+   * 턴은 저장이 끝난 뒤에야 여기서 빠지므로, 저장소보다 먼저 읽으면 어느 쪽에서도 보이지 않는 로그가 없습니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @return flush 대기 중이거나 저장 중인 로그 목록
+   */
+  public List<ChatLog> pendingOf(String deviceId) {
+    List<ChatLog> pending = new ArrayList<>();
+    for (ChatTurn turn : unflushed.values()) {
+      if (deviceId.equals(turn.getDeviceId())) {
+        pending.addAll(turn.toChatLogs());
+      }
+    }
+    return pending;
+  }
+
+  /**
+   * 큐가 가득 차 요청 스레드에서 직접 저장합니다.
+   * 이 턴보다 먼저 들어와 아직 저장되지 않은 턴(큐에 남았거나 flusher 가 저장하려는 배치)을 함께 순서대로 저장하고,
+   * 그 턴들은 큐에서 빼서 flusher 가 다시 저장하지 않게 합니다.
+   */
+  private void writeThrough(Pending pending) {
+    writeLock.lock();
+    try {
+      List<Long> seqs = new ArrayList<>();
+      List<ChatTurn> turns = new ArrayList<>();
+      for (Map.Entry<Long, ChatTurn> entry : unflushed.headMap(pending.seq(), true).entrySet()) {
+        seqs.add(entry.getKey());
+        turns.add(entry.getValue());
+      }
+      try {
+        // 앞서 저장에 실패한 배치가 섞여 있을 수 있으므로 이미 저장된 메시지는 건너뛰는 방식으로 저장합니다.
+        chatLogStore.retryTurns(turns);
+      } catch (RuntimeException e) {
+        // 이 턴은 큐에 없으므로 flusher 가 저장하지 않습니다. 먼저 들어온 턴은 그대로 flusher 에 맡깁니다.
+        unflushed.remove(pending.seq());
+        throw e;
+      }
+      seqs.forEach(unflushed::remove);
+      queue.removeIf(queued -> queued.seq() <= pending.seq());
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void runFlusher() {
+    List<Pending> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        fillBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        queue.drainTo(batch, batchSize - batch.size());
+        running = false;
+      }
+      if (!batch.isEmpty()) {
+        flush(batch);
+        batch.clear();
+      }
+    }
+    log.info("Chat log flusher stopped");
+  }
+
+  /**
+   * 첫 로그가 들어온 시점부터 flushInterval 이 지나거나 batchSize 만큼 모일 때까지 배치를 채웁니다.
+   */
+  private void fillBatch(List<Pending> batch) throws InterruptedException {
+    Pending first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    while (batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= batchSize || remaining <= 0) {
+        return;
+      }
+      Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  /**
+   * 배치를 저장합니다. 실패하면 flushBackoff 부터 두 배씩 늘려 기다린 뒤 다시 시도합니다.
+   * 시도할 때마다 그사이 요청 스레드가 직접 저장한 턴은 빼고 저장합니다.
+   */
+  private void flush(List<Pending> batch) {
+    long backoffMs = flushBackoffMs;
+    for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+      writeLock.lock();
+      try {
+        List<Pending> remaining = batch.stream()
+            .filter(pending -> unflushed.containsKey(pending.seq()))
+            .toList();
+        if (remaining.isEmpty()) {
+          return;
+        }
+        List<ChatTurn> turns = remaining.stream().map(Pending::turn).toList();
+        // 실패한 시도가 일부만 반영되었을 수 있으므로 다시 시도할 때는 이미 저장된 메시지를 건너뜁니다.
+        if (attempt == 1) {
+          flushTimer.record(() -> chatLogStore.writeTurns(turns));
+        } else {
+          flushTimer.record(() -> chatLogStore.retryTurns(turns));
+        }
+        batchSizeSummary.record(remaining.size());
+        remaining.forEach(pending -> unflushed.remove(pending.seq()));
+        return;
+      } catch (Exception e) {
+        log.warn("Chat log flush failed (attempt {}/{}): {}", attempt, MAX_FLUSH_ATTEMPTS, e.getMessage());
+      } finally {
+        writeLock.unlock();
+      }
+      if (attempt < MAX_FLUSH_ATTEMPTS && !sleep(backoffMs)) {
+        break;
+      }
+      backoffMs *= 2;
+    }
+    List<Pending> dropped = batch.stream()
+        .filter(pending -> unflushed.remove(pending.seq()) != null)
+        .toList();
+    droppedCounter.increment(dropped.size());
+    log.error("Dropped {} chat logs after {} attempts", dropped.size(), MAX_FLUSH_ATTEMPTS);
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * @param seq 큐에 들어온 순번
+   * @param turn 저장할 대화 턴
+   */
+  private record Pending(long seq, ChatTurn turn) {
+  }
+}
@@ -1,24 +1,20 @@
 package springbook.chatbotserver.chat.service;
 
-import java.time.LocalDateTime;
-
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientResponseException;
-import org.springframework.web.client.RestTemplate;
 import lombok.extern.slf4j.Slf4j;
 
 import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
 import springbook.chatbotserver.chat.model.dto.RasaRequest;
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.service.fastpath.FastPathRecognizer;
+import springbook.chatbotserver.chat.service.rasa.RasaClient;
+import springbook.chatbotserver.chat.service.rasa.RasaResponseCache;
+import springbook.chatbotserver.chat.service.rasa.RequestCoalescer;
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
 import springbook.chatbotserver.chat.service.strategy.IntentStrategy;
 import springbook.chatbotserver.chat.service.strategy.StrategyFactory;
 import springbook.chatbotserver.config.exception.CustomException;
-import springbook.chatbotserver.config.exception.ErrorCode;
 
 /**
  * Rasa 챗봇과의 통신 및 인텐트 처리 전략 실행을 담당하는 서비스 클래스입니다.
@@ -29,61 +25,47 @@ import springbook.chatbotserver.config.exception.ErrorCode;
 @RequiredArgsConstructor
 public class RasaService {
 
-  private final RestTemplate restTemplate;
+  private final RasaClient rasaClient;
   private final StrategyFactory strategyFactory;
   private final ChatLogService chatLogService;
-
-  @Value("${URL}")
-  private String url;
+  private final RasaResponseCache rasaResponseCache;
+  private final RequestCoalescer requestCoalescer;
+  private final FastPathRecognizer fastPathRecognizer;
 
   /**
    * 사용자 요청 메시지를 Rasa 서버로 전송하고,
    * 응답에 포함된 인텐트를 기반으로 적절한 전략을 실행하여 결과를 반환합니다.
-   * 또한 사용자/챗봇의 메시지를 로그로 저장합니다.
+   * 또한 사용자 메시지와 챗봇 응답을 하나의 대화 턴으로 저장합니다.
    *
    * @param req 사용자 요청 DTO (deviceId, message 포함)
    * @return 챗봇 응답 메시지
    */
   public String sendMessageToRasa(RasaRequest req) {
-    // 사용자 메시지 로그 저장
-    chatLogService.saveUserMessage(req);
+    // 대화 턴 시작 (설정에 따라 사용자 메시지를 먼저 저장)
+    ChatTurn turn = chatLogService.startTurn(req);
 
-    String botMessage;
+    Reply reply;
+    String key = UtteranceNormalizer.normalize(req.getText());
     try {
-      // Rasa 서버에 POST 요청
-      RasaResponse rasa = getRasaResponse(req);
-      // 전략 실행
-      botMessage = handleIntent(rasa);
+      // 같은 발화가 동시에 들어오면 Rasa 호출과 전략 실행을 한 번만 수행
+      reply = requestCoalescer.execute(key, Reply.class, () -> {
+        // 모호하지 않은 발화는 서버에서 바로 인식하고, 나머지는 캐시에 없을 때 Rasa 서버에 POST 요청
+        RasaResponse rasa = fastPathRecognizer.resolve(req.getText(),
+            () -> rasaResponseCache.get(key, () -> rasaClient.parse(req)));
+        // 전략 실행
+        try {
+          return new Reply(handleIntent(rasa), rasa);
+        } catch (CustomException e) {
+          return new Reply(e.getMessage(), rasa);
+        }
+      });
     } catch (CustomException e) {
-      botMessage = e.getMessage();
-    }
-    // 챗봇 응답 메시지 로그 저장
-    chatLogService.saveBotMessage(req, botMessage);
-
-    return botMessage;
-  }
-
-
-  private RasaResponse getRasaResponse(RasaRequest req) {
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    HttpEntity<RasaRequest> entity = new HttpEntity<>(req, headers);
-    String rasaUrl = url;
-    try {
-      ResponseEntity<RasaResponse> response = restTemplate.postForEntity(
-          rasaUrl,
-          entity,
-          RasaResponse.class
-      );
-      return response.getBody();
-    } catch (RestClientResponseException e) {
-      log.error("Rasa server error at {}: {}, {}", LocalDateTime.now(), e.getStatusCode(), e.getMessage());
-      throw new CustomException(ErrorCode.CONNECTION_TIMEOUT);
-    } catch (Exception e) {
-      log.error("Unexpected error when communicating with Rasa server at {}: {}", LocalDateTime.now(), e.getMessage());
-      throw new CustomException(ErrorCode.RASA_SERVER_ERROR);
+      reply = new Reply(e.getMessage(), null);
     }
+    // 챗봇 응답으로 대화 턴 저장
+    chatLogService.completeTurn(turn, reply.message(), reply.rasa());
 
+    return reply.message();
   }
 
   private String handleIntent(RasaResponse rasa) {
@@ -92,4 +74,10 @@ public class RasaService {
     return strategy.handle(rasa);
   }
 
-}
\ No newline at end of file
+  /**
+   * 챗봇 응답 메시지와, 대화 턴에 함께 기록할 인식 결과입니다.
+   */
+  private record Reply(String message, RasaResponse rasa) {
+  }
+
+}
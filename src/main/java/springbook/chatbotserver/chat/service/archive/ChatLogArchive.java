@@ -0,0 +1,205 @@
+package springbook.chatbotserver.chat.service.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * 보관 기간이 지난 채팅 로그를 날짜별 gzip NDJSON 파일로 보관하는 아카이브입니다.
+ * 파일은 {directory}/{yyyy}/{MM}/chat_logs-{yyyy-MM-dd}.ndjson.gz 에 쓰며,
+ * 같은 날짜를 다시 아카이브하면 덮어쓰지 않고 chat_logs-{yyyy-MM-dd}.1.ndjson.gz 처럼 번호를 붙입니다.
+ * 읽을 때는 그 날짜의 파일을 모두 읽고 ID 로 중복을 없앱니다.
+ * 날짜별 파일 전체를 풀어야 하는 무거운 작업이므로 동시에 읽는 요청 수를 chat-log.archive.max-concurrent-reads 로 제한합니다.
+ *
+ * <p>아카이브한 로그는 MongoDB 에서 지워지므로 이 디렉터리가 유일한 사본입니다.
+ * 어느 인스턴스가 아카이브하든 모든 인스턴스가 읽을 수 있도록 directory 는 모든 인스턴스가 함께 마운트하는
+ * 공유 저장소(NFS, EFS 등)의 절대 경로여야 하며, 컨테이너에서는 이미지의 볼륨(/var/lib/chatbot/chat-archive)에 마운트합니다.
+ */
+@Component
+public class ChatLogArchive {
+
+  private static final String PREFIX = "chat_logs-";
+  private static final String SUFFIX = ".ndjson.gz";
+  private static final byte NEWLINE = '\n';
+  private static final Comparator<ChatLog> OLDEST_FIRST = Comparator.comparing(ChatLog::getTimestamp)
+      .thenComparing(ChatLog::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final Path directory;
+  private final ObjectWriter writer;
+  private final ObjectReader reader;
+  private final Semaphore reads;
+
+  public ChatLogArchive(ObjectMapper objectMapper,
+      @Value("${chat-log.archive.directory:/var/lib/chatbot/chat-archive}") String directory,
+      @Value("${chat-log.archive.max-concurrent-reads:2}") int maxConcurrentReads) {
+    this.directory = Paths.get(directory).toAbsolutePath();
+    this.reads = new Semaphore(maxConcurrentReads);
+    this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.reader = objectMapper.readerFor(ChatLog.class);
+  }
+
+  /**
+   * 하루치 로그를 새 아카이브 파일에 씁니다.
+   * 임시 파일에 모두 쓰고 디스크에 내린 뒤 이름을 바꾸므로, 도중에 실패하면 아카이브 파일이 남지 않습니다.
+   * 이름을 바꾼 파일을 다시 읽어 쓴 로그가 모두 있는지 확인한 뒤에만 반환하므로, 반환하면 MongoDB 에서 지워도 됩니다.
+   *
+   * @param day 로그 날짜
+   * @param logs 아카이브할 로그
+   * @return 쓴 로그 수 (0 이면 파일을 만들지 않음)
+   * @throws IOException 파일을 쓰지 못했거나 다시 읽은 로그 수가 다른 경우 (파일은 남기지 않음)
+   */
+  public long write(LocalDate day, Stream<ChatLog> logs) throws IOException {
+    Path dayDirectory = dayDirectory(day);
+    Files.createDirectories(dayDirectory);
+    Path part = Files.createTempFile(dayDirectory, PREFIX + day, ".part");
+    long written = 0;
+    try {
+      try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(part)), 64 * 1024)) {
+        Iterator<ChatLog> iterator = logs.iterator();
+        while (iterator.hasNext()) {
+          writer.writeValue(out, iterator.next());
+          out.write(NEWLINE);
+          written++;
+        }
+      }
+      if (written > 0) {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+          channel.force(true);
+        }
+        Path file = Files.move(part, nextFile(day), StandardCopyOption.ATOMIC_MOVE);
+        verify(file, written);
+      }
+      return written;
+    } finally {
+      Files.deleteIfExists(part);
+    }
+  }
+
+  /**
+   * 기간 안의 아카이브에서 디바이스의 로그를 읽습니다.
+   *
+   * @param deviceId 디바이스 ID
+   * @param from 시작 날짜 (포함)
+   * @param to 종료 날짜 (포함)
+   * @return 오래된 순으로 정렬된 로그 목록
+   * @throws CustomException 이미 max-concurrent-reads 개의 요청이 읽고 있으면 ARCHIVE_READ_BUSY
+   */
+  public List<ChatLog> read(String deviceId, LocalDate from, LocalDate to) {
+    if (!reads.tryAcquire()) {
+      throw new CustomException(ErrorCode.ARCHIVE_READ_BUSY);
+    }
+    Map<String, ChatLog> logs = new LinkedHashMap<>();
+    try {
+      for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+        for (Path file : files(day)) {
+          readInto(file, deviceId, logs);
+        }
+      }
+    } finally {
+      reads.release();
+    }
+    List<ChatLog> sorted = new ArrayList<>(logs.values());
+    sorted.sort(OLDEST_FIRST);
+    return sorted;
+  }
+
+  /**
+   * @param day 날짜
+   * @return 해당 날짜의 아카이브 파일 목록
+   */
+  public List<Path> files(LocalDate day) {
+    Path dayDirectory = dayDirectory(day);
+    if (!Files.isDirectory(dayDirectory)) {
+      return List.of();
+    }
+    String prefix = PREFIX + day;
+    try (Stream<Path> files = Files.list(dayDirectory)) {
+      return files
+          .filter(file -> {
+            String name = file.getFileName().toString();
+            return name.startsWith(prefix) && name.endsWith(SUFFIX);
+          })
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void verify(Path file, long expected) throws IOException {
+    long count = 0;
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file), 64 * 1024);
+        MappingIterator<ChatLog> iterator = reader.readValues(in)) {
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw new IOException("Failed to verify chat log archive " + file, e);
+    }
+    if (count != expected) {
+      Files.deleteIfExists(file);
+      throw new IOException("Chat log archive " + file + " has " + count + " logs, expected " + expected);
+    }
+  }
+
+  private void readInto(Path file, String deviceId, Map<String, ChatLog> logs) {
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file), 64 * 1024);
+        MappingIterator<ChatLog> iterator = reader.readValues(in)) {
+      while (iterator.hasNext()) {
+        ChatLog chatLog = iterator.next();
+        if (deviceId.equals(chatLog.getDeviceId())) {
+          logs.putIfAbsent(chatLog.getId(), chatLog);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read chat log archive " + file, e);
+    }
+  }
+
+  private Path nextFile(LocalDate day) {
+    Path dayDirectory = dayDirectory(day);
+    Path file = dayDirectory.resolve(PREFIX + day + SUFFIX);
+    for (int sequence = 1; Files.exists(file); sequence++) {
+      file = dayDirectory.resolve(PREFIX + day + "." + sequence + SUFFIX);
+    }
+    return file;
+  }
+
+  private Path dayDirectory(LocalDate day) {
+    return directory.resolve(String.format("%04d/%02d", day.getYear(), day.getMonthValue()));
+  }
+}
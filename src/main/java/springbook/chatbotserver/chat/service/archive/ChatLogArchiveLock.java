@@ -0,0 +1,65 @@
+package springbook.chatbotserver.chat.service.archive;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 인스턴스 중 한 곳에서만 아카이브 작업을 실행하도록 MongoDB 문서 하나로 잡는 잠금입니다.
+ * scheduler_locks 컬렉션의 chat-log-archive 문서를 lockedUntil 이 지났을 때만 갱신(없으면 생성)하므로,
+ * 다른 인스턴스가 잡고 있으면 _id 중복으로 실패합니다.
+ * 작업 중 인스턴스가 죽어도 lease 가 지나면 다른 인스턴스가 다시 잡을 수 있으므로, lease 는 작업 시간보다 길어야 합니다.
+ */
+@Component
+public class ChatLogArchiveLock {
+
+  static final String COLLECTION = "scheduler_locks";
+  private static final String NAME = "chat-log-archive";
+
+  private final MongoTemplate mongoTemplate;
+  private final Clock clock;
+  private final Duration lease;
+  private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+  public ChatLogArchiveLock(MongoTemplate mongoTemplate, Clock clock,
+      @Value("${chat-log.archive.lock-lease-minutes:120}") long leaseMinutes) {
+    this.mongoTemplate = mongoTemplate;
+    this.clock = clock;
+    this.lease = Duration.ofMinutes(leaseMinutes);
+  }
+
+  /**
+   * @return 잠금을 잡았으면 true, 다른 인스턴스가 잡고 있으면 false
+   */
+  public boolean tryAcquire() {
+    Instant now = clock.instant();
+    Query query = Query.query(Criteria.where("_id").is(NAME).and("lockedUntil").lte(now));
+    Update update = new Update()
+        .set("lockedUntil", now.plus(lease))
+        .set("lockedAt", now)
+        .set("lockedBy", owner);
+    try {
+      mongoTemplate.upsert(query, update, COLLECTION);
+      return true;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 이 인스턴스가 잡은 잠금을 풉니다.
+   */
+  public void release() {
+    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(NAME).and("lockedBy").is(owner)),
+        new Update().set("lockedUntil", clock.instant()), COLLECTION);
+  }
+}
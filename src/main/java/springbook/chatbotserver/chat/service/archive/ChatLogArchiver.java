@@ -0,0 +1,115 @@
+package springbook.chatbotserver.chat.service.archive;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+
+/**
+ * 보관 기간(chat-log.retention.days)이 지난 채팅 로그를 아카이브 파일로 옮기는 작업입니다.
+ * 가장 오래된 날짜부터 하루씩 {@link ChatLogArchive} 에 쓰고, 파일을 다시 읽어 확인한 뒤에만 MongoDB 에서 지웁니다.
+ * 이렇게 hot 컬렉션에는 최근 로그만 남겨 작업 세트가 MongoDB 메모리 안에 머물도록 합니다.
+ * 작업이 계속 실패하면 보관 기간에 유예 기간을 더한 TTL 인덱스가 결국 로그를 지우므로, 실패 지표를 확인해야 합니다.
+ * 여러 인스턴스에서 같은 날짜를 중복으로 아카이브하지 않도록 {@link ChatLogArchiveLock} 을 잡은 인스턴스만 실행합니다.
+ */
+@Slf4j
+@Component
+public class ChatLogArchiver {
+
+  private final ChatLogStore chatLogStore;
+  private final ChatLogArchive chatLogArchive;
+  private final ChatLogArchiveLock archiveLock;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int retentionDays;
+  private final int batchSize;
+  private final Counter archivedCounter;
+  private final Counter failureCounter;
+
+  public ChatLogArchiver(ChatLogStore chatLogStore,
+      ChatLogArchive chatLogArchive,
+      ChatLogArchiveLock archiveLock,
+      Clock clock,
+      MeterRegistry meterRegistry,
+      @Value("${chat-log.retention.enabled:false}") boolean enabled,
+      @Value("${chat-log.retention.days:180}") int retentionDays,
+      @Value("${chat-log.export.batch-size:1000}") int batchSize) {
+    this.chatLogStore = chatLogStore;
+    this.chatLogArchive = chatLogArchive;
+    this.archiveLock = archiveLock;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.retentionDays = retentionDays;
+    this.batchSize = batchSize;
+    this.archivedCounter = Counter.builder("chatlog.archive.documents")
+        .description("아카이브 파일로 옮긴 채팅 로그 수")
+        .register(meterRegistry);
+    this.failureCounter = Counter.builder("chatlog.archive.failures")
+        .description("실패한 아카이브 작업 수")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${chat-log.archive.cron:0 30 3 * * *}")
+  public void scheduledArchive() {
+    if (!enabled) {
+      return;
+    }
+    if (!archiveLock.tryAcquire()) {
+      log.info("Chat log archiving is running on another instance, skipping");
+      return;
+    }
+    try {
+      archiveExpired(LocalDate.now(clock));
+    } catch (Exception e) {
+      failureCounter.increment();
+      log.error("Chat log archiving failed", e);
+    } finally {
+      archiveLock.release();
+    }
+  }
+
+  /**
+   * today 기준으로 보관 기간이 지난 날짜를 모두 아카이브하고 MongoDB 에서 지웁니다.
+   *
+   * @param today 기준 날짜
+   * @return 아카이브한 로그 수
+   * @throws IOException 아카이브 파일을 쓰지 못한 경우 (해당 날짜는 지우지 않음)
+   */
+  public long archiveExpired(LocalDate today) throws IOException {
+    LocalDate cutoff = today.minusDays(retentionDays);
+    long archived = 0;
+    LocalDate day = chatLogStore.oldestDay();
+    while (day != null && day.isBefore(cutoff)) {
+      ChatLogExportFilter filter = new ChatLogExportFilter(day.atStartOfDay(), day.plusDays(1).atStartOfDay(), null, null);
+      long written;
+      try (Stream<ChatLog> logs = chatLogStore.stream(filter, batchSize)) {
+        written = chatLogArchive.write(day, logs);
+      }
+      long deleted = chatLogStore.deleteDay(day);
+      archivedCounter.increment(written);
+      archived += written;
+      log.info("Archived {} chat logs of {} ({} documents removed)", written, day, deleted);
+      day = nextDay(day);
+    }
+    return archived;
+  }
+
+  /**
+   * 로그가 없는 날짜는 건너뜁니다. 지우지 못한 날짜가 있어도 같은 날짜를 반복하지 않도록 항상 앞으로 나아갑니다.
+   */
+  private LocalDate nextDay(LocalDate day) {
+    LocalDate oldest = chatLogStore.oldestDay();
+    return oldest == null || oldest.isAfter(day) ? oldest : day.plusDays(1);
+  }
+}
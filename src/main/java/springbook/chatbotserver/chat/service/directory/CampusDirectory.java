@@ -0,0 +1,328 @@
+package springbook.chatbotserver.chat.service.directory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.Building;
+import springbook.chatbotserver.chat.model.domain.Facility;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.model.domain.Professor;
+import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
+import springbook.chatbotserver.chat.model.mapper.DepartmentMapper;
+import springbook.chatbotserver.chat.model.mapper.FacilityMapper;
+import springbook.chatbotserver.chat.model.mapper.ProfessorMapper;
+
+/**
+ * 건물, 학과, 교수, 시설, 시설 동의어 정보를 메모리에 들고 있는 캠퍼스 디렉터리입니다.
+ * 시작할 때 테이블 전체를 읽어 불변 스냅샷을 만들고, 이후 주기적으로(또는 요청 시) 다시 읽어
+ * 내용이 바뀐 경우에만 스냅샷을 통째로 교체합니다.
+ * 시작할 때 읽지 못하면 주기 갱신을 기다리지 않고 짧은 간격부터 두 배씩 늘려 가며 첫 스냅샷이 생길 때까지 다시 읽습니다.
+ * 조회는 항상 현재 스냅샷만 읽으므로 위치 질의 처리 중에는 DB 에 접근하지 않습니다.
+ * 시설 동의어 사전은 선택 사항이라 따로 읽으며, 읽지 못하면(테이블이 없는 경우 등) 직전 스냅샷의 사전을 그대로 씁니다.
+ * 사전이 비어 있어도 시설 엔진이 설정(facility.intents)의 기본 동의어로 응답합니다.
+ * 오타 교정으로도 찾지 못한 이름은 스냅샷 버전과 함께 기억하여, 같은 오타가 반복되어도 이름 전체를 다시 훑지 않습니다.
+ */
+@Slf4j
+@Component
+public class CampusDirectory {
+
+  private final BuildingMapper buildingMapper;
+  private final DepartmentMapper departmentMapper;
+  private final ProfessorMapper professorMapper;
+  private final FacilityMapper facilityMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Timer refreshTimer;
+  private final Counter correctedCounter;
+  private final Counter uncorrectedCounter;
+  private final Cache<FuzzyMiss, Boolean> fuzzyMisses;
+  private final long initialRetryMinDelayMs;
+  private final long initialRetryMaxDelayMs;
+
+  private volatile DirectorySnapshot snapshot = DirectorySnapshot.EMPTY;
+  /** 첫 스냅샷을 다시 읽기까지 기다릴 시간 (스케줄러 스레드에서만 바꿉니다) */
+  private long initialRetryDelayMs;
+  private long nextInitialRetryNanos = System.nanoTime();
+
+  public CampusDirectory(BuildingMapper buildingMapper,
+      DepartmentMapper departmentMapper,
+      ProfessorMapper professorMapper,
+      FacilityMapper facilityMapper,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${campus-directory.fuzzy-miss-cache.max-size:10000}") long fuzzyMissCacheSize,
+      @Value("${campus-directory.initial-retry.min-delay-ms:1000}") long initialRetryMinDelayMs,
+      @Value("${campus-directory.initial-retry.max-delay-ms:60000}") long initialRetryMaxDelayMs) {
+    this.buildingMapper = buildingMapper;
+    this.departmentMapper = departmentMapper;
+    this.professorMapper = professorMapper;
+    this.facilityMapper = facilityMapper;
+    this.eventPublisher = eventPublisher;
+    this.initialRetryMinDelayMs = initialRetryMinDelayMs;
+    this.initialRetryMaxDelayMs = initialRetryMaxDelayMs;
+    this.initialRetryDelayMs = initialRetryMinDelayMs;
+    this.refreshTimer = Timer.builder("campus.directory.refresh")
+        .description("디렉터리 테이블 전체를 읽어 스냅샷을 만드는 데 걸린 시간")
+        .register(meterRegistry);
+    this.correctedCounter = Counter.builder("campus.directory.fuzzy.lookups")
+        .description("정확히 일치하지 않은 이름을 오타 교정으로 찾은 횟수")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.uncorrectedCounter = Counter.builder("campus.directory.fuzzy.lookups")
+        .description("정확히 일치하지 않은 이름을 오타 교정으로 찾은 횟수")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    this.fuzzyMisses = Caffeine.newBuilder()
+        .maximumSize(fuzzyMissCacheSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, fuzzyMisses, "directoryFuzzyMiss");
+    Gauge.builder("campus.directory.version", this, directory -> directory.snapshot.version())
+        .register(meterRegistry);
+    Gauge.builder("campus.directory.entries", this, directory -> directory.snapshot.size())
+        .register(meterRegistry);
+  }
+
+  /**
+   * 첫 스냅샷을 만듭니다.
+   * 이 시점에는 구독자가 아직 준비되지 않았을 수 있으므로 이벤트를 발행하지 않습니다.
+   */
+  @PostConstruct
+  void init() {
+    try {
+      snapshot = load(1);
+      log.info("Campus directory loaded ({} entries)", snapshot.size());
+    } catch (Exception e) {
+      log.error("Failed to load campus directory, retrying in {}ms", initialRetryDelayMs, e);
+      nextInitialRetryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialRetryDelayMs);
+    }
+  }
+
+  /**
+   * 첫 스냅샷을 아직 만들지 못했으면 다시 읽습니다. 실패할 때마다 기다리는 시간을 두 배로 늘리며 최대값을 넘지 않습니다.
+   * 첫 스냅샷이 생긴 뒤에는 아무것도 하지 않고, 이후 갱신은 {@link #scheduledRefresh()} 가 맡습니다.
+   */
+  @Scheduled(fixedDelayString = "${campus-directory.initial-retry.min-delay-ms:1000}")
+  public void retryInitialLoad() {
+    if (snapshot.version() > 0 || System.nanoTime() - nextInitialRetryNanos < 0) {
+      return;
+    }
+    try {
+      refresh();
+      log.info("Campus directory loaded after retry ({} entries)", snapshot.size());
+    } catch (Exception e) {
+      initialRetryDelayMs = Math.min(Math.max(initialRetryDelayMs * 2, initialRetryMinDelayMs), initialRetryMaxDelayMs);
+      nextInitialRetryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialRetryDelayMs);
+      log.warn("Campus directory initial load failed, retrying in {}ms: {}", initialRetryDelayMs, e.getMessage());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${campus-directory.refresh-interval-ms:600000}",
+      initialDelayString = "${campus-directory.refresh-interval-ms:600000}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      log.warn("Campus directory refresh failed, keeping version {}: {}", snapshot.version(), e.getMessage());
+    }
+  }
+
+  /**
+   * 테이블을 다시 읽어 내용이 바뀌었으면 스냅샷을 교체하고 {@link DirectoryRefreshedEvent} 를 발행합니다.
+   *
+   * @return 스냅샷이 교체되었으면 true
+   */
+  public synchronized boolean refresh() {
+    DirectorySnapshot current = snapshot;
+    DirectorySnapshot loaded = load(current.version() + 1);
+    if (current.version() > 0 && loaded.hasSameData(current)) {
+      return false;
+    }
+    snapshot = loaded;
+    // 이전 버전의 항목은 더 이상 맞지 않으므로 메모리만 비웁니다.
+    fuzzyMisses.invalidateAll();
+    log.info("Campus directory refreshed to version {} ({} entries)", loaded.version(), loaded.size());
+    eventPublisher.publishEvent(new DirectoryRefreshedEvent(loaded.version()));
+    return true;
+  }
+
+  public long version() {
+    return snapshot.version();
+  }
+
+  /**
+   * @param buildingNumber 건물 번호
+   * @return 건물 정보, 없으면 null
+   */
+  public Building findBuilding(int buildingNumber) {
+    return snapshot.building(buildingNumber);
+  }
+
+  /**
+   * @param buildingName 건물 이름
+   * @return 건물 번호, 없으면 null
+   */
+  public Integer findBuildingNumber(String buildingName) {
+    return snapshot.buildingNumber(buildingName);
+  }
+
+  /**
+   * @param departmentName 학과 이름
+   * @return 학과가 위치한 건물 정보, 없으면 null
+   */
+  public Building findBuildingOfDepartment(String departmentName) {
+    return snapshot.buildingOfDepartment(departmentName);
+  }
+
+  /**
+   * @param professorName 교수 이름
+   * @return 교수실 정보, 없으면 null
+   */
+  public Professor findProfessor(String professorName) {
+    return snapshot.professor(professorName);
+  }
+
+  /**
+   * @param facilityType 시설 유형
+   * @return 해당 유형의 시설 목록 (없으면 빈 목록)
+   */
+  public List<Facility> findFacilities(String facilityType) {
+    return snapshot.facilities(facilityType);
+  }
+
+  /**
+   * @return 시설 유형별 시설 목록 전체
+   */
+  public Map<String, List<Facility>> facilitiesByType() {
+    return snapshot.facilitiesByType();
+  }
+
+  /**
+   * @return 시설 이름 동의어 사전 전체
+   */
+  public List<FacilitySynonym> facilitySynonyms() {
+    return snapshot.facilitySynonyms();
+  }
+
+  /**
+   * 정확히 일치하는 건물이 없을 때 오타/띄어쓰기를 허용해 가장 가까운 건물을 찾습니다.
+   *
+   * @param buildingName 사용자가 말한 건물 이름
+   * @return 디렉터리의 건물 이름과 건물 번호, 없거나 후보가 여럿이면 empty
+   */
+  public Optional<Correction<Integer>> correctBuilding(String buildingName) {
+    return correct("building", DirectorySnapshot::buildingNameIndex, DirectorySnapshot::buildingNumber, buildingName);
+  }
+
+  /**
+   * 정확히 일치하는 학과가 없을 때 오타/띄어쓰기를 허용해 가장 가까운 학과를 찾습니다.
+   *
+   * @param departmentName 사용자가 말한 학과 이름
+   * @return 디렉터리의 학과 이름과 학과가 위치한 건물, 없거나 후보가 여럿이면 empty
+   */
+  public Optional<Correction<Building>> correctDepartment(String departmentName) {
+    return correct("department", DirectorySnapshot::departmentNameIndex, DirectorySnapshot::buildingOfDepartment, departmentName);
+  }
+
+  /**
+   * 정확히 일치하는 교수가 없을 때 오타/띄어쓰기를 허용해 가장 가까운 교수를 찾습니다.
+   *
+   * @param professorName 사용자가 말한 교수 이름
+   * @return 디렉터리의 교수 이름과 교수실 정보, 없거나 후보가 여럿이면 empty
+   */
+  public Optional<Correction<Professor>> correctProfessor(String professorName) {
+    return correct("professor", DirectorySnapshot::professorNameIndex, DirectorySnapshot::professor, professorName);
+  }
+
+  public Set<String> buildingNames() {
+    return snapshot.buildingNames();
+  }
+
+  public Set<String> departmentNames() {
+    return snapshot.departmentNames();
+  }
+
+  public Set<String> professorNames() {
+    return snapshot.professorNames();
+  }
+
+  /**
+   * 이름 교정과 교정된 이름의 조회를 같은 스냅샷에서 하여, 그 사이에 스냅샷이 바뀌어도 항상 함께 찾은 값을 돌려줍니다.
+   * 스냅샷은 불변이므로 한 번 찾지 못한 이름은 같은 버전에서 다시 찾아도 없으며, 이런 이름은 교정하지 않고 바로 empty 를 돌려줍니다.
+   */
+  private <T> Optional<Correction<T>> correct(String kind, Function<DirectorySnapshot, FuzzyNameIndex> index,
+      BiFunction<DirectorySnapshot, String, T> lookup, String name) {
+    if (name == null) {
+      return Optional.empty();
+    }
+    DirectorySnapshot current = snapshot;
+    FuzzyMiss miss = new FuzzyMiss(current.version(), kind, name);
+    if (fuzzyMisses.getIfPresent(miss) != null) {
+      uncorrectedCounter.increment();
+      return Optional.empty();
+    }
+    Optional<Correction<T>> corrected = index.apply(current).find(name)
+        .map(found -> new Correction<>(found, lookup.apply(current, found)))
+        .filter(correction -> correction.value() != null);
+    if (corrected.isPresent()) {
+      correctedCounter.increment();
+    } else {
+      fuzzyMisses.put(miss, Boolean.TRUE);
+      uncorrectedCounter.increment();
+    }
+    return corrected;
+  }
+
+  /**
+   * 오타 교정으로도 찾지 못한 이름입니다. 스냅샷 버전을 함께 담아, 교체되기 전 스냅샷의 결과가 쓰이지 않게 합니다.
+   */
+  private record FuzzyMiss(long version, String kind, String name) {
+  }
+
+  /**
+   * 오타를 바로잡은 결과입니다.
+   *
+   * @param name 디렉터리의 이름
+   * @param value 같은 스냅샷에서 그 이름으로 조회한 값
+   */
+  public record Correction<T>(String name, T value) {
+  }
+
+  private DirectorySnapshot load(long version) {
+    return refreshTimer.record(() -> new DirectorySnapshot(version,
+        buildingMapper.findAll(),
+        departmentMapper.findAll(),
+        professorMapper.findAll(),
+        facilityMapper.findAll(),
+        loadFacilitySynonyms()));
+  }
+
+  private List<FacilitySynonym> loadFacilitySynonyms() {
+    try {
+      return facilityMapper.findAllSynonyms();
+    } catch (RuntimeException e) {
+      log.warn("Failed to load facility synonyms, keeping {} previous entries: {}",
+          snapshot.facilitySynonyms().size(), e.getMessage());
+      return snapshot.facilitySynonyms();
+    }
+  }
+}
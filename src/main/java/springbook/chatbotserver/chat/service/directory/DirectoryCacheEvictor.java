@@ -0,0 +1,28 @@
+package springbook.chatbotserver.chat.service.directory;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 디렉터리 스냅샷이 교체되면 이전 데이터로 만든 전략 응답 캐시를 비웁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DirectoryCacheEvictor {
+
+  private final CacheManager cacheManager;
+
+  @EventListener(DirectoryRefreshedEvent.class)
+  public void evictStrategyCaches() {
+    for (String cacheName : cacheManager.getCacheNames()) {
+      Cache cache = cacheManager.getCache(cacheName);
+      if (cache != null) {
+        cache.clear();
+      }
+    }
+  }
+}
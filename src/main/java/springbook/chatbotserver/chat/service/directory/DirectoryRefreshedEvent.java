@@ -0,0 +1,10 @@
+package springbook.chatbotserver.chat.service.directory;
+
+/**
+ * 캠퍼스 디렉터리 데이터가 바뀌어 새 스냅샷으로 교체되었을 때 발행되는 이벤트입니다.
+ * 디렉터리 데이터로 만든 사전이나 캐시는 이 이벤트를 받아 다시 만들거나 비웁니다.
+ *
+ * @param version 새 스냅샷의 버전
+ */
+public record DirectoryRefreshedEvent(long version) {
+}
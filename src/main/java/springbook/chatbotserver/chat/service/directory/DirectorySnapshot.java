@@ -0,0 +1,208 @@
+package springbook.chatbotserver.chat.service.directory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import springbook.chatbotserver.chat.model.domain.Building;
+import springbook.chatbotserver.chat.model.domain.Department;
+import springbook.chatbotserver.chat.model.domain.Facility;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.model.domain.Professor;
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
+
+/**
+ * 한 시점의 건물/학과/교수/시설/시설 동의어 데이터를 조회용 인덱스로 만들어 둔 불변 스냅샷입니다.
+ * 건물은 건물 번호를 그대로 인덱스로 쓰는 배열에, 나머지는 이름을 키로 하는 맵에 보관합니다.
+ * 건물/학과/교수 이름은 오타 교정용 {@link FuzzyNameIndex} 도 함께 만들어 스냅샷과 같이 교체되게 합니다.
+ * 맵의 키는 {@link UtteranceNormalizer#compact(String)} 로 정규화하여, DB 에서 조회하던 때처럼
+ * 대소문자/전각 문자/공백이 달라도 같은 이름으로 찾습니다.
+ */
+final class DirectorySnapshot {
+
+  static final DirectorySnapshot EMPTY =
+      new DirectorySnapshot(0, List.of(), List.of(), List.of(), List.of(), List.of());
+
+  private final long version;
+  private final Building[] buildingsByNumber;
+  private final Map<String, Integer> buildingNumbersByName;
+  private final Map<String, Building> buildingsByDepartment;
+  private final Map<String, Professor> professorsByName;
+  private final Map<String, List<Facility>> facilitiesByType;
+  private final Map<String, List<Facility>> facilitiesByTypeKey;
+  private final Set<String> buildingNames;
+  private final Set<String> departmentNames;
+  private final Set<String> professorNames;
+  private final List<FacilitySynonym> facilitySynonyms;
+  private final FuzzyNameIndex buildingNameIndex;
+  private final FuzzyNameIndex departmentNameIndex;
+  private final FuzzyNameIndex professorNameIndex;
+  /** 데이터가 바뀌었는지 비교하기 위한 원본 행 값입니다. */
+  private final List<List<Object>> rows;
+
+  DirectorySnapshot(long version, List<Building> buildings, List<Department> departments,
+      List<Professor> professors, List<Facility> facilities, List<FacilitySynonym> facilitySynonyms) {
+    this.version = version;
+
+    int maxNumber = buildings.stream()
+        .map(Building::getBuildingNumber)
+        .filter(number -> number != null && number >= 0)
+        .mapToInt(Integer::intValue)
+        .max()
+        .orElse(-1);
+    Building[] byNumber = new Building[maxNumber + 1];
+    Map<String, Integer> numbersByName = new HashMap<>();
+    Set<String> buildingNameSet = new LinkedHashSet<>();
+    for (Building building : buildings) {
+      Integer number = building.getBuildingNumber();
+      if (number == null || number < 0) {
+        continue;
+      }
+      byNumber[number] = building;
+      if (building.getName() != null) {
+        numbersByName.put(key(building.getName()), number);
+        buildingNameSet.add(building.getName());
+      }
+    }
+
+    Map<String, Building> byDepartment = new HashMap<>();
+    Set<String> departmentNameSet = new LinkedHashSet<>();
+    for (Department department : departments) {
+      Integer number = department.getBuildingNumber();
+      if (department.getName() != null && number != null && number >= 0 && number < byNumber.length
+          && byNumber[number] != null) {
+        byDepartment.put(key(department.getName()), byNumber[number]);
+        departmentNameSet.add(department.getName());
+      }
+    }
+
+    Map<String, Professor> byProfessor = new HashMap<>();
+    Set<String> professorNameSet = new LinkedHashSet<>();
+    for (Professor professor : professors) {
+      if (professor.getName() != null) {
+        byProfessor.putIfAbsent(key(professor.getName()), professor);
+        professorNameSet.add(professor.getName());
+      }
+    }
+
+    Map<String, List<Facility>> byType = new LinkedHashMap<>();
+    for (Facility facility : facilities) {
+      if (facility.getFacilityType() != null) {
+        byType.computeIfAbsent(facility.getFacilityType(), type -> new ArrayList<>()).add(facility);
+      }
+    }
+    byType.replaceAll((type, list) -> List.copyOf(list));
+    Map<String, List<Facility>> byTypeKey = new HashMap<>();
+    byType.forEach((type, list) -> byTypeKey.merge(key(type), list, (a, b) -> {
+      List<Facility> merged = new ArrayList<>(a);
+      merged.addAll(b);
+      return List.copyOf(merged);
+    }));
+
+    this.buildingsByNumber = byNumber;
+    this.buildingNumbersByName = Map.copyOf(numbersByName);
+    this.buildingsByDepartment = Map.copyOf(byDepartment);
+    this.professorsByName = Map.copyOf(byProfessor);
+    this.facilitiesByType = Map.copyOf(byType);
+    this.facilitiesByTypeKey = Map.copyOf(byTypeKey);
+    this.buildingNames = Set.copyOf(buildingNameSet);
+    this.departmentNames = Set.copyOf(departmentNameSet);
+    this.professorNames = Set.copyOf(professorNameSet);
+    this.facilitySynonyms = List.copyOf(facilitySynonyms);
+    this.buildingNameIndex = FuzzyNameIndex.of(buildingNameSet);
+    this.departmentNameIndex = FuzzyNameIndex.of(departmentNameSet);
+    this.professorNameIndex = FuzzyNameIndex.of(professorNameSet);
+    this.rows = rows(buildings, departments, professors, facilities, facilitySynonyms);
+  }
+
+  long version() {
+    return version;
+  }
+
+  boolean hasSameData(DirectorySnapshot other) {
+    return rows.equals(other.rows);
+  }
+
+  Building building(int buildingNumber) {
+    if (buildingNumber < 0 || buildingNumber >= buildingsByNumber.length) {
+      return null;
+    }
+    return buildingsByNumber[buildingNumber];
+  }
+
+  Integer buildingNumber(String buildingName) {
+    return buildingNumbersByName.get(key(buildingName));
+  }
+
+  Building buildingOfDepartment(String departmentName) {
+    return buildingsByDepartment.get(key(departmentName));
+  }
+
+  Professor professor(String professorName) {
+    return professorsByName.get(key(professorName));
+  }
+
+  List<Facility> facilities(String facilityType) {
+    return facilitiesByTypeKey.getOrDefault(key(facilityType), List.of());
+  }
+
+  Map<String, List<Facility>> facilitiesByType() {
+    return facilitiesByType;
+  }
+
+  List<FacilitySynonym> facilitySynonyms() {
+    return facilitySynonyms;
+  }
+
+  /** @return DB 에 저장된 그대로의 건물 이름 */
+  Set<String> buildingNames() {
+    return buildingNames;
+  }
+
+  Set<String> departmentNames() {
+    return departmentNames;
+  }
+
+  Set<String> professorNames() {
+    return professorNames;
+  }
+
+  FuzzyNameIndex buildingNameIndex() {
+    return buildingNameIndex;
+  }
+
+  FuzzyNameIndex departmentNameIndex() {
+    return departmentNameIndex;
+  }
+
+  FuzzyNameIndex professorNameIndex() {
+    return professorNameIndex;
+  }
+
+  int size() {
+    return buildingNumbersByName.size() + buildingsByDepartment.size() + professorsByName.size()
+        + facilitiesByType.values().stream().mapToInt(List::size).sum();
+  }
+
+  private static String key(String name) {
+    return UtteranceNormalizer.compact(name);
+  }
+
+  private static List<List<Object>> rows(List<Building> buildings, List<Department> departments,
+      List<Professor> professors, List<Facility> facilities, List<FacilitySynonym> facilitySynonyms) {
+    List<List<Object>> rows = new ArrayList<>();
+    buildings.forEach(b -> rows.add(Arrays.asList("B", b.getBuildingNumber(), b.getName(), b.getMapUrl())));
+    departments.forEach(d -> rows.add(Arrays.asList("D", d.getName(), d.getBuildingNumber())));
+    professors.forEach(p -> rows.add(
+        Arrays.asList("P", p.getName(), p.getBuildingName(), p.getOffice(), p.getMapUrl())));
+    facilities.forEach(f -> rows.add(
+        Arrays.asList("F", f.getFacilityType(), f.getName(), f.getLocationDetail(), f.getMapUrl())));
+    facilitySynonyms.forEach(s -> rows.add(Arrays.asList("S", s.getSynonym(), s.getFacilityType())));
+    return rows;
+  }
+}
@@ -0,0 +1,185 @@
+package springbook.chatbotserver.chat.service.directory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
+
+/**
+ * 오타나 띄어쓰기가 다른 이름을 디렉터리의 이름으로 바로잡기 위한 불변 색인입니다.
+ *
+ * <p>이름은 공백/문장부호를 지우고 소문자로 바꾼 뒤 한글 음절을 초성/중성/종성 자모로 풀어 비교하므로,
+ * "홍길둥" 처럼 음절 안의 자모 하나가 틀린 경우도 편집 거리 1 로 계산됩니다.
+ * 후보는 자모 2-gram 역색인으로 좁히고(q-gram 보조정리: 거리 k 이내면 공유하는 2-gram 이 |q| - 1 - 2k 개 이상),
+ * 후보마다 k 를 넘으면 중단하는 편집 거리를 계산합니다.
+ *
+ * <p>허용 거리는 이름 길이(자모 수)의 1/5 이되 1 이상 {@link #MAX_DISTANCE} 이하이며,
+ * 가장 가까운 이름이 둘 이상이면 잘못 고치지 않도록 찾지 못한 것으로 봅니다.
+ * 성능 목표는 디렉터리 전체(이름 수천 개)에서 조회 한 번에 수십 마이크로초 이내입니다. (src/jmh 의 FuzzyNameIndexBenchmark)
+ */
+public final class FuzzyNameIndex {
+
+  /** 허용하는 최대 편집 거리 (자모 단위) */
+  public static final int MAX_DISTANCE = 2;
+
+  private static final int HANGUL_BASE = 0xAC00;
+  private static final int HANGUL_LAST = 0xD7A3;
+
+  private final String[] names;
+  private final String[] keys;
+  private final Map<String, String> exact;
+  private final Map<Integer, int[]> postings;
+
+  private FuzzyNameIndex(List<String> names) {
+    this.names = names.toArray(String[]::new);
+    this.keys = new String[this.names.length];
+    Map<String, String> exactNames = new HashMap<>();
+    Map<Integer, List<Integer>> grams = new HashMap<>();
+    for (int id = 0; id < this.names.length; id++) {
+      String key = key(this.names[id]);
+      keys[id] = key;
+      exactNames.putIfAbsent(key, this.names[id]);
+      int previous = -1;
+      for (int i = 0; i + 1 < key.length(); i++) {
+        int gram = gram(key, i);
+        // 같은 이름 안에서 반복되는 2-gram 은 한 번만 셉니다.
+        if (gram != previous) {
+          List<Integer> ids = grams.computeIfAbsent(gram, g -> new ArrayList<>());
+          if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+            ids.add(id);
+          }
+        }
+        previous = gram;
+      }
+    }
+    Map<Integer, int[]> compact = new HashMap<>(grams.size() * 2);
+    grams.forEach((gram, ids) -> compact.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    this.exact = Map.copyOf(exactNames);
+    this.postings = Map.copyOf(compact);
+  }
+
+  /**
+   * @param names 색인할 이름 (디렉터리 원문)
+   * @return 색인
+   */
+  public static FuzzyNameIndex of(Collection<String> names) {
+    return new FuzzyNameIndex(List.copyOf(names));
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * 허용 거리 안에서 가장 가까운 이름을 찾습니다.
+   *
+   * @param query 사용자가 말한 이름
+   * @return 디렉터리의 이름 원문 (없거나 가장 가까운 이름이 여럿이면 empty)
+   */
+  public Optional<String> find(String query) {
+    String key = key(query);
+    if (key.isEmpty()) {
+      return Optional.empty();
+    }
+    String exactName = exact.get(key);
+    if (exactName != null) {
+      return Optional.of(exactName);
+    }
+    int limit = Math.max(1, Math.min(MAX_DISTANCE, key.length() / 5));
+
+    // 공유하는 2-gram 수를 세어 후보를 좁힙니다. 기준이 0 이하이면 길이가 비슷한 이름 전체가 후보입니다.
+    int required = key.length() - 1 - 2 * limit;
+    int[] shared = new int[names.length];
+    if (required > 0) {
+      int previous = -1;
+      for (int i = 0; i + 1 < key.length(); i++) {
+        int gram = gram(key, i);
+        if (gram != previous) {
+          int[] ids = postings.get(gram);
+          if (ids != null) {
+            for (int id : ids) {
+              shared[id]++;
+            }
+          }
+        }
+        previous = gram;
+      }
+    }
+
+    int best = limit + 1;
+    int bestId = -1;
+    boolean tie = false;
+    for (int id = 0; id < names.length; id++) {
+      if (shared[id] < required || Math.abs(keys[id].length() - key.length()) > limit) {
+        continue;
+      }
+      int distance = distance(key, keys[id], Math.min(best, limit));
+      if (distance < best) {
+        best = distance;
+        bestId = id;
+        tie = false;
+      } else if (distance == best && distance <= limit && !keys[id].equals(keys[bestId])) {
+        tie = true;
+      }
+    }
+    return bestId < 0 || tie ? Optional.empty() : Optional.of(names[bestId]);
+  }
+
+  /**
+   * 이름을 비교용 키로 바꿉니다. 공백/문장부호를 지우고, 한글 음절은 초성/중성/종성 자모로 풉니다.
+   */
+  static String key(String name) {
+    String compact = UtteranceNormalizer.compact(name);
+    StringBuilder sb = new StringBuilder(compact.length() * 3);
+    for (int i = 0; i < compact.length(); i++) {
+      char c = compact.charAt(i);
+      if (c < HANGUL_BASE || c > HANGUL_LAST) {
+        sb.append(c);
+        continue;
+      }
+      int index = c - HANGUL_BASE;
+      sb.append((char) (0x1100 + index / 588));
+      sb.append((char) (0x1161 + (index % 588) / 28));
+      if (index % 28 != 0) {
+        sb.append((char) (0x11A7 + index % 28));
+      }
+    }
+    return sb.toString();
+  }
+
+  private static int gram(String key, int i) {
+    return (key.charAt(i) << 16) | key.charAt(i + 1);
+  }
+
+  /**
+   * 편집 거리(삽입/삭제/치환)를 계산합니다. limit 을 넘는 것이 확실해지면 limit + 1 을 반환합니다.
+   */
+  private static int distance(String a, String b, int limit) {
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      int rowMin = current[0];
+      char ca = a.charAt(i - 1);
+      for (int j = 1; j <= b.length(); j++) {
+        int cost = ca == b.charAt(j - 1) ? 0 : 1;
+        current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+        rowMin = Math.min(rowMin, current[j]);
+      }
+      if (rowMin > limit) {
+        return limit + 1;
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+    return Math.min(previous[b.length()], limit + 1);
+  }
+}
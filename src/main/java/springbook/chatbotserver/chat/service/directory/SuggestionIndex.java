@@ -0,0 +1,184 @@
+package springbook.chatbotserver.chat.service.directory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.model.dto.SuggestionDto;
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
+
+/**
+ * 교수/학과/건물/시설 이름 자동완성 색인입니다.
+ * 캠퍼스 디렉터리의 현재 스냅샷으로 두 개의 {@link SuggestionTrie} 를 만들어 두고 입력할 때마다 메모리에서만 조회합니다.
+ * <ul>
+ *   <li>자판 트라이: 이름을 자판으로 치는 순서의 자모(겹받침/겹모음은 나눔)로 풀어 만든 키. "기", "김ㅎ" 처럼 조합 중인 입력도 찾습니다.</li>
+ *   <li>초성 트라이: 음절마다 초성만 남긴 키. 입력이 자음으로만 되어 있으면(ㄱㅎ) 이쪽을 조회합니다.</li>
+ * </ul>
+ * 순위는 이름이 짧은 순, 같은 길이면 교수/학과/건물/시설 순, 그다음 이름 순입니다.
+ * 디렉터리가 바뀌면({@link DirectoryRefreshedEvent}) 트라이를 새로 만들어 통째로 교체합니다.
+ */
+@Slf4j
+@Component
+public class SuggestionIndex {
+
+  private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+  private static final String[] JUNGSEONG = {
+      "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+      "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+  private static final String[] JONGSEONG = {
+      "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+      "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+  private static final List<String> TYPE_ORDER = List.of("professor", "department", "building", "facility");
+
+  private final CampusDirectory campusDirectory;
+  private final int maxResults;
+
+  private volatile Tries tries = Tries.EMPTY;
+
+  public SuggestionIndex(CampusDirectory campusDirectory,
+      MeterRegistry meterRegistry,
+      @Value("${campus-directory.suggest.max-results:10}") int maxResults) {
+    this.campusDirectory = campusDirectory;
+    this.maxResults = Math.max(1, maxResults);
+    Gauge.builder("campus.suggest.entries", this, index -> index.tries.entries().length)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 디렉터리의 현재 스냅샷으로 트라이를 다시 만들어 교체합니다.
+   */
+  @PostConstruct
+  @EventListener(DirectoryRefreshedEvent.class)
+  public void rebuild() {
+    Map<String, SuggestionDto> unique = new LinkedHashMap<>();
+    campusDirectory.professorNames().forEach(name -> add(unique, name, "professor"));
+    campusDirectory.departmentNames().forEach(name -> add(unique, name, "department"));
+    campusDirectory.buildingNames().forEach(name -> add(unique, name, "building"));
+    for (FacilitySynonym synonym : campusDirectory.facilitySynonyms()) {
+      add(unique, synonym.getSynonym(), "facility");
+    }
+
+    List<SuggestionDto> ranked = new ArrayList<>(unique.values());
+    ranked.sort(Comparator.comparingInt((SuggestionDto s) -> UtteranceNormalizer.compact(s.getName()).length())
+        .thenComparingInt(s -> TYPE_ORDER.indexOf(s.getType()))
+        .thenComparing(SuggestionDto::getName));
+    List<String> keystrokeKeys = new ArrayList<>(ranked.size());
+    List<String> choseongKeys = new ArrayList<>(ranked.size());
+    for (SuggestionDto suggestion : ranked) {
+      String compact = UtteranceNormalizer.compact(suggestion.getName());
+      keystrokeKeys.add(keystrokes(compact));
+      choseongKeys.add(choseong(compact));
+    }
+
+    Tries rebuilt = new Tries(ranked.toArray(SuggestionDto[]::new),
+        SuggestionTrie.build(keystrokeKeys, maxResults),
+        SuggestionTrie.build(choseongKeys, maxResults));
+    tries = rebuilt;
+    log.info("Suggestion index rebuilt ({} entries, {} nodes)", ranked.size(),
+        rebuilt.keystroke().nodeCount() + rebuilt.choseong().nodeCount());
+  }
+
+  /**
+   * 입력한 접두사로 시작하는 이름을 순위 순으로 반환합니다.
+   *
+   * @param query 사용자가 입력 중인 문자열
+   * @param size 최대 후보 수 (설정한 최대값을 넘으면 최대값)
+   * @return 자동완성 후보
+   */
+  public List<SuggestionDto> suggest(String query, int size) {
+    if (query == null) {
+      return List.of();
+    }
+    Tries current = tries;
+    String key = keystrokes(UtteranceNormalizer.compact(query));
+    int limit = Math.min(Math.max(1, size), maxResults);
+    int[] ids = isChoseongOnly(key) ? current.choseong().find(key, limit) : current.keystroke().find(key, limit);
+    List<SuggestionDto> suggestions = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      suggestions.add(current.entries()[id]);
+    }
+    return suggestions;
+  }
+
+  public int maxResults() {
+    return maxResults;
+  }
+
+  private static void add(Map<String, SuggestionDto> unique, String name, String type) {
+    if (name != null && !UtteranceNormalizer.compact(name).isEmpty()) {
+      unique.putIfAbsent(type + "|" + name, new SuggestionDto(name, type));
+    }
+  }
+
+  /**
+   * 정규화한 문자열을 자판으로 치는 순서의 호환 자모로 풉니다. (예: "닭" -> "ㄷㅏㄹㄱ")
+   * 정규화(NFKC)를 거친 단독 자모는 조합형 자모로 바뀌어 있으므로 조합형 자모도 같은 글자로 바꿉니다.
+   */
+  static String keystrokes(String compact) {
+    StringBuilder sb = new StringBuilder(compact.length() * 3);
+    for (int i = 0; i < compact.length(); i++) {
+      char c = compact.charAt(i);
+      if (c >= 0xAC00 && c <= 0xD7A3) {
+        int index = c - 0xAC00;
+        sb.append(CHOSEONG.charAt(index / 588))
+            .append(JUNGSEONG[(index % 588) / 28])
+            .append(JONGSEONG[index % 28]);
+      } else if (c >= 0x1100 && c <= 0x1112) {
+        sb.append(CHOSEONG.charAt(c - 0x1100));
+      } else if (c >= 0x1161 && c <= 0x1175) {
+        sb.append(JUNGSEONG[c - 0x1161]);
+      } else if (c >= 0x11A8 && c <= 0x11C2) {
+        sb.append(JONGSEONG[c - 0x11A7]);
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * 정규화한 문자열에서 한글 음절을 초성으로 바꿉니다. (예: "김현" -> "ㄱㅎ")
+   */
+  static String choseong(String compact) {
+    StringBuilder sb = new StringBuilder(compact.length());
+    for (int i = 0; i < compact.length(); i++) {
+      char c = compact.charAt(i);
+      sb.append(c >= 0xAC00 && c <= 0xD7A3 ? CHOSEONG.charAt((c - 0xAC00) / 588) : c);
+    }
+    return sb.toString();
+  }
+
+  private static boolean isChoseongOnly(String keystrokes) {
+    if (keystrokes.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < keystrokes.length(); i++) {
+      if (CHOSEONG.indexOf(keystrokes.charAt(i)) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param entries 순위 순 후보 (트라이 결과 번호가 가리키는 위치)
+   * @param keystroke 자판 키 트라이
+   * @param choseong 초성 키 트라이
+   */
+  private record Tries(SuggestionDto[] entries, SuggestionTrie keystroke, SuggestionTrie choseong) {
+
+    static final Tries EMPTY = new Tries(new SuggestionDto[0],
+        SuggestionTrie.build(List.of(), 1), SuggestionTrie.build(List.of(), 1));
+  }
+}
@@ -0,0 +1,139 @@
+package springbook.chatbotserver.chat.service.directory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * 자동완성용 불변 접두사 트라이입니다.
+ * 노드는 너비 우선 순서로 배열에 펼쳐 두고(자식은 글자 순으로 연속 저장), 노드마다 그 접두사로 시작하는 키 중
+ * 순위가 높은 k 개의 번호를 미리 저장하므로 조회는 접두사 길이만큼 자식을 이진 탐색하는 것으로 끝납니다.
+ */
+final class SuggestionTrie {
+
+  private final char[] labels;
+  private final int[] childStart;
+  private final int[] childEnd;
+  private final int[] topStart;
+  private final int[] topIds;
+
+  private SuggestionTrie(char[] labels, int[] childStart, int[] childEnd, int[] topStart, int[] topIds) {
+    this.labels = labels;
+    this.childStart = childStart;
+    this.childEnd = childEnd;
+    this.topStart = topStart;
+    this.topIds = topIds;
+  }
+
+  /**
+   * @param keys 순위 순으로 정렬된 키 (키의 위치가 결과 번호)
+   * @param k 노드마다 저장할 결과 수
+   * @return 트라이
+   */
+  static SuggestionTrie build(List<String> keys, int k) {
+    Node root = new Node('\0', k);
+    for (int id = 0; id < keys.size(); id++) {
+      Node node = root;
+      String key = keys.get(id);
+      for (int i = 0; i < key.length(); i++) {
+        node = node.children.computeIfAbsent(key.charAt(i), c -> new Node(c, k));
+        // 순위 순으로 넣으므로 먼저 들어온 k 개가 곧 이 접두사의 상위 k 개입니다.
+        if (node.topSize < k) {
+          node.top[node.topSize++] = id;
+        }
+      }
+    }
+
+    List<Node> order = new ArrayList<>();
+    Queue<Node> queue = new ArrayDeque<>();
+    order.add(root);
+    queue.add(root);
+    List<int[]> ranges = new ArrayList<>();
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      int start = order.size();
+      for (Node child : node.children.values()) {
+        order.add(child);
+        queue.add(child);
+      }
+      ranges.add(new int[] {start, order.size()});
+    }
+
+    int size = order.size();
+    char[] labels = new char[size];
+    int[] childStart = new int[size];
+    int[] childEnd = new int[size];
+    int[] topStart = new int[size + 1];
+    int totalTop = 0;
+    for (int n = 0; n < size; n++) {
+      Node node = order.get(n);
+      labels[n] = node.label;
+      childStart[n] = ranges.get(n)[0];
+      childEnd[n] = ranges.get(n)[1];
+      topStart[n] = totalTop;
+      totalTop += node.topSize;
+    }
+    topStart[size] = totalTop;
+    int[] topIds = new int[totalTop];
+    for (int n = 0; n < size; n++) {
+      Node node = order.get(n);
+      System.arraycopy(node.top, 0, topIds, topStart[n], node.topSize);
+    }
+    return new SuggestionTrie(labels, childStart, childEnd, topStart, topIds);
+  }
+
+  /**
+   * @param prefix 접두사 (빈 문자열이면 결과 없음)
+   * @param limit 최대 결과 수
+   * @return 접두사로 시작하는 키의 번호 (순위 순)
+   */
+  int[] find(String prefix, int limit) {
+    if (prefix.isEmpty()) {
+      return new int[0];
+    }
+    int node = 0;
+    for (int i = 0; i < prefix.length(); i++) {
+      node = child(node, prefix.charAt(i));
+      if (node < 0) {
+        return new int[0];
+      }
+    }
+    int from = topStart[node];
+    return Arrays.copyOfRange(topIds, from, Math.min(topStart[node + 1], from + limit));
+  }
+
+  int nodeCount() {
+    return labels.length;
+  }
+
+  private int child(int node, char c) {
+    int low = childStart[node];
+    int high = childEnd[node] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (labels[mid] < c) {
+        low = mid + 1;
+      } else if (labels[mid] > c) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private static final class Node {
+    private final char label;
+    private final TreeMap<Character, Node> children = new TreeMap<>();
+    private final int[] top;
+    private int topSize;
+
+    private Node(char label, int k) {
+      this.label = label;
+      this.top = new int[k];
+    }
+  }
+}
@@ -0,0 +1,289 @@
+package springbook.chatbotserver.chat.service.fastpath;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.directory.DirectoryRefreshedEvent;
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
+import springbook.chatbotserver.chat.service.strategy.IntentStrategyProvider;
+import springbook.chatbotserver.chat.service.strategy.KeywordProvider;
+
+/**
+ * Rasa 를 거치지 않고 서버 안에서 인텐트를 확정하는 fast-path 인식기입니다.
+ * 시설 단어와 캠퍼스 디렉터리의 교수 이름, 학과 이름으로 만든 사전(gazetteer)과 강의실 번호 패턴("1234호")으로 발화를 검사하고,
+ * 찾은 값이 하나뿐이며 나머지가 "어디", "알려줘" 같은 군더더기 말로만 이루어져 있을 때에만 결과를 확정합니다.
+ * 그 외의 모호한 발화는 모두 Rasa 로 넘깁니다.
+ *
+ * <ul>
+ *   <li>off: 사용하지 않습니다.</li>
+ *   <li>shadow: 항상 Rasa 결과를 사용하고, fast-path 결과와 비교한 일치 여부만 기록합니다.</li>
+ *   <li>on: 확정된 발화는 Rasa 를 호출하지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class FastPathRecognizer {
+
+  static final String EXTRACTOR = "FastPathRecognizer";
+
+  private static final Pattern ROOM_PATTERN = Pattern.compile("(\\d{4,6})호");
+  private static final String ROOM_INTENT = "ask_room_location";
+  private static final String PROFESSOR_INTENT = "ask_office_of_professor";
+  private static final String DEPARTMENT_INTENT = "ask_building_of_department";
+
+  /** 인식한 값 외에 발화에 남아 있어도 의미가 바뀌지 않는 말들입니다. 한 글자 말은 다른 말과 붙어 새 단어가 되기 쉬우므로 넣지 않습니다. */
+  private static final Set<String> FILLER_WORDS = Set.of(
+      "어디", "어딘", "어딨", "위치", "장소", "있어", "있나", "있니", "있는", "있음", "있지",
+      "알려줘", "알려주세요", "알려", "주세요", "가르쳐줘", "인가",
+      "교수님", "교수", "교수실", "연구실", "사무실", "강의실", "학과", "학과사무실"
+  );
+  /**
+   * 조사와 어미입니다. 인식한 값이나 군더더기 말 바로 뒤에서만 허용하여,
+   * "김철수 나이" 의 "나이" 처럼 한 글자씩 이어 붙여 다른 단어가 되는 경우를 군더더기로 보지 않습니다.
+   */
+  private static final Set<String> PARTICLES = Set.of(
+      "은", "는", "이", "가", "의", "에", "야", "요", "용", "니", "나", "지", "다", "어", "임", "냐", "좀", "줘"
+  );
+  /** 조사 뒤에 한 번 더 붙을 수 있는 어미입니다. (어디에 + 요) */
+  private static final Set<String> ENDINGS = Set.of("요");
+  private static final int MAX_FILLER_LENGTH = FILLER_WORDS.stream().mapToInt(String::length).max().orElse(0);
+
+  private final List<KeywordProvider> keywordProviders;
+  private final CampusDirectory campusDirectory;
+  private final Mode mode;
+
+  private final Counter bypassCounter;
+  private final Counter fallthroughCounter;
+  private final Counter shadowCounter;
+  private final Counter matchCounter;
+  private final Counter mismatchCounter;
+
+  private volatile Gazetteer gazetteer = Gazetteer.of(Map.of());
+
+  public FastPathRecognizer(List<KeywordProvider> keywordProviders,
+      List<IntentStrategyProvider> strategyProviders,
+      CampusDirectory campusDirectory,
+      MeterRegistry meterRegistry,
+      @Value("${rasa.fast-path.mode:shadow}") String mode) {
+    // 설정으로 만든 전략(시설 인텐트 등)의 단어도 사전에 넣습니다.
+    this.keywordProviders = Stream.concat(keywordProviders.stream(),
+            strategyProviders.stream()
+                .flatMap(provider -> provider.strategies().stream())
+                .filter(KeywordProvider.class::isInstance)
+                .map(KeywordProvider.class::cast))
+        .toList();
+    this.campusDirectory = campusDirectory;
+    this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+
+    this.bypassCounter = requestCounter(meterRegistry, "bypass");
+    this.fallthroughCounter = requestCounter(meterRegistry, "fallthrough");
+    this.shadowCounter = requestCounter(meterRegistry, "shadow");
+    this.matchCounter = comparisonCounter(meterRegistry, "match");
+    this.mismatchCounter = comparisonCounter(meterRegistry, "mismatch");
+  }
+
+  /**
+   * 애플리케이션이 준비되었을 때와 디렉터리 데이터가 바뀌었을 때 사전을 다시 만듭니다.
+   */
+  @EventListener({ApplicationReadyEvent.class, DirectoryRefreshedEvent.class})
+  public void onDirectoryChanged() {
+    rebuild();
+  }
+
+  /**
+   * 전략의 단어 목록과 캠퍼스 디렉터리의 교수/학과 이름으로 사전을 다시 만들어 교체합니다.
+   */
+  public void rebuild() {
+    if (mode == Mode.OFF) {
+      return;
+    }
+    Map<String, GazetteerEntry> terms = new LinkedHashMap<>();
+    Set<String> conflicts = new HashSet<>();
+    for (KeywordProvider provider : keywordProviders) {
+      for (String keyword : provider.keywords()) {
+        addTerm(terms, conflicts, keyword, new GazetteerEntry(provider.getIntent(), provider.getEntityName(), keyword));
+      }
+    }
+    for (String name : campusDirectory.professorNames()) {
+      addTerm(terms, conflicts, name, new GazetteerEntry(PROFESSOR_INTENT, "professor", name));
+    }
+    for (String name : campusDirectory.departmentNames()) {
+      addTerm(terms, conflicts, name, new GazetteerEntry(DEPARTMENT_INTENT, "department", name));
+    }
+    // 같은 단어가 서로 다른 인텐트를 가리키면 사전에서 빼고 Rasa 가 판단하도록 둡니다.
+    terms.keySet().removeAll(conflicts);
+    gazetteer = Gazetteer.of(terms);
+    log.info("Fast-path gazetteer built with {} terms (mode={})", gazetteer.size(), mode);
+  }
+
+  /**
+   * 발화의 인텐트를 결정합니다.
+   * 모드와 인식 결과에 따라 fast-path 결과를 바로 돌려주거나 rasa 를 호출합니다.
+   *
+   * @param text 사용자 발화
+   * @param rasa Rasa 호출 (캐시 포함)
+   * @return 인텐트와 엔티티가 담긴 응답
+   */
+  public RasaResponse resolve(String text, Supplier<RasaResponse> rasa) {
+    if (mode == Mode.OFF) {
+      return rasa.get();
+    }
+    GazetteerEntry recognized = recognize(text);
+    if (recognized == null) {
+      fallthroughCounter.increment();
+      return rasa.get();
+    }
+    if (mode == Mode.ON) {
+      bypassCounter.increment();
+      return toResponse(text, recognized);
+    }
+    shadowCounter.increment();
+    RasaResponse response = rasa.get();
+    compare(text, recognized, response);
+    return response;
+  }
+
+  /**
+   * 발화에서 인텐트를 확정할 수 있으면 그 항목을, 아니면 null 을 반환합니다.
+   *
+   * @param text 사용자 발화
+   * @return 확정된 항목 또는 null
+   */
+  GazetteerEntry recognize(String text) {
+    String compact = UtteranceNormalizer.compact(text);
+    if (compact.isEmpty()) {
+      return null;
+    }
+    List<Gazetteer.Match> matches = new ArrayList<>(gazetteer.findAll(compact));
+    Matcher room = ROOM_PATTERN.matcher(compact);
+    while (room.find()) {
+      matches.add(new Gazetteer.Match(room.start(), room.end(),
+          new GazetteerEntry(ROOM_INTENT, "room_number", room.group())));
+    }
+    if (matches.isEmpty()) {
+      return null;
+    }
+    matches.sort(Comparator.comparingInt(Gazetteer.Match::start));
+
+    GazetteerEntry found = matches.get(0).entry();
+    int position = 0;
+    for (Gazetteer.Match match : matches) {
+      if (!sameTarget(found, match.entry()) || match.start() < position
+          || !isFiller(compact.substring(position, match.start()), position > 0)) {
+        return null;
+      }
+      position = match.end();
+    }
+    return isFiller(compact.substring(position), true) ? found : null;
+  }
+
+  /**
+   * 문자열이 군더더기 말로만 나누어지는지 확인합니다.
+   * 조사는 인식한 값이나 군더더기 말 바로 뒤에만, 어미는 조사 뒤에만 올 수 있습니다.
+   *
+   * @param segment 인식한 값 사이의 문자열
+   * @param afterMatch 바로 앞에 인식한 값이 있으면 true
+   */
+  private boolean isFiller(String segment, boolean afterMatch) {
+    int length = segment.length();
+    boolean[] reachable = new boolean[length + 1];
+    boolean[] afterWord = new boolean[length + 1];
+    boolean[] afterParticle = new boolean[length + 1];
+    reachable[0] = true;
+    afterWord[0] = afterMatch;
+    for (int i = 0; i < length; i++) {
+      if (!reachable[i]) {
+        continue;
+      }
+      for (int j = i + 1; j <= Math.min(length, i + MAX_FILLER_LENGTH); j++) {
+        String word = segment.substring(i, j);
+        if (FILLER_WORDS.contains(word)) {
+          reachable[j] = true;
+          afterWord[j] = true;
+        } else if (afterWord[i] && PARTICLES.contains(word)) {
+          reachable[j] = true;
+          afterParticle[j] = true;
+        } else if (afterParticle[i] && ENDINGS.contains(word)) {
+          reachable[j] = true;
+        }
+      }
+    }
+    return reachable[length];
+  }
+
+  private void compare(String text, GazetteerEntry recognized, RasaResponse response) {
+    String rasaIntent = response.getIntent() == null ? null : response.getIntent().getName();
+    String rasaValue = response.getEntities() == null ? null : response.getEntities().stream()
+        .filter(e -> recognized.entity().equals(e.getEntity()))
+        .map(RasaResponse.Entity::getValue)
+        .findFirst()
+        .orElse(null);
+    if (recognized.intent().equals(rasaIntent)
+        && UtteranceNormalizer.compact(recognized.value()).equals(UtteranceNormalizer.compact(rasaValue))) {
+      matchCounter.increment();
+      return;
+    }
+    mismatchCounter.increment();
+    log.info("Fast-path mismatch: text='{}', fastPath={}/{}, rasa={}/{}",
+        text, recognized.intent(), recognized.value(), rasaIntent, rasaValue);
+  }
+
+  private static RasaResponse toResponse(String text, GazetteerEntry entry) {
+    return RasaResponse.of(text,
+        RasaResponse.Intent.of(entry.intent(), 1.0),
+        List.of(RasaResponse.Entity.of(entry.entity(), entry.value(), EXTRACTOR)));
+  }
+
+  private static boolean sameTarget(GazetteerEntry a, GazetteerEntry b) {
+    return a.intent().equals(b.intent())
+        && Objects.equals(UtteranceNormalizer.compact(a.value()), UtteranceNormalizer.compact(b.value()));
+  }
+
+  private static void addTerm(Map<String, GazetteerEntry> terms, Set<String> conflicts,
+      String word, GazetteerEntry entry) {
+    String key = UtteranceNormalizer.compact(word);
+    GazetteerEntry previous = terms.putIfAbsent(key, entry);
+    if (previous != null && !previous.intent().equals(entry.intent())) {
+      conflicts.add(key);
+    }
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("fastpath.requests")
+        .description("fast-path 인식기를 거친 요청 수")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private static Counter comparisonCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("fastpath.shadow.comparisons")
+        .description("shadow 모드에서 fast-path 결과와 Rasa 결과를 비교한 횟수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private enum Mode {
+    OFF, SHADOW, ON
+  }
+}
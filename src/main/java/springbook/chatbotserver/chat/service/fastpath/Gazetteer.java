@@ -0,0 +1,104 @@
+package springbook.chatbotserver.chat.service.fastpath;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사전 단어를 글자 단위 trie 로 보관하고, 발화에서 단어가 나타나는 위치를 찾는 불변 사전입니다.
+ * 단어와 발화는 모두 {@link springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer#compact} 로
+ * 정리된 상태라고 가정합니다.
+ * 검색은 왼쪽부터 가장 긴 단어를 우선으로 하며, 찾은 단어끼리는 겹치지 않습니다.
+ */
+public final class Gazetteer {
+
+  private final Node root;
+  private final int size;
+
+  private Gazetteer(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * 단어 -> 항목 맵으로 사전을 만듭니다. 빈 단어는 무시합니다.
+   *
+   * @param terms compact 된 단어와 그 단어가 가리키는 항목
+   * @return 사전
+   */
+  public static Gazetteer of(Map<String, GazetteerEntry> terms) {
+    Node root = new Node();
+    int size = 0;
+    for (Map.Entry<String, GazetteerEntry> term : terms.entrySet()) {
+      String word = term.getKey();
+      if (word == null || word.isEmpty()) {
+        continue;
+      }
+      Node node = root;
+      for (int i = 0; i < word.length(); i++) {
+        node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+      }
+      if (node.entry == null) {
+        size++;
+      }
+      node.entry = term.getValue();
+    }
+    return new Gazetteer(root, size);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 발화에서 사전 단어를 모두 찾습니다.
+   *
+   * @param text compact 된 발화
+   * @return 등장 순서대로 정렬된, 서로 겹치지 않는 일치 목록
+   */
+  public List<Match> findAll(String text) {
+    List<Match> matches = new ArrayList<>();
+    int start = 0;
+    while (start < text.length()) {
+      Match longest = longestAt(text, start);
+      if (longest == null) {
+        start++;
+      } else {
+        matches.add(longest);
+        start = longest.end();
+      }
+    }
+    return matches;
+  }
+
+  private Match longestAt(String text, int start) {
+    Node node = root;
+    Match longest = null;
+    for (int i = start; i < text.length(); i++) {
+      node = node.children.get(text.charAt(i));
+      if (node == null) {
+        break;
+      }
+      if (node.entry != null) {
+        longest = new Match(start, i + 1, node.entry);
+      }
+    }
+    return longest;
+  }
+
+  /**
+   * 발화에서 찾은 사전 단어의 위치입니다.
+   *
+   * @param start 시작 위치 (포함)
+   * @param end 끝 위치 (제외)
+   * @param entry 단어가 가리키는 항목
+   */
+  public record Match(int start, int end, GazetteerEntry entry) {
+  }
+
+  private static final class Node {
+    private final Map<Character, Node> children = new HashMap<>(4);
+    private GazetteerEntry entry;
+  }
+}
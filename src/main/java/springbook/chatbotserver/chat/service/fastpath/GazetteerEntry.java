@@ -0,0 +1,11 @@
+package springbook.chatbotserver.chat.service.fastpath;
+
+/**
+ * 사전 단어 하나가 가리키는 인텐트와 엔티티 값입니다.
+ *
+ * @param intent 인텐트 이름
+ * @param entity 엔티티 이름
+ * @param value 전략에 그대로 전달할 엔티티 값
+ */
+public record GazetteerEntry(String intent, String entity, String value) {
+}
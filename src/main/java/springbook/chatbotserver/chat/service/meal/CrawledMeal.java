@@ -0,0 +1,19 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 식단 페이지에서 읽은 끼니 하나입니다.
+ *
+ * @param dormitoryId 기숙사 건물 번호
+ * @param date 날짜
+ * @param mealType 식사 유형 (조식, 중식, 석식)
+ * @param menuItems 페이지에 나온 순서대로의 메뉴 항목
+ */
+public record CrawledMeal(int dormitoryId, LocalDate date, String mealType, List<String> menuItems) {
+
+  public MealKey key() {
+    return new MealKey(dormitoryId, date, mealType);
+  }
+}
@@ -0,0 +1,91 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
+
+/**
+ * 수집한 식단과 저장된 식단의 차이입니다.
+ * 페이지에 나온 (기숙사, 날짜) 범위 안에서만 비교하므로, 수집에 실패했거나 페이지에 없는 날짜의 식단은 건드리지 않습니다.
+ *
+ * @param inserts 새로 추가할 끼니
+ * @param updates 메뉴가 바뀐 끼니 (meal 행은 두고 meal_menu 행만 교체)
+ * @param deletes 페이지에서 사라져 지울 끼니의 meal ID
+ */
+public record MealChanges(List<CrawledMeal> inserts, List<Update> updates, List<Integer> deletes) {
+
+  /**
+   * @param mealId 기존 meal ID
+   * @param menuItems 새 메뉴 항목
+   */
+  public record Update(int mealId, List<String> menuItems) {
+  }
+
+  /**
+   * @param pages 수집에 성공한 식단 페이지
+   * @param stored 페이지 날짜 범위의 저장된 식단 행 (meal ID, meal_menu ID 순)
+   * @return 바뀐 내용
+   */
+  public static MealChanges between(List<MealPage> pages, List<StoredMealRow> stored) {
+    Map<MealKey, StoredMeal> storedMeals = new LinkedHashMap<>();
+    // 같은 끼니가 여러 행으로 저장되어 있으면 첫 행만 남기고 나머지는 지웁니다.
+    Map<Integer, MealKey> duplicates = new LinkedHashMap<>();
+    for (StoredMealRow row : stored) {
+      MealKey key = new MealKey(row.getDormitoryId(), row.getMealDate(), row.getMealType());
+      StoredMeal meal = storedMeals.computeIfAbsent(key, k -> new StoredMeal(row.getMealId(), new ArrayList<>()));
+      if (meal.id() != row.getMealId()) {
+        duplicates.put(row.getMealId(), key);
+      } else if (row.getMenuItem() != null) {
+        meal.menuItems().add(row.getMenuItem());
+      }
+    }
+
+    List<CrawledMeal> inserts = new ArrayList<>();
+    List<Update> updates = new ArrayList<>();
+    Set<MealKey> crawled = new HashSet<>();
+    Set<DormitoryDay> scope = new HashSet<>();
+    for (MealPage page : pages) {
+      page.dates().forEach(date -> scope.add(new DormitoryDay(page.dormitoryId(), date)));
+      for (CrawledMeal meal : page.meals()) {
+        if (!crawled.add(meal.key())) {
+          continue;
+        }
+        StoredMeal existing = storedMeals.get(meal.key());
+        if (existing == null) {
+          inserts.add(meal);
+        } else if (!existing.menuItems().equals(meal.menuItems())) {
+          updates.add(new Update(existing.id(), meal.menuItems()));
+        }
+      }
+    }
+
+    List<Integer> deletes = new ArrayList<>();
+    storedMeals.forEach((key, meal) -> {
+      if (!crawled.contains(key) && scope.contains(new DormitoryDay(key.dormitoryId(), key.date()))) {
+        deletes.add(meal.id());
+      }
+    });
+    duplicates.forEach((id, key) -> {
+      if (scope.contains(new DormitoryDay(key.dormitoryId(), key.date()))) {
+        deletes.add(id);
+      }
+    });
+    return new MealChanges(inserts, updates, deletes);
+  }
+
+  public boolean isEmpty() {
+    return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+  }
+
+  private record StoredMeal(int id, List<String> menuItems) {
+  }
+
+  private record DormitoryDay(int dormitoryId, LocalDate date) {
+  }
+}
@@ -0,0 +1,15 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * 식단 수집으로 저장된 식단이 바뀌었을 때, 트랜잭션이 커밋된 뒤 발행되는 이벤트입니다.
+ * 식단으로 만든 캐시나 미리 만든 응답은 이 이벤트를 받아 해당 기간을 다시 만듭니다.
+ *
+ * @param dormitoryIds 이번에 다시 수집한 기숙사 건물 번호
+ * @param from 바뀐 기간의 시작 날짜 (포함)
+ * @param to 바뀐 기간의 마지막 날짜 (포함)
+ */
+public record MealDataIngestedEvent(Set<Integer> dormitoryIds, LocalDate from, LocalDate to) {
+}
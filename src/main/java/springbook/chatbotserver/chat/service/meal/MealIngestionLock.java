@@ -0,0 +1,45 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+
+/**
+ * 여러 인스턴스 중 한 곳에서만 식단 수집을 실행하도록 식단과 같은 DB 의 scheduler_lock 행 하나로 잡는 잠금입니다.
+ * meal-ingestion 행의 locked_until 이 지났을 때만 갱신하므로, 다른 인스턴스가 잡고 있으면 갱신한 행이 없어 실패합니다.
+ * 시각은 DB 의 NOW(3) 로 비교하므로 인스턴스 사이의 시계 차이에 영향을 받지 않습니다.
+ * 수집 중 인스턴스가 죽어도 lease 가 지나면 다른 인스턴스가 다시 잡을 수 있으므로, lease 는 수집 시간보다 길어야 합니다.
+ */
+@Component
+public class MealIngestionLock {
+
+  static final String NAME = "meal-ingestion";
+
+  private final MealMapper mealMapper;
+  private final Duration lease;
+  private final String owner = ManagementFactory.getRuntimeMXBean().getName();
+
+  public MealIngestionLock(MealMapper mealMapper,
+      @Value("${meal-ingestion.lock-lease-minutes:60}") long leaseMinutes) {
+    this.mealMapper = mealMapper;
+    this.lease = Duration.ofMinutes(leaseMinutes);
+  }
+
+  /**
+   * @return 잠금을 잡았으면 true, 다른 인스턴스가 잡고 있으면 false
+   */
+  public boolean tryAcquire() {
+    return mealMapper.acquireLock(NAME, owner, lease.toSeconds()) > 0;
+  }
+
+  /**
+   * 이 인스턴스가 잡은 잠금을 풉니다.
+   */
+  public void release() {
+    mealMapper.releaseLock(NAME, owner);
+  }
+}
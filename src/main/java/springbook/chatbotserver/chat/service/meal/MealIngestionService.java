@@ -0,0 +1,196 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.config.MealIngestionProperties;
+
+/**
+ * 기숙사 식단 페이지를 주기적으로 수집하여 저장된 식단에 반영합니다.
+ * 기숙사별 페이지는 병렬로 받아오고, 저장된 식단과 비교하여 바뀐 끼니만 한 트랜잭션으로 씁니다.
+ * meal-ingestion.mode 가 reload 이면 바뀐 끼니만 고치는 대신 새 식단 버전을 만들어 한 번에 바꿉니다.
+ * 수집에 실패한 기숙사의 식단은 그대로 두며, 식단이 바뀌면 커밋 후 {@link MealDataIngestedEvent} 를 발행합니다.
+ * 예약 작업은 모든 인스턴스에서 실행되므로 {@link MealIngestionLock} 을 잡은 인스턴스만 수집합니다.
+ */
+@Slf4j
+@Service
+public class MealIngestionService {
+
+  private final MealIngestionProperties properties;
+  private final MealMenuCrawler mealMenuCrawler;
+  private final MealMapper mealMapper;
+  private final MealIngestionWriter mealIngestionWriter;
+  private final ApplicationEventPublisher eventPublisher;
+  private final MealIngestionLock mealIngestionLock;
+  private final Clock clock;
+  private final Counter fetchedCounter;
+  private final Counter fetchFailedCounter;
+  private final Counter insertedCounter;
+  private final Counter updatedCounter;
+  private final Counter deletedCounter;
+  private final Counter menuRowsCounter;
+  private final Timer ingestionTimer;
+
+  public MealIngestionService(MealIngestionProperties properties,
+      MealMenuCrawler mealMenuCrawler,
+      MealMapper mealMapper,
+      MealIngestionWriter mealIngestionWriter,
+      ApplicationEventPublisher eventPublisher,
+      MealIngestionLock mealIngestionLock,
+      Clock clock,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.mealMenuCrawler = mealMenuCrawler;
+    this.mealMapper = mealMapper;
+    this.mealIngestionWriter = mealIngestionWriter;
+    this.eventPublisher = eventPublisher;
+    this.mealIngestionLock = mealIngestionLock;
+    this.clock = clock;
+    this.fetchedCounter = pageCounter(meterRegistry, "success");
+    this.fetchFailedCounter = pageCounter(meterRegistry, "failure");
+    this.insertedCounter = mealCounter(meterRegistry, "inserted");
+    this.updatedCounter = mealCounter(meterRegistry, "updated");
+    this.deletedCounter = mealCounter(meterRegistry, "deleted");
+    this.menuRowsCounter = Counter.builder("meal.ingestion.menu_rows")
+        .description("식단 수집으로 삽입한 meal_menu 행 수")
+        .register(meterRegistry);
+    this.ingestionTimer = Timer.builder("meal.ingestion.duration")
+        .description("식단 페이지 수집부터 저장까지 걸린 시간")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${meal-ingestion.cron:0 0 5 * * *}")
+  public void scheduledIngest() {
+    if (!properties.enabled() || properties.dormitories().isEmpty()) {
+      return;
+    }
+    if (!mealIngestionLock.tryAcquire()) {
+      log.info("Meal ingestion is running on another instance, skipping");
+      return;
+    }
+    try {
+      ingest(LocalDate.now(clock));
+    } catch (Exception e) {
+      log.warn("Meal ingestion failed: {}", e.getMessage(), e);
+    } finally {
+      mealIngestionLock.release();
+    }
+  }
+
+  /**
+   * 모든 기숙사의 식단 페이지를 수집하여 바뀐 끼니를 반영합니다.
+   * 다른 인스턴스의 수집과 겹치지 않도록 {@link MealIngestionLock} 을 잡은 상태에서 호출해야 합니다.
+   *
+   * @param today 연도가 없는 날짜를 해석할 기준 날짜
+   * @return 반영한 변경 내용
+   */
+  public synchronized MealChanges ingest(LocalDate today) {
+    Timer.Sample sample = Timer.start();
+    try {
+      List<MealPage> pages = crawlAll(today);
+      LocalDate from = pages.stream().flatMap(page -> page.dates().stream())
+          .min(Comparator.naturalOrder()).orElse(null);
+      LocalDate to = pages.stream().flatMap(page -> page.dates().stream())
+          .max(Comparator.naturalOrder()).orElse(null);
+      if (from == null) {
+        log.info("Meal ingestion found no menu dates in {} pages", pages.size());
+        return new MealChanges(List.of(), List.of(), List.of());
+      }
+
+      int version = mealMapper.findCurrentVersion();
+      List<StoredMealRow> stored = mealMapper.findStoredMeals(version, from, to);
+      MealChanges changes = MealChanges.between(pages, stored);
+      if (changes.isEmpty()) {
+        log.info("Meal ingestion found no changes for {} ~ {}", from, to);
+        return changes;
+      }
+
+      // reload 모드에서도 바뀐 내용이 없으면 새 버전을 만들지 않도록 먼저 비교합니다.
+      int menuRows = properties.reload()
+          ? mealIngestionWriter.reload(version, pages)
+          : mealIngestionWriter.apply(version, changes);
+      insertedCounter.increment(changes.inserts().size());
+      updatedCounter.increment(changes.updates().size());
+      deletedCounter.increment(changes.deletes().size());
+      menuRowsCounter.increment(menuRows);
+      log.info("Meal ingestion for {} ~ {}: {} inserted, {} updated, {} deleted meals ({} menu rows)",
+          from, to, changes.inserts().size(), changes.updates().size(), changes.deletes().size(), menuRows);
+
+      Set<Integer> dormitoryIds = new LinkedHashSet<>();
+      pages.forEach(page -> dormitoryIds.add(page.dormitoryId()));
+      eventPublisher.publishEvent(new MealDataIngestedEvent(dormitoryIds, from, to));
+      return changes;
+    } finally {
+      sample.stop(ingestionTimer);
+    }
+  }
+
+  /**
+   * 기숙사별 페이지를 병렬로 받아옵니다. 실패한 기숙사는 결과에서 빠집니다.
+   */
+  private List<MealPage> crawlAll(LocalDate today) {
+    List<MealIngestionProperties.Dormitory> dormitories = properties.dormitories();
+    if (dormitories.isEmpty()) {
+      return List.of();
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(properties.parallelism(), dormitories.size()));
+    try {
+      List<Future<MealPage>> futures = new ArrayList<>();
+      for (MealIngestionProperties.Dormitory dormitory : dormitories) {
+        futures.add(executor.submit(() -> mealMenuCrawler.crawl(dormitory, today)));
+      }
+
+      List<MealPage> pages = new ArrayList<>();
+      for (int i = 0; i < futures.size(); i++) {
+        MealIngestionProperties.Dormitory dormitory = dormitories.get(i);
+        try {
+          pages.add(futures.get(i).get());
+          fetchedCounter.increment();
+        } catch (ExecutionException e) {
+          fetchFailedCounter.increment();
+          log.warn("Failed to crawl meal page of {} ({}): {}",
+              dormitory.name(), dormitory.url(), e.getCause().getMessage());
+        }
+      }
+      return pages;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Meal ingestion interrupted", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Counter pageCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("meal.ingestion.pages")
+        .description("수집한 기숙사 식단 페이지 수")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static Counter mealCounter(MeterRegistry meterRegistry, String change) {
+    return Counter.builder("meal.ingestion.meals")
+        .description("식단 수집으로 바뀐 끼니 수")
+        .tag("change", change)
+        .register(meterRegistry);
+  }
+}
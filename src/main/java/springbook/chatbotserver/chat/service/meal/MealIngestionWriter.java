@@ -0,0 +1,177 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.Meal;
+import springbook.chatbotserver.chat.model.domain.MealMenu;
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.config.MealIngestionProperties;
+
+/**
+ * 수집한 식단을 저장합니다.
+ * 행마다 INSERT 를 보내는 대신 batch-size 행씩 묶은 다중 행 INSERT/DELETE 를 사용하여,
+ * 한 학기 분량의 식단도 몇 번의 왕복으로 저장합니다.
+ *
+ * <p>변경분 반영({@link #apply(int, MealChanges)})은 현재 버전의 행을 한 트랜잭션으로 고칩니다.
+ * 전체 다시 읽기({@link #reload(int, List)})는 보이지 않는 새 버전에 식단을 모두 쓴 뒤 버전 포인터 한 행만 바꾸므로,
+ * 읽는 쪽은 잠금 없이 항상 이전 식단 전체 또는 새 식단 전체를 봅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MealIngestionWriter {
+
+  private final MealMapper mealMapper;
+  private final MealIngestionProperties properties;
+
+  /**
+   * 지울 끼니와 메뉴가 바뀐 끼니의 메뉴를 지우고, 새 끼니를 넣은 뒤 메뉴를 넣습니다.
+   *
+   * @param version 현재 식단 버전
+   * @param changes 반영할 변경 내용
+   * @return 삽입한 meal_menu 행 수
+   */
+  @Transactional
+  public int apply(int version, MealChanges changes) {
+    int batchSize = properties.batchSize();
+
+    List<Integer> clearedMeals = new ArrayList<>(changes.deletes());
+    changes.updates().forEach(update -> clearedMeals.add(update.mealId()));
+    chunks(clearedMeals, batchSize).forEach(mealMapper::deleteMealMenusByMealIds);
+    chunks(changes.deletes(), batchSize).forEach(mealMapper::deleteMealsByIds);
+
+    List<MealMenu> menus = new ArrayList<>();
+    changes.updates().forEach(update ->
+        update.menuItems().forEach(item -> menus.add(MealMenu.of(update.mealId(), item))));
+    menus.addAll(insertMeals(version, changes.inserts()));
+    chunks(menus, batchSize).forEach(mealMapper::insertMealMenus);
+    return menus.size();
+  }
+
+  /**
+   * 수집한 식단 전체를 새 버전에 쓰고, 수집하지 않은 (기숙사, 날짜) 의 식단은 이전 버전에서 복사한 뒤 버전을 바꿉니다.
+   * 새 버전의 행은 버전이 바뀌기 전까지 조회되지 않으므로 트랜잭션 없이 나눠 쓰고, 버전을 바꾼 뒤에만 이전 버전을 지웁니다.
+   * {@link MealIngestionLock} 을 잡은 상태에서 호출해야 하며, 그래야 쓰기 전에 지우는 새 버전의 행이 다른 다시 읽기의 것이 아닙니다.
+   *
+   * @param currentVersion 현재 식단 버전
+   * @param pages 수집에 성공한 식단 페이지
+   * @return 삽입한 meal_menu 행 수 (이전 버전에서 복사한 행 제외)
+   */
+  public int reload(int currentVersion, List<MealPage> pages) {
+    int version = currentVersion + 1;
+    // 이전에 중단된 다시 읽기가 같은 버전에 남긴 행부터 지웁니다. 공개되지 않은 버전이므로 읽는 쪽에는 영향이 없습니다.
+    discardVersion(version);
+
+    Map<MealKey, CrawledMeal> meals = new LinkedHashMap<>();
+    Map<Integer, Set<LocalDate>> replaced = new HashMap<>();
+    for (MealPage page : pages) {
+      page.meals().forEach(meal -> meals.putIfAbsent(meal.key(), meal));
+      if (!page.dates().isEmpty()) {
+        replaced.computeIfAbsent(page.dormitoryId(), id -> new LinkedHashSet<>()).addAll(page.dates());
+      }
+    }
+    List<MealMenu> menus = insertMeals(version, new ArrayList<>(meals.values()));
+    chunks(menus, properties.batchSize()).forEach(mealMapper::insertMealMenus);
+    mealMapper.copyMeals(currentVersion, version, replaced);
+    mealMapper.copyMealMenus(version);
+
+    if (mealMapper.switchVersion(currentVersion, version) == 0) {
+      throw new IllegalStateException("Meal version was switched by another reload, discarding version " + version);
+    }
+    log.info("Switched meal data from version {} to {}", currentVersion, version);
+    collectGarbage(version);
+    return menus.size();
+  }
+
+  /**
+   * 주어진 버전보다 오래된 식단을 batch-size 행씩 나눠 지웁니다. 한 번에 지우지 않으므로 잠금을 오래 잡지 않습니다.
+   * 아직 공개되지 않은 더 새 버전은 건드리지 않으므로, 버전을 바꾼 직후에만 호출합니다.
+   *
+   * @param version 남길 가장 오래된 식단 버전 (방금 공개한 버전)
+   * @return 지운 meal 행 수
+   */
+  public int collectGarbage(int version) {
+    int batchSize = properties.batchSize();
+    while (mealMapper.deleteStaleMealMenus(version, batchSize) == batchSize) {
+      // 남은 메뉴가 없을 때까지 반복
+    }
+    int deleted = 0;
+    int count;
+    do {
+      count = mealMapper.deleteStaleMeals(version, batchSize);
+      deleted += count;
+    } while (count == batchSize);
+    if (deleted > 0) {
+      log.info("Deleted {} meals of stale versions", deleted);
+    }
+    return deleted;
+  }
+
+  /**
+   * 아직 공개되지 않은 버전의 식단을 batch-size 행씩 나눠 지웁니다.
+   */
+  private void discardVersion(int version) {
+    int batchSize = properties.batchSize();
+    while (mealMapper.deleteMealMenusOfVersion(version, batchSize) == batchSize) {
+      // 남은 메뉴가 없을 때까지 반복
+    }
+    int deleted = 0;
+    int count;
+    do {
+      count = mealMapper.deleteMealsOfVersion(version, batchSize);
+      deleted += count;
+    } while (count == batchSize);
+    if (deleted > 0) {
+      log.info("Discarded {} meals left in unpublished version {}", deleted, version);
+    }
+  }
+
+  /**
+   * 끼니를 다중 행 INSERT 로 넣고, 넣을 메뉴 행을 반환합니다.
+   * 다중 행 INSERT 의 생성 키는 드라이버에 따라 모두 돌려받지 못하므로, 새 끼니의 ID 는 키로 다시 읽습니다.
+   */
+  private List<MealMenu> insertMeals(int version, List<CrawledMeal> crawled) {
+    List<Meal> meals = crawled.stream()
+        .map(meal -> Meal.of(meal.dormitoryId(), meal.date(), meal.mealType()))
+        .toList();
+    Map<MealKey, Integer> insertedIds = new HashMap<>();
+    for (List<Meal> chunk : chunks(meals, properties.batchSize())) {
+      mealMapper.insertMeals(version, chunk);
+      for (StoredMealRow row : mealMapper.findMealIds(version, chunk)) {
+        insertedIds.merge(new MealKey(row.getDormitoryId(), row.getMealDate(), row.getMealType()),
+            row.getMealId(), Math::max);
+      }
+    }
+
+    List<MealMenu> menus = new ArrayList<>();
+    for (CrawledMeal meal : crawled) {
+      Integer mealId = insertedIds.get(meal.key());
+      if (mealId == null) {
+        throw new IllegalStateException("Inserted meal not found: " + meal.key());
+      }
+      meal.menuItems().forEach(item -> menus.add(MealMenu.of(mealId, item)));
+    }
+    return menus;
+  }
+
+  private static <T> List<List<T>> chunks(List<T> items, int size) {
+    List<List<T>> chunks = new ArrayList<>();
+    for (int from = 0; from < items.size(); from += size) {
+      chunks.add(items.subList(from, Math.min(from + size, items.size())));
+    }
+    return chunks;
+  }
+}
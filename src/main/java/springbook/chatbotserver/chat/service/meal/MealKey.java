@@ -0,0 +1,9 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.LocalDate;
+
+/**
+ * meal 테이블의 한 행을 식별하는 (기숙사, 날짜, 식사 유형) 입니다.
+ */
+public record MealKey(int dormitoryId, LocalDate date, String mealType) {
+}
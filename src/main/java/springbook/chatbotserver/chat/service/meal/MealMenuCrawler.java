@@ -0,0 +1,145 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import springbook.chatbotserver.config.MealIngestionProperties;
+
+/**
+ * 기숙사 주간 식단표 페이지를 jsoup 으로 받아와 끼니별 메뉴로 읽습니다.
+ * 식단표는 머리행에 날짜(예: 05.26(월)), 각 행의 첫 칸에 식사 유형, 나머지 칸에 줄바꿈으로 구분된 메뉴가 있는 표로 가정합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MealMenuCrawler {
+
+  private static final Pattern MONTH_DAY = Pattern.compile("(\\d{1,2})\\s*[./월-]\\s*(\\d{1,2})");
+  private static final List<String> MEAL_TYPES = List.of("조식", "중식", "석식");
+
+  private final MealIngestionProperties properties;
+
+  /**
+   * 페이지를 받아와 읽습니다.
+   *
+   * @param dormitory 기숙사 식단 페이지
+   * @param today 연도가 없는 날짜를 해석할 기준 날짜
+   * @return 읽은 식단
+   * @throws IOException 페이지를 받아오지 못한 경우
+   */
+  public MealPage crawl(MealIngestionProperties.Dormitory dormitory, LocalDate today) throws IOException {
+    Document document = Jsoup.connect(dormitory.url())
+        .userAgent(properties.userAgent())
+        .timeout(properties.timeoutMs())
+        .get();
+    return parse(document, dormitory.buildingNumber(), today);
+  }
+
+  /**
+   * 식단표를 읽습니다. 날짜 머리행이 있는 표만 읽고, 알 수 없는 식사 유형의 행은 건너뜁니다.
+   *
+   * @param document 식단 페이지
+   * @param dormitoryId 기숙사 건물 번호
+   * @param today 연도가 없는 날짜를 해석할 기준 날짜
+   * @return 읽은 식단
+   */
+  public static MealPage parse(Document document, int dormitoryId, LocalDate today) {
+    Set<LocalDate> dates = new LinkedHashSet<>();
+    List<CrawledMeal> meals = new ArrayList<>();
+
+    for (Element table : document.select("table")) {
+      Elements rows = table.select("tr");
+      if (rows.isEmpty()) {
+        continue;
+      }
+      Map<Integer, LocalDate> columns = dateColumns(rows.get(0), today);
+      if (columns.isEmpty()) {
+        continue;
+      }
+      dates.addAll(columns.values());
+
+      for (Element row : rows.subList(1, rows.size())) {
+        Elements cells = row.children();
+        String mealType = cells.isEmpty() ? null : mealType(cells.get(0).text());
+        if (mealType == null) {
+          continue;
+        }
+        for (int i = 1; i < cells.size(); i++) {
+          LocalDate date = columns.get(i);
+          List<String> items = date == null ? List.of() : menuItems(cells.get(i));
+          if (!items.isEmpty()) {
+            meals.add(new CrawledMeal(dormitoryId, date, mealType, items));
+          }
+        }
+      }
+    }
+    return new MealPage(dormitoryId, dates, meals);
+  }
+
+  private static Map<Integer, LocalDate> dateColumns(Element header, LocalDate today) {
+    Map<Integer, LocalDate> columns = new HashMap<>();
+    Elements cells = header.children();
+    for (int i = 0; i < cells.size(); i++) {
+      Matcher matcher = MONTH_DAY.matcher(cells.get(i).text());
+      if (!matcher.find()) {
+        continue;
+      }
+      try {
+        columns.put(i, date(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), today));
+      } catch (DateTimeException e) {
+        // 날짜처럼 보이지만 날짜가 아닌 머리칸 (예: 13.5)
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * 연도가 없는 날짜는 기준 날짜와 가장 가까운 연도로 정합니다 (12월 말에 1월 식단이 올라오는 경우).
+   */
+  private static LocalDate date(int month, int day, LocalDate today) {
+    LocalDate date = LocalDate.of(today.getYear(), month, day);
+    if (date.isAfter(today.plusMonths(6))) {
+      return date.minusYears(1);
+    }
+    if (date.isBefore(today.minusMonths(6))) {
+      return date.plusYears(1);
+    }
+    return date;
+  }
+
+  private static String mealType(String label) {
+    for (String type : MEAL_TYPES) {
+      if (label.contains(type)) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  private static List<String> menuItems(Element cell) {
+    cell.select("br").after("\n");
+    List<String> items = new ArrayList<>();
+    for (String line : cell.wholeText().split("\n")) {
+      String item = line.strip();
+      if (!item.isEmpty()) {
+        items.add(item);
+      }
+    }
+    return items;
+  }
+}
@@ -0,0 +1,17 @@
+package springbook.chatbotserver.chat.service.meal;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 기숙사 식단 페이지 하나를 읽은 결과입니다.
+ * dates 는 페이지에 열로 나온 날짜 전체이며, 이 날짜들에 대해서는 페이지 내용이 저장된 식단을 대신합니다.
+ * 메뉴가 비어 있는 날짜도 포함되므로 페이지에서 사라진 끼니는 저장소에서도 지워집니다.
+ *
+ * @param dormitoryId 기숙사 건물 번호
+ * @param dates 페이지에 나온 날짜
+ * @param meals 메뉴가 있는 끼니
+ */
+public record MealPage(int dormitoryId, Set<LocalDate> dates, List<CrawledMeal> meals) {
+}
@@ -0,0 +1,342 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.dto.RasaRequest;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * Rasa 의 /model/parse 엔드포인트를 호출하는 클라이언트입니다.
+ * 일시적인 오류(IO 오류, 5xx)는 재시도 예산 안에서 지터가 있는 지수 백오프로 재시도하고,
+ * 각 시도를 circuit breaker 로 감싸 재시도 하나하나가 실패율에 반영되게 합니다.
+ * circuit 이 열리면 남은 재시도 없이 즉시 실패(fast-fail)하며, 4xx 는 요청의 문제이므로 실패로 세지 않습니다.
+ * ({@code RasaClientConfig} 의 ignoreExceptions)
+ * 여러 replica 가 설정된 경우 {@link RasaEndpointBalancer} 로 대상을 고르고,
+ * hedging 이 켜져 있으면 첫 replica 가 관측된 p95 안에 응답하지 않을 때 다른 replica 에도 같은 요청을 보내고,
+ * 먼저 성공한 응답을 쓰면서 나머지 요청은 연결을 끊어 중단합니다. ({@link RequestAbortHandle})
+ */
+@Slf4j
+@Component
+public class RasaClient {
+
+  private final RestTemplate restTemplate;
+  private final CircuitBreaker circuitBreaker;
+  private final RetryBudget retryBudget;
+  private final RasaEndpointBalancer balancer;
+  private final int maxAttempts;
+  private final long backoffBaseMs;
+  private final long backoffMaxMs;
+
+  private final Counter retryCounter;
+  private final Counter budgetExhaustedCounter;
+  private final Counter rejectedCounter;
+  private final Counter hedgeCounter;
+
+  private final boolean hedgingEnabled;
+  private final long hedgeDefaultDelayMs;
+  private final long hedgeMinDelayMs;
+  private final ExecutorService hedgeExecutor;
+
+  public RasaClient(@Qualifier("rasaRestTemplate") RestTemplate restTemplate,
+      @Qualifier("rasaCircuitBreaker") CircuitBreaker circuitBreaker,
+      RasaEndpointBalancer balancer,
+      MeterRegistry meterRegistry,
+      @Value("${rasa.retry.max-attempts:2}") int maxAttempts,
+      @Value("${rasa.retry.backoff-base-ms:50}") long backoffBaseMs,
+      @Value("${rasa.retry.backoff-max-ms:400}") long backoffMaxMs,
+      @Value("${rasa.retry.budget-ratio:0.1}") double budgetRatio,
+      @Value("${rasa.retry.budget-reserve:10}") int budgetReserve,
+      @Value("${rasa.hedging.enabled:false}") boolean hedgingEnabled,
+      @Value("${rasa.hedging.default-delay-ms:300}") long hedgeDefaultDelayMs,
+      @Value("${rasa.hedging.min-delay-ms:50}") long hedgeMinDelayMs,
+      @Value("${rasa.hedging.threads:32}") int hedgeThreads) {
+    this.restTemplate = restTemplate;
+    this.circuitBreaker = circuitBreaker;
+    this.balancer = balancer;
+    this.maxAttempts = maxAttempts;
+    this.backoffBaseMs = backoffBaseMs;
+    this.backoffMaxMs = backoffMaxMs;
+    this.retryBudget = new RetryBudget(budgetRatio, budgetReserve);
+
+    this.retryCounter = Counter.builder("rasa.retries")
+        .register(meterRegistry);
+    this.budgetExhaustedCounter = Counter.builder("rasa.retries.budget.exhausted")
+        .description("재시도 예산이 없어 재시도하지 못한 횟수")
+        .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("rasa.requests.rejected")
+        .description("circuit breaker 가 열려 즉시 실패한 요청 수")
+        .register(meterRegistry);
+    Gauge.builder("rasa.retries.budget.available", retryBudget, RetryBudget::availableRetries)
+        .register(meterRegistry);
+
+    this.hedgingEnabled = hedgingEnabled && balancer.replicas().size() > 1;
+    this.hedgeDefaultDelayMs = hedgeDefaultDelayMs;
+    this.hedgeMinDelayMs = hedgeMinDelayMs;
+    this.hedgeExecutor = this.hedgingEnabled ? hedgeExecutor(hedgeThreads) : null;
+    this.hedgeCounter = Counter.builder("rasa.requests.hedged")
+        .description("p95 안에 응답이 없어 두 번째 replica 로 보낸 요청 수")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (hedgeExecutor != null) {
+      hedgeExecutor.shutdown();
+    }
+  }
+
+  /**
+   * 사용자 발화를 Rasa 로 보내 인텐트와 엔티티를 파싱합니다.
+   *
+   * @param req 사용자 요청 DTO
+   * @return Rasa 파싱 결과
+   * @throws CustomException circuit 이 열려 있거나 재시도 후에도 실패한 경우
+   */
+  public RasaResponse parse(RasaRequest req) {
+    retryBudget.recordRequest();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return circuitBreaker.executeSupplier(() -> post(req));
+      } catch (CallNotPermittedException e) {
+        rejectedCounter.increment();
+        throw new CustomException(ErrorCode.RASA_UNAVAILABLE);
+      } catch (ResourceAccessException | HttpServerErrorException e) {
+        if (attempt >= maxAttempts) {
+          throw translate(e);
+        }
+        if (!retryBudget.tryAcquireRetry()) {
+          budgetExhaustedCounter.increment();
+          throw translate(e);
+        }
+        retryCounter.increment();
+        sleep(backoff(attempt));
+      } catch (Exception e) {
+        throw translate(e);
+      }
+    }
+  }
+
+  private RasaResponse post(RasaRequest req) {
+    RasaReplica primary = balancer.choose(null);
+    if (!hedgingEnabled) {
+      return post(primary, req);
+    }
+    return postHedged(primary, req);
+  }
+
+  /**
+   * 첫 replica 가 p95 안에 응답하지 않으면 다른 replica 로 같은 요청을 보내고, 먼저 성공한 응답을 사용합니다.
+   * 결과가 정해지면 아직 끝나지 않은 요청은 취소하여 hedge 스레드와 replica 의 진행 중 요청 수를 바로 돌려놓습니다.
+   */
+  private RasaResponse postHedged(RasaReplica primary, RasaRequest req) {
+    Attempt first = submit(primary, req);
+    try {
+      return first.result().get(hedgeDelayMs(primary), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      RasaReplica secondary = balancer.choose(primary);
+      if (secondary == null) {
+        return await(first.result());
+      }
+      hedgeCounter.increment();
+      Attempt second = submit(secondary, req);
+      try {
+        return await(firstSuccessful(first.result(), second.result()));
+      } finally {
+        second.cancel();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CustomException(ErrorCode.RASA_SERVER_ERROR);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    } finally {
+      first.cancel();
+    }
+  }
+
+  private Attempt submit(RasaReplica replica, RasaRequest req) {
+    CompletableFuture<RasaResponse> result = new CompletableFuture<>();
+    RequestAbortHandle handle = new RequestAbortHandle();
+    Future<?> task = hedgeExecutor.submit(() -> {
+      try {
+        result.complete(handle.call(() -> post(replica, req)));
+      } catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return new Attempt(result, task, handle);
+  }
+
+  private RasaResponse post(RasaReplica replica, RasaRequest req) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    HttpEntity<RasaRequest> entity = new HttpEntity<>(req, headers);
+    balancer.onStart(replica);
+    long start = System.nanoTime();
+    try {
+      ResponseEntity<RasaResponse> response = restTemplate.postForEntity(
+          replica.getUrl(),
+          entity,
+          RasaResponse.class
+      );
+      balancer.onSuccess(replica, System.nanoTime() - start);
+      return response.getBody();
+    } catch (HttpClientErrorException e) {
+      // 4xx 는 replica 가 정상적으로 응답한 것이므로 replica 의 실패로 보지 않습니다.
+      balancer.onSuccess(replica, System.nanoTime() - start);
+      throw e;
+    } catch (RuntimeException e) {
+      if (RequestAbortHandle.isCurrentAborted() || Thread.currentThread().isInterrupted()) {
+        // hedge 에서 져서 취소된 요청은 replica 의 실패로 보지 않습니다.
+        balancer.onCancelled(replica);
+      } else {
+        balancer.onFailure(replica, System.nanoTime() - start);
+      }
+      throw e;
+    }
+  }
+
+  private long hedgeDelayMs(RasaReplica replica) {
+    double p95 = replica.p95Millis();
+    if (Double.isNaN(p95) || p95 <= 0) {
+      return hedgeDefaultDelayMs;
+    }
+    return Math.max(hedgeMinDelayMs, Math.round(p95));
+  }
+
+  /**
+   * 두 요청 중 먼저 성공한 결과로 완료되고, 둘 다 실패하면 마지막 실패로 완료되는 future 를 만듭니다.
+   */
+  private static CompletableFuture<RasaResponse> firstSuccessful(CompletableFuture<RasaResponse> first,
+      CompletableFuture<RasaResponse> second) {
+    CompletableFuture<RasaResponse> result = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    for (CompletableFuture<RasaResponse> future : List.of(first, second)) {
+      future.whenComplete((response, error) -> {
+        if (error == null) {
+          result.complete(response);
+        } else if (failures.incrementAndGet() == 2) {
+          result.completeExceptionally(error);
+        }
+      });
+    }
+    return result;
+  }
+
+  private static RasaResponse await(CompletableFuture<RasaResponse> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CustomException(ErrorCode.RASA_SERVER_ERROR);
+    } catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static RuntimeException unwrap(ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    return new IllegalStateException(cause);
+  }
+
+  /**
+   * hedge 스레드에서 실행 중인 요청 하나입니다.
+   *
+   * @param result 응답
+   * @param task 아직 시작하지 않은 작업을 취소하기 위한 작업 핸들
+   * @param request 보내고 있는 요청의 연결을 끊기 위한 핸들
+   */
+  private record Attempt(CompletableFuture<RasaResponse> result, Future<?> task, RequestAbortHandle request) {
+
+    /**
+     * 아직 끝나지 않았으면 취소합니다. 이미 끝난 요청에는 영향이 없습니다.
+     * 응답을 기다리는 classic HttpClient 호출은 인터럽트로 풀리지 않으므로 요청의 연결을 끊습니다.
+     */
+    void cancel() {
+      if (result.isDone()) {
+        return;
+      }
+      task.cancel(true);
+      request.abort();
+    }
+  }
+
+  private static ExecutorService hedgeExecutor(int threads) {
+    AtomicInteger sequence = new AtomicInteger();
+    return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(threads * 4),
+        runnable -> {
+          Thread thread = new Thread(runnable, "rasa-hedge-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private CustomException translate(Exception e) {
+    if (e instanceof RestClientResponseException responseException) {
+      log.error("Rasa server error at {}: {}, {}", LocalDateTime.now(),
+          responseException.getStatusCode(), e.getMessage());
+      return new CustomException(ErrorCode.CONNECTION_TIMEOUT);
+    }
+    log.error("Unexpected error when communicating with Rasa server at {}: {}", LocalDateTime.now(), e.getMessage());
+    return new CustomException(ErrorCode.RASA_SERVER_ERROR);
+  }
+
+  /**
+   * full jitter 방식의 지수 백오프 시간을 계산합니다.
+   */
+  private long backoff(int attempt) {
+    long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt - 1, 16));
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CustomException(ErrorCode.RASA_SERVER_ERROR);
+    }
+  }
+}
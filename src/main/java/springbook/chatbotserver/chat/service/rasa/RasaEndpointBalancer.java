@@ -0,0 +1,146 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 Rasa replica 사이에서 요청을 분배하는 클라이언트 측 로드밸런서입니다.
+ * 진행 중인 요청이 가장 적은 replica 를 고르고(least outstanding requests),
+ * 연속 실패가 잦거나 p95 지연시간이 기준을 넘는 replica 는 일정 시간 후보에서 제외합니다(passive outlier ejection).
+ * 복귀한 replica 는 제외 전의 지연시간이 분포에서 빠지고 새 표본이 min-samples 개 쌓일 때까지 지연시간으로 다시 제외하지 않습니다.
+ */
+@Slf4j
+@Component
+public class RasaEndpointBalancer {
+
+  private final List<RasaReplica> replicas;
+  private final int failureThreshold;
+  private final double latencyThresholdMs;
+  private final long minSamples;
+  private final Duration ejectDuration;
+  private final Duration maxEjectDuration;
+  private final int maxEjectedReplicas;
+  private final Counter ejectionCounter;
+
+  public RasaEndpointBalancer(MeterRegistry meterRegistry,
+      @Value("${rasa.urls:${URL}}") String urls,
+      @Value("${rasa.balancer.failure-threshold:5}") int failureThreshold,
+      @Value("${rasa.balancer.latency-threshold-ms:2000}") double latencyThresholdMs,
+      @Value("${rasa.balancer.min-samples:50}") long minSamples,
+      @Value("${rasa.balancer.eject-seconds:10}") long ejectSeconds,
+      @Value("${rasa.balancer.max-eject-seconds:120}") long maxEjectSeconds,
+      @Value("${rasa.balancer.max-ejected-percent:50}") int maxEjectedPercent) {
+    this.replicas = Arrays.stream(urls.split(","))
+        .map(String::trim)
+        .filter(url -> !url.isEmpty())
+        .distinct()
+        .map(url -> new RasaReplica(url, meterRegistry))
+        .toList();
+    if (replicas.isEmpty()) {
+      throw new IllegalStateException("At least one Rasa url must be configured");
+    }
+    this.failureThreshold = failureThreshold;
+    this.latencyThresholdMs = latencyThresholdMs;
+    this.minSamples = minSamples;
+    this.ejectDuration = Duration.ofSeconds(ejectSeconds);
+    this.maxEjectDuration = Duration.ofSeconds(maxEjectSeconds);
+    this.maxEjectedReplicas = replicas.size() * maxEjectedPercent / 100;
+    this.ejectionCounter = Counter.builder("rasa.replica.ejections")
+        .register(meterRegistry);
+  }
+
+  public List<RasaReplica> replicas() {
+    return replicas;
+  }
+
+  /**
+   * 요청을 보낼 replica 를 고릅니다.
+   * 모든 replica 가 제외된 상태라면 제외 여부와 관계없이 가장 한가한 replica 를 반환합니다.
+   *
+   * @param exclude 고르지 않을 replica (hedge 요청 시 첫 번째 replica), 없으면 null
+   * @return 선택된 replica, exclude 외에 후보가 없으면 null
+   */
+  public RasaReplica choose(RasaReplica exclude) {
+    long now = System.nanoTime();
+    RasaReplica best = pickLeastOutstanding(exclude, now, true);
+    if (best == null) {
+      best = pickLeastOutstanding(exclude, now, false);
+    }
+    return best;
+  }
+
+  private RasaReplica pickLeastOutstanding(RasaReplica exclude, long now, boolean skipEjected) {
+    RasaReplica best = null;
+    int ties = 0;
+    for (RasaReplica replica : replicas) {
+      if (replica == exclude || (skipEjected && replica.isEjected(now))) {
+        continue;
+      }
+      if (best == null || replica.outstanding() < best.outstanding()) {
+        best = replica;
+        ties = 1;
+      } else if (replica.outstanding() == best.outstanding()
+          && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+        // 동률이면 무작위로 골라 한 replica 에 몰리지 않도록 합니다 (reservoir sampling)
+        best = replica;
+      }
+    }
+    return best;
+  }
+
+  public void onStart(RasaReplica replica) {
+    replica.onStart();
+  }
+
+  /**
+   * 성공을 기록합니다. 누적 제외 횟수는 응답한 replica 의 것만, 그 replica 의 제외 기간이 끝난 뒤에만 초기화합니다.
+   * 모든 replica 가 제외되어 제외 중인 replica 로 보낸 요청이나 제외 전에 보낸 요청이 성공해도 제외 시간이 다시 짧아지지 않습니다.
+   */
+  public void onSuccess(RasaReplica replica, long elapsedNanos) {
+    replica.onSuccess(elapsedNanos);
+    long now = System.nanoTime();
+    if (replica.hasFreshLatency(now, minSamples) && replica.p95Millis() > latencyThresholdMs) {
+      eject(replica, "p95 " + Math.round(replica.p95Millis()) + "ms");
+      return;
+    }
+    if (!replica.isEjected(now)) {
+      replica.resetEjections();
+    }
+  }
+
+  /**
+   * hedge 요청에서 진 쪽처럼 취소된 요청을 끝냅니다. replica 의 실패로 보지 않습니다.
+   */
+  public void onCancelled(RasaReplica replica) {
+    replica.onCancelled();
+  }
+
+  public void onFailure(RasaReplica replica, long elapsedNanos) {
+    if (replica.onFailure(elapsedNanos, failureThreshold)) {
+      eject(replica, failureThreshold + " consecutive failures");
+    }
+  }
+
+  private void eject(RasaReplica replica, String reason) {
+    long now = System.nanoTime();
+    if (replica.isEjected(now) || ejectedCount(now) >= maxEjectedReplicas) {
+      return;
+    }
+    replica.eject(now, ejectDuration, maxEjectDuration);
+    ejectionCounter.increment();
+    log.warn("Ejected Rasa replica {} ({})", replica.getUrl(), reason);
+  }
+
+  private long ejectedCount(long now) {
+    return replicas.stream().filter(replica -> replica.isEjected(now)).count();
+  }
+}
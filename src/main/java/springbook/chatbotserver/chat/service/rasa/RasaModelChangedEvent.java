@@ -0,0 +1,11 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+/**
+ * Rasa 서버에 로드된 모델이 바뀌었을 때 발행되는 이벤트입니다.
+ * 이전 모델의 파싱 결과를 캐시하고 있는 컴포넌트는 이 이벤트를 받아 캐시를 비웁니다.
+ *
+ * @param previousVersion 이전 모델 버전
+ * @param currentVersion 새 모델 버전
+ */
+public record RasaModelChangedEvent(String previousVersion, String currentVersion) {
+}
@@ -0,0 +1,156 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.Getter;
+
+/**
+ * 하나의 Rasa 인스턴스(replica)에 대한 호출 상태를 관리합니다.
+ * 진행 중인 요청 수, 연속 실패 수, 지연시간 분포를 기록하고
+ * 이를 바탕으로 일정 시간 동안 후보에서 제외(ejection)할지 판단합니다.
+ * 지연시간 분포는 최근 1분 동안의 값을 보관하므로, 제외된 뒤에는 제외 전에 쌓인 느린 응답이 모두 빠질 때까지
+ * 지연시간으로 다시 제외하지 않습니다. 그렇지 않으면 복귀하자마자 오래된 p95 로 다시 제외되어 제외 시간만 늘어납니다.
+ */
+public class RasaReplica {
+
+  private static final long PERCENTILE_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final Duration STATISTIC_EXPIRY = Duration.ofMinutes(1);
+
+  @Getter
+  private final String url;
+  private final Timer latency;
+  private final AtomicInteger outstanding = new AtomicInteger();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicInteger ejections = new AtomicInteger();
+  private final AtomicLong samplesSinceEjection = new AtomicLong();
+
+  private volatile long ejectedUntilNanos;
+  private volatile long latencyTrustedFromNanos = System.nanoTime();
+  private volatile long percentileRefreshedAt;
+  private volatile double p95Millis = Double.NaN;
+  private volatile double p99Millis = Double.NaN;
+
+  public RasaReplica(String url, MeterRegistry meterRegistry) {
+    this.url = url;
+    this.latency = Timer.builder("rasa.replica.latency")
+        .tag("replica", url)
+        .publishPercentiles(0.95, 0.99)
+        .publishPercentileHistogram()
+        .distributionStatisticExpiry(STATISTIC_EXPIRY)
+        .register(meterRegistry);
+    Gauge.builder("rasa.replica.outstanding", outstanding, AtomicInteger::get)
+        .tag("replica", url)
+        .register(meterRegistry);
+    Gauge.builder("rasa.replica.ejected", this, replica -> replica.isEjected(System.nanoTime()) ? 1 : 0)
+        .tag("replica", url)
+        .register(meterRegistry);
+  }
+
+  public int outstanding() {
+    return outstanding.get();
+  }
+
+  /**
+   * @return 초기화되지 않고 누적된 제외 횟수
+   */
+  public int ejections() {
+    return ejections.get();
+  }
+
+  public boolean isEjected(long nowNanos) {
+    return nowNanos < ejectedUntilNanos;
+  }
+
+  void onStart() {
+    outstanding.incrementAndGet();
+  }
+
+  void onSuccess(long elapsedNanos) {
+    outstanding.decrementAndGet();
+    latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    samplesSinceEjection.incrementAndGet();
+    consecutiveFailures.set(0);
+  }
+
+  /**
+   * 다른 replica 가 먼저 응답하여 취소된 요청을 끝냅니다. 지연시간과 실패로는 기록하지 않습니다.
+   */
+  void onCancelled() {
+    outstanding.decrementAndGet();
+  }
+
+  /**
+   * 실패를 기록합니다.
+   *
+   * @return 이번 실패로 연속 실패 횟수가 threshold 에 도달했으면 true
+   */
+  boolean onFailure(long elapsedNanos, int threshold) {
+    outstanding.decrementAndGet();
+    latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    samplesSinceEjection.incrementAndGet();
+    return consecutiveFailures.incrementAndGet() >= threshold;
+  }
+
+  /**
+   * 후보에서 제외합니다. 반복해서 제외될수록 제외 시간이 길어지며 maxDuration 을 넘지 않습니다.
+   */
+  void eject(long nowNanos, Duration baseDuration, Duration maxDuration) {
+    int count = Math.min(ejections.incrementAndGet(), 16);
+    long duration = Math.min(maxDuration.toNanos(), baseDuration.toNanos() * count);
+    ejectedUntilNanos = nowNanos + duration;
+    // 제외 전에 쌓인 지연시간이 분포에서 모두 빠진 뒤부터 다시 지연시간으로 판단합니다.
+    latencyTrustedFromNanos = Math.max(ejectedUntilNanos, nowNanos + STATISTIC_EXPIRY.toNanos());
+    samplesSinceEjection.set(0);
+    consecutiveFailures.set(0);
+  }
+
+  /**
+   * @return 지연시간 분포를 제외 판단에 쓸 수 있고, 마지막 제외 이후 minSamples 개 이상 기록되었으면 true
+   */
+  boolean hasFreshLatency(long nowNanos, long minSamples) {
+    return nowNanos - latencyTrustedFromNanos >= 0 && samplesSinceEjection.get() >= minSamples;
+  }
+
+  /**
+   * 제외 기간이 끝난 뒤 정상 응답을 받으면 누적 제외 횟수를 초기화합니다.
+   */
+  void resetEjections() {
+    ejections.set(0);
+  }
+
+  public long count() {
+    return latency.count();
+  }
+
+  public double p95Millis() {
+    refreshPercentiles();
+    return p95Millis;
+  }
+
+  public double p99Millis() {
+    refreshPercentiles();
+    return p99Millis;
+  }
+
+  private void refreshPercentiles() {
+    long now = System.nanoTime();
+    if (now - percentileRefreshedAt < PERCENTILE_REFRESH_NANOS) {
+      return;
+    }
+    percentileRefreshedAt = now;
+    for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+      if (value.percentile() == 0.95) {
+        p95Millis = value.value(TimeUnit.MILLISECONDS);
+      } else if (value.percentile() == 0.99) {
+        p99Millis = value.value(TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+
+/**
+ * 정규화된 발화를 키로 Rasa 의 /model/parse 결과를 저장하는 캐시입니다.
+ * 같은 질문이 반복될 때 Rasa 모델을 다시 실행하지 않도록 합니다.
+ * Rasa 모델이 교체되면 {@link RasaModelChangedEvent} 를 받아 전체를 무효화합니다.
+ */
+@Slf4j
+@Component
+public class RasaResponseCache {
+
+  private static final int ENTITY_WEIGHT = 32;
+
+  private final boolean enabled;
+  private final Cache<String, RasaResponse> cache;
+
+  public RasaResponseCache(MeterRegistry meterRegistry,
+      @Value("${rasa.cache.enabled:true}") boolean enabled,
+      @Value("${rasa.cache.max-weight:2000000}") long maxWeight,
+      @Value("${rasa.cache.ttl-minutes:30}") long ttlMinutes) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxWeight)
+        .weigher(RasaResponseCache::weigh)
+        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "rasaParse");
+  }
+
+  /**
+   * 캐시된 파싱 결과를 반환하고, 없으면 loader 로 Rasa 를 호출하여 저장합니다.
+   * loader 가 예외를 던지면 결과는 저장되지 않습니다.
+   *
+   * @param normalizedText {@link UtteranceNormalizer} 로 정규화된 발화
+   * @param loader Rasa 호출
+   * @return Rasa 파싱 결과
+   */
+  public RasaResponse get(String normalizedText, Supplier<RasaResponse> loader) {
+    if (!enabled || normalizedText.isEmpty()) {
+      return loader.get();
+    }
+    return cache.get(normalizedText, key -> loader.get());
+  }
+
+  @EventListener
+  public void onModelChanged(RasaModelChangedEvent event) {
+    log.info("Rasa model changed ({} -> {}), invalidating {} cached parse results",
+        event.previousVersion(), event.currentVersion(), cache.estimatedSize());
+    cache.invalidateAll();
+  }
+
+  private static int weigh(String key, RasaResponse response) {
+    int weight = key.length();
+    if (response.getEntities() != null) {
+      for (RasaResponse.Entity entity : response.getEntities()) {
+        weight += ENTITY_WEIGHT + (entity.getValue() == null ? 0 : entity.getValue().length());
+      }
+    }
+    return weight;
+  }
+}
@@ -0,0 +1,70 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+/**
+ * hedge 스레드에서 보내는 HTTP 요청을 다른 스레드에서 중단하기 위한 핸들입니다.
+ * classic HttpClient 의 호출은 스레드 인터럽트로 멈추지 않으므로, 요청을 만드는 쪽({@code RasaClientConfig} 의 요청 팩토리)이
+ * 현재 스레드에 묶인 핸들에 요청을 등록하고, 취소하는 쪽은 {@link #abort()} 로 요청의 연결을 바로 끊습니다.
+ * 요청이 등록되기 전에 중단하면 등록하는 즉시 중단합니다.
+ */
+public final class RequestAbortHandle {
+
+  private static final ThreadLocal<RequestAbortHandle> CURRENT = new ThreadLocal<>();
+
+  private final AtomicReference<Cancellable> request = new AtomicReference<>();
+  private volatile boolean aborted;
+
+  /**
+   * 현재 스레드에 핸들을 묶은 채로 요청을 보냅니다.
+   *
+   * @param call 요청을 보내는 작업
+   * @return 작업의 결과
+   */
+  public <T> T call(Supplier<T> call) {
+    CURRENT.set(this);
+    try {
+      return call.get();
+    } finally {
+      CURRENT.remove();
+    }
+  }
+
+  /**
+   * 현재 스레드에 묶인 핸들이 있으면 요청을 등록합니다.
+   *
+   * @param cancellable 중단할 수 있는 HTTP 요청
+   */
+  public static void register(Cancellable cancellable) {
+    RequestAbortHandle handle = CURRENT.get();
+    if (handle == null) {
+      return;
+    }
+    handle.request.set(cancellable);
+    if (handle.aborted) {
+      cancellable.cancel();
+    }
+  }
+
+  /**
+   * @return 현재 스레드의 요청이 중단되었으면 true
+   */
+  public static boolean isCurrentAborted() {
+    RequestAbortHandle handle = CURRENT.get();
+    return handle != null && handle.aborted;
+  }
+
+  /**
+   * 등록된 요청의 연결을 끊어, 응답을 기다리며 막혀 있는 스레드를 바로 풀어줍니다.
+   */
+  public void abort() {
+    aborted = true;
+    Cancellable cancellable = request.get();
+    if (cancellable != null) {
+      cancellable.cancel();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 같은 발화에 대한 동시 요청을 하나로 합치는(single-flight) 컴포넌트입니다.
+ * 먼저 들어온 요청만 Rasa 호출과 전략 실행을 수행하고,
+ * 그 사이에 들어온 동일한 키의 요청은 진행 중인 결과(또는 예외)를 그대로 공유합니다.
+ * 채팅 로그 저장은 이 범위 밖에서 디바이스별로 따로 이루어집니다.
+ */
+@Component
+public class RequestCoalescer {
+
+  private final ConcurrentMap<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+  private final boolean enabled;
+  private final long waitTimeoutMs;
+  private final Counter coalescedCounter;
+  private final Counter timeoutCounter;
+
+  public RequestCoalescer(MeterRegistry meterRegistry,
+      @Value("${rasa.coalescing.enabled:true}") boolean enabled,
+      @Value("${rasa.coalescing.wait-timeout-ms:${rasa.client.response-timeout-ms:3000}}") long waitTimeoutMs) {
+    this.enabled = enabled;
+    this.waitTimeoutMs = waitTimeoutMs;
+    this.coalescedCounter = Counter.builder("rasa.requests.coalesced")
+        .description("진행 중인 동일 요청의 결과를 공유한 요청 수")
+        .register(meterRegistry);
+    this.timeoutCounter = Counter.builder("rasa.requests.coalesced.timeouts")
+        .description("진행 중인 동일 요청을 기다리다 시간이 지나 직접 실행한 요청 수")
+        .register(meterRegistry);
+    Gauge.builder("rasa.requests.inflight.keys", inFlight, ConcurrentMap::size)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 같은 키의 요청이 진행 중이면 그 결과를 기다려 반환하고, 아니면 call 을 직접 실행합니다.
+   * 진행 중인 요청이 wait-timeout-ms (기본값은 Rasa 응답 타임아웃) 안에 끝나지 않으면 기다리지 않고 call 을 직접 실행합니다.
+   * 응답 타입도 키에 포함하므로, 타입이 다른 호출은 결과를 공유하지 않습니다.
+   *
+   * @param key 정규화된 발화
+   * @param type 응답 타입
+   * @param call Rasa 호출과 전략 실행
+   * @param <T> 응답 타입
+   * @return 챗봇 응답
+   */
+  public <T> T execute(String key, Class<T> type, Supplier<T> call) {
+    if (!enabled || key.isEmpty()) {
+      return call.get();
+    }
+    Key inFlightKey = new Key(key, type);
+    CompletableFuture<T> mine = new CompletableFuture<>();
+    CompletableFuture<?> leader = inFlight.putIfAbsent(inFlightKey, mine);
+    if (leader != null) {
+      coalescedCounter.increment();
+      try {
+        return type.cast(await(leader));
+      } catch (TimeoutException e) {
+        timeoutCounter.increment();
+        return call.get();
+      }
+    }
+    try {
+      T result = call.get();
+      mine.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(inFlightKey, mine);
+    }
+  }
+
+  private Object await(CompletableFuture<?> leader) throws TimeoutException {
+    try {
+      return leader.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for coalesced request", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * @param utterance 정규화된 발화
+   * @param type 응답 타입
+   */
+  private record Key(String utterance, Class<?> type) {
+  }
+}
@@ -0,0 +1,55 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재시도 횟수를 전체 요청 수의 일정 비율로 제한하는 토큰 버킷입니다.
+ * 요청마다 ratio 만큼 토큰이 쌓이고, 재시도 한 번에 토큰 1개를 사용합니다.
+ * Rasa 가 전반적으로 느려졌을 때 재시도가 부하를 몇 배로 키우는 것(retry storm)을 막습니다.
+ */
+public class RetryBudget {
+
+  private static final long SCALE = 1000;
+
+  private final long depositPerRequest;
+  private final long maxTokens;
+  private final AtomicLong tokens;
+
+  /**
+   * @param ratio 요청 대비 허용할 재시도 비율 (예: 0.1 이면 요청 10건당 재시도 1건)
+   * @param reserve 요청이 적을 때도 허용할 최소 재시도 수 (버킷의 초기값이자 최대값)
+   */
+  public RetryBudget(double ratio, int reserve) {
+    this.depositPerRequest = Math.round(ratio * SCALE);
+    this.maxTokens = Math.max(reserve, 1) * SCALE;
+    this.tokens = new AtomicLong(maxTokens);
+  }
+
+  /**
+   * 새 요청이 들어왔음을 기록하여 재시도 토큰을 적립합니다.
+   */
+  public void recordRequest() {
+    tokens.updateAndGet(current -> Math.min(maxTokens, current + depositPerRequest));
+  }
+
+  /**
+   * 재시도 토큰을 하나 사용합니다.
+   *
+   * @return 토큰이 남아 있어 재시도해도 되면 true
+   */
+  public boolean tryAcquireRetry() {
+    while (true) {
+      long current = tokens.get();
+      if (current < SCALE) {
+        return false;
+      }
+      if (tokens.compareAndSet(current, current - SCALE)) {
+        return true;
+      }
+    }
+  }
+
+  public double availableRetries() {
+    return (double) tokens.get() / SCALE;
+  }
+}
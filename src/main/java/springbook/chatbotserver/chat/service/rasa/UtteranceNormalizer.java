@@ -0,0 +1,76 @@
+package springbook.chatbotserver.chat.service.rasa;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 사용자 발화를 캐시 키로 쓰기 위해 정규화하는 유틸리티 클래스입니다.
+ * 공백과 문장부호를 제거하고, 의미에 영향을 주지 않는 문장 끝 어미(요, 에요 등)를 떼어냅니다.
+ * 예) "오늘 학식 뭐예요?" -> "오늘학식뭐", "편의점 어디요" -> "편의점어디"
+ * 숫자 사이의 구분자는 "." 하나로 남겨 "12.1 학식" 과 "1.21 학식" 이 같은 키가 되지 않도록 합니다.
+ */
+public final class UtteranceNormalizer {
+
+  /** 긴 어미부터 비교하도록 길이 내림차순으로 정렬되어 있어야 합니다. */
+  private static final List<String> TRAILING_ENDINGS = List.of(
+      "입니까", "인가요", "이에요", "예요", "에요", "이요", "요", "용"
+  );
+  private static final int MIN_STEM_LENGTH = 2;
+  private static final char DIGIT_SEPARATOR = '.';
+
+  private UtteranceNormalizer() {
+  }
+
+  /**
+   * 발화를 정규화합니다.
+   *
+   * @param text 사용자 발화
+   * @return 정규화된 문자열 (null 이면 빈 문자열)
+   */
+  public static String normalize(String text) {
+    return stripTrailingEnding(compact(text));
+  }
+
+  /**
+   * 어미는 그대로 두고 대소문자, 공백, 문장부호만 정리합니다.
+   * 사전(gazetteer) 단어와 발화를 같은 기준으로 비교할 때 사용합니다.
+   *
+   * @param text 사용자 발화 또는 사전 단어
+   * @return 글자와 숫자만 남긴 소문자 문자열, 숫자 사이의 구분자는 "." 로 남김 (null 이면 빈 문자열)
+   */
+  public static String compact(String text) {
+    if (text == null) {
+      return "";
+    }
+    String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+    StringBuilder sb = new StringBuilder(folded.length());
+    boolean separated = false;
+    for (int i = 0; i < folded.length(); ) {
+      int codePoint = folded.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (!Character.isLetterOrDigit(codePoint)) {
+        separated = true;
+        continue;
+      }
+      // 12.1 과 1.21, 11/1 과 1/11 처럼 숫자 사이의 구분자가 뜻을 가르므로 숫자 사이에서만 남깁니다.
+      if (separated && Character.isDigit(codePoint) && !sb.isEmpty()
+          && Character.isDigit(sb.codePointBefore(sb.length()))) {
+        sb.append(DIGIT_SEPARATOR);
+      }
+      sb.appendCodePoint(codePoint);
+      separated = false;
+    }
+    return sb.toString();
+  }
+
+  private static String stripTrailingEnding(String key) {
+    for (String ending : TRAILING_ENDINGS) {
+      if (key.endsWith(ending) && key.length() - ending.length() >= MIN_STEM_LENGTH) {
+        return key.substring(0, key.length() - ending.length());
+      }
+    }
+    return key;
+  }
+}
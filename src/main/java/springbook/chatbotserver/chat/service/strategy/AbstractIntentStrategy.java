@@ -1,6 +1,7 @@
 package springbook.chatbotserver.chat.service.strategy;
 
 import org.springframework.aop.framework.AopContext;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
@@ -26,8 +27,16 @@ public abstract class AbstractIntentStrategy implements IntentStrategy {
     return intentName;
   }
 
+  public String getEntityName() {
+    return entityName;
+  }
+
+  /**
+   * 엔티티 값을 꺼내 프록시를 통해 {@link #handleEntityValue} 를 호출합니다.
+   * 조회 데이터는 {@code CampusDirectory} 에서 읽으므로, 트랜잭션이 필요하지 않은 경우 커넥션을 잡지 않도록 SUPPORTS 로 둡니다.
+   */
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public String handle(RasaResponse response) {
     String entityValue = getEntityValue(response, entityName);
     if (entityValue.isBlank()) {
@@ -44,6 +53,17 @@ public abstract class AbstractIntentStrategy implements IntentStrategy {
         .orElse("");
   }
 
+  /**
+   * 캐시 키로 사용할 값을 반환합니다.
+   * 같은 결과를 내는 서로 다른 표기가 하나의 캐시 항목을 공유하도록, 엔티티 값을 해석한 값으로 바꾸어 사용합니다.
+   *
+   * @param entityValue 추출된 엔티티 값
+   * @return 캐시 키
+   */
+  public Object cacheKey(String entityValue) {
+    return entityValue.strip();
+  }
+
   /**
    * 추출된 엔티티 값을 처리하는 메서드입니다.
    * 각 전략 클래스에서 이 메서드를 구현하여 엔티티 값을 기반으로 응답 메시지를 생성합니다.
@@ -0,0 +1,15 @@
+package springbook.chatbotserver.chat.service.strategy;
+
+import java.util.List;
+
+/**
+ * 설정으로 선언한 인텐트처럼, 빈으로 등록하지 않고 만든 전략들을 제공하는 인터페이스입니다.
+ * {@link StrategyFactory} 는 빈으로 등록된 전략과 함께 이 전략들도 인텐트 이름으로 매핑합니다.
+ */
+public interface IntentStrategyProvider {
+
+  /**
+   * @return 제공하는 전략 목록
+   */
+  List<IntentStrategy> strategies();
+}
@@ -0,0 +1,25 @@
+package springbook.chatbotserver.chat.service.strategy;
+
+import java.util.Set;
+
+/**
+ * 정해진 단어만으로 인텐트를 확정할 수 있는 전략이 구현하는 인터페이스입니다.
+ * Rasa 를 거치지 않는 fast-path 인식기가 이 단어들로 사전(gazetteer)을 구성합니다.
+ */
+public interface KeywordProvider {
+
+  /**
+   * @return 처리 대상 인텐트 이름
+   */
+  String getIntent();
+
+  /**
+   * @return 단어가 채워질 엔티티 이름
+   */
+  String getEntityName();
+
+  /**
+   * @return 이 전략이 그대로 처리할 수 있는 엔티티 값 목록
+   */
+  Set<String> keywords();
+}
@@ -3,6 +3,7 @@ package springbook.chatbotserver.chat.service.strategy;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -17,13 +18,15 @@ public class StrategyFactory {
   private final Map<String, IntentStrategy> strategyMap;
 
   /**
-   * 모든 IntentStrategy 구현체를 주입받아, 인텐트 이름 기준으로 매핑 테이블을 구성합니다.
+   * 모든 IntentStrategy 구현체와 설정으로 만든 전략을 주입받아, 인텐트 이름 기준으로 매핑 테이블을 구성합니다.
    *
    * @param strategies 모든 IntentStrategy 구현체 목록
+   * @param providers 빈이 아닌 전략을 제공하는 구현체 목록 (예: 시설 엔진)
    */
   @Autowired
-  public StrategyFactory(List<IntentStrategy> strategies) {
-    this.strategyMap = strategies.stream()
+  public StrategyFactory(List<IntentStrategy> strategies, List<IntentStrategyProvider> providers) {
+    this.strategyMap = Stream.concat(strategies.stream(),
+            providers.stream().flatMap(provider -> provider.strategies().stream()))
         .collect(Collectors.toMap(IntentStrategy::getIntent, strategy -> strategy));
   }
 
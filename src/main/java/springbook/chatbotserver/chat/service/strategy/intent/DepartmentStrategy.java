@@ -7,7 +7,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
 import springbook.chatbotserver.chat.model.domain.Building;
-import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.AbstractIntentStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
@@ -19,23 +19,32 @@ import springbook.chatbotserver.config.exception.ErrorCode;
 @Component
 public class DepartmentStrategy extends AbstractIntentStrategy {
 
-  private final BuildingMapper buildingMapper;
+  private final CampusDirectory campusDirectory;
 
-  public DepartmentStrategy(BuildingMapper buildingMapper) {
+  public DepartmentStrategy(CampusDirectory campusDirectory) {
     super("ask_building_of_department", "department");
-    this.buildingMapper = buildingMapper;
+    this.campusDirectory = campusDirectory;
   }
 
   @Override
-  @Cacheable(cacheNames = "department")
+  public Object cacheKey(String entityValue) {
+    return extractDepartmentName(entityValue.strip());
+  }
+
+  @Override
+  @Cacheable(cacheNames = "department", key = "#root.target.cacheKey(#entityValue)", sync = true)
   public String handleEntityValue(String entityValue) {
 
-    String departmentName = extractDepartmentName(entityValue);
+    String departmentName = extractDepartmentName(entityValue.strip());
 
-    Building building = buildingMapper.findBuildingNameOfDepartment(departmentName);
+    Building building = campusDirectory.findBuildingOfDepartment(departmentName);
 
     if (building == null) {
-      throw new CustomException(ErrorCode.DEPARTMENT_NOT_FOUND);
+      // 이름이 정확히 일치하지 않으면 오타/띄어쓰기를 허용해 가장 가까운 학과를 찾습니다.
+      CampusDirectory.Correction<Building> corrected = campusDirectory.correctDepartment(departmentName)
+          .orElseThrow(() -> new CustomException(ErrorCode.DEPARTMENT_NOT_FOUND));
+      departmentName = corrected.name();
+      building = corrected.value();
     }
 
     return departmentLocationMessage(building, departmentName);
@@ -4,7 +4,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
 import springbook.chatbotserver.chat.model.domain.Professor;
-import springbook.chatbotserver.chat.model.mapper.ProfessorMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.AbstractIntentStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
@@ -16,24 +16,29 @@ import springbook.chatbotserver.config.exception.ErrorCode;
 @Component
 public class ProfessorStrategy extends AbstractIntentStrategy {
 
-  private final ProfessorMapper professorMapper;
+  private final CampusDirectory campusDirectory;
 
-  public ProfessorStrategy(ProfessorMapper professorMapper) {
+  public ProfessorStrategy(CampusDirectory campusDirectory) {
     super("ask_office_of_professor", "professor");
-    this.professorMapper = professorMapper;
+    this.campusDirectory = campusDirectory;
   }
 
   @Override
-  @Cacheable(cacheNames = "professor")
+  @Cacheable(cacheNames = "professor", key = "#root.target.cacheKey(#entityValue)", sync = true)
   public String handleEntityValue(String entityValue) {
 
-    Professor professor = professorMapper.findOfficeByProfessorName(entityValue);
+    String professorName = entityValue.strip();
+    Professor professor = campusDirectory.findProfessor(professorName);
 
     if (professor == null) {
-      throw new CustomException(ErrorCode.PROFESSOR_NOT_FOUND);
+      // 이름이 정확히 일치하지 않으면 오타/띄어쓰기를 허용해 가장 가까운 교수를 찾습니다.
+      CampusDirectory.Correction<Professor> corrected = campusDirectory.correctProfessor(professorName)
+          .orElseThrow(() -> new CustomException(ErrorCode.PROFESSOR_NOT_FOUND));
+      professorName = corrected.name();
+      professor = corrected.value();
     }
 
-    return professorLocationMessage(professor, entityValue);
+    return professorLocationMessage(professor, professorName);
   }
 
   private String professorLocationMessage(Professor professor, String professorName) {
@@ -5,7 +5,7 @@ import org.springframework.stereotype.Component;
 
 import springbook.chatbotserver.chat.model.domain.Building;
 import springbook.chatbotserver.chat.model.dto.RoomInfo;
-import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.AbstractIntentStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
@@ -17,22 +17,27 @@ import springbook.chatbotserver.config.exception.ErrorCode;
 @Component
 public class RoomNumberStrategy extends AbstractIntentStrategy {
 
-  private final BuildingMapper buildingMapper;
+  private final CampusDirectory campusDirectory;
 
-  public RoomNumberStrategy(BuildingMapper buildingMapper) {
+  public RoomNumberStrategy(CampusDirectory campusDirectory) {
     super("ask_room_location", "room_number");
-    this.buildingMapper = buildingMapper;
+    this.campusDirectory = campusDirectory;
   }
 
   @Override
-  @Cacheable(cacheNames = "roomNumber")
+  public Object cacheKey(String entityValue) {
+    return parseRoomInfo(entityValue);
+  }
+
+  @Override
+  @Cacheable(cacheNames = "roomNumber", key = "#root.target.cacheKey(#entityValue)", sync = true)
   public String handleEntityValue(String entityValue) {
 
     RoomInfo roomInfo = parseRoomInfo(entityValue);
     if (!roomInfo.isValid()) {
       throw new CustomException(ErrorCode.INVALID_ROOM_NUMBER);
     }
-    Building building = buildingMapper.findByBuildingNumber(roomInfo.getBuildingNumber());
+    Building building = campusDirectory.findBuilding(roomInfo.getBuildingNumber());
     if (building == null) {
       throw new CustomException(ErrorCode.BUILDING_NOT_FOUND);
     }
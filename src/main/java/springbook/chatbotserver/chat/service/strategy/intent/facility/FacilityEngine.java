@@ -0,0 +1,156 @@
+package springbook.chatbotserver.chat.service.strategy.intent.facility;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.domain.Facility;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.directory.DirectoryRefreshedEvent;
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
+import springbook.chatbotserver.chat.service.strategy.IntentStrategy;
+import springbook.chatbotserver.chat.service.strategy.IntentStrategyProvider;
+import springbook.chatbotserver.config.FacilityIntentProperties;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * 시설 위치 질의(ATM, 카페, 복사기, 매점, 편의점 등)를 처리하는 엔진입니다.
+ * 설정({@code facility.intents})에 선언한 인텐트마다 {@link FacilityStrategy} 를 만들어 제공하므로,
+ * 새 시설 유형은 설정과 동의어 사전(facility_synonyms) 행만 추가하면 됩니다.
+ *
+ * <p>동의어는 설정의 기본 동의어에 facility_synonyms 사전을 더해 씁니다. 같은 이름이 겹치면 사전을 따릅니다.
+ * 캠퍼스 디렉터리의 시설 목록과 동의어로 "동의어 -> 시설 유형", "시설 유형 -> 응답 문자열" 표를 미리 만들어 두고,
+ * 디렉터리가 바뀌면({@link DirectoryRefreshedEvent}) 표를 통째로 교체합니다. 요청 처리 중에는 표 조회만 합니다.
+ */
+@Slf4j
+@Component
+public class FacilityEngine implements IntentStrategyProvider {
+
+  private final CampusDirectory campusDirectory;
+  private final List<FacilityIntentProperties.Intent> intents;
+  private final List<IntentStrategy> strategies;
+
+  private volatile Table table = Table.EMPTY;
+
+  public FacilityEngine(CampusDirectory campusDirectory, FacilityIntentProperties properties) {
+    this.campusDirectory = campusDirectory;
+    this.intents = properties.intents();
+    this.strategies = intents.stream()
+        .<IntentStrategy>map(intent -> new FacilityStrategy(this, intent.intent(), intent.type()))
+        .toList();
+  }
+
+  @Override
+  public List<IntentStrategy> strategies() {
+    return strategies;
+  }
+
+  /**
+   * 디렉터리의 현재 스냅샷으로 표를 다시 만들어 교체합니다.
+   * 같은 이벤트로 사전을 다시 만드는 fast-path 인식기가 새 동의어를 읽도록 먼저 실행합니다.
+   */
+  @PostConstruct
+  @EventListener(DirectoryRefreshedEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void rebuild() {
+    Map<String, String> typesBySynonym = new HashMap<>();
+    Map<String, Set<String>> synonymsByType = new HashMap<>();
+    Map<String, String> messagesByType = new HashMap<>();
+    Map<String, List<Facility>> facilities = campusDirectory.facilitiesByType();
+
+    for (FacilityIntentProperties.Intent intent : intents) {
+      // 시설 유형 이름 자체도 동의어로 받습니다. (예: "atm")
+      addSynonym(typesBySynonym, synonymsByType, intent.type(), intent.type());
+      List<Facility> list = facilities.getOrDefault(intent.type(), List.of());
+      if (!list.isEmpty()) {
+        messagesByType.put(intent.type(), render(intent.subject(), list));
+      }
+    }
+    for (FacilitySynonym synonym : campusDirectory.facilitySynonyms()) {
+      if (synonym.getSynonym() != null && synonym.getFacilityType() != null) {
+        addSynonym(typesBySynonym, synonymsByType, synonym.getSynonym(), synonym.getFacilityType());
+      }
+    }
+    for (FacilityIntentProperties.Intent intent : intents) {
+      intent.synonyms().forEach(synonym -> addSynonym(typesBySynonym, synonymsByType, synonym, intent.type()));
+    }
+    synonymsByType.replaceAll((type, synonyms) -> Set.copyOf(synonyms));
+
+    table = new Table(Map.copyOf(typesBySynonym), Map.copyOf(synonymsByType), Map.copyOf(messagesByType));
+    log.info("Facility engine rebuilt ({} intents, {} synonyms)", intents.size(), typesBySynonym.size());
+  }
+
+  /**
+   * 엔티티 값이 가리키는 시설 유형의 미리 만든 응답을 반환합니다.
+   * 인텐트의 시설 유형이 아닌 이름이면(ATM 인텐트에 "카페") 다른 유형으로 답하지 않고 찾지 못한 것으로 봅니다.
+   *
+   * @param facilityType 인텐트의 시설 유형
+   * @param entityValue 사용자가 말한 시설 이름
+   * @return 시설 위치 응답
+   */
+  public String answer(String facilityType, String entityValue) {
+    Table current = table;
+    String type = current.typesBySynonym().get(UtteranceNormalizer.compact(entityValue));
+    String message = facilityType.equals(type) ? current.messagesByType().get(type) : null;
+    if (message == null) {
+      throw new CustomException(ErrorCode.FACILITY_NOT_FOUND);
+    }
+    return message;
+  }
+
+  /**
+   * @param facilityType 시설 유형
+   * @return 그 유형을 가리키는 동의어 (fast-path 사전 단어)
+   */
+  public Set<String> synonyms(String facilityType) {
+    return table.synonymsByType().getOrDefault(facilityType, Set.of());
+  }
+
+  private static void addSynonym(Map<String, String> typesBySynonym, Map<String, Set<String>> synonymsByType,
+      String synonym, String type) {
+    String key = UtteranceNormalizer.compact(synonym);
+    if (key.isEmpty()) {
+      return;
+    }
+    typesBySynonym.putIfAbsent(key, type);
+    synonymsByType.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(synonym);
+  }
+
+  private static String render(String subject, List<Facility> facilities) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("다음은 ").append(subject).append(" 위치한 장소입니다:\n\n");
+    for (Facility facility : facilities) {
+      sb.append("- ")
+          .append(facility.getName())
+          .append(" (")
+          .append(facility.getLocationDetail())
+          .append(")\n")
+          .append(facility.getMapUrl())
+          .append("\n\n");
+    }
+    return sb.toString().trim();
+  }
+
+  /**
+   * @param typesBySynonym 정규화한 동의어별 시설 유형
+   * @param synonymsByType 시설 유형별 동의어 원문
+   * @param messagesByType 시설 유형별 응답 (시설이 없는 유형은 없음)
+   */
+  private record Table(Map<String, String> typesBySynonym,
+      Map<String, Set<String>> synonymsByType,
+      Map<String, String> messagesByType) {
+
+    static final Table EMPTY = new Table(Map.of(), Map.of(), Map.of());
+  }
+}
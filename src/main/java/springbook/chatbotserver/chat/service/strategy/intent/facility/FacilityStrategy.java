@@ -0,0 +1,59 @@
+package springbook.chatbotserver.chat.service.strategy.intent.facility;
+
+import java.util.Set;
+
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.service.strategy.IntentStrategy;
+import springbook.chatbotserver.chat.service.strategy.KeywordProvider;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * 설정에 선언한 시설 인텐트 하나를 처리하는 전략입니다. (예: 'ask_location_of_atm')
+ * 빈이 아니라 {@link FacilityEngine} 이 인텐트마다 만들어 제공하며, 응답은 엔진이 미리 만든 문자열을 그대로 사용합니다.
+ */
+public class FacilityStrategy implements IntentStrategy, KeywordProvider {
+
+  private static final String ENTITY_NAME = "facility";
+
+  private final FacilityEngine engine;
+  private final String intent;
+  private final String facilityType;
+
+  FacilityStrategy(FacilityEngine engine, String intent, String facilityType) {
+    this.engine = engine;
+    this.intent = intent;
+    this.facilityType = facilityType;
+  }
+
+  @Override
+  public String getIntent() {
+    return intent;
+  }
+
+  @Override
+  public String getEntityName() {
+    return ENTITY_NAME;
+  }
+
+  /**
+   * @return 이 시설 유형을 가리키는 동의어 (fast-path 사전 단어)
+   */
+  @Override
+  public Set<String> keywords() {
+    return engine.synonyms(facilityType);
+  }
+
+  @Override
+  public String handle(RasaResponse response) {
+    String entityValue = response.getEntities().stream()
+        .filter(e -> ENTITY_NAME.equals(e.getEntity()))
+        .map(RasaResponse.Entity::getValue)
+        .findFirst()
+        .orElse("");
+    if (entityValue.isBlank()) {
+      throw new CustomException(ErrorCode.INTENT_NOT_FOUND);
+    }
+    return engine.answer(facilityType, entityValue);
+  }
+}
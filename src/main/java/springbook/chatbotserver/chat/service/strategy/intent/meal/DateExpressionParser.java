@@ -0,0 +1,251 @@
+package springbook.chatbotserver.chat.service.strategy.intent.meal;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 식단 질문의 날짜 표현을 날짜로 해석합니다.
+ * 정규식과 예외 없이 문자를 한 번 훑어 해석하고, 해석할 수 없으면 empty 를 반환합니다.
+ *
+ * <p>지원하는 표현 (공백은 무시합니다)
+ * <ul>
+ *   <li>오늘, 내일, 모레, 어제</li>
+ *   <li>요일: "월요일" 또는 "월" 은 이번 주(월요일 시작)의 그 요일, 앞에 "이번주"/"다음주"/"지난주" 를 붙일 수 있습니다.</li>
+ *   <li>월/일: "5월 15일", "5.15", "5/15" (올해)</li>
+ *   <li>ISO 날짜: "2025-05-15"</li>
+ * </ul>
+ *
+ * <p>결과는 오늘 날짜에 따라 달라지므로 하루 단위로 메모해 두고, 주입받은 {@link Clock} 으로 자정이 지난 것을 알아채면 비웁니다.
+ * 같은 날 같은 표현은 할당 없이 메모한 결과를 그대로 돌려줍니다.
+ */
+@Component
+public class DateExpressionParser {
+
+  private static final String WEEKDAYS = "월화수목금토일";
+
+  private final Clock clock;
+  private final int memoSize;
+
+  private volatile DayMemo memo;
+
+  public DateExpressionParser(Clock clock, @Value("${date-parser.memo-size:256}") int memoSize) {
+    this.clock = clock;
+    this.memoSize = memoSize;
+    this.memo = DayMemo.of(LocalDate.now(clock), clock.getZone());
+  }
+
+  /**
+   * @return 주입받은 시계 기준 오늘 날짜
+   */
+  public LocalDate today() {
+    return currentMemo().day();
+  }
+
+  /**
+   * @param expression 날짜 표현 (예: "오늘", "다음주 화요일", "5월 15일", "2025-05-15")
+   * @return 해석한 날짜 (해석할 수 없으면 empty)
+   */
+  public Optional<ResolvedDate> parse(String expression) {
+    if (expression == null) {
+      return Optional.empty();
+    }
+    DayMemo current = currentMemo();
+    Optional<ResolvedDate> resolved = current.entries().get(expression);
+    if (resolved != null) {
+      return resolved;
+    }
+    resolved = Optional.ofNullable(resolve(expression, current.day()));
+    // 사용자가 입력한 임의의 문자열로 메모가 계속 커지지 않도록 크기를 제한합니다.
+    if (current.entries().size() < memoSize) {
+      current.entries().put(expression, resolved);
+    }
+    return resolved;
+  }
+
+  /**
+   * 현재 시각이 메모한 날짜 안이면 그대로, 자정이 지났으면 새 날짜의 빈 메모로 바꿉니다.
+   */
+  private DayMemo currentMemo() {
+    DayMemo current = memo;
+    long now = clock.millis();
+    if (now >= current.startMillis() && now < current.endMillis()) {
+      return current;
+    }
+    current = DayMemo.of(LocalDate.now(clock), clock.getZone());
+    memo = current;
+    return current;
+  }
+
+  /**
+   * @return 해석한 날짜, 해석할 수 없으면 null
+   */
+  static ResolvedDate resolve(String expression, LocalDate today) {
+    String text = expression.strip();
+    if (text.isEmpty()) {
+      return null;
+    }
+    char first = text.charAt(0);
+    if (isDigit(first)) {
+      return text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-'
+          ? resolveIsoDate(text)
+          : resolveMonthDay(text, today.getYear());
+    }
+    text = stripWhitespace(text);
+    switch (text) {
+      case "오늘":
+        return ResolvedDate.of(today);
+      case "내일":
+        return ResolvedDate.of(today.plusDays(1));
+      case "모레":
+        return ResolvedDate.of(today.plusDays(2));
+      case "어제":
+        return ResolvedDate.of(today.minusDays(1));
+      default:
+        return resolveWeekday(text, today);
+    }
+  }
+
+  /**
+   * [이번주|다음주|지난주] (월요일|월) 형식. 주는 월요일에 시작합니다.
+   */
+  private static ResolvedDate resolveWeekday(String text, LocalDate today) {
+    int weeks = 0;
+    int start = 0;
+    if (text.startsWith("이번주")) {
+      start = 3;
+    } else if (text.startsWith("다음주")) {
+      weeks = 1;
+      start = 3;
+    } else if (text.startsWith("지난주")) {
+      weeks = -1;
+      start = 3;
+    }
+    int length = text.length() - start;
+    if (length != 1 && !(length == 3 && text.startsWith("요일", start + 1))) {
+      return null;
+    }
+    int index = WEEKDAYS.indexOf(text.charAt(start));
+    if (index < 0) {
+      return null;
+    }
+    LocalDate monday = today.with(DayOfWeek.MONDAY);
+    return ResolvedDate.of(monday.plusWeeks(weeks).plusDays(index));
+  }
+
+  /**
+   * M월D일, M.D, M/D, "M D" 형식. 숫자는 각각 한두 자리이며, 올해 날짜로 해석합니다.
+   */
+  private static ResolvedDate resolveMonthDay(String text, int year) {
+    int position = 0;
+    int month = 0;
+    int digits = 0;
+    while (position < text.length() && digits < 2 && isDigit(text.charAt(position))) {
+      month = month * 10 + (text.charAt(position++) - '0');
+      digits++;
+    }
+    while (position < text.length() && isSeparator(text.charAt(position))) {
+      position++;
+    }
+    int day = 0;
+    digits = 0;
+    while (position < text.length() && digits < 2 && isDigit(text.charAt(position))) {
+      day = day * 10 + (text.charAt(position++) - '0');
+      digits++;
+    }
+    if (digits == 0) {
+      return null;
+    }
+    while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+      position++;
+    }
+    if (position < text.length() && text.charAt(position) == '일') {
+      position++;
+    }
+    if (position != text.length()) {
+      return null;
+    }
+    return isValid(year, month, day) ? ResolvedDate.of(LocalDate.of(year, month, day)) : null;
+  }
+
+  /**
+   * yyyy-MM-dd 형식.
+   */
+  private static ResolvedDate resolveIsoDate(String text) {
+    int year = number(text, 0, 4);
+    int month = number(text, 5, 7);
+    int day = number(text, 8, 10);
+    return year >= 0 && isValid(year, month, day) ? ResolvedDate.of(LocalDate.of(year, month, day)) : null;
+  }
+
+  /**
+   * @return [from, to) 의 숫자, 숫자가 아닌 문자가 있으면 -1
+   */
+  private static int number(String text, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static boolean isValid(int year, int month, int day) {
+    return month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == '월' || c == '.' || c == '/' || Character.isWhitespace(c);
+  }
+
+  private static String stripWhitespace(String expression) {
+    for (int i = 0; i < expression.length(); i++) {
+      if (Character.isWhitespace(expression.charAt(i))) {
+        StringBuilder sb = new StringBuilder(expression.length());
+        for (int j = 0; j < expression.length(); j++) {
+          char c = expression.charAt(j);
+          if (!Character.isWhitespace(c)) {
+            sb.append(c);
+          }
+        }
+        return sb.toString();
+      }
+    }
+    return expression;
+  }
+
+  /**
+   * 하루 동안의 해석 결과 메모입니다.
+   *
+   * @param day 메모한 날짜
+   * @param startMillis 그 날짜가 시작하는 시각 (epoch millis)
+   * @param endMillis 다음 날짜가 시작하는 시각 (epoch millis)
+   * @param entries 날짜 표현별 해석 결과
+   */
+  private record DayMemo(LocalDate day, long startMillis, long endMillis,
+      Map<String, Optional<ResolvedDate>> entries) {
+
+    static DayMemo of(LocalDate day, ZoneId zone) {
+      return new DayMemo(day,
+          day.atStartOfDay(zone).toInstant().toEpochMilli(),
+          day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli(),
+          new ConcurrentHashMap<>());
+    }
+  }
+}
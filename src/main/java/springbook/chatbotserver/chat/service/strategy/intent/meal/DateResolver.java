@@ -13,7 +13,10 @@ import springbook.chatbotserver.config.exception.ErrorCode;
 
 /**
  * 날짜 문자열을 해석하고 변환하는 유틸리티 클래스입니다.
+ *
+ * @deprecated 식단 질문은 {@link DateExpressionParser} 로 해석합니다. 성능 비교(JMH)의 기준 구현으로만 남겨 둡니다.
  */
+@Deprecated
 public class DateResolver {
   private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
   private static final Pattern MONTH_DAY_PATTERN = Pattern.compile("(\\d{1,2})[월./\\s]*(\\d{1,2})[일]?");
@@ -16,20 +16,33 @@ import springbook.chatbotserver.chat.model.dto.MealResponse;
 public class MealMessageBuilder {
 
   /**
-   * 확인 하고 싶은 날짜를 다시 요청하는 메시지를 생성
+   * 특정 식당의 한 주 식단 정보를 날짜별로 묶어 메시지 형식으로 생성
    *
    * @param dorm 식당 이름
-   * @return 포맷된 식단 메시지
+   * @param meals 날짜, 끼니 순으로 정렬된 한 주의 식단 정보 리스트
+   * @return 포맷된 주간 식단 메시지
    */
-  public String buildWeekMenuMessage(String dorm) {
-    List<String> weekDates = DateResolver.getWeekDates();
+  public String buildWeekMealMessage(String dorm, List<MealResponse> meals) {
+    Map<String, Map<String, List<String>>> weekMap = new LinkedHashMap<>();
+    meals.forEach(meal ->
+        weekMap.computeIfAbsent(meal.getMealDate(), k -> new LinkedHashMap<>())
+            .computeIfAbsent(meal.getMealType(), k -> new ArrayList<>())
+            .add(meal.getMenuItem())
+    );
 
     StringBuilder sb = new StringBuilder();
-    sb.append("이번 주 ").append(dorm).append("의 식단 정보는 다음 날짜에 확인하실 수 있습니다:\n\n");
-    weekDates.forEach(date -> sb.append("- ").append(date).append("\n"));
-    sb.append("\n확인하고 싶은 날짜를 다시 말씀해 주세요 (예: 오늘, 내일, 05월27일)");
+    sb.append("이번 주 ").append(dorm.toUpperCase()).append("의 식단 정보입니다:\n\n");
+
+    weekMap.forEach((date, mealMap) -> {
+      sb.append("■ ").append(date).append("\n");
+      mealMap.forEach((type, items) -> {
+        sb.append("[").append(type).append("]\n");
+        items.forEach(item -> sb.append(item).append("\n"));
+      });
+      sb.append("\n");
+    });
 
-    return sb.toString();
+    return sb.toString().trim();
   }
 
   /**
@@ -41,6 +54,28 @@ public class MealMessageBuilder {
    * @return 포맷된 식단 메시지
    */
   public String buildMealMessage(String dorm, String mealDate, List<MealResponse> meals) {
+    return buildMealMessage(dorm, mealDate, buildMealBody(meals));
+  }
+
+  /**
+   * 미리 만들어 둔 본문에 식당 이름과 날짜 머리말을 붙여 식단 메시지를 생성
+   *
+   * @param dorm 식당 이름
+   * @param mealDate 식단 날짜
+   * @param body {@link #buildMealBody(List)} 로 만든 본문
+   * @return 포맷된 식단 메시지
+   */
+  public String buildMealMessage(String dorm, String mealDate, String body) {
+    return dorm.toUpperCase() + "의 " + mealDate + " 식단 정보입니다:\n\n" + body;
+  }
+
+  /**
+   * 식단 정보를 끼니별로 묶은 메시지 본문을 생성. 식당 이름이 들어가지 않으므로 미리 만들어 둘 수 있습니다.
+   *
+   * @param meals 식단 정보 리스트
+   * @return 끼니별 메뉴 본문
+   */
+  public String buildMealBody(List<MealResponse> meals) {
     Map<String, List<String>> mealMap = new LinkedHashMap<>();
     meals.forEach(meal ->
         mealMap.computeIfAbsent(meal.getMealType(), k -> new ArrayList<>())
@@ -48,8 +83,6 @@ public class MealMessageBuilder {
     );
 
     StringBuilder sb = new StringBuilder();
-    sb.append(dorm.toUpperCase()).append("의 ").append(mealDate).append(" 식단 정보입니다:\n\n");
-
     mealMap.forEach((type, items) -> {
       sb.append("[").append(type).append("]\n");
       items.forEach(item -> sb.append(item).append("\n"));
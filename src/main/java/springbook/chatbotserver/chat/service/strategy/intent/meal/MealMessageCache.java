@@ -0,0 +1,174 @@
+package springbook.chatbotserver.chat.service.strategy.intent.meal;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.dto.MealResponse;
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.chat.service.meal.MealDataIngestedEvent;
+
+/**
+ * 오늘부터 며칠간의 식단 메시지 본문을 미리 만들어 두는 캐시입니다.
+ * 식사 시간대에 몰리는 식단 질문을 DB 조회와 메시지 조립 없이 (기숙사, 날짜, 식사 유형) 키 조회 한 번으로 응답합니다.
+ *
+ * <p>자정 직전과 점심/저녁 식사 시간 전(cron), 그리고 식단 수집이 끝난 뒤({@link MealDataIngestedEvent}) 전체를 다시 만들고,
+ * 불변 맵을 통째로 교체하므로 조회하는 쪽은 잠금 없이 항상 한 시점의 식단만 봅니다.
+ * 수집 이벤트는 이 인스턴스의 수집만 알려주므로 refresh-interval-ms 마다도 다시 만들어 다른 인스턴스의 수집이나 수동 변경을 반영하고,
+ * 다시 만들지 못해 ttl-seconds 가 지난 본문은 쓰지 않고 DB 에서 조회하게 합니다.
+ * 자정 직전에 만들 때도 다음 날과 그다음 날이 들어 있도록 days 일 분량을 만듭니다.
+ * 본문에는 식당 이름이 들어가지 않으므로, 같은 기숙사를 다른 이름으로 물어도 같은 항목을 씁니다.
+ */
+@Slf4j
+@Component
+public class MealMessageCache {
+
+  private static final String ALL = "ALL";
+
+  private final MealMapper mealMapper;
+  private final MealMessageBuilder mealMessageBuilder;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int days;
+  private final Duration ttl;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  private volatile Map<String, String> bodies = Map.of();
+  private volatile Instant builtAt = Instant.MIN;
+
+  public MealMessageCache(MealMapper mealMapper,
+      MealMessageBuilder mealMessageBuilder,
+      Clock clock,
+      MeterRegistry meterRegistry,
+      @Value("${meal-message-cache.enabled:true}") boolean enabled,
+      @Value("${meal-message-cache.days:3}") int days,
+      @Value("${meal-message-cache.ttl-seconds:900}") long ttlSeconds) {
+    this.mealMapper = mealMapper;
+    this.mealMessageBuilder = mealMessageBuilder;
+    this.clock = clock;
+    this.enabled = enabled && days > 0;
+    this.days = days;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.hitCounter = Counter.builder("meal.message.reads")
+        .description("Meal answers served from pre-rendered messages")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.missCounter = Counter.builder("meal.message.reads")
+        .description("Meal answers served from pre-rendered messages")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("meal.message.entries", this, cache -> cache.bodies.size())
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void init() {
+    scheduledRefresh();
+  }
+
+  @Scheduled(cron = "${meal-message-cache.cron:0 55 10,16,23 * * *}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      log.warn("Meal message refresh failed, keeping {} entries: {}", bodies.size(), e.getMessage());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${meal-message-cache.refresh-interval-ms:300000}",
+      initialDelayString = "${meal-message-cache.refresh-interval-ms:300000}")
+  public void periodicRefresh() {
+    scheduledRefresh();
+  }
+
+  /**
+   * 식단이 바뀌었으므로 미리 만든 메시지를 다시 만듭니다.
+   */
+  @EventListener
+  public void onMealDataIngested(MealDataIngestedEvent event) {
+    scheduledRefresh();
+  }
+
+  /**
+   * 오늘부터 days 일 분량의 식단을 한 번에 읽어 (기숙사, 날짜, 식사 유형) 별 본문과 하루 전체(ALL) 본문을 만든 뒤 교체합니다.
+   *
+   * @return 만든 본문 수
+   */
+  public synchronized int refresh() {
+    if (!enabled) {
+      return 0;
+    }
+    Instant now = clock.instant();
+    LocalDate today = LocalDate.ofInstant(now, clock.getZone());
+    int version = mealMapper.findCurrentVersion();
+    List<StoredMealRow> rows = mealMapper.findStoredMeals(version, today, today.plusDays(days - 1));
+
+    Map<String, List<MealResponse>> grouped = new LinkedHashMap<>();
+    for (StoredMealRow row : rows) {
+      if (row.getMenuItem() == null) {
+        continue;
+      }
+      String date = row.getMealDate().toString();
+      MealResponse meal = MealResponse.builder()
+          .mealDate(date)
+          .mealType(row.getMealType())
+          .menuItem(row.getMenuItem())
+          .build();
+      grouped.computeIfAbsent(key(row.getDormitoryId(), date, ALL), k -> new ArrayList<>()).add(meal);
+      grouped.computeIfAbsent(key(row.getDormitoryId(), date, row.getMealType()), k -> new ArrayList<>()).add(meal);
+    }
+
+    Map<String, String> rendered = new HashMap<>(grouped.size() * 2);
+    grouped.forEach((key, meals) -> rendered.put(key, mealMessageBuilder.buildMealBody(meals)));
+    bodies = Map.copyOf(rendered);
+    builtAt = now;
+    log.info("Pre-rendered {} meal messages ({} ~ {})", rendered.size(), today, today.plusDays(days - 1));
+    return rendered.size();
+  }
+
+  /**
+   * @param buildingNumber 기숙사 건물 번호
+   * @param mealDate 식단 날짜 (yyyy-MM-dd)
+   * @param mealType 식사 유형, 하루 전체는 "ALL"
+   * @return 미리 만든 메시지 본문 (없거나 ttl-seconds 가 지났으면 empty 이며, 이때는 DB 에서 조회해야 합니다)
+   */
+  public Optional<String> find(int buildingNumber, String mealDate, String mealType) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    if (clock.instant().isAfter(builtAt.plus(ttl))) {
+      missCounter.increment();
+      return Optional.empty();
+    }
+    String body = bodies.get(key(buildingNumber, mealDate, mealType));
+    if (body == null) {
+      missCounter.increment();
+      return Optional.empty();
+    }
+    hitCounter.increment();
+    return Optional.of(body);
+  }
+
+  private static String key(int buildingNumber, String mealDate, String mealType) {
+    return buildingNumber + "|" + mealDate + "|" + mealType;
+  }
+}
@@ -1,15 +1,19 @@
 package springbook.chatbotserver.chat.service.strategy.intent.meal;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
 import springbook.chatbotserver.chat.model.dto.MealResponse;
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
-import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
 import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.IntentStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
@@ -17,13 +21,17 @@ import springbook.chatbotserver.config.exception.ErrorCode;
 /**
  * Rasa 챗봇의 'ask_meal_of_dormitory' 인텐트를 처리하는 전략 클래스입니다.
  * 사용자로부터 받은 기숙사명, 날짜, 식사 유형 등을 기반으로 식단 정보를 조회하여 응답을 구성합니다.
+ * 오늘, 내일 식단은 {@link MealMessageCache} 에 미리 만들어 둔 본문으로 응답하고, 없을 때만 DB 를 조회합니다.
  */
 @Component
 @RequiredArgsConstructor
 public class MealStrategy implements IntentStrategy {
-  private final BuildingMapper buildingMapper;
+  private final CampusDirectory campusDirectory;
   private final MealMapper mealMapper;
   private final MealMessageBuilder mealMessageBuilder;
+  private final MealWeekCache mealWeekCache;
+  private final MealMessageCache mealMessageCache;
+  private final DateExpressionParser dateExpressionParser;
 
   /**
    * 이 전략이 처리하는 인텐트(intent) 이름을 반환합니다.
@@ -37,24 +45,34 @@ public class MealStrategy implements IntentStrategy {
   /**
    * 사용자의 Rasa 응답으로부터 도출한 엔티티 정보를 기반으로 기숙사 식단 정보를 조회하고,
    * 사용자에게 적절한 문자열 형태로 응답을 구성합니다.
+   * 대부분 식단 캐시로 응답하므로, 캐시에 없어 DB 를 읽을 때만 커넥션을 잡도록 SUPPORTS 로 둡니다.
    *
    * @param response Rasa에서 추출된 인텐트 및 엔티티 정보
    * @return 식단 정보 또는 안내 메시지 문자열
    */
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public String handle(RasaResponse response) {
     String dorm = extract(response, "dorm", "");
     String time = extract(response, "time", "오늘");
     String mealType = extract(response, "meal_type", "ALL");
-    Integer buildingNumber = buildingMapper.findBuildingNumberOfBuildingName(dorm);
+    Integer buildingNumber = campusDirectory.findBuildingNumber(dorm);
     if (buildingNumber == null) {
-      throw new CustomException(ErrorCode.RESTAURANT_NOT_FOUND);
+      CampusDirectory.Correction<Integer> corrected = campusDirectory.correctBuilding(dorm)
+          .orElseThrow(() -> new CustomException(ErrorCode.RESTAURANT_NOT_FOUND));
+      dorm = corrected.name();
+      buildingNumber = corrected.value();
     }
     if ("이번주".equals(time)) {
-      return mealMessageBuilder.buildWeekMenuMessage(dorm);
+      return handleWeek(dorm, buildingNumber, mealType);
+    }
+    String mealDate = dateExpressionParser.parse(time)
+        .map(ResolvedDate::text)
+        .orElseThrow(() -> new CustomException(ErrorCode.INVALID_date));
+    Optional<String> rendered = mealMessageCache.find(buildingNumber, mealDate, mealType);
+    if (rendered.isPresent()) {
+      return mealMessageBuilder.buildMealMessage(dorm, mealDate, rendered.get());
     }
-    String mealDate = DateResolver.resolve(time);
     List<MealResponse> meals = mealMapper.findMealsByDates(buildingNumber, mealDate, mealType);
     if (meals.isEmpty()) {
       throw new CustomException(ErrorCode.MEAL_NOT_FOUND);
@@ -63,6 +81,20 @@ public class MealStrategy implements IntentStrategy {
     return mealMessageBuilder.buildMealMessage(dorm, mealDate, meals);
   }
 
+  /**
+   * 이번 주 월요일부터 일요일까지의 식단을 한 번에 응답합니다.
+   */
+  private String handleWeek(String dorm, int buildingNumber, String mealType) {
+    LocalDate monday = dateExpressionParser.today().with(DayOfWeek.MONDAY);
+    List<MealResponse> meals = mealWeekCache.get(buildingNumber, monday).stream()
+        .filter(meal -> "ALL".equals(mealType) || mealType.equals(meal.getMealType()))
+        .toList();
+    if (meals.isEmpty()) {
+      throw new CustomException(ErrorCode.MEAL_NOT_FOUND);
+    }
+    return mealMessageBuilder.buildWeekMealMessage(dorm, meals);
+  }
+
   private String extract(RasaResponse response, String key, String defaultValue) {
     return response.getEntities().stream()
         .filter(e -> key.equals(e.getEntity()))
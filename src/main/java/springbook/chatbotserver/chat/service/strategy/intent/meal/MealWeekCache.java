@@ -0,0 +1,114 @@
+package springbook.chatbotserver.chat.service.strategy.intent.meal;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.dto.MealResponse;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.chat.service.meal.MealDataIngestedEvent;
+
+/**
+ * (기숙사, ISO 주) 별 월요일부터 일요일까지의 식단을 보관하는 캐시입니다.
+ * 주간 식단은 범위 조회 한 번으로 읽고, 식단 수집으로 바뀐 기간과 겹치는 주는 {@link MealDataIngestedEvent} 를 받아 다시 만듭니다.
+ * 이벤트는 이 인스턴스의 수집만 알려주므로 항목은 ttl-seconds 가 지나면 다시 읽고,
+ * 아직 식단이 올라오지 않은 주는 저장하지 않아 식단이 들어오는 대로 보이게 합니다.
+ */
+@Slf4j
+@Component
+public class MealWeekCache {
+
+  private final MealMapper mealMapper;
+  private final Clock clock;
+  private final Cache<Week, List<MealResponse>> cache;
+
+  public MealWeekCache(MealMapper mealMapper,
+      Clock clock,
+      MeterRegistry meterRegistry,
+      @Value("${meal-week-cache.max-size:500}") long maxSize,
+      @Value("${meal-week-cache.ttl-seconds:3600}") long ttlSeconds) {
+    this.mealMapper = mealMapper;
+    this.clock = clock;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "mealWeek");
+  }
+
+  /**
+   * @param buildingNumber 기숙사 건물 번호
+   * @param date 주에 포함된 날짜
+   * @return 그 주 월요일부터 일요일까지의 식단 (날짜, 끼니 순)
+   */
+  public List<MealResponse> get(int buildingNumber, LocalDate date) {
+    List<MealResponse> meals = cache.get(Week.of(buildingNumber, date), this::load);
+    return meals == null ? List.of() : meals;
+  }
+
+  /**
+   * 수집한 기숙사의 캐시된 주 중 바뀐 기간과 겹치는 주를 다시 읽고, 이번 주는 아직 없더라도 미리 만듭니다.
+   */
+  @EventListener
+  public void onMealDataIngested(MealDataIngestedEvent event) {
+    LocalDate thisWeek = LocalDate.now(clock).with(DayOfWeek.MONDAY);
+    for (Week week : List.copyOf(cache.asMap().keySet())) {
+      if (event.dormitoryIds().contains(week.buildingNumber()) && week.overlaps(event.from(), event.to())) {
+        reload(week);
+      }
+    }
+    for (int buildingNumber : event.dormitoryIds()) {
+      Week week = new Week(buildingNumber, thisWeek);
+      if (week.overlaps(event.from(), event.to())) {
+        reload(week);
+      }
+    }
+    log.info("Rebuilt weekly meal cache for dormitories {} ({} ~ {})", event.dormitoryIds(), event.from(), event.to());
+  }
+
+  private void reload(Week week) {
+    List<MealResponse> meals = load(week);
+    if (meals == null) {
+      cache.invalidate(week);
+    } else {
+      cache.put(week, meals);
+    }
+  }
+
+  /**
+   * @return 그 주의 식단, 없으면 캐시하지 않도록 null
+   */
+  private List<MealResponse> load(Week week) {
+    List<MealResponse> meals =
+        mealMapper.findMealsInRange(week.buildingNumber(), week.monday(), week.monday().plusDays(6));
+    return meals.isEmpty() ? null : List.copyOf(meals);
+  }
+
+  /**
+   * @param buildingNumber 기숙사 건물 번호
+   * @param monday 주의 월요일 (ISO 주의 시작)
+   */
+  private record Week(int buildingNumber, LocalDate monday) {
+
+    static Week of(int buildingNumber, LocalDate date) {
+      return new Week(buildingNumber, date.with(DayOfWeek.MONDAY));
+    }
+
+    boolean overlaps(LocalDate from, LocalDate to) {
+      return !monday.isAfter(to) && !monday.plusDays(6).isBefore(from);
+    }
+  }
+}
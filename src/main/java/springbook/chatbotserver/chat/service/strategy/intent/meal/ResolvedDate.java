@@ -0,0 +1,16 @@
+package springbook.chatbotserver.chat.service.strategy.intent.meal;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜 표현을 해석한 결과입니다.
+ *
+ * @param date 해석한 날짜
+ * @param text "yyyy-MM-dd" 형식의 날짜 문자열 (해석할 때 한 번만 만듭니다)
+ */
+public record ResolvedDate(LocalDate date, String text) {
+
+  public static ResolvedDate of(LocalDate date) {
+    return new ResolvedDate(date, date.toString());
+  }
+}
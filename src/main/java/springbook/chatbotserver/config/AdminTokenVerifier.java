@@ -0,0 +1,35 @@
+package springbook.chatbotserver.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+/**
+ * 관리용 API 의 X-Admin-Token 헤더를 검사합니다.
+ * 토큰은 chat-log.export.admin-token 으로 설정하며, 설정되지 않으면 관리용 API 는 모두 거부됩니다.
+ */
+@Component
+public class AdminTokenVerifier {
+
+  private final byte[] adminToken;
+
+  public AdminTokenVerifier(@Value("${chat-log.export.admin-token:}") String adminToken) {
+    this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param token 요청의 X-Admin-Token 헤더 값
+   * @throws CustomException 토큰이 설정되지 않았거나 일치하지 않으면 INVALID_ADMIN_TOKEN
+   */
+  public void verify(String token) {
+    if (adminToken.length == 0 || token == null
+        || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+      throw new CustomException(ErrorCode.INVALID_ADMIN_TOKEN);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package springbook.chatbotserver.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 전략 클래스의 {@code @Cacheable} 캐시를 Caffeine 으로 구성합니다.
+ * 캐시마다 최대 크기와 만료 시간을 따로 두어 임의의 입력으로 힙이 계속 커지지 않도록 하고,
+ * 통계를 기록하여 Spring Boot 가 cache.gets, cache.evictions 등의 지표를 Prometheus 로 노출하도록 합니다.
+ */
+@Configuration
+@EnableConfigurationProperties(StrategyCacheProperties.class)
+public class CacheConfig {
+
+  @Bean
+  public CacheManager cacheManager(StrategyCacheProperties properties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setAllowNullValues(false);
+    cacheManager.setCaffeine(Caffeine.from(properties.defaultSpec()).recordStats());
+    for (Map.Entry<String, String> spec : properties.specs().entrySet()) {
+      cacheManager.registerCustomCache(spec.getKey(),
+          Caffeine.from(spec.getValue()).recordStats().build());
+    }
+    return cacheManager;
+  }
+}
@@ -0,0 +1,50 @@
+package springbook.chatbotserver.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import springbook.chatbotserver.chat.model.repository.BucketChatLogStore;
+import springbook.chatbotserver.chat.model.repository.ChatLogRepository;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.model.repository.DocumentChatLogStore;
+import springbook.chatbotserver.chat.model.repository.TurnChatLogStore;
+
+/**
+ * 채팅 로그 저장 방식을 선택합니다.
+ * chat-log.storage.mode 가 bucket 이면 디바이스/날짜별 버킷 문서에, turn 이면 대화 턴별 문서에, 그 밖에는 메시지별 문서에 저장합니다.
+ * 버킷 저장소는 모드와 관계없이 등록되어 마이그레이션 작업에서 사용합니다.
+ */
+@Slf4j
+@Configuration
+public class ChatLogStoreConfig {
+
+  @Bean
+  public BucketChatLogStore bucketChatLogStore(MongoTemplate mongoTemplate,
+      @Value("${chat-log.storage.bucket.max-size:200}") int maxBucketSize) {
+    return new BucketChatLogStore(mongoTemplate, maxBucketSize);
+  }
+
+  @Bean
+  @Primary
+  public ChatLogStore chatLogStore(@Value("${chat-log.storage.mode:document}") String mode,
+      ChatLogRepository chatLogRepository,
+      MongoTemplate mongoTemplate,
+      BucketChatLogStore bucketChatLogStore,
+      @Value("${chat-log.turn.max-duration-ms:60000}") long maxTurnDurationMs) {
+    if ("bucket".equalsIgnoreCase(mode)) {
+      log.info("Chat logs are stored in per-device daily buckets");
+      return bucketChatLogStore;
+    }
+    if ("turn".equalsIgnoreCase(mode)) {
+      log.info("Chat logs are stored as one document per conversation turn");
+      return new TurnChatLogStore(mongoTemplate, Duration.ofMillis(maxTurnDurationMs));
+    }
+    return new DocumentChatLogStore(chatLogRepository, mongoTemplate);
+  }
+}
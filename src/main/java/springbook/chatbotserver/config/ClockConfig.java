@@ -0,0 +1,19 @@
+package springbook.chatbotserver.config;
+
+import java.time.Clock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 날짜 해석과 식단 캐시가 "오늘" 을 구할 때 쓰는 시계를 등록합니다.
+ * 테스트에서는 고정된 시계를 넣어 날짜가 바뀌는 경우를 재현합니다.
+ */
+@Configuration
+public class ClockConfig {
+
+  @Bean
+  public Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+}
@@ -0,0 +1,12 @@
+package springbook.chatbotserver.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 시설 위치 질의 인텐트 설정을 등록합니다.
+ */
+@Configuration
+@EnableConfigurationProperties(FacilityIntentProperties.class)
+public class FacilityIntentConfig {
+}
@@ -0,0 +1,32 @@
+package springbook.chatbotserver.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 시설 위치 질의 인텐트 설정입니다.
+ * 인텐트마다 전략 클래스를 만들지 않고, 여기에 선언한 인텐트를 시설 엔진이 처리합니다.
+ *
+ * @param intents 시설 유형별 인텐트 목록
+ */
+@ConfigurationProperties(prefix = "facility")
+public record FacilityIntentProperties(List<Intent> intents) {
+
+  public FacilityIntentProperties {
+    intents = intents == null ? List.of() : List.copyOf(intents);
+  }
+
+  /**
+   * @param intent Rasa 인텐트 이름
+   * @param type 시설 유형 (facilities.facility_type)
+   * @param subject 응답 머리말에 들어갈 시설 이름과 조사 (예: "ATM이", "카페가")
+   * @param synonyms 기본 동의어 (facility_synonyms 사전이 없거나 비어 있어도 인식할 이름)
+   */
+  public record Intent(String intent, String type, String subject, List<String> synonyms) {
+
+    public Intent {
+      synonyms = synonyms == null ? List.of() : List.copyOf(synonyms);
+    }
+  }
+}
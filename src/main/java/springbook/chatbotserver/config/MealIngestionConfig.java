@@ -0,0 +1,12 @@
+package springbook.chatbotserver.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 기숙사 식단 수집 설정을 등록합니다.
+ */
+@Configuration
+@EnableConfigurationProperties(MealIngestionProperties.class)
+public class MealIngestionConfig {
+}
@@ -0,0 +1,49 @@
+package springbook.chatbotserver.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 기숙사 식단 수집 설정입니다.
+ *
+ * @param enabled 수집 작업 사용 여부
+ * @param mode diff 면 바뀐 끼니만 현재 버전에 반영하고, reload 면 새 버전에 식단 전체를 쓴 뒤 버전을 바꿉니다.
+ * @param timeoutMs 페이지 하나를 받아오는 제한 시간
+ * @param parallelism 동시에 받아오는 기숙사 페이지 수
+ * @param batchSize 다중 행 INSERT/DELETE 한 번에 담는 최대 행 수
+ * @param userAgent 요청에 사용할 User-Agent
+ * @param dormitories 수집할 기숙사 식단 페이지 목록
+ */
+@ConfigurationProperties(prefix = "meal-ingestion")
+public record MealIngestionProperties(boolean enabled,
+    String mode,
+    int timeoutMs,
+    int parallelism,
+    int batchSize,
+    String userAgent,
+    List<Dormitory> dormitories) {
+
+  public MealIngestionProperties {
+    mode = mode == null || mode.isBlank() ? "diff" : mode;
+    timeoutMs = timeoutMs <= 0 ? 10000 : timeoutMs;
+    parallelism = parallelism <= 0 ? 4 : parallelism;
+    batchSize = batchSize <= 0 ? 500 : batchSize;
+    if (userAgent == null || userAgent.isBlank()) {
+      userAgent = "Mozilla/5.0 (compatible; chatbot-server meal-ingestion)";
+    }
+    dormitories = dormitories == null ? List.of() : List.copyOf(dormitories);
+  }
+
+  public boolean reload() {
+    return "reload".equalsIgnoreCase(mode);
+  }
+
+  /**
+   * @param buildingNumber 기숙사 건물 번호 (meal.dormitory_id)
+   * @param name 로그에 표시할 기숙사 이름
+   * @param url 주간 식단표 페이지 주소
+   */
+  public record Dormitory(int buildingNumber, String name, String url) {
+  }
+}
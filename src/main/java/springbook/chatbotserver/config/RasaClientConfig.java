@@ -0,0 +1,192 @@
+package springbook.chatbotserver.config;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import springbook.chatbotserver.chat.service.rasa.RequestAbortHandle;
+
+/**
+ * Rasa 서버 호출에 사용하는 HTTP 클라이언트 설정입니다.
+ * /model/parse 호출과 헬스체크 호출이 서로의 커넥션을 점유하지 않도록 풀을 분리하고,
+ * 각 풀의 leased/pending/available 커넥션 수를 Micrometer 로 노출합니다.
+ * /model/parse 호출을 감싸는 circuit breaker 도 이곳에서 구성합니다.
+ */
+@Configuration
+public class RasaClientConfig {
+
+  @Value("${rasa.client.max-total:100}")
+  private int maxTotal;
+
+  @Value("${rasa.client.max-per-route:50}")
+  private int maxPerRoute;
+
+  @Value("${rasa.client.connect-timeout-ms:1000}")
+  private long connectTimeoutMs;
+
+  @Value("${rasa.client.response-timeout-ms:3000}")
+  private long responseTimeoutMs;
+
+  @Value("${rasa.client.acquire-timeout-ms:500}")
+  private long acquireTimeoutMs;
+
+  @Value("${rasa.client.keep-alive-sec:30}")
+  private long keepAliveSec;
+
+  @Value("${rasa.client.idle-evict-sec:60}")
+  private long idleEvictSec;
+
+  @Value("${rasa.health-client.timeout-ms:1000}")
+  private long healthTimeoutMs;
+
+  @Value("${rasa.circuit-breaker.window-seconds:30}")
+  private int windowSeconds;
+
+  @Value("${rasa.circuit-breaker.minimum-calls:20}")
+  private int minimumCalls;
+
+  @Value("${rasa.circuit-breaker.failure-rate-threshold:50}")
+  private float failureRateThreshold;
+
+  @Value("${rasa.circuit-breaker.slow-call-rate-threshold:80}")
+  private float slowCallRateThreshold;
+
+  @Value("${rasa.circuit-breaker.slow-call-ms:2000}")
+  private long slowCallMs;
+
+  @Value("${rasa.circuit-breaker.open-seconds:10}")
+  private long openSeconds;
+
+  @Value("${rasa.circuit-breaker.half-open-calls:5}")
+  private int halfOpenCalls;
+
+  @Bean
+  public PoolingHttpClientConnectionManager rasaConnectionManager(MeterRegistry meterRegistry) {
+    PoolingHttpClientConnectionManager connectionManager =
+        connectionManager(maxTotal, maxPerRoute, connectTimeoutMs, responseTimeoutMs);
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "rasa").bindTo(meterRegistry);
+    return connectionManager;
+  }
+
+  @Bean
+  public PoolingHttpClientConnectionManager rasaHealthConnectionManager(MeterRegistry meterRegistry) {
+    PoolingHttpClientConnectionManager connectionManager =
+        connectionManager(2, 2, healthTimeoutMs, healthTimeoutMs);
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "rasa-health").bindTo(meterRegistry);
+    return connectionManager;
+  }
+
+  @Bean
+  public CloseableHttpClient rasaHttpClient(
+      @Qualifier("rasaConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+    return httpClient(connectionManager, acquireTimeoutMs, responseTimeoutMs);
+  }
+
+  @Bean
+  public CloseableHttpClient rasaHealthHttpClient(
+      @Qualifier("rasaHealthConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+    return httpClient(connectionManager, healthTimeoutMs, healthTimeoutMs);
+  }
+
+  /**
+   * /model/parse 호출 전용 RestTemplate 입니다.
+   * hedge 에서 진 요청을 중단할 수 있도록 만든 요청을 {@link RequestAbortHandle} 에 등록합니다.
+   */
+  @Bean
+  public RestTemplate rasaRestTemplate(@Qualifier("rasaHttpClient") CloseableHttpClient httpClient) {
+    return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient) {
+      @Override
+      protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+        ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+        if (request instanceof Cancellable cancellable) {
+          RequestAbortHandle.register(cancellable);
+        }
+        return request;
+      }
+    });
+  }
+
+  /**
+   * 헬스체크 전용 RestTemplate 입니다.
+   * 짧은 타임아웃을 사용하여 Rasa 가 응답하지 않아도 헬스체크가 오래 대기하지 않습니다.
+   */
+  @Bean
+  public RestTemplate rasaHealthRestTemplate(@Qualifier("rasaHealthHttpClient") CloseableHttpClient httpClient) {
+    return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+  }
+
+  /**
+   * 최근 windowSeconds 동안의 실패율과 느린 호출 비율이 임계치를 넘으면 열리는 circuit breaker 입니다.
+   * 열린 뒤 openSeconds 가 지나면 half-open 상태로 전환되어 halfOpenCalls 개의 요청으로 회복 여부를 확인합니다.
+   * RasaClient 는 재시도마다 이 breaker 를 거치며, 4xx 응답은 Rasa 의 장애가 아니므로 성공과 실패 어느 쪽으로도 세지 않습니다.
+   */
+  @Bean
+  public CircuitBreaker rasaCircuitBreaker(MeterRegistry meterRegistry) {
+    CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+        .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.TIME_BASED)
+        .slidingWindowSize(windowSeconds)
+        .minimumNumberOfCalls(minimumCalls)
+        .failureRateThreshold(failureRateThreshold)
+        .slowCallRateThreshold(slowCallRateThreshold)
+        .slowCallDurationThreshold(Duration.ofMillis(slowCallMs))
+        .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+        .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+        .automaticTransitionFromOpenToHalfOpenEnabled(true)
+        .ignoreExceptions(HttpClientErrorException.class)
+        .build();
+    CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    return registry.circuitBreaker("rasa");
+  }
+
+  private PoolingHttpClientConnectionManager connectionManager(int total, int perRoute,
+      long connectTimeout, long socketTimeout) {
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(total)
+        .setMaxConnPerRoute(perRoute)
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+            .setSocketTimeout(Timeout.ofMilliseconds(socketTimeout))
+            .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+            .build())
+        .build();
+  }
+
+  private CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+      long acquireTimeout, long responseTimeout) {
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeout))
+            .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout))
+            .build())
+        .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSec))
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofSeconds(idleEvictSec))
+        .build();
+  }
+}
@@ -0,0 +1,23 @@
+package springbook.chatbotserver.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 전략 응답 캐시의 이름별 Caffeine 설정입니다.
+ * 값은 Caffeine spec 문자열(예: "maximumSize=1000,expireAfterWrite=1h")입니다.
+ *
+ * @param defaultSpec specs 에 없는 캐시에 적용할 설정
+ * @param specs 캐시 이름별 설정
+ */
+@ConfigurationProperties(prefix = "strategy-cache")
+public record StrategyCacheProperties(String defaultSpec, Map<String, String> specs) {
+
+  public StrategyCacheProperties {
+    if (defaultSpec == null || defaultSpec.isBlank()) {
+      defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+    }
+    specs = specs == null ? Map.of() : Map.copyOf(specs);
+  }
+}
@@ -15,6 +15,14 @@ public enum ErrorCode {
   // 400 Bad Request
   INVALID_ROOM_NUMBER(HttpStatus.BAD_REQUEST, 1000, "강의실 번호가 올바르지 않습니다. 다시 입력해주세요."),
   INVALID_date(HttpStatus.BAD_REQUEST, 1001, "날짜 형식이 올바르지 않습니다. ex) 월요일, 오늘, 6월 13일 등"),
+  INVALID_CURSOR(HttpStatus.BAD_REQUEST, 1010, "페이지 커서가 올바르지 않습니다."),
+  INVALID_DATE_RANGE(HttpStatus.BAD_REQUEST, 1012, "조회 기간이 올바르지 않습니다."),
+  // 403 Forbidden
+  INVALID_ADMIN_TOKEN(HttpStatus.FORBIDDEN, 1011, "관리자 인증에 실패했습니다."),
+  // 409 Conflict
+  MIGRATION_NOT_ALLOWED(HttpStatus.CONFLICT, 1013, "버킷 저장 방식으로 운영 중에는 전체 마이그레이션을 실행할 수 없습니다."),
+  // 429 Too Many Requests
+  ARCHIVE_READ_BUSY(HttpStatus.TOO_MANY_REQUESTS, 1014, "아카이브 조회 요청이 많습니다. 잠시 후 다시 시도해주세요."),
   // 404 Not Found
   FACILITY_NOT_FOUND(HttpStatus.NOT_FOUND, 1002, "해당 시설은 존재하지 않습니다. 다시 입력해주세요."),
   DEPARTMENT_NOT_FOUND(HttpStatus.NOT_FOUND, 1003, "해당 학과는 존재하지 않습니다. 다시 입력해주세요."),
@@ -29,7 +37,9 @@ public enum ErrorCode {
   RASA_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, 5001, "Rasa 서버와의 통신 중 오류가 발생했습니다."),
   FAILED_CRAWLING(HttpStatus.INTERNAL_SERVER_ERROR, 5002, "크롤링에 실패했습니다."),
   // 504 Gateway Timeout
-  CONNECTION_TIMEOUT(HttpStatus.INTERNAL_SERVER_ERROR, 5003, "사용자가 너무 많아서 요청을 처리하지 못하고 있습니다. 잠시 후 다시 시도해주세요.");
+  CONNECTION_TIMEOUT(HttpStatus.INTERNAL_SERVER_ERROR, 5003, "사용자가 너무 많아서 요청을 처리하지 못하고 있습니다. 잠시 후 다시 시도해주세요."),
+  // 503 Service Unavailable
+  RASA_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, 5004, "챗봇 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.");
 
   private final HttpStatus status;
   private final int subCode;
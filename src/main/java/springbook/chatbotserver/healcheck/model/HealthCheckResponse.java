@@ -1,8 +1,18 @@
 package springbook.chatbotserver.healcheck.model;
 
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * 서버의 헬스 체크 응답을 나타내는 DTO 클래스입니다.
  * @param status
+ * @param details 구성 요소별 부가 정보 (circuit breaker 상태 등), 없으면 응답에서 생략됩니다.
  */
-public record HealthCheckResponse(HealthStatus status) {
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record HealthCheckResponse(HealthStatus status, Map<String, Object> details) {
+
+  public HealthCheckResponse(HealthStatus status) {
+    this(status, Map.of());
+  }
 }
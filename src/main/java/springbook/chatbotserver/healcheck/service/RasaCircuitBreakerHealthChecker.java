@@ -0,0 +1,48 @@
+package springbook.chatbotserver.healcheck.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import springbook.chatbotserver.healcheck.model.HealthCheckResponse;
+import springbook.chatbotserver.healcheck.model.HealthStatus;
+
+/**
+ * RasaCircuitBreakerHealthChecker는 Rasa 호출을 감싸는 circuit breaker 의 상태를 보여주는 서비스입니다.
+ * circuit 이 열려 있으면 DOWN 을 반환하고, 현재 상태와 실패율 등을 details 로 함께 반환합니다.
+ */
+@Service
+public class RasaCircuitBreakerHealthChecker implements HealthChecker {
+
+  private final CircuitBreaker circuitBreaker;
+
+  public RasaCircuitBreakerHealthChecker(@Qualifier("rasaCircuitBreaker") CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  @Override
+  public HealthCheckResponse checkHealth() {
+    CircuitBreaker.State state = circuitBreaker.getState();
+    CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+
+    Map<String, Object> details = new LinkedHashMap<>();
+    details.put("state", state.name());
+    details.put("failureRate", metrics.getFailureRate());
+    details.put("slowCallRate", metrics.getSlowCallRate());
+    details.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+    details.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+
+    HealthStatus status = state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN
+        ? HealthStatus.DOWN
+        : HealthStatus.UP;
+    return new HealthCheckResponse(status, details);
+  }
+
+  @Override
+  public String target() {
+    return "RasaCircuitBreaker";
+  }
+}
@@ -1,42 +1,130 @@
 package springbook.chatbotserver.healcheck.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import springbook.chatbotserver.chat.service.rasa.RasaEndpointBalancer;
+import springbook.chatbotserver.chat.service.rasa.RasaModelChangedEvent;
+import springbook.chatbotserver.chat.service.rasa.RasaReplica;
 import springbook.chatbotserver.healcheck.model.HealthCheckResponse;
 import springbook.chatbotserver.healcheck.model.HealthStatus;
 
 /**
  * RasaHealthChecker는 Rasa 서버의 건강 상태를 확인하는 서비스입니다.
- * Rasa 서버의 버전 정보를 요청하여 상태를 체크하고, 결과를 HealthCheckResponse로 반환합니다.
+ * 설정된 replica 마다 버전 정보를 요청하여 상태를 체크하고, 결과를 HealthCheckResponse로 반환합니다.
+ * 하나라도 응답하면 요청을 처리할 수 있으므로 UP 이며, 응답하지 않은 replica 는 details 에서 up=false 로 보입니다.
+ * 또한 주기적으로 replica 마다 로드된 모델 버전을 확인하여, 바뀐 경우 {@link RasaModelChangedEvent} 를 발행합니다.
+ * 응답의 details 에는 replica 별 응답 여부, 진행 중 요청 수, 제외 여부, p95/p99 지연시간이 포함됩니다.
  */
 @Service
 public class RasaHealthChecker implements HealthChecker {
 
   private final RestTemplate restTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final RasaEndpointBalancer balancer;
+  /** replica 주소별 마지막으로 확인한 모델 버전 */
+  private final Map<String, String> modelVersions = new ConcurrentHashMap<>();
 
-  @Value("${IP}")
-  private String ip;
-
-  public RasaHealthChecker(RestTemplate restTemplate) {
+  public RasaHealthChecker(@Qualifier("rasaHealthRestTemplate") RestTemplate restTemplate,
+      ApplicationEventPublisher eventPublisher,
+      RasaEndpointBalancer balancer) {
     this.restTemplate = restTemplate;
+    this.eventPublisher = eventPublisher;
+    this.balancer = balancer;
   }
 
   @Override
   public HealthCheckResponse checkHealth() {
+    Map<String, Boolean> up = new LinkedHashMap<>();
+    for (RasaReplica replica : balancer.replicas()) {
+      up.put(replica.getUrl(), isUp(baseUrl(replica)));
+    }
+    HealthStatus status = up.containsValue(true) ? HealthStatus.UP : HealthStatus.DOWN;
+    return new HealthCheckResponse(status, replicaDetails(up));
+  }
 
-    String url = "http://" + ip + ":5005/version";
-    HealthCheckResponse response = restTemplate.getForObject(url, HealthCheckResponse.class);
-
-    if (response == null) {
-      return new HealthCheckResponse(HealthStatus.DOWN);
+  private boolean isUp(String baseUrl) {
+    try {
+      return restTemplate.getForObject(baseUrl + "/version", Map.class) != null;
+    } catch (Exception e) {
+      return false;
     }
-    return new HealthCheckResponse(HealthStatus.UP);
   }
 
   @Override
   public String target() {
     return "Rasa";
   }
+
+  /**
+   * replica 마다 /version 과 /status 를 조회하여 모델 버전이 바뀌었는지 확인합니다.
+   * 모델 버전은 Rasa 버전과 로드된 모델 파일명을 합친 값이며, replica 를 하나씩 배포하면 replica 마다 한 번씩 발행됩니다.
+   */
+  @Scheduled(fixedDelayString = "${rasa.model-watch.interval-ms:30000}")
+  public void watchModelVersion() {
+    for (RasaReplica replica : balancer.replicas()) {
+      String current = fetchModelVersion(baseUrl(replica));
+      if (current == null) {
+        continue;
+      }
+      String previous = modelVersions.put(replica.getUrl(), current);
+      if (previous != null && !previous.equals(current)) {
+        eventPublisher.publishEvent(new RasaModelChangedEvent(previous, current));
+      }
+    }
+  }
+
+  private String fetchModelVersion(String baseUrl) {
+    try {
+      Map<?, ?> version = restTemplate.getForObject(baseUrl + "/version", Map.class);
+      if (version == null) {
+        return null;
+      }
+      return version.get("version") + "/" + fetchModelFile(baseUrl);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private Object fetchModelFile(String baseUrl) {
+    try {
+      Map<?, ?> status = restTemplate.getForObject(baseUrl + "/status", Map.class);
+      return status == null ? "" : status.get("model_file");
+    } catch (Exception e) {
+      // /status 는 토큰 인증이 걸려 있을 수 있으므로 실패해도 Rasa 버전만으로 비교합니다.
+      return "";
+    }
+  }
+
+  private Map<String, Object> replicaDetails(Map<String, Boolean> up) {
+    long now = System.nanoTime();
+    Map<String, Object> details = new LinkedHashMap<>();
+    for (RasaReplica replica : balancer.replicas()) {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("up", up.get(replica.getUrl()));
+      stats.put("outstanding", replica.outstanding());
+      stats.put("ejected", replica.isEjected(now));
+      stats.put("count", replica.count());
+      stats.put("p95Ms", replica.p95Millis());
+      stats.put("p99Ms", replica.p99Millis());
+      details.put(replica.getUrl(), stats);
+    }
+    return details;
+  }
+
+  /**
+   * replica 주소(예: http://rasa-1:5005/model/parse)에서 경로를 뺀 서버 주소를 구합니다.
+   */
+  private static String baseUrl(RasaReplica replica) {
+    URI uri = URI.create(replica.getUrl());
+    return uri.getScheme() + "://" + uri.getRawAuthority();
+  }
 }
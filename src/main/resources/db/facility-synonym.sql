@@ -0,0 +1,22 @@
+-- 시설 이름 동의어 사전 (MariaDB)
+-- 시설 질의의 엔티티 값을 시설 유형(facilities.facility_type)으로 바꿀 때 사용합니다.
+-- 사용자가 부르는 이름이 늘면 행만 추가하면 되고, 캠퍼스 디렉터리를 다시 읽을 때 반영됩니다.
+-- 새 시설 유형의 인텐트는 application.yml 의 facility.intents 에 추가합니다.
+-- 아래 기본 동의어는 facility.intents 의 synonyms 에도 있으므로, 이 테이블이 없어도 시설 질의에는 응답합니다.
+
+CREATE TABLE facility_synonyms (
+    synonym       VARCHAR(50) PRIMARY KEY,
+    facility_type VARCHAR(50) NOT NULL
+);
+
+INSERT INTO facility_synonyms (synonym, facility_type) VALUES
+    ('ATM', 'atm'),
+    ('현금인출기', 'atm'),
+    ('카페', 'cafe'),
+    ('교내카페', 'cafe'),
+    ('복사기', 'copier'),
+    ('프린터기', 'copier'),
+    ('매점', 'store'),
+    ('교내매점', 'store'),
+    ('편의점', 'convenience_store'),
+    ('교내편의점', 'convenience_store');
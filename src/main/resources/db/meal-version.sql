@@ -0,0 +1,29 @@
+-- 식단 버전 전환을 위한 스키마 변경 (MariaDB)
+-- 조회는 meal_data_version.current_version 과 같은 버전의 식단만 읽습니다.
+-- 전체 다시 읽기(meal-ingestion.mode: reload)는 새 버전에 식단을 모두 쓴 뒤 current_version 한 행만 바꾸고, 이전 버전을 나눠 지웁니다.
+-- 애플리케이션이 실행하지 않으므로, 이 버전을 배포하기 전에 DB 관리자가 한 번 실행합니다.
+-- 실수로 다시 실행해도 결과가 같도록 모든 문장은 IF NOT EXISTS / INSERT IGNORE 로 작성되어 있습니다.
+
+ALTER TABLE meal ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 1;
+
+-- 이전 버전에서 복사한 식단의 원본 meal ID (메뉴를 원본 식단 ID 로 정확히 옮기기 위해 사용)
+ALTER TABLE meal ADD COLUMN IF NOT EXISTS copied_from INT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_meal_version_dormitory_date ON meal (version, dormitory_id, meal_date);
+
+CREATE TABLE IF NOT EXISTS meal_data_version (
+    id              TINYINT PRIMARY KEY,
+    current_version INT NOT NULL
+);
+
+INSERT IGNORE INTO meal_data_version (id, current_version) VALUES (1, 1);
+
+-- 여러 인스턴스 중 한 곳에서만 식단 수집을 실행하기 위한 잠금 (locked_until 이 지났을 때만 잡을 수 있음)
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name         VARCHAR(64) PRIMARY KEY,
+    locked_until DATETIME(3) NOT NULL,
+    locked_at    DATETIME(3) NULL,
+    locked_by    VARCHAR(255) NULL
+);
+
+INSERT IGNORE INTO scheduler_lock (name, locked_until) VALUES ('meal-ingestion', NOW(3));
@@ -0,0 +1,167 @@
+package springbook.chatbotserver;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatLogBucket;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.repository.BucketChatLogStore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BucketChatLogStoreTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final BucketChatLogStore store = new BucketChatLogStore(mongoTemplate, 2);
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0, 0);
+
+    @Test
+    @DisplayName("디바이스/날짜별로 묶어 여유가 있는 버킷에 upsert 하고, 버킷 크기를 넘으면 나누어 넣는다")
+    void insertAll_UpsertsPerDeviceAndDay() {
+        // given
+        given(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(ChatLogBucket.class)))
+                .willReturn(bulkOperations);
+        List<ChatLog> logs = List.of(
+                log("000000000000000000000001", base),
+                log("000000000000000000000002", base.plusSeconds(1)),
+                log("000000000000000000000003", base.plusSeconds(2)),
+                log("000000000000000000000004", base.plusDays(1)));
+
+        // when
+        store.insertAll(logs);
+
+        // then
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(bulkOperations, times(3)).upsert(queries.capture(), updates.capture());
+        verify(bulkOperations).execute();
+
+        Document first = queries.getAllValues().get(0).getQueryObject();
+        assertThat(first.get("deviceId")).isEqualTo("device");
+        assertThat(first.get("day")).isEqualTo("2025-05-15");
+        assertThat(first.get("count", Document.class).get("$lte")).isEqualTo(0);
+        assertThat(queries.getAllValues().get(1).getQueryObject().get("count", Document.class).get("$lte")).isEqualTo(1);
+        assertThat(queries.getAllValues().get(2).getQueryObject().get("day")).isEqualTo("2025-05-16");
+        assertThat(updates.getAllValues().get(0).getUpdateObject().get("$inc", Document.class).get("count")).isEqualTo(2);
+        assertThat(updates.getAllValues().get(0).modifies("messages")).isTrue();
+    }
+
+    @Test
+    @DisplayName("다시 저장할 때는 이미 버킷에 있는 메시지를 빼고 나머지만 이어 붙인다")
+    void insertMissing_SkipsMessagesAlreadyInBuckets() {
+        // given
+        given(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(ChatLogBucket.class)))
+                .willReturn(bulkOperations);
+        given(mongoTemplate.find(any(Query.class), eq(ChatLogBucket.class))).willReturn(List.of(
+                bucket("2025-05-15", log("000000000000000000000001", base))));
+        List<ChatLog> logs = List.of(
+                log("000000000000000000000001", base),
+                log("000000000000000000000002", base.plusSeconds(1)));
+
+        // when
+        int inserted = store.insertMissing(logs);
+
+        // then
+        assertThat(inserted).isEqualTo(1);
+        ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(bulkOperations).upsert(any(Query.class), updates.capture());
+        assertThat(updates.getValue().getUpdateObject().get("$inc", Document.class).get("count")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("모두 이미 저장된 메시지면 아무것도 쓰지 않는다")
+    void insertMissing_WritesNothing_WhenAllStored() {
+        // given
+        given(mongoTemplate.find(any(Query.class), eq(ChatLogBucket.class))).willReturn(List.of(
+                bucket("2025-05-15", log("000000000000000000000001", base))));
+
+        // when
+        int inserted = store.insertMissing(List.of(log("000000000000000000000001", base)));
+
+        // then
+        assertThat(inserted).isZero();
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(ChatLogBucket.class));
+    }
+
+    @Test
+    @DisplayName("같은 날짜의 버킷은 합쳐서 최신순으로 정렬하고 커서보다 오래된 메시지만 반환한다")
+    void findPage_MergesBucketsOfSameDay() {
+        // given
+        ChatLogBucket today1 = bucket("2025-05-15",
+                log("000000000000000000000001", base),
+                log("000000000000000000000003", base.plusSeconds(2)));
+        ChatLogBucket today2 = bucket("2025-05-15",
+                log("000000000000000000000002", base.plusSeconds(1)),
+                log("000000000000000000000004", base.plusSeconds(3)));
+        ChatLogBucket yesterday = bucket("2025-05-14",
+                log("000000000000000000000000", base.minusDays(1)));
+        given(mongoTemplate.stream(any(Query.class), eq(ChatLogBucket.class)))
+                .willReturn(Stream.of(today1, today2, yesterday));
+        ChatLogCursor cursor = new ChatLogCursor(base.plusSeconds(3), "000000000000000000000004");
+
+        // when
+        List<ChatLog> page = store.findPage("device", cursor, 2);
+
+        // then
+        assertThat(page).extracting(ChatLog::getId)
+                .containsExactly("000000000000000000000003", "000000000000000000000002");
+        assertThat(page.get(0).getDeviceId()).isEqualTo("device");
+    }
+
+    @Test
+    @DisplayName("전체 기록은 버킷을 펼쳐 오래된 순으로 반환한다")
+    void findHistory_FlattensBucketsOldestFirst() {
+        // given
+        given(mongoTemplate.find(any(Query.class), eq(ChatLogBucket.class))).willReturn(List.of(
+                bucket("2025-05-15",
+                        log("000000000000000000000002", base.plusSeconds(1)),
+                        log("000000000000000000000001", base)),
+                bucket("2025-05-16",
+                        log("000000000000000000000003", base.plusDays(1)))));
+
+        // when
+        List<ChatLog> history = store.findHistory("device");
+
+        // then
+        assertThat(history).extracting(ChatLog::getId).containsExactly(
+                "000000000000000000000001", "000000000000000000000002", "000000000000000000000003");
+    }
+
+    private ChatLogBucket bucket(String day, ChatLog... logs) {
+        return ChatLogBucket.builder()
+                .deviceId("device")
+                .day(day)
+                .count(logs.length)
+                .messages(Stream.of(logs).map(ChatLogBucket.Message::from).toList())
+                .build();
+    }
+
+    private ChatLog log(String id, LocalDateTime timestamp) {
+        return ChatLog.builder()
+                .id(id)
+                .deviceId("device")
+                .timestamp(timestamp)
+                .messageType("user")
+                .text("message " + id)
+                .build();
+    }
+}
@@ -0,0 +1,253 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import springbook.chatbotserver.chat.model.domain.Building;
+import springbook.chatbotserver.chat.model.domain.Department;
+import springbook.chatbotserver.chat.model.domain.Facility;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.model.domain.Professor;
+import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
+import springbook.chatbotserver.chat.model.mapper.DepartmentMapper;
+import springbook.chatbotserver.chat.model.mapper.FacilityMapper;
+import springbook.chatbotserver.chat.model.mapper.ProfessorMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.directory.DirectoryRefreshedEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CampusDirectoryTest {
+
+    private final BuildingMapper buildingMapper = mock(BuildingMapper.class);
+    private final DepartmentMapper departmentMapper = mock(DepartmentMapper.class);
+    private final ProfessorMapper professorMapper = mock(ProfessorMapper.class);
+    private final FacilityMapper facilityMapper = mock(FacilityMapper.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private CampusDirectory campusDirectory;
+
+    @BeforeEach
+    void setUp() {
+        given(buildingMapper.findAll()).willReturn(List.of(building(24, "융합과학관")));
+        given(departmentMapper.findAll()).willReturn(List.of(department("컴퓨터공학과", 24)));
+        given(professorMapper.findAll()).willReturn(List.of(professor("홍길동", "융합과학관", "24208")));
+        given(facilityMapper.findAll()).willReturn(List.of(facility("atm", "학생회관")));
+
+        campusDirectory = new CampusDirectory(buildingMapper, departmentMapper, professorMapper, facilityMapper,
+                eventPublisher, new SimpleMeterRegistry(), 100, 0, 0);
+        campusDirectory.refresh();
+    }
+
+    @Test
+    @DisplayName("불러온 스냅샷에서 건물, 학과, 교수, 시설을 조회한다")
+    void find_ReadsFromSnapshot() {
+        // then
+        assertThat(campusDirectory.findBuilding(24).getName()).isEqualTo("융합과학관");
+        assertThat(campusDirectory.findBuilding(99)).isNull();
+        assertThat(campusDirectory.findBuildingNumber("융합과학관")).isEqualTo(24);
+        assertThat(campusDirectory.findBuildingOfDepartment("컴퓨터공학과").getName()).isEqualTo("융합과학관");
+        assertThat(campusDirectory.findProfessor("홍길동").getOffice()).isEqualTo("24208");
+        assertThat(campusDirectory.findFacilities("atm")).hasSize(1);
+        assertThat(campusDirectory.findFacilities("cafe")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("DB 조회처럼 대소문자와 공백이 달라도 같은 이름으로 찾는다")
+    void find_IgnoresCaseAndWhitespace() {
+        // then
+        assertThat(campusDirectory.findBuildingNumber("융합 과학관")).isEqualTo(24);
+        assertThat(campusDirectory.findBuildingOfDepartment("컴퓨터 공학과 ").getName()).isEqualTo("융합과학관");
+        assertThat(campusDirectory.findProfessor(" 홍길동").getOffice()).isEqualTo("24208");
+        assertThat(campusDirectory.findFacilities("ATM")).hasSize(1);
+        assertThat(campusDirectory.departmentNames()).containsExactly("컴퓨터공학과");
+    }
+
+    @Test
+    @DisplayName("오타를 교정하면 교정한 이름과 같은 스냅샷에서 찾은 값을 함께 반환한다")
+    void correct_ReturnsNameWithValueFromSameSnapshot() {
+        // then
+        assertThat(campusDirectory.correctProfessor("홍길둥")).get()
+                .extracting(correction -> correction.value().getOffice()).isEqualTo("24208");
+        assertThat(campusDirectory.correctDepartment("컴퓨터공학가")).get()
+                .extracting(CampusDirectory.Correction::name).isEqualTo("컴퓨터공학과");
+        assertThat(campusDirectory.correctBuilding("융합과학곤")).get()
+                .extracting(CampusDirectory.Correction::value).isEqualTo(24);
+        assertThat(campusDirectory.correctProfessor("없는사람")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("교정하지 못한 이름은 같은 스냅샷에서 다시 교정하지 않고, 스냅샷이 바뀌면 다시 교정한다")
+    void correct_RemembersMissesUntilSnapshotChanges() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CampusDirectory directory = new CampusDirectory(buildingMapper, departmentMapper, professorMapper, facilityMapper,
+                eventPublisher, meterRegistry, 100);
+        directory.refresh();
+        assertThat(directory.correctProfessor("김철쑤")).isEmpty();
+
+        // when
+        Optional<CampusDirectory.Correction<Professor>> cached = directory.correctProfessor("김철쑤");
+        given(professorMapper.findAll()).willReturn(List.of(
+                professor("홍길동", "융합과학관", "24208"),
+                professor("김철수", "융합과학관", "24310")));
+        directory.refresh();
+        Optional<CampusDirectory.Correction<Professor>> refreshed = directory.correctProfessor("김철쑤");
+
+        // then
+        assertThat(cached).isEmpty();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "directoryFuzzyMiss").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(refreshed).get().extracting(CampusDirectory.Correction::name).isEqualTo("김철수");
+    }
+
+    @Test
+    @DisplayName("데이터가 바뀌지 않았으면 스냅샷을 교체하지 않는다")
+    void refresh_KeepsSnapshotWhenUnchanged() {
+        // when
+        boolean changed = campusDirectory.refresh();
+
+        // then
+        assertThat(changed).isFalse();
+        assertThat(campusDirectory.version()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("데이터가 바뀌면 스냅샷을 교체하고 이벤트를 발행한다")
+    void refresh_SwapsSnapshotWhenChanged() {
+        // given
+        given(professorMapper.findAll()).willReturn(List.of(
+                professor("홍길동", "융합과학관", "24208"),
+                professor("김철수", "융합과학관", "24310")));
+
+        // when
+        boolean changed = campusDirectory.refresh();
+
+        // then
+        assertThat(changed).isTrue();
+        assertThat(campusDirectory.version()).isEqualTo(2);
+        assertThat(campusDirectory.professorNames()).containsExactlyInAnyOrder("홍길동", "김철수");
+        verify(eventPublisher).publishEvent(new DirectoryRefreshedEvent(2));
+    }
+
+    @Test
+    @DisplayName("다시 읽는 중 실패하면 기존 스냅샷을 유지한다")
+    void scheduledRefresh_KeepsSnapshotOnFailure() {
+        // given
+        given(buildingMapper.findAll()).willThrow(new IllegalStateException("db down"));
+
+        // when
+        campusDirectory.scheduledRefresh();
+
+        // then
+        assertThat(campusDirectory.version()).isEqualTo(1);
+        assertThat(campusDirectory.findBuilding(24)).isNotNull();
+        verify(eventPublisher, never()).publishEvent(new DirectoryRefreshedEvent(2));
+    }
+
+    @Test
+    @DisplayName("첫 스냅샷을 읽지 못했으면 주기 갱신을 기다리지 않고 다시 읽고, 읽은 뒤에는 다시 시도하지 않는다")
+    void retryInitialLoad_LoadsUntilFirstSnapshot() {
+        // given
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        given(buildingMapper.findAll()).willThrow(new IllegalStateException("db down"));
+        CampusDirectory directory = new CampusDirectory(buildingMapper, departmentMapper, professorMapper, facilityMapper,
+                publisher, new SimpleMeterRegistry(), 100, 0, 0);
+        directory.retryInitialLoad();
+        assertThat(directory.version()).isZero();
+
+        // when
+        willReturn(List.of(building(24, "융합과학관"))).given(buildingMapper).findAll();
+        directory.retryInitialLoad();
+        directory.retryInitialLoad();
+
+        // then
+        assertThat(directory.version()).isEqualTo(1);
+        assertThat(directory.findBuilding(24)).isNotNull();
+        verify(publisher).publishEvent(new DirectoryRefreshedEvent(1));
+    }
+
+    @Test
+    @DisplayName("시설 동의어 사전을 읽지 못해도 나머지 데이터는 반영하고 직전 사전을 유지한다")
+    void refresh_KeepsPreviousSynonyms_WhenSynonymTableFails() {
+        // given
+        given(facilityMapper.findAllSynonyms()).willReturn(List.of(synonym("현금인출기", "atm")));
+        campusDirectory.refresh();
+        given(facilityMapper.findAllSynonyms()).willThrow(new IllegalStateException("Table 'facility_synonyms' doesn't exist"));
+        given(professorMapper.findAll()).willReturn(List.of(
+                professor("홍길동", "융합과학관", "24208"),
+                professor("김철수", "융합과학관", "24310")));
+
+        // when
+        boolean changed = campusDirectory.refresh();
+
+        // then
+        assertThat(changed).isTrue();
+        assertThat(campusDirectory.professorNames()).contains("김철수");
+        assertThat(campusDirectory.facilitySynonyms()).extracting(FacilitySynonym::getSynonym).containsExactly("현금인출기");
+    }
+
+    @Test
+    @DisplayName("처음부터 시설 동의어 사전이 없어도 디렉터리를 불러온다")
+    void refresh_LoadsDirectory_WhenSynonymTableMissing() {
+        // given
+        given(facilityMapper.findAllSynonyms()).willThrow(new IllegalStateException("Table 'facility_synonyms' doesn't exist"));
+        CampusDirectory directory = new CampusDirectory(buildingMapper, departmentMapper, professorMapper, facilityMapper,
+                eventPublisher, new SimpleMeterRegistry(), 100, 0, 0);
+
+        // when
+        directory.refresh();
+
+        // then
+        assertThat(directory.findFacilities("atm")).hasSize(1);
+        assertThat(directory.facilitySynonyms()).isEmpty();
+    }
+
+    private FacilitySynonym synonym(String synonym, String facilityType) {
+        FacilitySynonym facilitySynonym = new FacilitySynonym();
+        ReflectionTestUtils.setField(facilitySynonym, "synonym", synonym);
+        ReflectionTestUtils.setField(facilitySynonym, "facilityType", facilityType);
+        return facilitySynonym;
+    }
+
+    private Building building(int number, String name) {
+        Building building = new Building();
+        ReflectionTestUtils.setField(building, "buildingNumber", number);
+        ReflectionTestUtils.setField(building, "name", name);
+        ReflectionTestUtils.setField(building, "mapUrl", "http://map.url/" + number);
+        return building;
+    }
+
+    private Department department(String name, int buildingNumber) {
+        Department department = new Department();
+        ReflectionTestUtils.setField(department, "name", name);
+        ReflectionTestUtils.setField(department, "buildingNumber", buildingNumber);
+        return department;
+    }
+
+    private Professor professor(String name, String buildingName, String office) {
+        Professor professor = new Professor();
+        ReflectionTestUtils.setField(professor, "name", name);
+        ReflectionTestUtils.setField(professor, "buildingName", buildingName);
+        ReflectionTestUtils.setField(professor, "office", office);
+        return professor;
+    }
+
+    private Facility facility(String type, String name) {
+        Facility facility = new Facility();
+        ReflectionTestUtils.setField(facility, "facilityType", type);
+        ReflectionTestUtils.setField(facility, "name", name);
+        return facility;
+    }
+}
@@ -0,0 +1,185 @@
+package springbook.chatbotserver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchive;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchiveLock;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchiver;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ChatLogArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final LocalDate day = LocalDate.of(2025, 1, 10);
+
+    @Test
+    @DisplayName("같은 날짜를 다시 아카이브하면 새 파일에 쓰고, 읽을 때 중복을 없앤다")
+    void writeAndRead_RoundTripsWithoutDuplicates() throws IOException {
+        // given
+        ChatLogArchive archive = new ChatLogArchive(objectMapper, directory.toString(), 2);
+        ChatLog first = log("1", "device", day.atTime(9, 0));
+        ChatLog second = log("2", "device", day.atTime(10, 0));
+        ChatLog other = log("3", "other", day.atTime(11, 0));
+
+        // when
+        archive.write(day, Stream.of(first, other));
+        archive.write(day, Stream.of(first, second));
+        long empty = archive.write(day.plusDays(1), Stream.empty());
+
+        // then
+        assertThat(archive.files(day)).hasSize(2);
+        assertThat(archive.files(day.plusDays(1))).isEmpty();
+        assertThat(empty).isZero();
+        List<ChatLog> read = archive.read("device", day, day.plusDays(1));
+        assertThat(read).extracting(ChatLog::getId).containsExactly("1", "2");
+        assertThat(read.get(0).getTimestamp()).isEqualTo(first.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 날짜만 아카이브한 뒤 지운다")
+    void archiveExpired_ArchivesThenDeletesExpiredDays() throws IOException {
+        // given
+        ChatLogStore chatLogStore = mock(ChatLogStore.class);
+        ChatLogArchive archive = new ChatLogArchive(objectMapper, directory.toString(), 2);
+        ChatLogArchiver archiver = new ChatLogArchiver(chatLogStore, archive, mock(ChatLogArchiveLock.class),
+                Clock.systemDefaultZone(), new SimpleMeterRegistry(), true, 30, 100);
+        LocalDate today = day.plusDays(31);
+        given(chatLogStore.oldestDay()).willReturn(day, today.minusDays(1));
+        given(chatLogStore.stream(any(ChatLogExportFilter.class), anyInt()))
+                .willReturn(Stream.of(log("1", "device", day.atTime(9, 0))));
+
+        // when
+        long archived = archiver.archiveExpired(today);
+
+        // then
+        assertThat(archived).isEqualTo(1);
+        assertThat(archive.files(day)).hasSize(1);
+        verify(chatLogStore).deleteDay(day);
+        verify(chatLogStore, never()).deleteDay(today.minusDays(1));
+    }
+
+    @Test
+    @DisplayName("아카이브 파일을 쓰지 못하면 해당 날짜를 MongoDB 에서 지우지 않는다")
+    void archiveExpired_KeepsDayWhenWriteFails() throws IOException {
+        // given
+        ChatLogStore chatLogStore = mock(ChatLogStore.class);
+        ChatLogArchive archive = mock(ChatLogArchive.class);
+        ChatLogArchiver archiver = new ChatLogArchiver(chatLogStore, archive, mock(ChatLogArchiveLock.class),
+                Clock.systemDefaultZone(), new SimpleMeterRegistry(), true, 30, 100);
+        given(chatLogStore.oldestDay()).willReturn(day);
+        given(chatLogStore.stream(any(ChatLogExportFilter.class), anyInt())).willReturn(Stream.empty());
+        given(archive.write(eq(day), any())).willThrow(new IOException("verify failed"));
+
+        // when & then
+        assertThrows(IOException.class, () -> archiver.archiveExpired(day.plusDays(31)));
+        verify(chatLogStore, never()).deleteDay(any());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 잠금을 잡고 있으면 아카이브하지 않는다")
+    void scheduledArchive_SkipsWhenLockHeldElsewhere() {
+        // given
+        ChatLogStore chatLogStore = mock(ChatLogStore.class);
+        ChatLogArchiveLock archiveLock = mock(ChatLogArchiveLock.class);
+        given(archiveLock.tryAcquire()).willReturn(false);
+        ChatLogArchiver archiver = new ChatLogArchiver(chatLogStore, mock(ChatLogArchive.class), archiveLock,
+                Clock.systemDefaultZone(), new SimpleMeterRegistry(), true, 30, 100);
+
+        // when
+        archiver.scheduledArchive();
+
+        // then
+        verify(chatLogStore, never()).oldestDay();
+        verify(archiveLock, never()).release();
+    }
+
+    @Test
+    @DisplayName("잠금을 잡은 인스턴스는 아카이브한 뒤 잠금을 푼다")
+    void scheduledArchive_ReleasesLockAfterRun() {
+        // given
+        ChatLogStore chatLogStore = mock(ChatLogStore.class);
+        ChatLogArchiveLock archiveLock = mock(ChatLogArchiveLock.class);
+        given(archiveLock.tryAcquire()).willReturn(true);
+        ChatLogArchiver archiver = new ChatLogArchiver(chatLogStore, mock(ChatLogArchive.class), archiveLock,
+                Clock.systemDefaultZone(), new SimpleMeterRegistry(), true, 30, 100);
+
+        // when
+        archiver.scheduledArchive();
+
+        // then
+        verify(chatLogStore).oldestDay();
+        verify(archiveLock).release();
+    }
+
+    @Test
+    @DisplayName("잠금 문서가 아직 유효하면 _id 중복으로 잠금을 잡지 못한다")
+    void tryAcquire_ReturnsFalseOnDuplicateKey() {
+        // given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        given(mongoTemplate.upsert(any(Query.class), any(Update.class), eq("scheduler_locks")))
+                .willThrow(new DuplicateKeyException("E11000"))
+                .willReturn(null);
+        ChatLogArchiveLock lock = new ChatLogArchiveLock(mongoTemplate, Clock.systemUTC(), 120);
+
+        // when & then
+        assertThat(lock.tryAcquire()).isFalse();
+        assertThat(lock.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("동시에 읽는 요청 수를 넘으면 429 로 거절한다")
+    void read_RejectsWhenTooManyConcurrentReads() {
+        // given
+        ChatLogArchive archive = new ChatLogArchive(objectMapper, directory.toString(), 0);
+
+        // when & then
+        CustomException exception = assertThrows(CustomException.class, () -> archive.read("device", day, day));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.ARCHIVE_READ_BUSY);
+    }
+
+    private ChatLog log(String id, String deviceId, LocalDateTime timestamp) {
+        return ChatLog.builder()
+                .id(id)
+                .deviceId(deviceId)
+                .timestamp(timestamp)
+                .messageType("user")
+                .text("message " + id)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package springbook.chatbotserver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+import springbook.chatbotserver.chat.model.repository.ChatLogRepository;
+import springbook.chatbotserver.chat.model.repository.DocumentChatLogStore;
+import springbook.chatbotserver.chat.service.ChatLogExportService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ChatLogExportServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final DocumentChatLogStore chatLogStore =
+            new DocumentChatLogStore(mock(ChatLogRepository.class), mongoTemplate);
+    private final ChatLogExportService exportService =
+            new ChatLogExportService(chatLogStore, objectMapper, meterRegistry, 100);
+
+    private final ChatLogExportFilter filter = new ChatLogExportFilter(null, null, "device", null);
+
+    @Test
+    @DisplayName("커서에서 읽은 로그를 한 줄에 하나씩 JSON 으로 쓴다")
+    void export_WritesOneJsonPerLine() {
+        // given
+        given(mongoTemplate.stream(any(Query.class), eq(ChatLog.class)))
+                .willReturn(Stream.of(log("1", "안녕"), log("2", "반가워요")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long written = exportService.export(filter, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"text\":\"안녕\"").contains("\"deviceId\":\"device\"");
+        assertThat(lines[1]).contains("\"text\":\"반가워요\"");
+    }
+
+    @Test
+    @DisplayName("클라이언트 연결이 끊기면 쓰기를 멈추고 커서를 닫는다")
+    void export_ClosesCursor_WhenClientDisconnects() {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        given(mongoTemplate.stream(any(Query.class), eq(ChatLog.class)))
+                .willReturn(Stream.of(log("1", "a"), log("2", "b"), log("3", "c")).onClose(() -> closed.set(true)));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // when
+        long written = exportService.export(filter, disconnected);
+
+        // then
+        assertThat(written).isZero();
+        assertThat(closed).isTrue();
+        assertThat(meterRegistry.counter("chatlog.export.aborted").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("압축해 내보내면 gzip 스트림을 닫아 끝맺되 응답 스트림은 닫지 않는다")
+    void exportCompressed_ClosesGzipButNotResponse() throws IOException {
+        // given
+        given(mongoTemplate.stream(any(Query.class), eq(ChatLog.class)))
+                .willReturn(Stream.of(log("1", "안녕"), log("2", "반가워요")));
+        AtomicBoolean responseClosed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                responseClosed.set(true);
+            }
+        };
+
+        // when
+        long written = exportService.exportCompressed(filter, out);
+
+        // then
+        String decompressed;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            decompressed = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(written).isEqualTo(2);
+        assertThat(decompressed.split("\n")).hasSize(2);
+        assertThat(responseClosed).isFalse();
+    }
+
+    private ChatLog log(String id, String text) {
+        return ChatLog.builder()
+                .id(id)
+                .deviceId("device")
+                .timestamp(LocalDateTime.of(2025, 5, 15, 12, 0))
+                .messageType("user")
+                .text(text)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogPageDto;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.service.ChatLogService;
+import springbook.chatbotserver.chat.service.ChatLogTailCache;
+import springbook.chatbotserver.chat.service.ChatLogWriteBuffer;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchive;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ChatLogPageTest {
+
+    private final ChatLogStore chatLogStore = mock(ChatLogStore.class);
+    private final ChatLogWriteBuffer chatLogWriteBuffer = mock(ChatLogWriteBuffer.class);
+    private final ChatLogArchive chatLogArchive = mock(ChatLogArchive.class);
+    private final ChatLogService chatLogService =
+            new ChatLogService(chatLogStore, chatLogWriteBuffer, chatLogArchive,
+                    new ChatLogTailCache(new SimpleMeterRegistry(), false, 50, 1_000_000, 10), Clock.systemDefaultZone(), 2, 100, 31, true);
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0, 0);
+
+    @Test
+    @DisplayName("커서는 인코딩 후 다시 해석해도 같은 값이다")
+    void cursor_RoundTrips() {
+        // given
+        ChatLogCursor cursor = new ChatLogCursor(base.plusNanos(123_000_000), "6650a1f0c2a4b1234567890a");
+
+        // when
+        ChatLogCursor decoded = ChatLogCursor.decode(cursor.encode());
+
+        // then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(ChatLogCursor.decode(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 INVALID_CURSOR 예외를 발생시킨다")
+    void cursor_ThrowsException_WhenMalformed() {
+        // when & then
+        CustomException exception = assertThrows(CustomException.class, () -> ChatLogCursor.decode("not-a-cursor"));
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.INVALID_CURSOR);
+    }
+
+    @Test
+    @DisplayName("페이지 크기보다 많이 남아 있으면 마지막 로그 위치를 다음 커서로 반환한다")
+    void getChatLogPage_ReturnsNextCursor() {
+        // given
+        ChatLog newest = log("3", base.plusSeconds(3), "bot");
+        ChatLog middle = log("2", base.plusSeconds(2), "user");
+        ChatLog oldest = log("1", base.plusSeconds(1), "bot");
+        given(chatLogStore.findPage(eq("device"), eq(null), eq(3)))
+                .willReturn(List.of(newest, middle, oldest));
+        given(chatLogWriteBuffer.pendingOf("device")).willReturn(List.of());
+
+        // when
+        ChatLogPageDto page = chatLogService.getChatLogPage("device", null, null);
+
+        // then
+        assertThat(page.getMessages()).hasSize(2);
+        assertThat(page.getMessages().get(0).getTimestamp()).isEqualTo(newest.getTimestamp());
+        assertThat(ChatLogCursor.decode(page.getNextCursor())).isEqualTo(ChatLogCursor.of(middle));
+    }
+
+    @Test
+    @DisplayName("마지막 페이지이면 다음 커서가 없고, 첫 페이지에는 저장 대기 중인 로그가 포함된다")
+    void getChatLogPage_IncludesPendingOnFirstPage() {
+        // given
+        ChatLog stored = log("1", base, "user");
+        ChatLog pending = log(null, base.plusSeconds(1), "bot");
+        given(chatLogStore.findPage(eq("device"), eq(null), eq(3))).willReturn(List.of(stored));
+        given(chatLogWriteBuffer.pendingOf("device")).willReturn(List.of(pending));
+
+        // when
+        ChatLogPageDto page = chatLogService.getChatLogPage("device", null, null);
+
+        // then
+        assertThat(page.getMessages()).hasSize(2);
+        assertThat(page.getMessages().get(0).isUser()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("저장 대기 중인 로그와 시각이 같으면 ID 역순으로 정렬해 커서 순서와 맞춘다")
+    void getChatLogPage_OrdersTiesByIdDescending() {
+        // given
+        ChatLog b = log("b", base, "bot");
+        ChatLog a = log("a", base, "user");
+        ChatLog c = log("c", base, "bot");
+        given(chatLogStore.findPage(eq("device"), eq(null), eq(3))).willReturn(List.of(b, a));
+        given(chatLogWriteBuffer.pendingOf("device")).willReturn(List.of(c));
+
+        // when
+        ChatLogPageDto page = chatLogService.getChatLogPage("device", null, null);
+
+        // then
+        assertThat(page.getMessages()).hasSize(2);
+        assertThat(ChatLogCursor.decode(page.getNextCursor())).isEqualTo(ChatLogCursor.of(b));
+    }
+
+    private ChatLog log(String id, LocalDateTime timestamp, String messageType) {
+        return ChatLog.builder()
+                .id(id)
+                .deviceId("device")
+                .timestamp(timestamp)
+                .messageType(messageType)
+                .text(messageType + " message")
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package springbook.chatbotserver;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.repository.ChatLogIndexInitializer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChatLogQueryPlanTest {
+
+    @Test
+    @DisplayName("winningPlan 의 중첩된 stage 를 모두 찾는다")
+    void planStages_CollectsNestedStages() {
+        // given
+        Document explain = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "LIMIT")
+                        .append("inputStage", new Document("stage", "FETCH")
+                                .append("inputStage", new Document("stage", "IXSCAN")
+                                        .append("indexName", "deviceId_timestamp_id")))));
+
+        // when & then
+        assertThat(ChatLogIndexInitializer.planStages(explain)).containsExactly("LIMIT", "FETCH", "IXSCAN");
+    }
+
+    @Test
+    @DisplayName("샤드별 계획에 COLLSCAN 이 있으면 찾아낸다")
+    void planStages_FindsCollscanInShards() {
+        // given
+        Document explain = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "SHARD_MERGE_SORT").append("shards", List.of(
+                        new Document("shardName", "rs0").append("winningPlan",
+                                new Document("stage", "SORT").append("inputStage", new Document("stage", "COLLSCAN")))))));
+
+        // when & then
+        assertThat(ChatLogIndexInitializer.planStages(explain)).contains("COLLSCAN", "SORT");
+    }
+}
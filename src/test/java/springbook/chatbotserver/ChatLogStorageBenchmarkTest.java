@@ -0,0 +1,179 @@
+package springbook.chatbotserver;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatLogBucket;
+import springbook.chatbotserver.chat.model.repository.BucketChatLogStore;
+import springbook.chatbotserver.chat.model.repository.ChatLogIndexInitializer;
+import springbook.chatbotserver.chat.model.repository.ChatLogRepository;
+import springbook.chatbotserver.chat.model.repository.ChatLogRepositoryImpl;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.model.repository.DocumentChatLogStore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지별 문서 저장과 버킷 저장의 쓰기 처리량, 조회 지연 시간, 저장 공간을 비교합니다.
+ * 실제 MongoDB 가 필요하므로 CHAT_LOG_BENCHMARK_MONGO_URI 환경 변수가 있을 때만 실행됩니다.
+ * 예) CHAT_LOG_BENCHMARK_MONGO_URI=mongodb://localhost:27017 ./gradlew test --tests '*ChatLogStorageBenchmarkTest'
+ */
+@EnabledIfEnvironmentVariable(named = "CHAT_LOG_BENCHMARK_MONGO_URI", matches = ".+")
+public class ChatLogStorageBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatLogStorageBenchmarkTest.class);
+
+    private static final String DATABASE = "chatlog_benchmark";
+    private static final int DEVICES = 200;
+    private static final int DAYS = 10;
+    private static final int MESSAGES_PER_DAY = 20;
+    private static final int BATCH_SIZE = 500;
+    private static final int READ_SAMPLES = 200;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoClient = MongoClients.create(System.getenv("CHAT_LOG_BENCHMARK_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        mongoTemplate.getDb().drop();
+        new ChatLogIndexInitializer(mongoTemplate,
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext(),
+                new SimpleMeterRegistry(), true, false, false, 180, 7).ensureIndexes();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Test
+    @DisplayName("버킷 저장은 메시지별 문서 저장보다 인덱스 크기가 작다")
+    void compareDocumentAndBucketStorage() {
+        // given
+        ChatLogRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(ChatLogRepository.class, RepositoryFragments.just(new ChatLogRepositoryImpl(mongoTemplate)));
+        ChatLogStore documentStore = new DocumentChatLogStore(repository, mongoTemplate);
+        ChatLogStore bucketStore = new BucketChatLogStore(mongoTemplate, 200);
+        List<ChatLog> logs = workload();
+
+        // when
+        Result document = run("document", documentStore, logs, mongoTemplate.getCollectionName(ChatLog.class));
+        Result bucket = run("bucket", bucketStore, logs, mongoTemplate.getCollectionName(ChatLogBucket.class));
+
+        // then
+        log.info("\n{}\n{}\n{}", Result.HEADER, document, bucket);
+        assertThat(bucket.documents()).isLessThan(document.documents());
+        assertThat(bucket.indexBytes()).isLessThan(document.indexBytes());
+    }
+
+    private Result run(String name, ChatLogStore store, List<ChatLog> logs, String collection) {
+        long writeStart = System.nanoTime();
+        for (int from = 0; from < logs.size(); from += BATCH_SIZE) {
+            store.insertAll(copies(logs.subList(from, Math.min(from + BATCH_SIZE, logs.size()))));
+        }
+        double writeSeconds = (System.nanoTime() - writeStart) / 1e9;
+
+        long[] historyNanos = new long[READ_SAMPLES];
+        long[] pageNanos = new long[READ_SAMPLES];
+        for (int i = 0; i < READ_SAMPLES; i++) {
+            String deviceId = deviceId(i % DEVICES);
+            long start = System.nanoTime();
+            assertThat(store.findHistory(deviceId)).hasSize(DAYS * MESSAGES_PER_DAY);
+            historyNanos[i] = System.nanoTime() - start;
+            start = System.nanoTime();
+            assertThat(store.findPage(deviceId, null, 31)).hasSize(31);
+            pageNanos[i] = System.nanoTime() - start;
+        }
+
+        Document stats = mongoTemplate.getDb().runCommand(new Document("collStats", collection));
+        return new Result(name,
+                logs.size() / writeSeconds,
+                p95Millis(historyNanos),
+                p95Millis(pageNanos),
+                ((Number) stats.get("count")).longValue(),
+                ((Number) stats.get("storageSize")).longValue(),
+                ((Number) stats.get("totalIndexSize")).longValue());
+    }
+
+    /**
+     * 디바이스별로 하루 MESSAGES_PER_DAY 개씩, 실제 서비스처럼 여러 디바이스의 메시지가 섞인 순서로 만듭니다.
+     */
+    private List<ChatLog> workload() {
+        LocalDateTime base = LocalDateTime.of(2025, 5, 1, 9, 0);
+        List<ChatLog> logs = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int message = 0; message < MESSAGES_PER_DAY; message++) {
+                for (int device = 0; device < DEVICES; device++) {
+                    logs.add(ChatLog.builder()
+                            .id(ObjectId.get().toHexString())
+                            .deviceId(deviceId(device))
+                            .timestamp(base.plusDays(day).plusMinutes(message).plusSeconds(device % 60))
+                            .messageType(message % 2 == 0 ? "user" : "bot")
+                            .text(message % 2 == 0 ? "융합과학관 어디야?" : "융합과학관은 24번 건물입니다.")
+                            .build());
+                }
+            }
+        }
+        return logs;
+    }
+
+    /**
+     * 문서 저장은 insert 시 객체에 값을 채우므로, 두 저장 방식이 같은 입력을 받도록 복사해서 넘깁니다.
+     */
+    private List<ChatLog> copies(List<ChatLog> logs) {
+        return logs.stream()
+                .map(log -> ChatLog.builder()
+                        .id(log.getId())
+                        .deviceId(log.getDeviceId())
+                        .timestamp(log.getTimestamp())
+                        .messageType(log.getMessageType())
+                        .text(log.getText())
+                        .build())
+                .toList();
+    }
+
+    private String deviceId(int index) {
+        return "benchmark-device-" + index;
+    }
+
+    private double p95Millis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.95) - 1] / 1e6;
+    }
+
+    private record Result(String name, double writesPerSecond, double historyP95Ms, double pageP95Ms,
+                          long documents, long storageBytes, long indexBytes) {
+
+        static final String HEADER = String.format("%-10s %12s %14s %12s %12s %14s %12s",
+                "mode", "writes/s", "history p95ms", "page p95ms", "documents", "storage bytes", "index bytes");
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %12.0f %14.2f %12.2f %12d %14d %12d",
+                    name, writesPerSecond, historyP95Ms, pageP95Ms, documents, storageBytes, indexBytes);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.ChatLogExportFilter;
+import springbook.chatbotserver.chat.model.dto.ChatLogSyncDto;
+import springbook.chatbotserver.chat.model.dto.ChatMessageDto;
+import springbook.chatbotserver.chat.model.dto.RasaRequest;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.service.ChatLogService;
+import springbook.chatbotserver.chat.service.ChatLogTailCache;
+import springbook.chatbotserver.chat.service.ChatLogWriteBuffer;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchive;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ChatLogSyncTest {
+
+    private final ChatLogStore chatLogStore = mock(ChatLogStore.class);
+    private final ChatLogWriteBuffer chatLogWriteBuffer = mock(ChatLogWriteBuffer.class);
+    private final ChatLogTailCache chatLogTailCache = new ChatLogTailCache(new SimpleMeterRegistry(), true, 10, 1_000_000, 10);
+    // 시스템 시계처럼 밀리초보다 정밀한 시각을 돌려주는 시계
+    private final Clock clock = Clock.fixed(Instant.parse("2025-05-15T03:00:00.123456789Z"), ZoneId.of("Asia/Seoul"));
+    private final ChatLogService chatLogService = new ChatLogService(chatLogStore, chatLogWriteBuffer,
+            mock(ChatLogArchive.class), chatLogTailCache, clock, 2, 2, 31, true);
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0, 0);
+
+    @Test
+    @DisplayName("저장소에서 커서 이후의 로그와 저장 대기 중인 새 로그만 오래된 순으로 반환한다")
+    void syncChatLogs_ReturnsOnlyNewerLogs() {
+        // given
+        ChatLog seen = log("1", base);
+        ChatLog newer = log("2", base.plusSeconds(1));
+        ChatLog pending = log("3", base.plusSeconds(2));
+        String since = ChatLogCursor.of(seen).encode();
+        given(chatLogStore.findNewer(eq("device"), eq(ChatLogCursor.of(seen)), eq(3))).willReturn(List.of(newer));
+        given(chatLogWriteBuffer.pendingOf("device")).willReturn(List.of(seen, pending));
+
+        // when
+        ChatLogSyncDto sync = chatLogService.syncChatLogs("device", since, null, null);
+
+        // then
+        assertThat(sync.getMessages()).extracting(ChatMessageDto::getText).containsExactly("message 2", "message 3");
+        assertThat(sync.isHasMore()).isFalse();
+        assertThat(ChatLogCursor.decode(sync.getLatestCursor())).isEqualTo(ChatLogCursor.of(pending));
+    }
+
+    @Test
+    @DisplayName("새 로그가 없으면 받은 커서를 그대로 돌려주고, 캐시에 있는 구간이면 저장소를 조회하지 않는다")
+    void syncChatLogs_ServesFromTailCache() {
+        // given
+        ChatLog seen = log("1", base);
+        chatLogTailCache.seed("device", List.of(seen), true);
+        String since = ChatLogCursor.of(seen).encode();
+
+        // when
+        ChatLogSyncDto sync = chatLogService.syncChatLogs("device", since, null, null);
+
+        // then
+        assertThat(sync.getMessages()).isEmpty();
+        assertThat(sync.getLatestCursor()).isEqualTo(since);
+        verify(chatLogStore, never()).findNewer(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("방금 저장한 메시지까지 동기화한 뒤 다시 동기화하면 같은 메시지를 다시 받지 않는다")
+    void syncChatLogs_ReturnsNothingOnSecondSync() {
+        // given
+        chatLogTailCache.seed("device", List.of(), true);
+        ChatTurn turn = chatLogService.startTurn(new RasaRequest("device", "ATM 어디"));
+        chatLogService.completeTurn(turn, "학생회관 1층에 있습니다.", null);
+        ChatLogSyncDto first = chatLogService.syncChatLogs("device", null, null, null);
+
+        // when
+        ChatLogSyncDto second = chatLogService.syncChatLogs("device", first.getLatestCursor(), null, null);
+
+        // then
+        assertThat(first.getMessages()).extracting(ChatMessageDto::getText)
+                .containsExactly("ATM 어디", "학생회관 1층에 있습니다.");
+        assertThat(second.getMessages()).isEmpty();
+        assertThat(second.getLatestCursor()).isEqualTo(first.getLatestCursor());
+    }
+
+    @Test
+    @DisplayName("시각만 보낸 경우 같은 시각의 로그는 이미 받은 것으로 보고, 기본 구현은 커서 시각부터 읽는다")
+    void findNewer_ExcludesSameTimestamp_WhenOnlyTimeIsGiven() {
+        // given
+        ChatLogStore store = mock(ChatLogStore.class, CALLS_REAL_METHODS);
+        ChatLogCursor after = new ChatLogCursor(base, "");
+        given(store.stream(any(ChatLogExportFilter.class), anyInt()))
+                .willReturn(Stream.of(log("1", base), log("2", base.plusSeconds(1)), log("3", base.plusSeconds(2))));
+
+        // when
+        List<ChatLog> newer = store.findNewer("device", after, 1);
+
+        // then
+        assertThat(newer).extracting(ChatLog::getId).containsExactly("2");
+        verify(store).stream(eq(new ChatLogExportFilter(base, null, "device", null)), eq(2));
+    }
+
+    private ChatLog log(String id, LocalDateTime timestamp) {
+        return ChatLog.builder()
+                .id(id)
+                .deviceId("device")
+                .timestamp(timestamp)
+                .messageType("bot")
+                .text("message " + id)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.dto.ChatLogPageDto;
+import springbook.chatbotserver.chat.model.dto.RasaRequest;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.service.ChatLogService;
+import springbook.chatbotserver.chat.service.ChatLogTailCache;
+import springbook.chatbotserver.chat.service.ChatLogWriteBuffer;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchive;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ChatLogTailCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatLogStore chatLogStore = mock(ChatLogStore.class);
+    private final ChatLogWriteBuffer chatLogWriteBuffer = mock(ChatLogWriteBuffer.class);
+    private final ChatLogTailCache chatLogTailCache = new ChatLogTailCache(meterRegistry, true, 3, 1_000_000, 10);
+    private final ChatLogService chatLogService = new ChatLogService(chatLogStore, chatLogWriteBuffer,
+            mock(ChatLogArchive.class), chatLogTailCache, Clock.systemDefaultZone(), 2, 100, 31, true);
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0, 0);
+
+    @Test
+    @DisplayName("첫 조회로 캐시를 채운 뒤에는 저장한 메시지까지 포함한 첫 페이지를 저장소 조회 없이 응답한다")
+    void getChatLogPage_ServesFirstPageFromTail() {
+        // given
+        given(chatLogStore.findPage(eq("device"), eq(null), eq(3)))
+                .willReturn(List.of(log("2", base.plusSeconds(2), "bot"), log("1", base.plusSeconds(1), "user")));
+        given(chatLogWriteBuffer.pendingOf("device")).willReturn(List.of());
+        chatLogService.getChatLogPage("device", null, null);
+
+        // when
+        chatLogService.startTurn(new RasaRequest("device", "새 질문"));
+        ChatLogPageDto page = chatLogService.getChatLogPage("device", null, null);
+
+        // then
+        verify(chatLogStore, times(1)).findPage(any(), any(), anyInt());
+        assertThat(page.getMessages()).extracting("text").containsExactly("새 질문", "message 2");
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(meterRegistry.get("chatlog.tail.reads").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("저장소에서 채우지 않은 항목은 요청한 개수만큼 쌓이기 전까지 캐시로 응답하지 않는다")
+    void newest_RequiresEnoughLogs_WhenNotSeeded() {
+        // given
+        chatLogTailCache.append("device", List.of(log("1", base, "user")));
+
+        // when & then
+        assertThat(chatLogTailCache.newest("device", 2)).isEmpty();
+        chatLogTailCache.append("device", List.of(log("2", base.plusSeconds(1), "bot")));
+        assertThat(chatLogTailCache.newest("device", 2).orElseThrow())
+                .extracting(ChatLog::getId).containsExactly("2", "1");
+        assertThat(chatLogTailCache.history("device")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보관 개수를 넘으면 오래된 로그를 버리고 전체 기록으로 보지 않는다")
+    void seed_KeepsNewestLogsWithinCapacity() {
+        // given
+        chatLogTailCache.seed("device", List.of(log("1", base, "user"), log("2", base.plusSeconds(1), "bot")), true);
+        assertThat(chatLogTailCache.history("device")).isPresent();
+
+        // when
+        chatLogTailCache.append("device", List.of(log("3", base.plusSeconds(2), "user"), log("4", base.plusSeconds(3), "bot")));
+
+        // then
+        assertThat(chatLogTailCache.history("device")).isEmpty();
+        assertThat(chatLogTailCache.newest("device", 3).orElseThrow())
+                .extracting(ChatLog::getId).containsExactly("4", "3", "2");
+    }
+
+    private ChatLog log(String id, LocalDateTime timestamp, String messageType) {
+        return ChatLog.builder()
+                .id(id)
+                .deviceId("device")
+                .timestamp(timestamp)
+                .messageType(messageType)
+                .text("message " + id)
+                .build();
+    }
+}
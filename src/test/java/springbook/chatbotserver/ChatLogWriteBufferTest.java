@@ -0,0 +1,145 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.service.ChatLogWriteBuffer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class ChatLogWriteBufferTest {
+
+    private final ChatLogStore chatLogStore = mock(ChatLogStore.class);
+    /** 저장소에 저장된 메시지 ID (저장 순) */
+    private final List<String> stored = new CopyOnWriteArrayList<>();
+
+    private ChatLogWriteBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            ReflectionTestUtils.invokeMethod(buffer, "stop");
+        }
+    }
+
+    @Test
+    @DisplayName("flush 중이거나 배치를 채우는 중에도 넣은 턴은 대기 목록이나 저장소 중 한 곳에서 항상 보인다")
+    void pendingOf_NeverMissesTurnWhileFlushing() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            Thread.sleep(1);
+            List<ChatTurn> turns = invocation.getArgument(0);
+            turns.forEach(turn -> stored.add(turn.getId()));
+            return null;
+        }).when(chatLogStore).writeTurns(anyList());
+        buffer = start(1000, 5, 20);
+
+        List<String> enqueued = new CopyOnWriteArrayList<>();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicReference<String> missing = new AtomicReference<>();
+
+        // when
+        CompletableFuture<Void> checker = CompletableFuture.runAsync(() -> {
+            while (producing.get() && missing.get() == null) {
+                List<String> expected = new ArrayList<>(enqueued);
+                // 서비스와 같은 순서로 대기 목록을 먼저, 저장소를 나중에 읽습니다.
+                Set<String> visible = new HashSet<>();
+                buffer.pendingOf("device").forEach(log -> visible.add(log.getId()));
+                visible.addAll(stored);
+                expected.stream().filter(id -> !visible.contains(id)).findFirst().ifPresent(missing::set);
+            }
+        });
+        for (int i = 0; i < 300; i++) {
+            ChatTurn turn = turn("turn-" + i);
+            buffer.enqueue(turn);
+            enqueued.add(turn.getId());
+        }
+        awaitStored(300);
+        producing.set(false);
+        checker.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(missing.get()).isNull();
+        assertThat(stored).hasSize(300);
+        assertThat(buffer.pendingOf("device")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차 직접 저장할 때는 먼저 들어온 턴을 함께 먼저 저장하여 순서를 지킨다")
+    void enqueue_KeepsOrder_WhenFallingBackToDirectWrite() throws Exception {
+        // given
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        Answer<Void> write = invocation -> {
+            if (first.getAndSet(false)) {
+                firstWriteStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            List<ChatTurn> turns = invocation.getArgument(0);
+            turns.forEach(turn -> stored.add(turn.getId()));
+            return null;
+        };
+        doAnswer(write).when(chatLogStore).writeTurns(anyList());
+        // 직접 저장은 앞서 실패한 배치가 섞여 있을 수 있어 다시 저장하는 경로로 씁니다.
+        doAnswer(write).when(chatLogStore).retryTurns(anyList());
+        buffer = start(2, 1, 1);
+
+        buffer.enqueue(turn("t1"));
+        assertThat(firstWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        buffer.enqueue(turn("t2"));
+        buffer.enqueue(turn("t3"));
+
+        // when
+        CompletableFuture<Void> fallback = CompletableFuture.runAsync(() -> buffer.enqueue(turn("t4")));
+        Thread.sleep(50);
+        release.countDown();
+        fallback.get(5, TimeUnit.SECONDS);
+        awaitStored(4);
+
+        // then
+        assertThat(stored).containsExactly("t1", "t2", "t3", "t4");
+        assertThat(buffer.pendingOf("device")).isEmpty();
+    }
+
+    private ChatLogWriteBuffer start(int capacity, int batchSize, long flushIntervalMs) {
+        ChatLogWriteBuffer started = new ChatLogWriteBuffer(chatLogStore, new SimpleMeterRegistry(),
+                true, capacity, batchSize, flushIntervalMs, 10, 5000, 10);
+        ReflectionTestUtils.invokeMethod(started, "start");
+        return started;
+    }
+
+    private void awaitStored(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stored.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * 사용자 메시지 ID 를 턴 ID 와 같게 두어 저장소에 기록된 턴 ID 와 대기 목록의 로그 ID 를 비교할 수 있게 합니다.
+     */
+    private static ChatTurn turn(String id) {
+        return ChatTurn.start(id, "device", new ChatTurn.Message(id, LocalDateTime.now(), "안녕"));
+    }
+}
@@ -0,0 +1,215 @@
+package springbook.chatbotserver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import springbook.chatbotserver.chat.model.domain.ChatLog;
+import springbook.chatbotserver.chat.model.domain.ChatTurn;
+import springbook.chatbotserver.chat.model.dto.ChatLogCursor;
+import springbook.chatbotserver.chat.model.dto.RasaRequest;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.model.repository.ChatLogStore;
+import springbook.chatbotserver.chat.model.repository.TurnChatLogStore;
+import springbook.chatbotserver.chat.service.ChatLogService;
+import springbook.chatbotserver.chat.service.ChatLogTailCache;
+import springbook.chatbotserver.chat.service.ChatLogWriteBuffer;
+import springbook.chatbotserver.chat.service.archive.ChatLogArchive;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ChatTurnTest {
+
+    private final ChatLogStore chatLogStore = mock(ChatLogStore.class);
+    private final ChatLogWriteBuffer chatLogWriteBuffer = mock(ChatLogWriteBuffer.class);
+    private final RasaRequest request = new RasaRequest("device", "ATM 어디");
+    private final RasaResponse rasa = RasaResponse.of("ATM 어디",
+            RasaResponse.Intent.of("ask_location_of_atm", 0.9),
+            List.of(RasaResponse.Entity.of("facility", "atm", "DIETClassifier")));
+
+    private ChatLogService chatLogService(boolean persistUserFirst) {
+        return new ChatLogService(chatLogStore, chatLogWriteBuffer, mock(ChatLogArchive.class),
+                mock(ChatLogTailCache.class), Clock.systemDefaultZone(), 30, 100, 31, persistUserFirst);
+    }
+
+    @Test
+    @DisplayName("사용자 메시지를 먼저 저장하지 않으면 응답 후 턴 전체를 한 번에 저장한다")
+    void completeTurn_WritesWholeTurnOnce() {
+        // given
+        ChatLogService chatLogService = chatLogService(false);
+
+        // when
+        ChatTurn turn = chatLogService.startTurn(request);
+        chatLogService.completeTurn(turn, "학생회관 1층에 있습니다.", rasa);
+
+        // then
+        ArgumentCaptor<List<ChatTurn>> written = ArgumentCaptor.forClass(List.class);
+        verify(chatLogStore, times(1)).writeTurns(written.capture());
+        ChatTurn saved = written.getValue().get(0);
+        assertThat(saved.getIntent()).isEqualTo("ask_location_of_atm");
+        assertThat(saved.getEntities()).extracting(ChatTurn.Entity::getValue).containsExactly("atm");
+        assertThat(saved.getLatencyMs()).isNotNegative();
+        assertThat(saved.toChatLogs()).extracting(ChatLog::getMessageType).containsExactly("user", "bot");
+        assertThat(saved.toChatLogs()).extracting(ChatLog::getText).containsExactly("ATM 어디", "학생회관 1층에 있습니다.");
+    }
+
+    @Test
+    @DisplayName("사용자 메시지를 먼저 저장하면 응답은 같은 턴에 덧붙인다")
+    void completeTurn_AppendsBotToStoredUserTurn() {
+        // given
+        ChatLogService chatLogService = chatLogService(true);
+
+        // when
+        ChatTurn turn = chatLogService.startTurn(request);
+        chatLogService.completeTurn(turn, "죄송합니다.", null);
+
+        // then
+        ArgumentCaptor<List<ChatTurn>> written = ArgumentCaptor.forClass(List.class);
+        verify(chatLogStore, times(2)).writeTurns(written.capture());
+        ChatTurn first = written.getAllValues().get(0).get(0);
+        ChatTurn second = written.getAllValues().get(1).get(0);
+        assertThat(first.getBot()).isNull();
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getUser()).isNull();
+        assertThat(second.getIntent()).isNull();
+    }
+
+    @Test
+    @DisplayName("turn 저장소는 완성된 턴도, 응답만 있는 턴도 턴 ID 로 upsert 하여 어느 쪽이 먼저 와도 중복 키 오류가 없다")
+    void writeTurns_UpsertsById() {
+        // given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        given(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(ChatTurn.class))).willReturn(bulk);
+        TurnChatLogStore store = new TurnChatLogStore(mongoTemplate, Duration.ofMinutes(1));
+        ChatTurn whole = turn("000000000000000000000001", LocalDateTime.of(2025, 5, 15, 12, 0));
+
+        // when
+        store.writeTurns(List.of(whole, whole.withoutUser()));
+
+        // then
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), updates.capture());
+        verify(bulk, never()).insert(any(Object.class));
+        verify(bulk).execute();
+        assertThat(updates.getAllValues().get(0).modifies("user")).isTrue();
+        assertThat(updates.getAllValues().get(0).modifies("bot")).isTrue();
+        assertThat(updates.getAllValues().get(1).modifies("user")).isFalse();
+        assertThat(updates.getAllValues().get(1).modifies("bot")).isTrue();
+    }
+
+    @Test
+    @DisplayName("turn 저장소는 턴을 메시지로 펼쳐 커서보다 오래된 메시지만 최신순으로 반환한다")
+    void findPage_ExpandsTurns() {
+        // given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        TurnChatLogStore store = new TurnChatLogStore(mongoTemplate, Duration.ofMinutes(1));
+        LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0);
+        ChatTurn newer = turn("000000000000000000000003", base.plusMinutes(1));
+        ChatTurn older = turn("000000000000000000000001", base);
+        given(mongoTemplate.find(any(Query.class), eq(ChatTurn.class))).willReturn(List.of(newer, older));
+        ChatLogCursor cursor = ChatLogCursor.of(newer.toChatLogs().get(1));
+
+        // when
+        List<ChatLog> page = store.findPage("device", cursor, 2);
+
+        // then
+        assertThat(page).extracting(ChatLog::getMessageType).containsExactly("user", "bot");
+        assertThat(page.get(0).getId()).isEqualTo("000000000000000000000003");
+        assertThat(page.get(1).getId()).isEqualTo("000000000000000000000002");
+    }
+
+    @Test
+    @DisplayName("turn 저장소는 먼저 시작했지만 늦게 끝난 겹치는 턴의 응답도 페이지에 포함한다")
+    void findPage_IncludesOverlappingTurn() {
+        // given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        TurnChatLogStore store = new TurnChatLogStore(mongoTemplate, Duration.ofMinutes(1));
+        LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0);
+        ChatTurn slow = ChatTurn.start("000000000000000000000001", "device",
+                        new ChatTurn.Message("000000000000000000000001", base, "질문"))
+                .complete(new ChatTurn.Message("000000000000000000000002", base.plusSeconds(30), "늦은 응답"),
+                        "greet", 0.9, List.of());
+        ChatTurn first = turn("000000000000000000000003", base.plusSeconds(10));
+        ChatTurn second = turn("000000000000000000000005", base.plusSeconds(20));
+        given(mongoTemplate.find(any(Query.class), eq(ChatTurn.class)))
+                .willReturn(List.of(second, first))
+                .willReturn(List.of(slow));
+
+        // when
+        List<ChatLog> page = store.findPage("device", null, 1);
+
+        // then
+        assertThat(page).extracting(ChatLog::getText).containsExactly("늦은 응답");
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(ChatTurn.class));
+    }
+
+    @Test
+    @DisplayName("turn 저장소는 커서 전에 시작했지만 커서 뒤에 끝난 겹치는 턴의 응답도 동기화에 포함한다")
+    void findNewer_IncludesOverlappingTurn() {
+        // given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        TurnChatLogStore store = new TurnChatLogStore(mongoTemplate, Duration.ofMinutes(1));
+        LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0);
+        ChatTurn slow = ChatTurn.start("000000000000000000000001", "device",
+                        new ChatTurn.Message("000000000000000000000001", base, "질문"))
+                .complete(new ChatTurn.Message("000000000000000000000002", base.plusSeconds(30), "늦은 응답"),
+                        "greet", 0.9, List.of());
+        ChatTurn seen = turn("000000000000000000000003", base.plusSeconds(10));
+        ChatTurn next = turn("000000000000000000000005", base.plusSeconds(40));
+        given(mongoTemplate.find(any(Query.class), eq(ChatTurn.class)))
+                .willReturn(List.of(slow, seen))
+                .willReturn(List.of(next));
+        ChatLogCursor cursor = ChatLogCursor.of(seen.toChatLogs().get(1));
+
+        // when
+        List<ChatLog> newer = store.findNewer("device", cursor, 10);
+
+        // then
+        assertThat(newer).extracting(ChatLog::getId).containsExactly(
+                "000000000000000000000002", "000000000000000000000005", "000000000000000000000006");
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(ChatTurn.class));
+    }
+
+    @Test
+    @DisplayName("turn 저장소는 커서 뒤의 턴을 다 읽지 못하면 마지막으로 읽은 턴의 시작까지만 반환한다")
+    void findNewer_StopsAtLastReadTurn() {
+        // given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        TurnChatLogStore store = new TurnChatLogStore(mongoTemplate, Duration.ofMinutes(1));
+        LocalDateTime base = LocalDateTime.of(2025, 5, 15, 12, 0);
+        ChatTurn slow = ChatTurn.start("000000000000000000000001", "device",
+                        new ChatTurn.Message("000000000000000000000001", base, "질문"))
+                .complete(new ChatTurn.Message("000000000000000000000002", base.plusSeconds(30), "늦은 응답"),
+                        "greet", 0.9, List.of());
+        ChatTurn last = turn("000000000000000000000003", base.plusSeconds(10));
+        given(mongoTemplate.find(any(Query.class), eq(ChatTurn.class))).willReturn(List.of(slow, last));
+
+        // when
+        List<ChatLog> newer = store.findNewer("device", null, 1);
+
+        // then
+        assertThat(newer).extracting(ChatLog::getId).containsExactly("000000000000000000000001");
+    }
+
+    private ChatTurn turn(String id, LocalDateTime timestamp) {
+        String botId = String.format("%024d", Long.parseLong(id) + 1);
+        return ChatTurn.start(id, "device", new ChatTurn.Message(id, timestamp, "질문"))
+                .complete(new ChatTurn.Message(botId, timestamp.plusSeconds(1), "응답"), "greet", 0.9, List.of());
+    }
+}
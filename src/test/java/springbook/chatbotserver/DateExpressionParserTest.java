@@ -0,0 +1,98 @@
+package springbook.chatbotserver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.DateExpressionParser;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.ResolvedDate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DateExpressionParserTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2025, 5, 15, 23, 59)); // 목요일
+    private final DateExpressionParser parser = new DateExpressionParser(clock, 256);
+
+    @Test
+    @DisplayName("상대 날짜, 이번주/다음주 요일, 월/일, ISO 날짜를 해석한다")
+    void parse_SupportsRelativeWeekdayMonthDayAndIsoForms() {
+        assertThat(text("오늘")).isEqualTo("2025-05-15");
+        assertThat(text("내일")).isEqualTo("2025-05-16");
+        assertThat(text("모레")).isEqualTo("2025-05-17");
+        assertThat(text("어제")).isEqualTo("2025-05-14");
+        assertThat(text("월요일")).isEqualTo("2025-05-12");
+        assertThat(text("이번주 금요일")).isEqualTo("2025-05-16");
+        assertThat(text("다음주 월")).isEqualTo("2025-05-19");
+        assertThat(text("다음 주 일요일")).isEqualTo("2025-05-25");
+        assertThat(text("5월 20일")).isEqualTo("2025-05-20");
+        assertThat(text("12.1")).isEqualTo("2025-12-01");
+        assertThat(text("6/3")).isEqualTo("2025-06-03");
+        assertThat(text("2024-02-29")).isEqualTo("2024-02-29");
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 표현은 예외 대신 empty 를 반환한다")
+    void parse_ReturnsEmpty_WhenExpressionIsInvalid() {
+        assertThat(parser.parse("언젠가")).isEmpty();
+        assertThat(parser.parse("다음주")).isEmpty();
+        assertThat(parser.parse("13월 1일")).isEmpty();
+        assertThat(parser.parse("2월 30일")).isEmpty();
+        assertThat(parser.parse("2025-02-29")).isEmpty();
+        assertThat(parser.parse("2025-5-15")).isEmpty();
+        assertThat(parser.parse("")).isEmpty();
+        assertThat(parser.parse(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 날에는 메모한 결과를 돌려주고, 자정이 지나면 새 날짜 기준으로 다시 해석한다")
+    void parse_RollsOverAtMidnight() {
+        // given
+        ResolvedDate before = parser.parse("내일").orElseThrow();
+        assertThat(parser.parse("내일").orElseThrow()).isSameAs(before);
+
+        // when
+        clock.set(LocalDateTime.of(2025, 5, 16, 0, 0, 1));
+
+        // then
+        assertThat(parser.today()).hasToString("2025-05-16");
+        assertThat(text("내일")).isEqualTo("2025-05-17");
+    }
+
+    private String text(String expression) {
+        return parser.parse(expression).map(ResolvedDate::text).orElse(null);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            this.instant = time.atZone(SEOUL).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return SEOUL;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -13,12 +13,13 @@ import org.springframework.aop.framework.AopContext;
 import org.springframework.test.util.ReflectionTestUtils;
 import springbook.chatbotserver.chat.model.domain.Building;
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
-import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.intent.DepartmentStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -30,7 +31,7 @@ import static org.mockito.Mockito.mockStatic;
 public class DepartmentStrategyTest {
 
     @Mock
-    private BuildingMapper buildingMapper;
+    private CampusDirectory campusDirectory;
 
     @InjectMocks
     private DepartmentStrategy departmentStrategy;
@@ -57,7 +58,7 @@ public class DepartmentStrategyTest {
         ReflectionTestUtils.setField(mockBuilding,"name","융합과학관");
         ReflectionTestUtils.setField(mockBuilding, "mapUrl", "http://map.url");
 
-        given(buildingMapper.findBuildingNameOfDepartment(department)).willReturn(mockBuilding);
+        given(campusDirectory.findBuildingOfDepartment(department)).willReturn(mockBuilding);
 
         RasaResponse.Entity entity = new RasaResponse.Entity();
         ReflectionTestUtils.setField(entity, "entity", "department");
@@ -75,6 +76,34 @@ public class DepartmentStrategyTest {
         );
     }
 
+    @Test
+    @DisplayName("학과명에 오타가 있으면 교정한 학과와 함께 찾은 건물을 반환한다")
+    void execute_ReturnsCorrectedDepartment_WhenNameHasTypo() {
+        // given
+        aopContextMock.when(AopContext::currentProxy).thenReturn(departmentStrategy);
+
+        Building mockBuilding = new Building();
+        ReflectionTestUtils.setField(mockBuilding, "name", "융합과학관");
+        ReflectionTestUtils.setField(mockBuilding, "mapUrl", "http://map.url");
+
+        given(campusDirectory.findBuildingOfDepartment("정보통신공학가")).willReturn(null);
+        given(campusDirectory.correctDepartment("정보통신공학가"))
+                .willReturn(Optional.of(new CampusDirectory.Correction<>("정보통신공학과", mockBuilding)));
+
+        RasaResponse.Entity entity = new RasaResponse.Entity();
+        ReflectionTestUtils.setField(entity, "entity", "department");
+        ReflectionTestUtils.setField(entity, "value", "정보통신공학가");
+
+        RasaResponse rasaResponse = new RasaResponse();
+        ReflectionTestUtils.setField(rasaResponse, "entities", List.of(entity));
+
+        // when
+        String result = departmentStrategy.handle(rasaResponse);
+
+        // then
+        assertThat(result).startsWith("정보통신공학과는 융합과학관에 있습니다.");
+    }
+
     @Test
     @DisplayName("존재하지 않는 학과일 경우 예외를 발생시킨다")
     void execute_ThrowsException_WhenDepartmentNotFound() {
@@ -83,7 +112,7 @@ public class DepartmentStrategyTest {
 
         String department = "존재하지않는학과";
         // DB 조회 시 null 반환 가정
-        given(buildingMapper.findBuildingNameOfDepartment(department)).willReturn(null);
+        given(campusDirectory.findBuildingOfDepartment(department)).willReturn(null);
 
         RasaResponse.Entity entity = new RasaResponse.Entity();
         ReflectionTestUtils.setField(entity, "entity", "department");
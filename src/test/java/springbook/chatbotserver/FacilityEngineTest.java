@@ -0,0 +1,157 @@
+package springbook.chatbotserver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import springbook.chatbotserver.chat.model.domain.Facility;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.strategy.IntentStrategy;
+import springbook.chatbotserver.chat.service.strategy.KeywordProvider;
+import springbook.chatbotserver.chat.service.strategy.StrategyFactory;
+import springbook.chatbotserver.chat.service.strategy.intent.facility.FacilityEngine;
+import springbook.chatbotserver.config.FacilityIntentProperties;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class FacilityEngineTest {
+
+    private final CampusDirectory campusDirectory = mock(CampusDirectory.class);
+    private final FacilityIntentProperties properties = new FacilityIntentProperties(List.of(
+            new FacilityIntentProperties.Intent("ask_location_of_atm", "atm", "ATM이", List.of()),
+            new FacilityIntentProperties.Intent("ask_location_of_store", "store", "매점이", List.of()),
+            new FacilityIntentProperties.Intent("ask_location_of_vending_machine", "vending_machine", "자판기가", List.of())));
+
+    private FacilityEngine engine() {
+        given(campusDirectory.facilitiesByType()).willReturn(Map.of(
+                "atm", List.of(facility("학생회관", "1층 입구", "http://map.url/atm")),
+                "vending_machine", List.of(facility("공학관", "2층 복도", "http://map.url/vm"))));
+        given(campusDirectory.facilitySynonyms()).willReturn(List.of(
+                synonym("ATM", "atm"), synonym("현금인출기", "atm"), synonym("매점", "store"), synonym("자판기", "vending_machine")));
+        FacilityEngine engine = new FacilityEngine(campusDirectory, properties);
+        engine.rebuild();
+        return engine;
+    }
+
+    @Test
+    @DisplayName("설정에 선언한 인텐트마다 전략을 만들고, 동의어가 가리키는 시설 유형의 미리 만든 응답을 반환한다")
+    void handle_ReturnsPreRenderedMessageForSynonym() {
+        // given
+        FacilityEngine engine = engine();
+        StrategyFactory strategyFactory = new StrategyFactory(List.of(), List.of(engine));
+
+        // when
+        String atm = strategyFactory.getStrategy("ask_location_of_atm").handle(response("현금 인출기"));
+        String vendingMachine = strategyFactory.getStrategy("ask_location_of_vending_machine").handle(response("자판기"));
+
+        // then
+        assertThat(atm).isEqualTo("다음은 ATM이 위치한 장소입니다:\n\n- 학생회관 (1층 입구)\nhttp://map.url/atm");
+        assertThat(vendingMachine).startsWith("다음은 자판기가 위치한 장소입니다:").contains("공학관 (2층 복도)");
+        assertThat(engine.answer("atm", "atm")).isSameAs(atm);
+    }
+
+    @Test
+    @DisplayName("시설이 없는 유형이나 사전에 없는 이름은 FACILITY_NOT_FOUND 예외를 발생시킨다")
+    void answer_ThrowsException_WhenFacilityNotFound() {
+        // given
+        FacilityEngine engine = engine();
+
+        // when
+        CustomException noFacility = assertThrows(CustomException.class, () -> engine.answer("store", "매점"));
+        CustomException unknown = assertThrows(CustomException.class, () -> engine.answer("store", "수영장"));
+
+        // then
+        assertThat(noFacility.getErrorCode()).isEqualTo(ErrorCode.FACILITY_NOT_FOUND);
+        assertThat(unknown.getErrorCode()).isEqualTo(ErrorCode.FACILITY_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("전략은 사전의 동의어를 fast-path 단어로 제공하고, 디렉터리가 바뀌면 다시 만든 표를 사용한다")
+    void rebuild_ReplacesSynonymsAndMessages() {
+        // given
+        FacilityEngine engine = engine();
+        IntentStrategy atmStrategy = engine.strategies().get(0);
+        assertThat(((KeywordProvider) atmStrategy).keywords()).containsExactlyInAnyOrder("atm", "ATM", "현금인출기");
+
+        // when
+        given(campusDirectory.facilitySynonyms()).willReturn(List.of(synonym("은행기계", "atm")));
+        engine.rebuild();
+
+        // then
+        assertThat(((KeywordProvider) atmStrategy).keywords()).containsExactlyInAnyOrder("atm", "은행기계");
+        assertThat(atmStrategy.handle(response("은행기계"))).contains("학생회관");
+        assertThrows(CustomException.class, () -> engine.answer("atm", "현금인출기"));
+    }
+
+    @Test
+    @DisplayName("동의어 사전이 비어 있어도 설정의 기본 동의어로 복사기와 편의점 위치를 응답한다")
+    void handle_UsesDefaultSynonyms_WhenSynonymTableIsEmpty() {
+        // given
+        given(campusDirectory.facilitiesByType()).willReturn(Map.of(
+                "copier", List.of(facility("도서관", "1층 열람실", "http://map.url/copier")),
+                "convenience_store", List.of(facility("기숙사", "지하 1층", "http://map.url/cvs"))));
+        given(campusDirectory.facilitySynonyms()).willReturn(List.of());
+        FacilityEngine engine = new FacilityEngine(campusDirectory, new FacilityIntentProperties(List.of(
+                new FacilityIntentProperties.Intent("ask_location_of_copier", "copier", "복사기 또는 프린터기가",
+                        List.of("복사기", "프린터기")),
+                new FacilityIntentProperties.Intent("ask_location_of_convenience_store", "convenience_store",
+                        "교내편의점이", List.of("편의점", "교내편의점")))));
+        engine.rebuild();
+        StrategyFactory strategyFactory = new StrategyFactory(List.of(), List.of(engine));
+
+        // when
+        String copier = strategyFactory.getStrategy("ask_location_of_copier").handle(response("프린터기"));
+        String convenienceStore = strategyFactory.getStrategy("ask_location_of_convenience_store")
+                .handle(response("교내 편의점"));
+
+        // then
+        assertThat(copier).isEqualTo(
+                "다음은 복사기 또는 프린터기가 위치한 장소입니다:\n\n- 도서관 (1층 열람실)\nhttp://map.url/copier");
+        assertThat(convenienceStore).startsWith("다음은 교내편의점이 위치한 장소입니다:").contains("기숙사 (지하 1층)");
+        assertThat(((KeywordProvider) strategyFactory.getStrategy("ask_location_of_copier")).keywords())
+                .containsExactlyInAnyOrder("copier", "복사기", "프린터기");
+    }
+
+    @Test
+    @DisplayName("인텐트의 시설 유형이 아닌 이름이면 다른 시설로 답하지 않고 FACILITY_NOT_FOUND 예외를 발생시킨다")
+    void handle_ThrowsException_WhenEntityIsOtherFacilityType() {
+        // given
+        FacilityEngine engine = engine();
+        IntentStrategy atmStrategy = engine.strategies().get(0);
+
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> atmStrategy.handle(response("자판기")));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.FACILITY_NOT_FOUND);
+    }
+
+    private Facility facility(String name, String locationDetail, String mapUrl) {
+        Facility facility = new Facility();
+        ReflectionTestUtils.setField(facility, "name", name);
+        ReflectionTestUtils.setField(facility, "locationDetail", locationDetail);
+        ReflectionTestUtils.setField(facility, "mapUrl", mapUrl);
+        return facility;
+    }
+
+    private FacilitySynonym synonym(String synonym, String facilityType) {
+        FacilitySynonym facilitySynonym = new FacilitySynonym();
+        ReflectionTestUtils.setField(facilitySynonym, "synonym", synonym);
+        ReflectionTestUtils.setField(facilitySynonym, "facilityType", facilityType);
+        return facilitySynonym;
+    }
+
+    private RasaResponse response(String value) {
+        return RasaResponse.of(value, RasaResponse.Intent.of("ask_location", 0.9),
+                List.of(RasaResponse.Entity.of("facility", value, "DIETClassifier")));
+    }
+}
@@ -0,0 +1,153 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.dto.RasaResponse;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.fastpath.FastPathRecognizer;
+import springbook.chatbotserver.chat.service.strategy.KeywordProvider;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FastPathRecognizerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger rasaCalls = new AtomicInteger();
+    private final RasaResponse rasaResponse = RasaResponse.of("rasa",
+            RasaResponse.Intent.of("ask_location_of_atm", 0.9),
+            List.of(RasaResponse.Entity.of("facility", "atm", "DIETClassifier")));
+    private final Supplier<RasaResponse> rasa = () -> {
+        rasaCalls.incrementAndGet();
+        return rasaResponse;
+    };
+
+    private FastPathRecognizer recognizer(String mode) {
+        CampusDirectory campusDirectory = mock(CampusDirectory.class);
+        when(campusDirectory.professorNames()).thenReturn(Set.of("홍길동", "김철수"));
+        when(campusDirectory.departmentNames()).thenReturn(Set.of("컴퓨터공학과"));
+        KeywordProvider atm = new KeywordProvider() {
+            @Override
+            public String getIntent() {
+                return "ask_location_of_atm";
+            }
+
+            @Override
+            public String getEntityName() {
+                return "facility";
+            }
+
+            @Override
+            public Set<String> keywords() {
+                return Set.of("ATM", "현금인출기");
+            }
+        };
+        FastPathRecognizer recognizer =
+                new FastPathRecognizer(List.of(atm), List.of(), campusDirectory, meterRegistry, mode);
+        recognizer.rebuild();
+        return recognizer;
+    }
+
+    @Test
+    @DisplayName("on 모드에서 교수 이름과 군더더기 말로만 된 발화는 Rasa 를 호출하지 않는다")
+    void resolve_BypassesRasaForProfessorName() {
+        // given
+        FastPathRecognizer recognizer = recognizer("on");
+
+        // when
+        RasaResponse response = recognizer.resolve("홍길동 교수님 연구실 어디야?", rasa);
+
+        // then
+        assertThat(rasaCalls.get()).isZero();
+        assertThat(response.getIntent().getName()).isEqualTo("ask_office_of_professor");
+        assertThat(response.getEntities().get(0).getEntity()).isEqualTo("professor");
+        assertThat(response.getEntities().get(0).getValue()).isEqualTo("홍길동");
+        assertThat(meterRegistry.counter("fastpath.requests", "outcome", "bypass").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("on 모드에서 강의실 번호는 room_number 엔티티로 인식한다")
+    void resolve_RecognizesRoomNumber() {
+        // given
+        FastPathRecognizer recognizer = recognizer("on");
+
+        // when
+        RasaResponse response = recognizer.resolve("1234호 어디에 있어요", rasa);
+
+        // then
+        assertThat(rasaCalls.get()).isZero();
+        assertThat(response.getIntent().getName()).isEqualTo("ask_room_location");
+        assertThat(response.getEntities().get(0).getValue()).isEqualTo("1234호");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 말이 섞인 발화는 Rasa 로 넘긴다")
+    void resolve_FallsThroughWhenAmbiguous() {
+        // given
+        FastPathRecognizer recognizer = recognizer("on");
+
+        // when
+        RasaResponse response = recognizer.resolve("ATM 수수료 얼마야", rasa);
+
+        // then
+        assertThat(rasaCalls.get()).isEqualTo(1);
+        assertThat(response).isSameAs(rasaResponse);
+        assertThat(meterRegistry.counter("fastpath.requests", "outcome", "fallthrough").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("한 글자 조사를 이어 붙여 만든 다른 단어가 남으면 Rasa 로 넘긴다")
+    void resolve_FallsThroughWhenParticlesFormAnotherWord() {
+        // given
+        FastPathRecognizer recognizer = recognizer("on");
+
+        // when
+        RasaResponse age = recognizer.resolve("김철수 나이", rasa);
+        RasaResponse leading = recognizer.resolve("이 홍길동", rasa);
+        RasaResponse particle = recognizer.resolve("홍길동이 어디에요", rasa);
+
+        // then
+        assertThat(age).isSameAs(rasaResponse);
+        assertThat(leading).isSameAs(rasaResponse);
+        assertThat(particle.getIntent().getName()).isEqualTo("ask_office_of_professor");
+        assertThat(rasaCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("서로 다른 값이 두 개 이상 나오면 Rasa 로 넘긴다")
+    void resolve_FallsThroughWhenMultipleTargets() {
+        // given
+        FastPathRecognizer recognizer = recognizer("on");
+
+        // when
+        recognizer.resolve("컴퓨터공학과 홍길동 교수님", rasa);
+
+        // then
+        assertThat(rasaCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("shadow 모드에서는 Rasa 결과를 반환하고 비교 결과만 기록한다")
+    void resolve_ShadowModeComparesWithRasa() {
+        // given
+        FastPathRecognizer recognizer = recognizer("shadow");
+
+        // when
+        RasaResponse atm = recognizer.resolve("ATM 어디", rasa);
+        RasaResponse professor = recognizer.resolve("홍길동 교수님", rasa);
+
+        // then
+        assertThat(atm).isSameAs(rasaResponse);
+        assertThat(professor).isSameAs(rasaResponse);
+        assertThat(rasaCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("fastpath.shadow.comparisons", "result", "match").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("fastpath.shadow.comparisons", "result", "mismatch").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,37 @@
+package springbook.chatbotserver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.service.directory.FuzzyNameIndex;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FuzzyNameIndexTest {
+
+    private final FuzzyNameIndex index = FuzzyNameIndex.of(List.of(
+            "홍길동", "김철수", "김영희", "컴퓨터공학과", "전자공학과", "기계공학과", "융합과학관", "행복기숙사"));
+
+    @Test
+    @DisplayName("자모 하나가 틀리거나 띄어쓰기가 다른 이름을 디렉터리의 이름으로 바로잡는다")
+    void find_CorrectsTyposAndSpacing() {
+        // when & then
+        assertThat(index.find("홍길둥")).contains("홍길동");
+        assertThat(index.find("홍 길동")).contains("홍길동");
+        assertThat(index.find("컴퓨타공학과")).contains("컴퓨터공학과");
+        assertThat(index.find("컴퓨터 공학과")).contains("컴퓨터공학과");
+        assertThat(index.find("컴퓨터공학")).contains("컴퓨터공학과");
+        assertThat(index.find("융합과학간")).contains("융합과학관");
+    }
+
+    @Test
+    @DisplayName("허용 거리보다 멀거나 가장 가까운 이름이 여럿이면 찾지 못한 것으로 본다")
+    void find_ReturnsEmpty_WhenTooFarOrAmbiguous() {
+        // when & then
+        assertThat(index.find("이순신")).isEmpty();
+        assertThat(index.find("김영수")).isEmpty();
+        assertThat(index.find("공학과")).isEmpty();
+        assertThat(index.find("  ")).isEmpty();
+    }
+}
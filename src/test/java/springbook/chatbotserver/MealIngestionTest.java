@@ -0,0 +1,232 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import springbook.chatbotserver.chat.model.domain.Meal;
+import springbook.chatbotserver.chat.model.domain.MealMenu;
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.chat.service.meal.CrawledMeal;
+import springbook.chatbotserver.chat.service.meal.MealChanges;
+import springbook.chatbotserver.chat.service.meal.MealDataIngestedEvent;
+import springbook.chatbotserver.chat.service.meal.MealIngestionLock;
+import springbook.chatbotserver.chat.service.meal.MealIngestionService;
+import springbook.chatbotserver.chat.service.meal.MealIngestionWriter;
+import springbook.chatbotserver.chat.service.meal.MealMenuCrawler;
+import springbook.chatbotserver.chat.service.meal.MealPage;
+import springbook.chatbotserver.config.MealIngestionProperties;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MealIngestionTest {
+
+    private final LocalDate monday = LocalDate.of(2025, 5, 26);
+    private final MealIngestionProperties.Dormitory dormitory =
+            new MealIngestionProperties.Dormitory(7, "푸름관", "https://dorm.example/menu");
+    private final MealIngestionProperties properties =
+            new MealIngestionProperties(true, "diff", 0, 0, 2, null, List.of(dormitory));
+    private final Clock clock = Clock.fixed(monday.atTime(5, 0).atZone(ZoneId.systemDefault()).toInstant(),
+            ZoneId.systemDefault());
+
+    @Test
+    @DisplayName("식단표의 날짜 머리행과 식사 유형 행을 끼니별 메뉴로 읽는다")
+    void parse_ReadsMealsPerDateAndType() {
+        // given
+        String html = """
+                <table>
+                  <thead><tr><th>구분</th><th>05.26(월)</th><th>05.27(화)</th></tr></thead>
+                  <tbody>
+                    <tr><th>조식</th><td>쌀밥<br>미역국</td><td></td></tr>
+                    <tr><th>중식(일품)</th><td>카레라이스</td><td>비빔밥<br/> 된장국 </td></tr>
+                    <tr><th>비고</th><td>알레르기 정보</td><td></td></tr>
+                  </tbody>
+                </table>
+                """;
+
+        // when
+        MealPage page = MealMenuCrawler.parse(Jsoup.parse(html), 7, monday);
+
+        // then
+        assertThat(page.dates()).containsExactly(monday, monday.plusDays(1));
+        assertThat(page.meals()).containsExactly(
+                new CrawledMeal(7, monday, "조식", List.of("쌀밥", "미역국")),
+                new CrawledMeal(7, monday, "중식", List.of("카레라이스")),
+                new CrawledMeal(7, monday.plusDays(1), "중식", List.of("비빔밥", "된장국")));
+    }
+
+    @Test
+    @DisplayName("페이지에 나온 날짜 안에서만 추가/메뉴 변경/삭제를 구분하고 같은 끼니는 건너뛴다")
+    void between_DiffsOnlyWithinCrawledDates() {
+        // given
+        MealPage page = new MealPage(7, Set.of(monday, monday.plusDays(1)), List.of(
+                new CrawledMeal(7, monday, "조식", List.of("쌀밥", "미역국")),
+                new CrawledMeal(7, monday, "중식", List.of("카레라이스")),
+                new CrawledMeal(7, monday.plusDays(1), "석식", List.of("라면"))));
+        List<StoredMealRow> stored = List.of(
+                new StoredMealRow(1, 7, monday, "조식", "쌀밥"),
+                new StoredMealRow(1, 7, monday, "조식", "미역국"),
+                new StoredMealRow(2, 7, monday, "중식", "짜장면"),
+                new StoredMealRow(3, 7, monday.plusDays(1), "조식", "토스트"),
+                new StoredMealRow(4, 8, monday, "조식", "다른 기숙사"));
+
+        // when
+        MealChanges changes = MealChanges.between(List.of(page), stored);
+
+        // then
+        assertThat(changes.inserts()).extracting(CrawledMeal::mealType).containsExactly("석식");
+        assertThat(changes.updates()).containsExactly(new MealChanges.Update(2, List.of("카레라이스")));
+        assertThat(changes.deletes()).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("바뀐 끼니를 다중 행 쿼리로 반영하고, 새 끼니의 메뉴는 다시 읽은 ID 로 넣은 뒤 이벤트를 발행한다")
+    void ingest_WritesChangesInBatchesAndPublishesEvent() throws IOException {
+        // given
+        MealMenuCrawler crawler = mock(MealMenuCrawler.class);
+        MealMapper mealMapper = mock(MealMapper.class);
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        MealIngestionService service = new MealIngestionService(properties, crawler, mealMapper,
+                new MealIngestionWriter(mealMapper, properties), eventPublisher, mock(MealIngestionLock.class),
+                clock, new SimpleMeterRegistry());
+        given(crawler.crawl(eq(dormitory), eq(monday))).willReturn(new MealPage(7, Set.of(monday), List.of(
+                new CrawledMeal(7, monday, "조식", List.of("쌀밥", "미역국", "김치")),
+                new CrawledMeal(7, monday, "중식", List.of("카레라이스")),
+                new CrawledMeal(7, monday, "석식", List.of("라면")))));
+        given(mealMapper.findCurrentVersion()).willReturn(1);
+        given(mealMapper.findStoredMeals(1, monday, monday)).willReturn(List.of());
+        given(mealMapper.findMealIds(eq(1), anyList())).willReturn(
+                List.of(new StoredMealRow(10, 7, monday, "조식", null), new StoredMealRow(11, 7, monday, "중식", null)),
+                List.of(new StoredMealRow(12, 7, monday, "석식", null)));
+
+        // when
+        MealChanges changes = service.ingest(monday);
+
+        // then
+        assertThat(changes.inserts()).hasSize(3);
+        ArgumentCaptor<List<Meal>> meals = ArgumentCaptor.forClass(List.class);
+        verify(mealMapper, times(2)).insertMeals(eq(1), meals.capture());
+        assertThat(meals.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        ArgumentCaptor<List<MealMenu>> menus = ArgumentCaptor.forClass(List.class);
+        verify(mealMapper, times(3)).insertMealMenus(menus.capture());
+        assertThat(menus.getAllValues().stream().flatMap(List::stream).map(MealMenu::getMealId))
+                .containsExactly(10, 10, 10, 11, 12);
+        verify(mealMapper, never()).insertMeal(any());
+        verify(eventPublisher).publishEvent(new MealDataIngestedEvent(Set.of(7), monday, monday));
+    }
+
+    @Test
+    @DisplayName("reload 모드는 새 버전에 수집한 식단을 쓰고 나머지를 복사한 뒤 버전을 바꾸고 이전 버전을 지운다")
+    void reload_WritesNewVersionThenSwitchesAndCollectsGarbage() {
+        // given
+        MealMapper mealMapper = mock(MealMapper.class);
+        MealIngestionWriter writer = new MealIngestionWriter(mealMapper, properties);
+        MealPage page = new MealPage(7, Set.of(monday), List.of(new CrawledMeal(7, monday, "중식", List.of("카레라이스"))));
+        given(mealMapper.findMealIds(eq(4), anyList())).willReturn(List.of(new StoredMealRow(20, 7, monday, "중식", null)));
+        given(mealMapper.switchVersion(3, 4)).willReturn(1);
+        given(mealMapper.deleteStaleMeals(eq(4), eq(2))).willReturn(2, 1);
+
+        // when
+        int menuRows = writer.reload(3, List.of(page));
+
+        // then
+        assertThat(menuRows).isEqualTo(1);
+        InOrder inOrder = inOrder(mealMapper);
+        inOrder.verify(mealMapper).deleteMealMenusOfVersion(4, 2);
+        inOrder.verify(mealMapper).deleteMealsOfVersion(4, 2);
+        inOrder.verify(mealMapper).insertMeals(eq(4), anyList());
+        ArgumentCaptor<List<MealMenu>> menus = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(mealMapper).insertMealMenus(menus.capture());
+        assertThat(menus.getValue()).extracting(MealMenu::getMealId, MealMenu::getMenuItem)
+                .containsExactly(tuple(20, "카레라이스"));
+        inOrder.verify(mealMapper).copyMeals(3, 4, Map.of(7, Set.of(monday)));
+        inOrder.verify(mealMapper).copyMealMenus(4);
+        inOrder.verify(mealMapper).switchVersion(3, 4);
+        inOrder.verify(mealMapper).deleteStaleMealMenus(4, 2);
+        verify(mealMapper, times(2)).deleteStaleMeals(4, 2);
+        verify(mealMapper, never()).deleteStaleMealMenus(eq(3), anyInt());
+    }
+
+    @Test
+    @DisplayName("reload 모드에서 다른 다시 읽기가 버전을 먼저 바꿨으면 이전 버전을 지우지 않는다")
+    void reload_LeavesOldVersionsWhenSwitchFails() {
+        // given
+        MealMapper mealMapper = mock(MealMapper.class);
+        MealIngestionWriter writer = new MealIngestionWriter(mealMapper, properties);
+        MealPage page = new MealPage(7, Set.of(monday), List.of(new CrawledMeal(7, monday, "중식", List.of("카레라이스"))));
+        given(mealMapper.findMealIds(eq(4), anyList())).willReturn(List.of(new StoredMealRow(20, 7, monday, "중식", null)));
+        given(mealMapper.switchVersion(3, 4)).willReturn(0);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> writer.reload(3, List.of(page)));
+
+        // then
+        verify(mealMapper, never()).deleteStaleMealMenus(anyInt(), anyInt());
+        verify(mealMapper, never()).deleteStaleMeals(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 수집 잠금을 잡고 있으면 예약 수집을 건너뛴다")
+    void scheduledIngest_SkipsWhenLockHeldElsewhere() throws IOException {
+        // given
+        MealMenuCrawler crawler = mock(MealMenuCrawler.class);
+        MealMapper mealMapper = mock(MealMapper.class);
+        MealIngestionLock lock = mock(MealIngestionLock.class);
+        MealIngestionService service = new MealIngestionService(properties, crawler, mealMapper,
+                new MealIngestionWriter(mealMapper, properties), mock(ApplicationEventPublisher.class), lock,
+                clock, new SimpleMeterRegistry());
+        given(lock.tryAcquire()).willReturn(false);
+
+        // when
+        service.scheduledIngest();
+
+        // then
+        verify(crawler, never()).crawl(any(), any());
+        verify(lock, never()).release();
+    }
+
+    @Test
+    @DisplayName("수집 잠금을 잡으면 주입한 시계의 날짜로 수집하고 잠금을 푼다")
+    void scheduledIngest_UsesClockAndReleasesLock() throws IOException {
+        // given
+        MealMenuCrawler crawler = mock(MealMenuCrawler.class);
+        MealMapper mealMapper = mock(MealMapper.class);
+        MealIngestionLock lock = mock(MealIngestionLock.class);
+        MealIngestionService service = new MealIngestionService(properties, crawler, mealMapper,
+                new MealIngestionWriter(mealMapper, properties), mock(ApplicationEventPublisher.class), lock,
+                clock, new SimpleMeterRegistry());
+        given(lock.tryAcquire()).willReturn(true);
+        given(crawler.crawl(eq(dormitory), eq(monday))).willReturn(new MealPage(7, Set.of(), List.of()));
+
+        // when
+        service.scheduledIngest();
+
+        // then
+        verify(crawler).crawl(dormitory, monday);
+        verify(lock).release();
+    }
+}
@@ -0,0 +1,89 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.dto.StoredMealRow;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.chat.service.meal.MealDataIngestedEvent;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.MealMessageBuilder;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.MealMessageCache;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class MealMessageCacheTest {
+
+    private final LocalDate today = LocalDate.of(2025, 5, 15);
+    private final MealMapper mealMapper = mock(MealMapper.class);
+    private final Clock clock = Clock.fixed(today.atTime(23, 55).atZone(ZoneId.of("Asia/Seoul")).toInstant(),
+            ZoneId.of("Asia/Seoul"));
+    private final MealMessageCache mealMessageCache =
+            new MealMessageCache(mealMapper, new MealMessageBuilder(), clock, new SimpleMeterRegistry(), true, 3, 900);
+
+    @Test
+    @DisplayName("오늘부터 며칠간의 식단을 끼니별, 하루 전체 본문으로 미리 만든다")
+    void refresh_RendersBodiesPerMealTypeAndWholeDay() {
+        // given
+        given(mealMapper.findCurrentVersion()).willReturn(2);
+        given(mealMapper.findStoredMeals(2, today, today.plusDays(2))).willReturn(List.of(
+                new StoredMealRow(1, 7, today, "조식", "쌀밥"),
+                new StoredMealRow(1, 7, today, "조식", "미역국"),
+                new StoredMealRow(2, 7, today, "중식", "카레라이스"),
+                new StoredMealRow(3, 7, today.plusDays(1), "석식", null)));
+
+        // when
+        int rendered = mealMessageCache.refresh();
+
+        // then
+        assertThat(rendered).isEqualTo(3);
+        assertThat(mealMessageCache.find(7, today.toString(), "조식")).contains("[조식]\n쌀밥\n미역국");
+        assertThat(mealMessageCache.find(7, today.toString(), "ALL")).contains("[조식]\n쌀밥\n미역국\n\n[중식]\n카레라이스");
+        assertThat(mealMessageCache.find(7, today.plusDays(1).toString(), "석식")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("식단 수집 이벤트를 받으면 바뀐 식단으로 통째로 교체한다")
+    void onMealDataIngested_ReplacesBodies() {
+        // given
+        given(mealMapper.findCurrentVersion()).willReturn(1, 2);
+        given(mealMapper.findStoredMeals(1, today, today.plusDays(2)))
+                .willReturn(List.of(new StoredMealRow(1, 7, today, "중식", "짜장면")));
+        given(mealMapper.findStoredMeals(2, today, today.plusDays(2)))
+                .willReturn(List.of(new StoredMealRow(5, 7, today, "중식", "비빔밥")));
+        mealMessageCache.refresh();
+
+        // when
+        mealMessageCache.onMealDataIngested(new MealDataIngestedEvent(Set.of(7), today, today));
+
+        // then
+        assertThat(mealMessageCache.find(7, today.toString(), "중식")).contains("[중식]\n비빔밥");
+    }
+
+    @Test
+    @DisplayName("다시 만들지 못해 ttl 이 지난 본문은 쓰지 않고 DB 에서 조회하게 한다")
+    void find_MissesAfterTtl() {
+        // given
+        Clock mutableClock = mock(Clock.class);
+        given(mutableClock.getZone()).willReturn(clock.getZone());
+        given(mutableClock.instant()).willReturn(clock.instant(), clock.instant().plusSeconds(60),
+                clock.instant().plusSeconds(901));
+        MealMessageCache cache = new MealMessageCache(mealMapper, new MealMessageBuilder(), mutableClock,
+                new SimpleMeterRegistry(), true, 3, 900);
+        given(mealMapper.findCurrentVersion()).willReturn(1);
+        given(mealMapper.findStoredMeals(1, today, today.plusDays(2)))
+                .willReturn(List.of(new StoredMealRow(1, 7, today, "중식", "짜장면")));
+        cache.refresh();
+
+        // when & then
+        assertThat(cache.find(7, today.toString(), "중식")).contains("[중식]\n짜장면");
+        assertThat(cache.find(7, today.toString(), "중식")).isEmpty();
+    }
+}
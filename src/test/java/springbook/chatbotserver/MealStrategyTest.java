@@ -1,39 +1,43 @@
 package springbook.chatbotserver;
 
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy; // Spy 사용
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import springbook.chatbotserver.chat.model.dto.MealResponse;
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
-import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
 import springbook.chatbotserver.chat.model.mapper.MealMapper;
-import springbook.chatbotserver.chat.service.strategy.intent.meal.DateResolver;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.DateExpressionParser;
 import springbook.chatbotserver.chat.service.strategy.intent.meal.MealMessageBuilder;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.MealMessageCache;
 import springbook.chatbotserver.chat.service.strategy.intent.meal.MealStrategy;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.MealWeekCache;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class MealStrategyTest {
 
     @Mock
-    private BuildingMapper buildingMapper;
+    private CampusDirectory campusDirectory;
 
     @Mock
     private MealMapper mealMapper;
@@ -41,20 +45,20 @@ public class MealStrategyTest {
     @Spy
     private MealMessageBuilder mealMessageBuilder;
 
-    @InjectMocks
-    private MealStrategy mealStrategy;
+    @Mock
+    private MealWeekCache mealWeekCache;
 
-    private MockedStatic<DateResolver> dateResolverMock;
+    @Mock
+    private MealMessageCache mealMessageCache;
 
-    @BeforeEach
-    void setUp() {
-        dateResolverMock = mockStatic(DateResolver.class);
-    }
+    // 2025-05-15 (목)
+    @Spy
+    private DateExpressionParser dateExpressionParser = new DateExpressionParser(
+            Clock.fixed(LocalDate.of(2025, 5, 15).atTime(12, 0).atZone(ZoneId.of("Asia/Seoul")).toInstant(),
+                    ZoneId.of("Asia/Seoul")), 256);
 
-    @AfterEach
-    void tearDown() {
-        dateResolverMock.close();
-    }
+    @InjectMocks
+    private MealStrategy mealStrategy;
 
     @Test
     @DisplayName("특정 날짜의 식단을 요청할 경우 메뉴 상세 내용이 포함된 메시지를 반환한다")
@@ -65,10 +69,7 @@ public class MealStrategyTest {
         String fixedDate = "2025-05-15";
 
 
-        given(buildingMapper.findBuildingNumberOfBuildingName(dormName)).willReturn(202);
-
-
-        dateResolverMock.when(() -> DateResolver.resolve(time)).thenReturn(fixedDate);
+        given(campusDirectory.findBuildingNumber(dormName)).willReturn(202);
 
 
         MealResponse meal1 = MealResponse.builder()
@@ -95,23 +96,59 @@ public class MealStrategyTest {
     }
 
     @Test
-    @DisplayName("이번주 식단을 요청할 경우 날짜 선택 안내 메시지를 반환한다")
-    void execute_ReturnsDateSelectionGuide_WhenWeekRequested() {
+    @DisplayName("미리 만든 식단 본문이 있으면 DB 를 조회하지 않고 머리말만 붙여 반환한다")
+    void execute_ReturnsPreRenderedMessage_WhenCached() {
+        // given
+        given(campusDirectory.findBuildingNumber("학생회관")).willReturn(202);
+        given(mealMessageCache.find(202, "2025-05-15", "중식")).willReturn(Optional.of("[중식]\n김치찌개"));
+        RasaResponse rasaRequest = createRasaResponse("학생회관", "오늘", "중식");
+
+        // when
+        String result = mealStrategy.handle(rasaRequest);
+
+        // then
+        assertThat(result).isEqualTo("학생회관의 2025-05-15 식단 정보입니다:\n\n[중식]\n김치찌개");
+        verify(mealMapper, never()).findMealsByDates(anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("이번주 식단을 요청할 경우 한 주의 식단을 날짜별로 한 번에 반환한다")
+    void execute_ReturnsWholeWeek_WhenWeekRequested() {
         // given
         String dormName = "기숙사식당";
         String time = "이번주";
 
-        given(buildingMapper.findBuildingNumberOfBuildingName(dormName)).willReturn(101);
+        given(campusDirectory.findBuildingNumber(dormName)).willReturn(101);
 
-        dateResolverMock.when(DateResolver::getWeekDates).thenReturn(List.of("2025-05-15"));
+        given(mealWeekCache.get(101, LocalDate.of(2025, 5, 12))).willReturn(List.of(
+                MealResponse.builder().mealDate("2025-05-12").mealType("중식").menuItem("돈가스").build(),
+                MealResponse.builder().mealDate("2025-05-13").mealType("중식").menuItem("비빔밥").build(),
+                MealResponse.builder().mealDate("2025-05-13").mealType("석식").menuItem("라면").build()));
 
-        RasaResponse rasaRequest = createRasaResponse(dormName, time, "ALL");
+        RasaResponse rasaRequest = createRasaResponse(dormName, time, "중식");
 
         // when
         String result = mealStrategy.handle(rasaRequest);
 
         // then
-        assertThat(result).contains("식단 정보는 다음 날짜에 확인하실 수 있습니다");
+        assertThat(result).contains("2025-05-12", "돈가스", "2025-05-13", "비빔밥");
+        assertThat(result).doesNotContain("라면");
+        assertThat(result.indexOf("돈가스")).isLessThan(result.indexOf("비빔밥"));
+    }
+
+    @Test
+    @DisplayName("이번주 식단이 없을 경우 예외를 발생시킨다")
+    void execute_ThrowsException_WhenWeekHasNoMeals() {
+        // given
+        given(campusDirectory.findBuildingNumber("기숙사식당")).willReturn(101);
+        given(mealWeekCache.get(101, LocalDate.of(2025, 5, 12))).willReturn(List.of());
+        RasaResponse rasaRequest = createRasaResponse("기숙사식당", "이번주", "ALL");
+
+        // when
+        CustomException exception = assertThrows(CustomException.class, () -> mealStrategy.handle(rasaRequest));
+
+        // then
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.MEAL_NOT_FOUND);
     }
 
 
@@ -120,7 +157,7 @@ public class MealStrategyTest {
     void execute_ThrowsException_WhenRestaurantNotFound() {
         // given
         String dormName = "없는식당";
-        given(buildingMapper.findBuildingNumberOfBuildingName(dormName)).willReturn(null);
+        given(campusDirectory.findBuildingNumber(dormName)).willReturn(null);
         RasaResponse rasaRequest = createRasaResponse(dormName, "오늘", "ALL");
 
         // when
@@ -129,6 +166,24 @@ public class MealStrategyTest {
         assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.RESTAURANT_NOT_FOUND);
     }
 
+    @Test
+    @DisplayName("식당 이름에 오타가 있으면 교정한 이름과 함께 찾은 건물 번호로 식단을 조회한다")
+    void execute_UsesCorrectedRestaurant_WhenNameHasTypo() {
+        // given
+        given(campusDirectory.findBuildingNumber("학생회간")).willReturn(null);
+        given(campusDirectory.correctBuilding("학생회간"))
+                .willReturn(Optional.of(new CampusDirectory.Correction<>("학생회관", 202)));
+        given(mealMessageCache.find(202, "2025-05-15", "중식")).willReturn(Optional.of("[중식]\n김치찌개"));
+        RasaResponse rasaRequest = createRasaResponse("학생회간", "오늘", "중식");
+
+        // when
+        String result = mealStrategy.handle(rasaRequest);
+
+        // then
+        assertThat(result).isEqualTo("학생회관의 2025-05-15 식단 정보입니다:\n\n[중식]\n김치찌개");
+        verify(campusDirectory, never()).findBuildingNumber("학생회관");
+    }
+
     @Test
     @DisplayName("해당 날짜에 식단 데이터가 없을 경우 예외를 발생시킨다")
     void execute_ThrowsException_WhenMealNotFound() {
@@ -137,8 +192,7 @@ public class MealStrategyTest {
         String time = "내일";
         String fixedDate = "2025-05-16";
 
-        given(buildingMapper.findBuildingNumberOfBuildingName(dormName)).willReturn(303);
-        dateResolverMock.when(() -> DateResolver.resolve(time)).thenReturn(fixedDate);
+        given(campusDirectory.findBuildingNumber(dormName)).willReturn(303);
 
         given(mealMapper.findMealsByDates(anyInt(), eq(fixedDate), anyString()))
                 .willReturn(Collections.emptyList());
@@ -0,0 +1,89 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.model.dto.MealResponse;
+import springbook.chatbotserver.chat.model.mapper.MealMapper;
+import springbook.chatbotserver.chat.service.meal.MealDataIngestedEvent;
+import springbook.chatbotserver.chat.service.strategy.intent.meal.MealWeekCache;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class MealWeekCacheTest {
+
+    private final LocalDate monday = LocalDate.of(2025, 6, 9);
+    private final LocalDate sunday = monday.plusDays(6);
+    private final MealMapper mealMapper = mock(MealMapper.class);
+    /** 오늘은 다음 주로 두어, 수집 이벤트가 이번 주를 미리 만드는 동작과 섞이지 않게 합니다. */
+    private final MealWeekCache cache = new MealWeekCache(mealMapper,
+            Clock.fixed(monday.plusWeeks(1).atStartOfDay(ZoneId.of("Asia/Seoul")).toInstant(), ZoneId.of("Asia/Seoul")),
+            new SimpleMeterRegistry(), 500, 3600);
+
+    @Test
+    @DisplayName("식단이 있는 주는 한 번만 읽고, 같은 주의 다른 날짜도 캐시에서 반환한다")
+    void get_CachesWeekWithMeals() {
+        // given
+        given(mealMapper.findMealsInRange(7, monday, sunday)).willReturn(List.of(meal("2025-06-10", "카레라이스")));
+
+        // when
+        List<MealResponse> first = cache.get(7, monday.plusDays(1));
+        List<MealResponse> second = cache.get(7, monday.plusDays(3));
+
+        // then
+        assertThat(first).extracting(MealResponse::getMenuItem).containsExactly("카레라이스");
+        assertThat(second).isSameAs(first);
+        verify(mealMapper, times(1)).findMealsInRange(7, monday, sunday);
+    }
+
+    @Test
+    @DisplayName("식단이 없는 주는 캐시하지 않아 나중에 올라온 식단을 바로 반환한다")
+    void get_DoesNotCacheEmptyWeek() {
+        // given
+        given(mealMapper.findMealsInRange(7, monday, sunday))
+                .willReturn(List.of())
+                .willReturn(List.of(meal("2025-06-09", "비빔밥")));
+
+        // when
+        List<MealResponse> before = cache.get(7, monday);
+        List<MealResponse> after = cache.get(7, monday);
+
+        // then
+        assertThat(before).isEmpty();
+        assertThat(after).extracting(MealResponse::getMenuItem).containsExactly("비빔밥");
+        verify(mealMapper, times(2)).findMealsInRange(7, monday, sunday);
+    }
+
+    @Test
+    @DisplayName("수집 후 다시 읽은 주의 식단이 없으면 캐시에서 지운다")
+    void onMealDataIngested_InvalidatesWeekThatBecameEmpty() {
+        // given
+        given(mealMapper.findMealsInRange(7, monday, sunday))
+                .willReturn(List.of(meal("2025-06-09", "비빔밥")))
+                .willReturn(List.of())
+                .willReturn(List.of(meal("2025-06-09", "김치찌개")));
+        cache.get(7, monday);
+
+        // when
+        cache.onMealDataIngested(new MealDataIngestedEvent(Set.of(7), monday, monday));
+        List<MealResponse> meals = cache.get(7, monday);
+
+        // then
+        assertThat(meals).extracting(MealResponse::getMenuItem).containsExactly("김치찌개");
+        verify(mealMapper, times(3)).findMealsInRange(7, monday, sunday);
+    }
+
+    private MealResponse meal(String date, String menuItem) {
+        return MealResponse.builder().mealDate(date).mealType("중식").menuItem(menuItem).build();
+    }
+}
@@ -13,12 +13,13 @@ import org.springframework.aop.framework.AopContext;
 import org.springframework.test.util.ReflectionTestUtils;
 import springbook.chatbotserver.chat.model.domain.Professor;
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
-import springbook.chatbotserver.chat.model.mapper.ProfessorMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.intent.ProfessorStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -29,7 +30,7 @@ import static org.mockito.Mockito.mockStatic;
 @ExtendWith(MockitoExtension.class)
 public class ProfessorStrategyTest {
     @Mock
-    private ProfessorMapper professorMapper;
+    private CampusDirectory campusDirectory;
 
     @InjectMocks
     private ProfessorStrategy professorStrategy;
@@ -57,7 +58,7 @@ public class ProfessorStrategyTest {
         ReflectionTestUtils.setField(mockProfessor, "office", "208호");
         ReflectionTestUtils.setField(mockProfessor, "mapUrl", "http://map.url");
 
-        given(professorMapper.findOfficeByProfessorName(professorName)).willReturn(mockProfessor);
+        given(campusDirectory.findProfessor(professorName)).willReturn(mockProfessor);
 
 
         RasaResponse.Entity entity = new RasaResponse.Entity();
@@ -79,6 +80,35 @@ public class ProfessorStrategyTest {
         );
     }
 
+    @Test
+    @DisplayName("이름에 오타가 있으면 가장 가까운 교수님의 교수실 위치를 반환한다")
+    void execute_ReturnsCorrectedProfessor_WhenNameHasTypo() {
+        // given
+        aopContextMock.when(AopContext::currentProxy).thenReturn(professorStrategy);
+
+        Professor mockProfessor = new Professor();
+        ReflectionTestUtils.setField(mockProfessor, "buildingName", "융합과학관");
+        ReflectionTestUtils.setField(mockProfessor, "office", "208호");
+        ReflectionTestUtils.setField(mockProfessor, "mapUrl", "http://map.url");
+
+        given(campusDirectory.findProfessor("홍길둥")).willReturn(null);
+        given(campusDirectory.correctProfessor("홍길둥"))
+                .willReturn(Optional.of(new CampusDirectory.Correction<>("홍길동", mockProfessor)));
+
+        RasaResponse.Entity entity = new RasaResponse.Entity();
+        ReflectionTestUtils.setField(entity, "entity", "professor");
+        ReflectionTestUtils.setField(entity, "value", "홍길둥");
+
+        RasaResponse rasaResponse = new RasaResponse();
+        ReflectionTestUtils.setField(rasaResponse, "entities", List.of(entity));
+
+        // when
+        String result = professorStrategy.handle(rasaResponse);
+
+        // then
+        assertThat(result).startsWith("홍길동 교수님의 교수실은 융합과학관 208호에 있습니다.");
+    }
+
     @Test
     @DisplayName("존재하지 않는 교수님일 경우 예외를 발생시킨다")
     void execute_ThrowsException_WhenProfessorNotFound() {
@@ -87,7 +117,7 @@ public class ProfessorStrategyTest {
 
         String professorName = "없는교수";
         // DB 조회 시 null 반환
-        given(professorMapper.findOfficeByProfessorName(professorName)).willReturn(null);
+        given(campusDirectory.findProfessor(professorName)).willReturn(null);
 
         RasaResponse.Entity entity = new RasaResponse.Entity();
         ReflectionTestUtils.setField(entity, "entity", "professor");
@@ -102,4 +132,4 @@ public class ProfessorStrategyTest {
         // ErrorCode.PROFESSOR_NOT_FOUND 확인 필요
         assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PROFESSOR_NOT_FOUND);
     }
-}
\ No newline at end of file
+}
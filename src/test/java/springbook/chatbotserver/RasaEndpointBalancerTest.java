@@ -0,0 +1,121 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.service.rasa.RasaEndpointBalancer;
+import springbook.chatbotserver.chat.service.rasa.RasaReplica;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RasaEndpointBalancerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("진행 중인 요청이 가장 적은 replica 를 고른다")
+    void choose_PicksLeastOutstanding() {
+        // given
+        RasaEndpointBalancer balancer = balancer(10);
+        RasaReplica a = balancer.replicas().get(0);
+        RasaReplica b = balancer.replicas().get(1);
+        balancer.onStart(a);
+
+        // when
+        RasaReplica chosen = balancer.choose(null);
+
+        // then
+        assertThat(chosen).isSameAs(b);
+        assertThat(balancer.choose(b)).isSameAs(a);
+    }
+
+    @Test
+    @DisplayName("연속 실패가 기준에 닿은 replica 는 제외 기간 동안 고르지 않는다")
+    void onFailure_EjectsAfterConsecutiveFailures() {
+        // given
+        RasaEndpointBalancer balancer = balancer(10);
+        RasaReplica a = balancer.replicas().get(0);
+        RasaReplica b = balancer.replicas().get(1);
+        balancer.onStart(b);
+        balancer.onStart(b);
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            balancer.onStart(a);
+            balancer.onFailure(a, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // then
+        assertThat(a.isEjected(System.nanoTime())).isTrue();
+        assertThat(balancer.choose(null)).isSameAs(b);
+        assertThat(meterRegistry.get("rasa.replica.ejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("복귀한 replica 는 제외 전의 느린 지연시간으로 다시 제외하지 않는다")
+    void onSuccess_DoesNotReEjectOnStaleLatencyAfterReinstatement() {
+        // given: 제외 기간 0초라 제외되자마자 복귀한다
+        RasaEndpointBalancer balancer = balancer(0);
+        RasaReplica a = balancer.replicas().get(0);
+        balancer.onStart(a);
+        balancer.onSuccess(a, TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(meterRegistry.get("rasa.replica.ejections").counter().count()).isEqualTo(1);
+
+        // when
+        balancer.onStart(a);
+        balancer.onSuccess(a, TimeUnit.MILLISECONDS.toNanos(10));
+
+        // then
+        assertThat(a.p95Millis()).isGreaterThan(100);
+        assertThat(meterRegistry.get("rasa.replica.ejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("제외 중인 replica 의 성공이나 다른 replica 의 성공으로는 누적 제외 횟수를 초기화하지 않는다")
+    void onSuccess_ResetsEjectionsOnlyForReinstatedReplica() {
+        // given: 제외되기 전에 a 로 보낸 요청 하나가 남아 있다
+        RasaEndpointBalancer balancer = balancer(10);
+        RasaReplica a = balancer.replicas().get(0);
+        RasaReplica b = balancer.replicas().get(1);
+        balancer.onStart(a);
+        for (int i = 0; i < 2; i++) {
+            balancer.onStart(a);
+            balancer.onFailure(a, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        // when
+        balancer.onStart(b);
+        balancer.onSuccess(b, TimeUnit.MILLISECONDS.toNanos(10));
+        balancer.onSuccess(a, TimeUnit.MILLISECONDS.toNanos(10));
+
+        // then
+        assertThat(a.isEjected(System.nanoTime())).isTrue();
+        assertThat(a.ejections()).isEqualTo(1);
+        assertThat(b.ejections()).isZero();
+    }
+
+    @Test
+    @DisplayName("hedge 에서 취소된 요청은 실패로 세지 않는다")
+    void onCancelled_DoesNotCountAsFailure() {
+        // given
+        RasaEndpointBalancer balancer = balancer(10);
+        RasaReplica a = balancer.replicas().get(0);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            balancer.onStart(a);
+            balancer.onCancelled(a);
+        }
+
+        // then
+        assertThat(a.outstanding()).isZero();
+        assertThat(a.isEjected(System.nanoTime())).isFalse();
+    }
+
+    private RasaEndpointBalancer balancer(long ejectSeconds) {
+        return new RasaEndpointBalancer(meterRegistry, "http://rasa-a:5005,http://rasa-b:5005",
+                2, 100, 1, ejectSeconds, 120, 50);
+    }
+}
@@ -0,0 +1,150 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.service.rasa.RequestCoalescer;
+import springbook.chatbotserver.config.exception.CustomException;
+import springbook.chatbotserver.config.exception.ErrorCode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(meterRegistry, true, 1000);
+
+    @Test
+    @DisplayName("같은 키의 동시 요청은 한 번만 실행되고 결과를 공유한다")
+    void execute_SharesResultOfInFlightCall() throws Exception {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.execute("편의점어디", String.class, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "응답";
+                }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.execute("편의점어디", String.class, () -> {
+                    calls.incrementAndGet();
+                    return "다른 응답";
+                }));
+        assertThat(awaitCoalesced(1)).isTrue();
+        release.countDown();
+
+        // then
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("응답");
+        assertThat(follower.get(1, TimeUnit.SECONDS)).isEqualTo("응답");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("진행 중인 요청이 끝나면 같은 키라도 다시 실행한다")
+    void execute_RunsAgainAfterCompletion() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        requestCoalescer.execute("학식", String.class, () -> "1회차 " + calls.incrementAndGet());
+        String second = requestCoalescer.execute("학식", String.class, () -> "2회차 " + calls.incrementAndGet());
+
+        // then
+        assertThat(second).isEqualTo("2회차 2");
+    }
+
+    @Test
+    @DisplayName("실행 중 발생한 예외는 그대로 전달된다")
+    void execute_PropagatesCustomException() {
+        CustomException exception = assertThrows(CustomException.class, () ->
+                requestCoalescer.execute("없는교수", String.class, () -> {
+                    throw new CustomException(ErrorCode.PROFESSOR_NOT_FOUND);
+                }));
+
+        assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PROFESSOR_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("진행 중인 요청이 대기 시간 안에 끝나지 않으면 기다리지 않고 직접 실행한다")
+    void execute_CallsDirectly_WhenLeaderTimesOut() throws Exception {
+        // given
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("셔틀버스", String.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return "느린 응답";
+                }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        String follower = coalescer.execute("셔틀버스", String.class, () -> "직접 응답");
+        release.countDown();
+
+        // then
+        assertThat(follower).isEqualTo("직접 응답");
+        assertThat(meterRegistry.counter("rasa.requests.coalesced.timeouts").count()).isEqualTo(1);
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("느린 응답");
+    }
+
+    @Test
+    @DisplayName("같은 키라도 응답 타입이 다르면 결과를 공유하지 않는다")
+    void execute_DoesNotShareAcrossTypes() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.execute("도서관", String.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return "문자열 응답";
+                }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        Integer other = requestCoalescer.execute("도서관", Integer.class, () -> 42);
+        release.countDown();
+
+        // then
+        assertThat(other).isEqualTo(42);
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("문자열 응답");
+        assertThat(meterRegistry.counter("rasa.requests.coalesced").count()).isZero();
+    }
+
+    /**
+     * 후속 요청이 진행 중인 요청에 합류할 때까지 최대 1초 기다립니다.
+     */
+    private boolean awaitCoalesced(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.counter("rasa.requests.coalesced").count() < count) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package springbook.chatbotserver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.service.rasa.RetryBudget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetryBudgetTest {
+
+    @Test
+    @DisplayName("최소 재시도 수를 모두 사용하면 더 이상 재시도를 허용하지 않는다")
+    void tryAcquireRetry_FailsWhenReserveIsUsed() {
+        // given
+        RetryBudget retryBudget = new RetryBudget(0.1, 2);
+
+        // when & then
+        assertThat(retryBudget.tryAcquireRetry()).isTrue();
+        assertThat(retryBudget.tryAcquireRetry()).isTrue();
+        assertThat(retryBudget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    @DisplayName("요청이 들어올수록 비율만큼 재시도 토큰이 다시 쌓인다")
+    void recordRequest_DepositsRetryTokens() {
+        // given
+        RetryBudget retryBudget = new RetryBudget(0.1, 1);
+        retryBudget.tryAcquireRetry();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            retryBudget.recordRequest();
+        }
+
+        // then
+        assertThat(retryBudget.tryAcquireRetry()).isTrue();
+        assertThat(retryBudget.tryAcquireRetry()).isFalse();
+    }
+}
@@ -13,7 +13,7 @@ import org.springframework.aop.framework.AopContext;
 import org.springframework.test.util.ReflectionTestUtils;
 import springbook.chatbotserver.chat.model.domain.Building;
 import springbook.chatbotserver.chat.model.dto.RasaResponse;
-import springbook.chatbotserver.chat.model.mapper.BuildingMapper;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
 import springbook.chatbotserver.chat.service.strategy.intent.RoomNumberStrategy;
 import springbook.chatbotserver.config.exception.CustomException;
 import springbook.chatbotserver.config.exception.ErrorCode;
@@ -30,7 +30,7 @@ import static org.mockito.Mockito.mockStatic;
 public class RoomNumberStrategyTest {
 
     @Mock
-    private BuildingMapper buildingMapper;
+    private CampusDirectory campusDirectory;
 
     @InjectMocks
     private RoomNumberStrategy roomNumberStrategy;
@@ -57,7 +57,7 @@ public class RoomNumberStrategyTest {
         ReflectionTestUtils.setField(mockBuilding,"name","융합과학관");
         ReflectionTestUtils.setField(mockBuilding,"mapUrl","http://map.url");
 
-        given(buildingMapper.findByBuildingNumber(Integer.valueOf(buildingNumber))).willReturn(mockBuilding);
+        given(campusDirectory.findBuilding(Integer.valueOf(buildingNumber))).willReturn(mockBuilding);
 
         RasaResponse.Entity entity = new RasaResponse.Entity();
         ReflectionTestUtils.setField(entity, "entity", "room_number");
@@ -88,7 +88,7 @@ public class RoomNumberStrategyTest {
         String roomNumber = "99208";
 
         // DB 조회 시 null 반환 (건물 없음)
-        given(buildingMapper.findByBuildingNumber(Integer.valueOf(buildingNumber))).willReturn(null);
+        given(campusDirectory.findBuilding(Integer.valueOf(buildingNumber))).willReturn(null);
 
         RasaResponse.Entity entity = new RasaResponse.Entity();
         ReflectionTestUtils.setField(entity, "entity", "room_number");
@@ -104,4 +104,17 @@ public class RoomNumberStrategyTest {
         // ErrorCode.BUILDING_NOT_FOUND (또는 FACILITY_NOT_FOUND) 확인 필요
         assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.BUILDING_NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("표기가 달라도 같은 강의실이면 같은 캐시 키를 사용한다")
+    void cacheKey_IsParsedRoomInfo() {
+        // when
+        Object withSuffix = roomNumberStrategy.cacheKey("24208호");
+        Object withSpace = roomNumberStrategy.cacheKey(" 24-208 ");
+        Object other = roomNumberStrategy.cacheKey("24209");
+
+        // then
+        assertThat(withSuffix).isEqualTo(withSpace);
+        assertThat(withSuffix).isNotEqualTo(other);
+    }
+}
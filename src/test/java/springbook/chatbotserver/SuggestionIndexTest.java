@@ -0,0 +1,84 @@
+package springbook.chatbotserver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import springbook.chatbotserver.chat.model.domain.FacilitySynonym;
+import springbook.chatbotserver.chat.model.dto.SuggestionDto;
+import springbook.chatbotserver.chat.service.directory.CampusDirectory;
+import springbook.chatbotserver.chat.service.directory.SuggestionIndex;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class SuggestionIndexTest {
+
+    private final CampusDirectory campusDirectory = mock(CampusDirectory.class);
+
+    private SuggestionIndex suggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        given(campusDirectory.professorNames()).willReturn(Set.of("김현", "김현수", "김철수", "닭도리"));
+        given(campusDirectory.departmentNames()).willReturn(Set.of("컴퓨터공학과", "기계공학과"));
+        given(campusDirectory.buildingNames()).willReturn(Set.of("김현관", "공학관"));
+        given(campusDirectory.facilitySynonyms()).willReturn(List.of(synonym("ATM")));
+        suggestionIndex = new SuggestionIndex(campusDirectory, new SimpleMeterRegistry(), 10);
+        suggestionIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("초성만 입력하면 초성이 일치하는 이름을 짧은 이름, 교수/학과/건물/시설 순으로 반환한다")
+    void suggest_MatchesChoseongQuery() {
+        // when
+        List<SuggestionDto> suggestions = suggestionIndex.suggest("ㄱㅎ", 10);
+
+        // then
+        assertThat(suggestions).extracting(SuggestionDto::getName)
+                .containsExactly("김현", "김현수", "공학관", "김현관");
+    }
+
+    @Test
+    @DisplayName("조합 중인 글자나 띄어쓰기가 섞인 입력도 접두사로 찾는다")
+    void suggest_MatchesPartiallyComposedPrefix() {
+        // when & then
+        assertThat(suggestionIndex.suggest("김ㅎ", 10)).extracting(SuggestionDto::getName)
+                .containsExactly("김현", "김현관", "김현수");
+        assertThat(suggestionIndex.suggest("기", 10)).extracting(SuggestionDto::getName)
+                .containsExactly("김현", "김철수", "김현수", "김현관", "기계공학과");
+        assertThat(suggestionIndex.suggest("달", 10)).extracting(SuggestionDto::getName)
+                .containsExactly("닭도리");
+        assertThat(suggestionIndex.suggest("컴퓨터 공", 10)).extracting(SuggestionDto::getType)
+                .containsExactly("department");
+        assertThat(suggestionIndex.suggest("atm", 10)).extracting(SuggestionDto::getName)
+                .containsExactly("ATM");
+        assertThat(suggestionIndex.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("후보 수를 제한하고, 디렉터리가 바뀌면 새로 만든 색인으로 찾는다")
+    void suggest_LimitsSizeAndUsesRebuiltIndex() {
+        // when
+        List<SuggestionDto> limited = suggestionIndex.suggest("ㄱ", 2);
+        given(campusDirectory.professorNames()).willReturn(Set.of("김영희"));
+        suggestionIndex.rebuild();
+
+        // then
+        assertThat(limited).extracting(SuggestionDto::getName).containsExactly("김현", "김철수");
+        assertThat(suggestionIndex.suggest("김", 10)).extracting(SuggestionDto::getName)
+                .containsExactly("김영희", "김현관");
+    }
+
+    private FacilitySynonym synonym(String synonym) {
+        FacilitySynonym facilitySynonym = new FacilitySynonym();
+        ReflectionTestUtils.setField(facilitySynonym, "synonym", synonym);
+        ReflectionTestUtils.setField(facilitySynonym, "facilityType", "atm");
+        return facilitySynonym;
+    }
+}
@@ -0,0 +1,55 @@
+package springbook.chatbotserver;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import springbook.chatbotserver.chat.service.rasa.UtteranceNormalizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class UtteranceNormalizerTest {
+
+    @Test
+    @DisplayName("공백과 문장부호가 달라도 같은 키로 정규화한다")
+    void normalize_IgnoresWhitespaceAndPunctuation() {
+        assertAll(
+                () -> assertThat(UtteranceNormalizer.normalize("편의점 어디")).isEqualTo("편의점어디"),
+                () -> assertThat(UtteranceNormalizer.normalize("편의점   어디!!")).isEqualTo("편의점어디"),
+                () -> assertThat(UtteranceNormalizer.normalize(" 편의점,어디? ")).isEqualTo("편의점어디")
+        );
+    }
+
+    @Test
+    @DisplayName("문장 끝 어미를 제거하고 영문은 소문자로 통일한다")
+    void normalize_StripsTrailingEndingAndLowercases() {
+        assertAll(
+                () -> assertThat(UtteranceNormalizer.normalize("오늘 학식 뭐예요?")).isEqualTo("오늘학식뭐"),
+                () -> assertThat(UtteranceNormalizer.normalize("편의점 어디요")).isEqualTo("편의점어디"),
+                () -> assertThat(UtteranceNormalizer.normalize("ATM 어디")).isEqualTo("atm어디")
+        );
+    }
+
+    @Test
+    @DisplayName("숫자 사이의 구분자는 남겨 다른 날짜가 같은 키가 되지 않는다")
+    void normalize_KeepsSeparatorBetweenDigits() {
+        assertAll(
+                () -> assertThat(UtteranceNormalizer.normalize("12.1 학식"))
+                        .isNotEqualTo(UtteranceNormalizer.normalize("1.21 학식")),
+                () -> assertThat(UtteranceNormalizer.normalize("11/1 학식"))
+                        .isNotEqualTo(UtteranceNormalizer.normalize("1/11 학식")),
+                () -> assertThat(UtteranceNormalizer.normalize("12 1 학식")).isNotEqualTo(UtteranceNormalizer.normalize("121 학식")),
+                () -> assertThat(UtteranceNormalizer.normalize("12/1 학식")).isEqualTo("12.1학식"),
+                () -> assertThat(UtteranceNormalizer.normalize("12. 1 학식")).isEqualTo("12.1학식"),
+                () -> assertThat(UtteranceNormalizer.normalize("3층 101호")).isEqualTo("3층101호")
+        );
+    }
+
+    @Test
+    @DisplayName("어미만 남는 짧은 발화나 null 은 그대로 처리한다")
+    void normalize_KeepsShortUtterance() {
+        assertAll(
+                () -> assertThat(UtteranceNormalizer.normalize("요")).isEqualTo("요"),
+                () -> assertThat(UtteranceNormalizer.normalize(null)).isEmpty()
+        );
+    }
+}